@@ -0,0 +1,49 @@
+package org.crue.hercules.sgi.eti.config;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import com.hazelcast.cache.HazelcastCachingProvider;
+import com.hazelcast.core.HazelcastInstance;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheConfig
+ *
+ * Configuración de la caché de segundo nivel de Hibernate sobre Hazelcast.
+ *
+ * Las regiones de la caché (TTL, tamaño y política de desalojo) se definen en
+ * el fichero hazelcast.xml. Al compartir la instancia de Hazelcast gestionada
+ * por Spring, las regiones se replican entre todos los nodos del cluster.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@Slf4j
+public class CacheConfig {
+
+  /**
+   * Registra en Hibernate el {@link CacheManager} JCache asociado a la instancia
+   * de Hazelcast de la aplicación.
+   *
+   * @param hazelcastInstance la instancia de Hazelcast.
+   * @return el customizer de las propiedades de Hibernate.
+   */
+  @Bean
+  public HibernatePropertiesCustomizer hazelcastCacheManagerCustomizer(HazelcastInstance hazelcastInstance) {
+    log.debug("hazelcastCacheManagerCustomizer(HazelcastInstance hazelcastInstance) - start");
+    CachingProvider cachingProvider = Caching.getCachingProvider(HazelcastCachingProvider.class.getName());
+    CacheManager cacheManager = cachingProvider.getCacheManager(null, null,
+        HazelcastCachingProvider.propertiesByInstanceItself(hazelcastInstance));
+    log.debug("hazelcastCacheManagerCustomizer(HazelcastInstance hazelcastInstance) - end");
+    return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+  }
+
+}
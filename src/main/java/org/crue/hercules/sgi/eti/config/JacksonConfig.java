@@ -0,0 +1,34 @@
+package org.crue.hercules.sgi.eti.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JacksonConfig
+ *
+ * Serialización de las entidades con asociaciones perezosas. Las asociaciones
+ * que no se han cargado (como la memoria original de una memoria fuera del
+ * detalle) se serializan solo con su identificador.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Módulo de Jackson para los proxies de Hibernate (Spring Boot lo registra en
+   * el ObjectMapper).
+   *
+   * @return el módulo
+   */
+  @Bean
+  public Module hibernate5Module() {
+    Hibernate5Module module = new Hibernate5Module();
+    module.enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+    // Las propiedades @Transient se siguen serializando
+    module.disable(Hibernate5Module.Feature.USE_TRANSIENT_ANNOTATION);
+    return module;
+  }
+
+}
@@ -0,0 +1,47 @@
+package org.crue.hercules.sgi.eti.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PagedQueryConfig
+ *
+ * Configuración del recuento concurrente de las consultas paginadas de los
+ * custom repositories. Cuando está habilitado, la consulta de recuento de las
+ * páginas que no son la primera se lanza en paralelo con la de contenido, con
+ * su propia conexión a base de datos.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sgi.eti.paged-query.concurrent-count", havingValue = "true")
+@Slf4j
+public class PagedQueryConfig {
+
+  /** Nombre del {@link Executor} de las consultas de recuento. */
+  public static final String COUNT_EXECUTOR = "pagedQueryCountExecutor";
+
+  /**
+   * {@link Executor} con el que se lanzan las consultas de recuento.
+   *
+   * @param poolSize número máximo de recuentos simultáneos.
+   * @return el executor.
+   */
+  @Bean(name = COUNT_EXECUTOR)
+  public Executor pagedQueryCountExecutor(@Value("${sgi.eti.paged-query.count-pool-size:4}") int poolSize) {
+    log.debug("pagedQueryCountExecutor(int poolSize) - start");
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setThreadNamePrefix("paged-count-");
+    executor.initialize();
+    log.debug("pagedQueryCountExecutor(int poolSize) - end");
+    return executor;
+  }
+
+}
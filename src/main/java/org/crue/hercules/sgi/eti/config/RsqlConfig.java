@@ -0,0 +1,48 @@
+package org.crue.hercules.sgi.eti.config;
+
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlFilterValidator;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RsqlConfig
+ *
+ * Configuración de los límites con los que se rechazan los filtros RSQL
+ * patológicos de los listados.
+ */
+@Configuration
+@Slf4j
+public class RsqlConfig {
+
+  /**
+   * {@link RsqlFilterValidator} con el que {@link RsqlSpecifications} comprueba
+   * los filtros.
+   *
+   * @param meterRegistry  registro de las métricas.
+   * @param maxLength      longitud máxima del filtro.
+   * @param maxDepth       profundidad máxima de paréntesis.
+   * @param maxComparisons número máximo de comparaciones.
+   * @param maxArguments   número máximo de argumentos de una comparación.
+   * @return el validador.
+   */
+  @Bean
+  public RsqlFilterValidator rsqlFilterValidator(MeterRegistry meterRegistry,
+      @Value("${sgi.eti.rsql.max-length:4000}") int maxLength, @Value("${sgi.eti.rsql.max-depth:8}") int maxDepth,
+      @Value("${sgi.eti.rsql.max-comparisons:50}") int maxComparisons,
+      @Value("${sgi.eti.rsql.max-arguments:500}") int maxArguments) {
+    log.debug("rsqlFilterValidator(MeterRegistry meterRegistry, int maxLength, int maxDepth, int maxComparisons, "
+        + "int maxArguments) - start");
+    RsqlFilterValidator filterValidator = new RsqlFilterValidator(meterRegistry, maxLength, maxDepth,
+        maxComparisons, maxArguments);
+    RsqlSpecifications.setFilterValidator(filterValidator);
+    log.debug("rsqlFilterValidator(MeterRegistry meterRegistry, int maxLength, int maxDepth, int maxComparisons, "
+        + "int maxArguments) - end");
+    return filterValidator;
+  }
+
+}
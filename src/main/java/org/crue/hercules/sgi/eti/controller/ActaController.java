@@ -1,15 +1,19 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.groups.Default;
 
 import org.crue.hercules.sgi.eti.dto.ActaWithNumEvaluaciones;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.crue.hercules.sgi.eti.model.BaseEntity.Update;
 import org.crue.hercules.sgi.eti.service.ActaService;
 import org.crue.hercules.sgi.framework.web.bind.annotation.RequestPageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -71,6 +76,41 @@ public class ActaController {
     return new ResponseEntity<>(page, HttpStatus.OK);
   }
 
+  /**
+   * Devuelve una página filtrada {@link ActaWithNumEvaluaciones} mediante
+   * paginación por cursor.
+   * 
+   * Se activa con la cabecera {@value KeysetPage#CURSOR_HEADER} (vacía para la
+   * primera página) y devuelve el cursor de la página siguiente en la cabecera
+   * {@value KeysetPage#NEXT_CURSOR_HEADER}. No calcula el número total de
+   * elementos.
+   * 
+   * @param query  filtro de búsqueda.
+   * @param paging tamaño de página y ordenación.
+   * @param cursor cursor de la página anterior.
+   * @return la página de {@link ActaWithNumEvaluaciones}.
+   */
+  @GetMapping(headers = KeysetPage.CURSOR_HEADER)
+  @PreAuthorize("hasAuthorityForAnyUO('ETI-ACT-V')")
+  ResponseEntity<List<ActaWithNumEvaluaciones>> findAllActaWithNumEvaluacionesKeyset(
+      @RequestParam(name = "q", required = false) String query, @RequestPageable(sort = "s") Pageable paging,
+      @RequestHeader(name = KeysetPage.CURSOR_HEADER, required = false) String cursor) {
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging, String cursor) - start");
+    KeysetPage<ActaWithNumEvaluaciones> page = service.findAllActaWithNumEvaluacionesKeyset(query, paging, cursor);
+
+    if (page.getContent().isEmpty()) {
+      log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging, String cursor) - end");
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    if (page.getNextCursor() != null) {
+      headers.add(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging, String cursor) - end");
+    return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+  }
+
   /**
    * Crea nuevo {@link Acta}.
    * 
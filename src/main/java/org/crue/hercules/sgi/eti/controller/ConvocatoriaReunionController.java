@@ -1,11 +1,16 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.util.List;
+
 import javax.validation.Valid;
 
+import org.crue.hercules.sgi.eti.dto.AsignacionEvaluadores;
 import org.crue.hercules.sgi.eti.dto.ConvocatoriaReunionDatosGenerales;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
 import org.crue.hercules.sgi.eti.model.Asistentes;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.service.AsignacionEvaluadoresService;
 import org.crue.hercules.sgi.eti.service.AsistentesService;
 import org.crue.hercules.sgi.eti.service.ConvocatoriaReunionService;
 import org.crue.hercules.sgi.eti.service.EvaluacionService;
@@ -52,19 +57,27 @@ public class ConvocatoriaReunionController {
    */
   private ConvocatoriaReunionService convocatoriaReunionService;
 
+  /**
+   * AsignacionEvaluadores service
+   */
+  private AsignacionEvaluadoresService asignacionEvaluadoresService;
+
   /**
    * Instancia un nuevo ConvocatoriaReunionController.
    *
-   * @param asistenteService           {@link AsistentesService}
-   * @param evaluacionService          {@link EvaluacionService}
-   * @param convocatoriaReunionService {@link ConvocatoriaReunionService}.
+   * @param asistenteService             {@link AsistentesService}
+   * @param evaluacionService            {@link EvaluacionService}
+   * @param convocatoriaReunionService   {@link ConvocatoriaReunionService}.
+   * @param asignacionEvaluadoresService {@link AsignacionEvaluadoresService}.
    */
   public ConvocatoriaReunionController(AsistentesService asistenteService, EvaluacionService evaluacionService,
-      ConvocatoriaReunionService convocatoriaReunionService) {
+      ConvocatoriaReunionService convocatoriaReunionService,
+      AsignacionEvaluadoresService asignacionEvaluadoresService) {
     log.debug("ConvocatoriaReunionController(ConvocatoriaReunionService service) - start");
     this.convocatoriaReunionService = convocatoriaReunionService;
     this.asistenteService = asistenteService;
     this.evaluacionService = evaluacionService;
+    this.asignacionEvaluadoresService = asignacionEvaluadoresService;
     log.debug("ConvocatoriaReunionController(ConvocatoriaReunionService service) - end");
   }
 
@@ -272,6 +285,60 @@ public class ConvocatoriaReunionController {
 
   }
 
+  /**
+   * Propone los dos evaluadores de cada una de las memorias asignables a la
+   * {@link ConvocatoriaReunion}, sin guardar nada.
+   *
+   * @param id Id de {@link ConvocatoriaReunion}.
+   * @return la propuesta de asignación de evaluadores.
+   */
+  @GetMapping("/{id}/asignacion-evaluadores")
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-CNV-C', 'ETI-CNV-E')")
+  AsignacionEvaluadores findAsignacionEvaluadores(@PathVariable Long id) {
+    log.debug("findAsignacionEvaluadores(Long id) - start");
+    AsignacionEvaluadores returnValue = asignacionEvaluadoresService.findPropuesta(id);
+    log.debug("findAsignacionEvaluadores(Long id) - end");
+    return returnValue;
+  }
+
+  /**
+   * Crea las {@link Evaluacion} de la {@link ConvocatoriaReunion} con los
+   * evaluadores indicados (normalmente los de la propuesta de asignación). Se
+   * crean todas o ninguna.
+   *
+   * @param id           Id de {@link ConvocatoriaReunion}.
+   * @param evaluaciones memoria y evaluadores de cada evaluación.
+   * @return las {@link Evaluacion} creadas.
+   */
+  @PostMapping("/{id}/asignacion-evaluadores")
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-CNV-C', 'ETI-CNV-E')")
+  ResponseEntity<List<Evaluacion>> asignarEvaluadores(@PathVariable Long id,
+      @RequestBody List<Evaluacion> evaluaciones) {
+    log.debug("asignarEvaluadores(Long id, List<Evaluacion> evaluaciones) - start");
+    List<Evaluacion> returnValue = asignacionEvaluadoresService.asignar(id, evaluaciones);
+    log.debug("asignarEvaluadores(Long id, List<Evaluacion> evaluaciones) - end");
+    return new ResponseEntity<>(returnValue, HttpStatus.CREATED);
+  }
+
+  /**
+   * Crea en una única transacción las {@link Evaluacion} de varias memorias de
+   * la {@link ConvocatoriaReunion}. Las evaluaciones que no se pueden crear se
+   * devuelven con el motivo del error sin impedir la creación del resto.
+   *
+   * @param id           Id de {@link ConvocatoriaReunion}.
+   * @param evaluaciones memoria y evaluadores de cada evaluación.
+   * @return el resultado de cada evaluación, en el mismo orden.
+   */
+  @PostMapping("/{id}/evaluaciones:batch")
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-CNV-C', 'ETI-CNV-E')")
+  ResponseEntity<List<EvaluacionBatchResult>> createEvaluaciones(@PathVariable Long id,
+      @RequestBody List<Evaluacion> evaluaciones) {
+    log.debug("createEvaluaciones(Long id, List<Evaluacion> evaluaciones) - start");
+    List<EvaluacionBatchResult> returnValue = evaluacionService.createAll(id, evaluaciones);
+    log.debug("createEvaluaciones(Long id, List<Evaluacion> evaluaciones) - end");
+    return new ResponseEntity<>(returnValue, HttpStatus.OK);
+  }
+
   /**
    * Devuelve una lista de entidad {@link ConvocatoriaReunion} que no tengan acta
    * asociada y se encuentren activas
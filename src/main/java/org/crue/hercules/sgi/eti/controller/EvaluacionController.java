@@ -1,8 +1,11 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.util.List;
+
 import javax.validation.Valid;
 
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithIsEliminable;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Comentario;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
@@ -11,6 +14,7 @@ import org.crue.hercules.sgi.eti.service.EvaluacionService;
 import org.crue.hercules.sgi.framework.web.bind.annotation.RequestPageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +26,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -75,6 +80,40 @@ public class EvaluacionController {
     return new ResponseEntity<>(page, HttpStatus.OK);
   }
 
+  /**
+   * Devuelve una página filtrada {@link Evaluacion} mediante paginación por
+   * cursor.
+   * 
+   * Se activa con la cabecera {@value KeysetPage#CURSOR_HEADER} (vacía para la
+   * primera página) y devuelve el cursor de la página siguiente en la cabecera
+   * {@value KeysetPage#NEXT_CURSOR_HEADER}. No calcula el número total de
+   * elementos.
+   * 
+   * @param query  filtro de búsqueda.
+   * @param paging tamaño de página y ordenación.
+   * @param cursor cursor de la página anterior.
+   * @return la página de {@link Evaluacion}.
+   */
+  @GetMapping(headers = KeysetPage.CURSOR_HEADER)
+  ResponseEntity<List<Evaluacion>> findAllKeyset(
+      @RequestParam(name = "q", required = false) String query, @RequestPageable(sort = "s") Pageable paging,
+      @RequestHeader(name = KeysetPage.CURSOR_HEADER, required = false) String cursor) {
+    log.debug("findAllKeyset(String query, Pageable paging, String cursor) - start");
+    KeysetPage<Evaluacion> page = service.findAllKeyset(query, paging, cursor);
+
+    if (page.getContent().isEmpty()) {
+      log.debug("findAllKeyset(String query, Pageable paging, String cursor) - end");
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    if (page.getNextCursor() != null) {
+      headers.add(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    log.debug("findAllKeyset(String query, Pageable paging, String cursor) - end");
+    return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+  }
+
   /**
    * Obtener todas las entidades paginadas {@link Evaluacion} activas para una
    * determinada {@link ConvocatoriaReunion}.
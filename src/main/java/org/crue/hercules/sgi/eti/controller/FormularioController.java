@@ -1,5 +1,11 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
 import org.crue.hercules.sgi.eti.model.Bloque;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.service.BloqueService;
@@ -7,14 +13,20 @@ import org.crue.hercules.sgi.eti.service.FormularioService;
 import org.crue.hercules.sgi.framework.web.bind.annotation.RequestPageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -90,4 +102,46 @@ public class FormularioController {
     }
     return new ResponseEntity<>(page, HttpStatus.OK);
   }
+
+  /**
+   * Devuelve el árbol completo del {@link Formulario} (bloques, apartados y
+   * apartados hijos) en una única respuesta.
+   * 
+   * El JSON se sirve ya serializado y comprimido desde la caché: se envía
+   * comprimido (Content-Encoding gzip) a los clientes que lo aceptan. Lleva un
+   * ETag, por lo que el cliente puede revalidarlo con If-None-Match y recibir un
+   * 304 si no ha cambiado.
+   * 
+   * @param id             Identificador de {@link Formulario}.
+   * @param acceptEncoding cabecera Accept-Encoding de la petición.
+   * @param request        la petición.
+   * @return el {@link FormularioArbol} en JSON.
+   * @throws IOException si no se puede descomprimir el árbol.
+   */
+  @GetMapping("/{id}/arbol")
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-EVC-EVAL', 'ETI-EVC-EVALR', 'ETI-PEV-C-INV', 'ETI-PEV-ER-INV')")
+  ResponseEntity<byte[]> getArbol(@PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding, WebRequest request)
+      throws IOException {
+    log.debug("getArbol(Long id, String acceptEncoding, WebRequest request) - start");
+    FormularioArbolSerializado arbol = formularioService.findArbolSerializadoById(id);
+
+    if (request.checkNotModified(arbol.getEtag())) {
+      log.debug("getArbol(Long id, String acceptEncoding, WebRequest request) - end");
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(arbol.getEtag()).build();
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(arbol.getEtag()).cacheControl(CacheControl.noCache())
+        .contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    ResponseEntity<byte[]> returnValue;
+    if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+      returnValue = response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(arbol.getContenido());
+    } else {
+      try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(arbol.getContenido()))) {
+        returnValue = response.body(StreamUtils.copyToByteArray(json));
+      }
+    }
+    log.debug("getArbol(Long id, String acceptEncoding, WebRequest request) - end");
+    return returnValue;
+  }
 }
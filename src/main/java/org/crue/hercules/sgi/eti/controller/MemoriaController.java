@@ -1,9 +1,14 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.validation.Valid;
 import javax.validation.groups.Default;
 
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.BaseEntity.Update;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
@@ -12,14 +17,17 @@ import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.model.Informe;
 import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.Respuesta;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
 import org.crue.hercules.sgi.eti.service.DocumentacionMemoriaService;
 import org.crue.hercules.sgi.eti.service.EvaluacionService;
 import org.crue.hercules.sgi.eti.service.InformeService;
 import org.crue.hercules.sgi.eti.service.MemoriaService;
+import org.crue.hercules.sgi.eti.service.RespuestaService;
 import org.crue.hercules.sgi.framework.web.bind.annotation.RequestPageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -31,6 +39,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -45,6 +54,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MemoriaController {
 
+  /** Prefijo de los parámetros de filtro por el contenido de las respuestas. */
+  public static final String RESPUESTA_PARAMETER_PREFIX = "respuesta.";
+
   /** Memoria service */
   private final MemoriaService service;
 
@@ -57,6 +69,9 @@ public class MemoriaController {
   /** Informe service */
   private final InformeService informeService;
 
+  /** Respuesta service */
+  private final RespuestaService respuestaService;
+
   /**
    * Instancia un nuevo MemoriaController.
    * 
@@ -64,40 +79,90 @@ public class MemoriaController {
    * @param evaluacionService           {@link EvaluacionService}
    * @param documentacionMemoriaService {@link DocumentacionMemoriaService}
    * @param informeService              {@link InformeService}
+   * @param respuestaService            {@link RespuestaService}
    */
   public MemoriaController(MemoriaService service, EvaluacionService evaluacionService,
-      DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService) {
+      DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService,
+      RespuestaService respuestaService) {
     log.debug(
-        "MemoriaController(MemoriaService service, EvaluacionService evaluacionService, DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService) - start");
+        "MemoriaController(MemoriaService service, EvaluacionService evaluacionService, DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService, RespuestaService respuestaService) - start");
     this.service = service;
     this.evaluacionService = evaluacionService;
     this.documentacionMemoriaService = documentacionMemoriaService;
     this.informeService = informeService;
+    this.respuestaService = respuestaService;
     log.debug(
-        "MemoriaController(MemoriaService service, EvaluacionService evaluacionService, DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService) - end");
+        "MemoriaController(MemoriaService service, EvaluacionService evaluacionService, DocumentacionMemoriaService documentacionMemoriaService, InformeService informeService, RespuestaService respuestaService) - end");
   }
 
   /**
    * Devuelve una lista paginada y filtrada {@link Memoria}.
    * 
+   * Además del filtro de búsqueda, se puede filtrar por el contenido de las
+   * respuestas de la memoria con parámetros
+   * {@value #RESPUESTA_PARAMETER_PREFIX}&lt;ruta&gt;=valor, donde la ruta son
+   * los campos de la respuesta separados por puntos (por ejemplo
+   * respuesta.especie=rata).
+   * 
    * @param query  filtro de búsqueda.
+   * @param params parámetros de la petición.
    * @param paging pageable
    */
   @GetMapping()
   @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-PEV-VR-INV', 'ETI-PEV-V', 'ETI-PEV-E')")
   ResponseEntity<Page<MemoriaPeticionEvaluacion>> findAll(@RequestParam(name = "q", required = false) String query,
-      @RequestPageable(sort = "s") Pageable paging) {
-    log.debug("findAll(String query,Pageable paging) - start");
-    Page<MemoriaPeticionEvaluacion> page = service.findAll(query, paging);
+      @RequestParam Map<String, String> params, @RequestPageable(sort = "s") Pageable paging) {
+    log.debug("findAll(String query, Map<String, String> params, Pageable paging) - start");
+    Map<String, String> respuestas = getRespuestas(params);
+    Page<MemoriaPeticionEvaluacion> page = respuestas.isEmpty() ? service.findAll(query, paging)
+        : service.findAll(query, respuestas, paging);
 
     if (page.isEmpty()) {
-      log.debug("findAll(String query,Pageable paging) - end");
+      log.debug("findAll(String query, Map<String, String> params, Pageable paging) - end");
       return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-    log.debug("findAll(String query,Pageable paging) - end");
+    log.debug("findAll(String query, Map<String, String> params, Pageable paging) - end");
     return new ResponseEntity<>(page, HttpStatus.OK);
   }
 
+  /**
+   * Devuelve una página filtrada {@link MemoriaPeticionEvaluacion} mediante
+   * paginación por cursor.
+   * 
+   * Se activa con la cabecera {@value KeysetPage#CURSOR_HEADER} (vacía para la
+   * primera página) y devuelve el cursor de la página siguiente en la cabecera
+   * {@value KeysetPage#NEXT_CURSOR_HEADER}. No calcula el número total de
+   * elementos. Admite los mismos filtros por el contenido de las respuestas que
+   * {@link #findAll(String, Map, Pageable)}.
+   * 
+   * @param query  filtro de búsqueda.
+   * @param params parámetros de la petición.
+   * @param paging tamaño de página y ordenación.
+   * @param cursor cursor de la página anterior.
+   * @return la página de {@link MemoriaPeticionEvaluacion}.
+   */
+  @GetMapping(headers = KeysetPage.CURSOR_HEADER)
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-PEV-VR-INV', 'ETI-PEV-V', 'ETI-PEV-E')")
+  ResponseEntity<List<MemoriaPeticionEvaluacion>> findAllKeyset(
+      @RequestParam(name = "q", required = false) String query, @RequestParam Map<String, String> params,
+      @RequestPageable(sort = "s") Pageable paging,
+      @RequestHeader(name = KeysetPage.CURSOR_HEADER, required = false) String cursor) {
+    log.debug("findAllKeyset(String query, Map<String, String> params, Pageable paging, String cursor) - start");
+    KeysetPage<MemoriaPeticionEvaluacion> page = service.findAllKeyset(query, getRespuestas(params), paging, cursor);
+
+    if (page.getContent().isEmpty()) {
+      log.debug("findAllKeyset(String query, Map<String, String> params, Pageable paging, String cursor) - end");
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    if (page.getNextCursor() != null) {
+      headers.add(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    log.debug("findAllKeyset(String query, Map<String, String> params, Pageable paging, String cursor) - end");
+    return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+  }
+
   /**
    * Devuelve una lista paginada de {@link Memoria} asignables para una
    * convocatoria determinada
@@ -680,6 +745,28 @@ public class MemoriaController {
     log.debug("enviarSecretaria(Long id) - end");
   }
 
+  /**
+   * Guarda todas las {@link Respuesta} de la {@link Memoria}, una por apartado.
+   * Solo se escriben las que son nuevas o han cambiado.
+   *
+   * @param id         Id de {@link Memoria}.
+   * @param respuestas las {@link Respuesta} con el apartado y el valor.
+   * @return las {@link Respuesta} creadas o modificadas.
+   */
+  @PutMapping("/{id}/respuestas")
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-PEV-ER-INV')")
+  ResponseEntity<List<Respuesta>> replaceRespuestas(@PathVariable Long id, @RequestBody List<Respuesta> respuestas) {
+    log.debug("replaceRespuestas(Long id, List<Respuesta> respuestas) - start");
+    List<Respuesta> returnValue = respuestaService.updateAllByMemoriaId(id, respuestas);
+
+    if (returnValue.isEmpty()) {
+      log.debug("replaceRespuestas(Long id, List<Respuesta> respuestas) - end");
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+    log.debug("replaceRespuestas(Long id, List<Respuesta> respuestas) - end");
+    return new ResponseEntity<>(returnValue, HttpStatus.OK);
+  }
+
   /**
    * Se cambia la retrospectiva de la memoria al estado 'En secretaría'
    *
@@ -708,4 +795,21 @@ public class MemoriaController {
     log.debug("deleteDocumentacionRetrospectiva(Long id, Long idDocumentacionMemoria) - end");
   }
 
+  /**
+   * Obtiene los filtros por el contenido de las respuestas de los parámetros
+   * {@value #RESPUESTA_PARAMETER_PREFIX}&lt;ruta&gt;=valor de la petición.
+   *
+   * @param params parámetros de la petición.
+   * @return valores de las respuestas por ruta del campo.
+   */
+  private Map<String, String> getRespuestas(Map<String, String> params) {
+    Map<String, String> respuestas = new LinkedHashMap<>();
+    params.forEach((name, value) -> {
+      if (name.startsWith(RESPUESTA_PARAMETER_PREFIX)) {
+        respuestas.put(name.substring(RESPUESTA_PARAMETER_PREFIX.length()), value);
+      }
+    });
+    return respuestas;
+  }
+
 }
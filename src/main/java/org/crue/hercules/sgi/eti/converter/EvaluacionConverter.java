@@ -2,7 +2,9 @@ package org.crue.hercules.sgi.eti.converter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -30,20 +32,7 @@ public class EvaluacionConverter {
     if (evaluacion == null) {
       return null;
     } else {
-      EvaluacionWithIsEliminable evaluacionWithIsEliminable = new EvaluacionWithIsEliminable();
-      evaluacionWithIsEliminable.setActivo(evaluacion.getActivo());
-      evaluacionWithIsEliminable.setConvocatoriaReunion(evaluacion.getConvocatoriaReunion());
-      evaluacionWithIsEliminable.setDictamen(evaluacion.getDictamen());
-      evaluacionWithIsEliminable.setEsRevMinima(evaluacion.getEsRevMinima());
-      evaluacionWithIsEliminable.setEvaluador1(evaluacion.getEvaluador1());
-      evaluacionWithIsEliminable.setEvaluador2(evaluacion.getEvaluador2());
-      evaluacionWithIsEliminable.setFechaDictamen(evaluacion.getFechaDictamen());
-      evaluacionWithIsEliminable.setId(evaluacion.getId());
-      evaluacionWithIsEliminable.setMemoria(evaluacion.getMemoria());
-      evaluacionWithIsEliminable.setTipoEvaluacion(evaluacion.getTipoEvaluacion());
-      evaluacionWithIsEliminable.setVersion(evaluacion.getVersion());
-      evaluacionWithIsEliminable.setEliminable(isEliminable(evaluacion));
-      return evaluacionWithIsEliminable;
+      return evaluacionToEvaluacionWithIsEliminable(evaluacion, isEliminable(evaluacion));
     }
   }
 
@@ -51,6 +40,9 @@ public class EvaluacionConverter {
    * Transforma el listado de objetos evaluación al listado de dtos
    * EvaluacionWithIsEliminable
    * 
+   * El número de comentarios de todas las evaluaciones se obtiene con una única
+   * consulta, independientemente del tamaño del listado.
+   * 
    * @param evaluaciones el listado de objetos Evaluacion
    * @return el listado de dtos EvaluacionWithIsEliminable
    */
@@ -58,7 +50,20 @@ public class EvaluacionConverter {
     if (evaluaciones == null) {
       return new ArrayList<>();
     } else {
-      return evaluaciones.stream().filter(Objects::nonNull).map(this::evaluacionToEvaluacionWithIsEliminable)
+      List<Evaluacion> evaluacionesNoNulas = evaluaciones.stream().filter(Objects::nonNull)
+          .collect(Collectors.toList());
+
+      // Se recupera en una única consulta el número de comentarios de las
+      // evaluaciones que podrían eliminarse
+      List<Long> idsEvaluacionesEliminables = evaluacionesNoNulas.stream()
+          .filter(this::isEliminableSinComprobarComentarios).map(Evaluacion::getId).collect(Collectors.toList());
+      Map<Long, Long> numComentarios = idsEvaluacionesEliminables.isEmpty() ? Collections.emptyMap()
+          : comentarioRepository.countByEvaluacionIdIn(idsEvaluacionesEliminables);
+
+      return evaluacionesNoNulas.stream()
+          .map(evaluacion -> evaluacionToEvaluacionWithIsEliminable(evaluacion,
+              isEliminableSinComprobarComentarios(evaluacion)
+                  && numComentarios.getOrDefault(evaluacion.getId(), 0L) == 0L))
           .collect(Collectors.toList());
     }
   }
@@ -71,6 +76,25 @@ public class EvaluacionConverter {
    * @return true or false
    */
   public Boolean isEliminable(Evaluacion evaluacion) {
+    if (!isEliminableSinComprobarComentarios(evaluacion)) {
+      return false;
+    }
+
+    // No se puede eliminar una memoria que tenga comentarios asociados
+    if (comentarioRepository.countByEvaluacionId(evaluacion.getId()) > 0) {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Comprueba las condiciones para eliminar la memoria asignada a una
+   * convocatoria de reunión que no requieren consultar sus comentarios.
+   * 
+   * @param evaluacion el objeto Evaluacion
+   * @return true or false
+   */
+  private boolean isEliminableSinComprobarComentarios(Evaluacion evaluacion) {
     // La fecha de la convocatoria es anterior a la actual
     if (evaluacion.getConvocatoriaReunion().getFechaEvaluacion().isBefore(LocalDateTime.now())) {
       return false;
@@ -80,12 +104,32 @@ public class EvaluacionConverter {
     if (evaluacion.getDictamen() != null) {
       return false;
     }
-
-    // No se puede eliminar una memoria que tenga comentarios asociados
-    if (comentarioRepository.countByEvaluacionId(evaluacion.getId()) > 0) {
-      return false;
-    }
     return true;
   }
 
+  /**
+   * Transforma el objeto evaluación al dto EvaluacionWithIsEliminable
+   * 
+   * @param evaluacion el objeto Evaluacion
+   * @param eliminable indica si la evaluación se puede eliminar
+   * @return el dto EvaluacionWithIsEliminable
+   */
+  private EvaluacionWithIsEliminable evaluacionToEvaluacionWithIsEliminable(Evaluacion evaluacion,
+      boolean eliminable) {
+    EvaluacionWithIsEliminable evaluacionWithIsEliminable = new EvaluacionWithIsEliminable();
+    evaluacionWithIsEliminable.setActivo(evaluacion.getActivo());
+    evaluacionWithIsEliminable.setConvocatoriaReunion(evaluacion.getConvocatoriaReunion());
+    evaluacionWithIsEliminable.setDictamen(evaluacion.getDictamen());
+    evaluacionWithIsEliminable.setEsRevMinima(evaluacion.getEsRevMinima());
+    evaluacionWithIsEliminable.setEvaluador1(evaluacion.getEvaluador1());
+    evaluacionWithIsEliminable.setEvaluador2(evaluacion.getEvaluador2());
+    evaluacionWithIsEliminable.setFechaDictamen(evaluacion.getFechaDictamen());
+    evaluacionWithIsEliminable.setId(evaluacion.getId());
+    evaluacionWithIsEliminable.setMemoria(evaluacion.getMemoria());
+    evaluacionWithIsEliminable.setTipoEvaluacion(evaluacion.getTipoEvaluacion());
+    evaluacionWithIsEliminable.setVersion(evaluacion.getVersion());
+    evaluacionWithIsEliminable.setEliminable(eliminable);
+    return evaluacionWithIsEliminable;
+  }
+
 }
@@ -0,0 +1,644 @@
+package org.crue.hercules.sgi.eti.dataset;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SyntheticDatasetGenerator
+ *
+ * Genera al arrancar la aplicación un conjunto de datos sintético con
+ * volúmenes de producción: comités, evaluadores, convocatorias de reunión,
+ * peticiones de evaluación, memorias con su histórico de estados, evaluaciones
+ * y respuestas. Sirve para ejecutar las consultas de los custom repositories y
+ * las pruebas de escala sobre la base de datos del perfil dev (H2) o sobre el
+ * esquema de PostgreSQL.
+ *
+ * Solo se crea si sgi.eti.dataset.enabled es true y necesita los datos
+ * maestros de Liquibase (tipos, estados, dictámenes y formularios con sus
+ * apartados). Si no están cargados, como en los perfiles unit-test e
+ * integration-test cuyos contextos de Liquibase los excluyen, se ejecutan antes
+ * los changesets de {@value #CHANGELOG_DATOS_MAESTROS}. Las tablas se
+ * cualifican con el esquema por defecto de Hibernate. Es determinista: con la misma semilla y los mismos volúmenes
+ * genera los mismos datos. Los identificadores continúan los existentes y al
+ * terminar se reinician las secuencias, por lo que la aplicación puede seguir
+ * creando registros. Si ya hay datos sintéticos (peticiones con el código
+ * {@value #PREFIJO_CODIGO}) no hace nada.
+ */
+@Component
+@ConditionalOnProperty(name = "sgi.eti.dataset.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDatasetGenerator implements ApplicationRunner {
+
+  /** Prefijo del código de las peticiones de evaluación generadas. */
+  public static final String PREFIJO_CODIGO = "SINT-";
+  /** Prefijo de las personas (solicitantes y evaluadores) generadas. */
+  public static final String PREFIJO_PERSONA = "persona-";
+  /** Changelog de Liquibase con los datos maestros. */
+  public static final String CHANGELOG_DATOS_MAESTROS = "db/changelog/changes/0000000000000-initial-master-data.xml";
+
+  /**
+   * Fecha de referencia de los datos, fija para que no dependan del día en el
+   * que se generan. Las memorias se crean en los tres años anteriores.
+   */
+  private static final LocalDate FECHA_REFERENCIA = LocalDate.of(2021, 1, 1);
+  private static final int DIAS_HISTORICO = 3 * 365;
+
+  private static final long TIPO_MEMORIA_NUEVA = 1L;
+  private static final long TIPO_MEMORIA_MODIFICACION = 2L;
+  private static final long TIPO_MEMORIA_RATIFICACION = 3L;
+
+  private static final long CARGO_PRESIDENTE = 1L;
+  private static final long CARGO_VOCAL = 2L;
+
+  private static final long TIPO_CONVOCATORIA_ORDINARIA = 1L;
+  private static final long TIPO_CONVOCATORIA_SEGUIMIENTO = 3L;
+
+  private static final long ESTADO_EN_SECRETARIA = 3L;
+
+  private static final long TIPO_EVALUACION_MEMORIA = 2L;
+
+  /**
+   * Evaluaciones de las memorias: estado en evaluación, tipo de evaluación,
+   * estado con dictamen y dictamen.
+   */
+  private static final long[][] EVALUACIONES = {
+      // Memoria: Fin evaluación, Favorable pendiente de modificaciones mínimas o
+      // Pendiente de correcciones
+      { 5L, 2L, 9L, 1L }, { 5L, 2L, 6L, 2L }, { 5L, 2L, 7L, 3L },
+      // Seguimiento anual
+      { 13L, 3L, 14L, 5L },
+      // Seguimiento final
+      { 19L, 4L, 20L, 7L } };
+
+  /**
+   * Estados por los que pasan las memorias hasta llegar a su estado actual
+   * (el último) y porcentaje de memorias en cada estado actual.
+   */
+  private static final Map<long[], Integer> TRAYECTORIAS = new LinkedHashMap<>();
+
+  static {
+    TRAYECTORIAS.put(new long[] { 1 }, 15);
+    TRAYECTORIAS.put(new long[] { 1, 2 }, 8);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3 }, 6);
+    TRAYECTORIAS.put(new long[] { 1, 2, 4 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5 }, 8);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 6 }, 3);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 7 }, 6);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 8 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9 }, 25);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 7, 10 }, 5);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 11 }, 3);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 11, 12 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 11, 12, 13 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 11, 12, 13, 14 }, 4);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 16 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 16, 17 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 16, 17, 19 }, 2);
+    TRAYECTORIAS.put(new long[] { 1, 2, 3, 5, 9, 16, 17, 19, 20 }, 3);
+  }
+
+  private static final String INSERT_COMITE = "INSERT INTO {h-schema}comite (id, comite, formulario_id, activo) "
+      + "VALUES (?, ?, ?, true)";
+  private static final String INSERT_EVALUADOR = "INSERT INTO {h-schema}evaluador "
+      + "(id, resumen, comite_id, cargo_comite_id, fecha_alta, fecha_baja, persona_ref, activo) "
+      + "VALUES (?, ?, ?, ?, ?, null, ?, true)";
+  private static final String INSERT_CONVOCATORIA = "INSERT INTO {h-schema}convocatoria_reunion "
+      + "(id, comite_id, fecha_evaluacion, fecha_limite, lugar, orden_dia, anio, numero_acta, "
+      + "tipo_convocatoria_reunion_id, hora_inicio, minuto_inicio, fecha_envio, activo) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 10, 0, ?, true)";
+  private static final String INSERT_PETICION = "INSERT INTO {h-schema}peticion_evaluacion "
+      + "(id, titulo, codigo, solicitud_convocatoria_ref, tipo_actividad_id, fuente_financiacion, fecha_inicio, "
+      + "fecha_fin, resumen, valor_social, objetivos, dis_metodologico, externo, tiene_fondos_propios, persona_ref, "
+      + "activo) VALUES (?, ?, ?, null, ?, ?, ?, ?, ?, ?, ?, ?, false, false, ?, true)";
+  private static final String INSERT_MEMORIA = "INSERT INTO {h-schema}memoria "
+      + "(id, num_referencia, peticion_evaluacion_id, comite_id, titulo, persona_ref, tipo_memoria_id, "
+      + "estado_actual_id, fecha_envio_secretaria, requiere_retrospectiva, retrospectiva_id, version, activo, "
+      + "memoria_original_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, null, 1, true, ?)";
+  private static final String INSERT_ESTADO_MEMORIA = "INSERT INTO {h-schema}estado_memoria "
+      + "(id, memoria_id, tipo_estado_memoria_id, fecha_estado) VALUES (?, ?, ?, ?)";
+  private static final String INSERT_EVALUACION = "INSERT INTO {h-schema}evaluacion "
+      + "(id, memoria_id, convocatoria_reunion_id, tipo_evaluacion_id, dictamen_id, evaluador1_id, evaluador2_id, "
+      + "fecha_dictamen, version, es_rev_minima, activo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 1, false, true)";
+  private static final String INSERT_RESPUESTA = "INSERT INTO {h-schema}respuesta (id, memoria_id, apartado_id, valor) "
+      + "VALUES (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSource dataSource;
+  private final TransactionTemplate transactionTemplate;
+  private final String schema;
+  private final long seed;
+  private final int numComites;
+  private final int numEvaluadoresComite;
+  private final int numConvocatoriasComite;
+  private final int numPersonas;
+  private final int numPeticiones;
+  private final int numMemorias;
+  private final long numRespuestas;
+  private final int batchSize;
+
+  private final List<long[]> trayectorias = new ArrayList<>(TRAYECTORIAS.keySet());
+  /** Porcentaje acumulado de las trayectorias, en el orden de TRAYECTORIAS. */
+  private final int[] pesosAcumulados = new int[TRAYECTORIAS.size()];
+
+  public SyntheticDatasetGenerator(JdbcTemplate jdbcTemplate, DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema,
+      @Value("${sgi.eti.dataset.seed:1}") long seed, @Value("${sgi.eti.dataset.comites:10}") int numComites,
+      @Value("${sgi.eti.dataset.evaluadores-por-comite:20}") int numEvaluadoresComite,
+      @Value("${sgi.eti.dataset.convocatorias-por-comite:100}") int numConvocatoriasComite,
+      @Value("${sgi.eti.dataset.personas:20000}") int numPersonas,
+      @Value("${sgi.eti.dataset.peticiones:100000}") int numPeticiones,
+      @Value("${sgi.eti.dataset.memorias:300000}") int numMemorias,
+      @Value("${sgi.eti.dataset.respuestas:2000000}") long numRespuestas,
+      @Value("${sgi.eti.dataset.batch-size:1000}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.dataSource = dataSource;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.schema = schema;
+    this.seed = seed;
+    this.numComites = numComites;
+    this.numEvaluadoresComite = Math.max(numEvaluadoresComite, 2);
+    this.numConvocatoriasComite = Math.max(numConvocatoriasComite, 1);
+    this.numPersonas = Math.max(numPersonas, 1);
+    this.numPeticiones = Math.max(numPeticiones, 1);
+    this.numMemorias = numMemorias;
+    this.numRespuestas = numRespuestas;
+    this.batchSize = batchSize;
+
+    int acumulado = 0;
+    for (int i = 0; i < trayectorias.size(); i++) {
+      acumulado += TRAYECTORIAS.get(trayectorias.get(i));
+      pesosAcumulados[i] = acumulado;
+    }
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    generate();
+  }
+
+  /**
+   * Genera los datos si todavía no existen.
+   */
+  public void generate() {
+    log.debug("generate() - start");
+
+    Integer existentes = jdbcTemplate.queryForObject(
+        sql("SELECT COUNT(*) FROM {h-schema}peticion_evaluacion WHERE codigo LIKE ?"), Integer.class,
+        PREFIJO_CODIGO + "%");
+    if (existentes != null && existentes > 0) {
+      log.info("Ya existen {} peticiones de evaluación sintéticas, no se generan datos", existentes);
+      log.debug("generate() - end");
+      return;
+    }
+
+    long inicio = System.currentTimeMillis();
+    Integer estados = jdbcTemplate.queryForObject(sql("SELECT COUNT(*) FROM {h-schema}tipo_estado_memoria"),
+        Integer.class);
+    if (estados == null || estados == 0) {
+      cargarDatosMaestros();
+    }
+    Random random = new Random(seed);
+    Generacion generacion = new Generacion(random);
+    generacion.generarComites();
+    generacion.generarEvaluadores();
+    generacion.generarConvocatorias();
+    generacion.generarPeticiones();
+    generacion.generarMemorias();
+    generacion.reiniciarSecuencias();
+
+    log.info("Datos sintéticos generados en {} s (semilla {}): {}", (System.currentTimeMillis() - inicio) / 1000,
+        seed, generacion.contadores);
+    log.debug("generate() - end");
+  }
+
+  /**
+   * Ejecuta los changesets de {@value #CHANGELOG_DATOS_MAESTROS} sin tener en
+   * cuenta sus contextos ni registrarlos en el histórico de Liquibase, de forma
+   * que se pueden volver a cargar si se vacían las tablas.
+   */
+  private void cargarDatosMaestros() {
+    log.debug("cargarDatosMaestros() - start");
+    try (Connection connection = dataSource.getConnection()) {
+      Database database = DatabaseFactory.getInstance()
+          .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+      if (!schema.isEmpty()) {
+        database.setDefaultSchemaName(schema);
+      }
+      ResourceAccessor resourceAccessor = new ClassLoaderResourceAccessor(getClass().getClassLoader());
+      DatabaseChangeLog changeLog = ChangeLogParserFactory.getInstance()
+          .getParser(CHANGELOG_DATOS_MAESTROS, resourceAccessor)
+          .parse(CHANGELOG_DATOS_MAESTROS, new ChangeLogParameters(database), resourceAccessor);
+      for (ChangeSet changeSet : changeLog.getChangeSets()) {
+        changeSet.execute(changeLog, null, database);
+      }
+    } catch (LiquibaseException | SQLException e) {
+      throw new IllegalStateException("No se han podido cargar los datos maestros", e);
+    }
+    log.info("Datos maestros cargados de {}", CHANGELOG_DATOS_MAESTROS);
+    log.debug("cargarDatosMaestros() - end");
+  }
+
+  /**
+   * Cualifica las tablas de la sentencia con el esquema por defecto de
+   * Hibernate, sustituyendo el mismo marcador que en las consultas nativas.
+   *
+   * @param sql sentencia con el marcador {h-schema}.
+   * @return la sentencia.
+   */
+  private String sql(String sql) {
+    return sql.replace("{h-schema}", schema.isEmpty() ? "" : schema + ".");
+  }
+
+  /**
+   * Estado de una generación: identificadores reservados, datos de los comités
+   * y filas pendientes de insertar.
+   */
+  private class Generacion {
+
+    private final Random random;
+
+    /** Siguiente identificador de cada tabla. */
+    private final Map<String, Long> siguientesIds = new LinkedHashMap<>();
+    /** Filas insertadas en cada tabla. */
+    private final Map<String, Long> contadores = new LinkedHashMap<>();
+
+    private final List<Long> comites = new ArrayList<>();
+    private final Map<Long, String> formularioComite = new HashMap<>();
+    private final Map<Long, Long> idFormularioComite = new HashMap<>();
+    private final Map<Long, List<Long>> apartadosFormulario = new HashMap<>();
+    private final Map<Long, List<Long>> evaluadoresComite = new HashMap<>();
+    private final Map<Long, List<Long>> convocatoriasOrdinarias = new HashMap<>();
+    private final Map<Long, List<Long>> convocatoriasSeguimiento = new HashMap<>();
+    private final List<Long> tiposActividad;
+
+    private long primeraPeticion;
+    private int[] personaPeticion;
+
+    /** Último número de referencia de cada comité y año. */
+    private final Map<String, Integer> numerosReferencia = new HashMap<>();
+    /** Última memoria nueva de cada comité: identificador y referencia. */
+    private final Map<Long, Object[]> ultimaMemoriaComite = new HashMap<>();
+    /** Número de modificaciones de cada memoria. */
+    private final Map<Long, Integer> modificaciones = new HashMap<>();
+
+    Generacion(Random random) {
+      this.random = random;
+      for (String tabla : Arrays.asList("comite", "evaluador", "convocatoria_reunion", "peticion_evaluacion",
+          "memoria", "estado_memoria", "evaluacion", "respuesta")) {
+        Long maxId = jdbcTemplate.queryForObject(sql("SELECT MAX(id) FROM {h-schema}" + tabla), Long.class);
+        siguientesIds.put(tabla, maxId == null ? 1L : maxId + 1);
+        contadores.put(tabla, 0L);
+      }
+
+      jdbcTemplate.query(sql("SELECT c.id, f.id, f.nombre FROM {h-schema}comite c JOIN {h-schema}formulario f "
+          + "ON c.formulario_id = f.id ORDER BY c.id"), rs -> {
+            comites.add(rs.getLong(1));
+            idFormularioComite.put(rs.getLong(1), rs.getLong(2));
+            formularioComite.put(rs.getLong(1), rs.getString(3));
+          });
+      jdbcTemplate.query(sql("SELECT a.id, b.formulario_id FROM {h-schema}apartado a JOIN {h-schema}bloque b "
+          + "ON a.bloque_id = b.id ORDER BY a.id"),
+          rs -> {
+            apartadosFormulario.computeIfAbsent(rs.getLong(2), id -> new ArrayList<>()).add(rs.getLong(1));
+          });
+      tiposActividad = jdbcTemplate.queryForList(sql("SELECT id FROM {h-schema}tipo_actividad ORDER BY id"),
+          Long.class);
+      if (comites.isEmpty() || tiposActividad.isEmpty()) {
+        throw new IllegalStateException("No se han cargado los datos maestros (comités y tipos de actividad)");
+      }
+    }
+
+    /**
+     * Crea los comités que falten hasta llegar al número indicado, con los
+     * formularios de los comités existentes.
+     */
+    void generarComites() {
+      List<Object[]> filas = new ArrayList<>();
+      int existentes = comites.size();
+      for (int i = existentes; i < numComites; i++) {
+        Long comiteBase = comites.get(i % existentes);
+        long id = nextId("comite");
+        filas.add(new Object[] { id, String.format("COMITE%02d", i + 1), idFormularioComite.get(comiteBase) });
+        comites.add(id);
+        idFormularioComite.put(id, idFormularioComite.get(comiteBase));
+        formularioComite.put(id, formularioComite.get(comiteBase));
+      }
+      insert("comite", INSERT_COMITE, filas);
+    }
+
+    /**
+     * Crea los evaluadores de cada comité: un presidente y el resto vocales.
+     */
+    void generarEvaluadores() {
+      List<Object[]> filas = new ArrayList<>();
+      for (Long comite : comites) {
+        List<Long> evaluadores = new ArrayList<>();
+        for (int i = 0; i < numEvaluadoresComite; i++) {
+          long id = nextId("evaluador");
+          filas.add(new Object[] { id, "Evaluador " + id, comite, i == 0 ? CARGO_PRESIDENTE : CARGO_VOCAL,
+              Date.valueOf(FECHA_REFERENCIA.minusDays(DIAS_HISTORICO + random.nextInt(365))), persona() });
+          evaluadores.add(id);
+        }
+        evaluadoresComite.put(comite, evaluadores);
+      }
+      insert("evaluador", INSERT_EVALUADOR, filas);
+    }
+
+    /**
+     * Crea las convocatorias de cada comité repartidas en el histórico: cuatro
+     * de cada cinco ordinarias y el resto de seguimiento.
+     */
+    void generarConvocatorias() {
+      List<Object[]> filas = new ArrayList<>();
+      for (Long comite : comites) {
+        List<Long> ordinarias = new ArrayList<>();
+        List<Long> seguimiento = new ArrayList<>();
+        for (int i = 0; i < numConvocatoriasComite; i++) {
+          long id = nextId("convocatoria_reunion");
+          boolean esSeguimiento = i % 5 == 4;
+          LocalDate fechaEvaluacion = FECHA_REFERENCIA
+              .minusDays(DIAS_HISTORICO - (long) DIAS_HISTORICO * i / numConvocatoriasComite);
+          filas.add(new Object[] { id, comite, Timestamp.valueOf(fechaEvaluacion.atTime(10, 0)),
+              Date.valueOf(fechaEvaluacion.minusDays(10)), "Sala " + (random.nextInt(5) + 1),
+              "Orden del día de la convocatoria " + id, fechaEvaluacion.getYear(), (long) i + 1,
+              esSeguimiento ? TIPO_CONVOCATORIA_SEGUIMIENTO : TIPO_CONVOCATORIA_ORDINARIA,
+              Date.valueOf(fechaEvaluacion.minusDays(15)) });
+          (esSeguimiento ? seguimiento : ordinarias).add(id);
+        }
+        convocatoriasOrdinarias.put(comite, ordinarias);
+        convocatoriasSeguimiento.put(comite, seguimiento.isEmpty() ? ordinarias : seguimiento);
+      }
+      insert("convocatoria_reunion", INSERT_CONVOCATORIA, filas);
+    }
+
+    /**
+     * Crea las peticiones de evaluación, cada una de un solicitante.
+     */
+    void generarPeticiones() {
+      primeraPeticion = siguientesIds.get("peticion_evaluacion");
+      personaPeticion = new int[numPeticiones];
+      List<Object[]> filas = new ArrayList<>();
+      for (int i = 0; i < numPeticiones; i++) {
+        long id = nextId("peticion_evaluacion");
+        personaPeticion[i] = random.nextInt(numPersonas);
+        LocalDate fechaInicio = FECHA_REFERENCIA.minusDays(random.nextInt(DIAS_HISTORICO));
+        filas.add(new Object[] { id, "Petición de evaluación " + id, String.format("%s%07d", PREFIJO_CODIGO, i + 1),
+            tiposActividad.get(random.nextInt(tiposActividad.size())), "Fuente de financiación",
+            Date.valueOf(fechaInicio), Date.valueOf(fechaInicio.plusYears(2)), "Resumen de la petición " + id,
+            "Valor social", "Objetivos", "Diseño metodológico", persona(personaPeticion[i]) });
+        if (filas.size() == batchSize) {
+          insert("peticion_evaluacion", INSERT_PETICION, filas);
+          filas.clear();
+        }
+      }
+      insert("peticion_evaluacion", INSERT_PETICION, filas);
+    }
+
+    /**
+     * Crea las memorias por lotes, con su histórico de estados, sus
+     * evaluaciones y sus respuestas.
+     */
+    void generarMemorias() {
+      List<Object[]> memorias = new ArrayList<>();
+      List<Object[]> estados = new ArrayList<>();
+      List<Object[]> evaluaciones = new ArrayList<>();
+      List<Object[]> respuestas = new ArrayList<>();
+      long respuestasMemoria = numMemorias == 0 ? 0 : numRespuestas / numMemorias;
+      long respuestasResto = numMemorias == 0 ? 0 : numRespuestas % numMemorias;
+
+      for (int i = 0; i < numMemorias; i++) {
+        long id = nextId("memoria");
+        Long comite = comites.get(random.nextInt(comites.size()));
+        int peticion = random.nextInt(numPeticiones);
+        long[] trayectoria = trayectoria();
+
+        // Histórico de estados: el primero en los últimos tres años y cada uno
+        // entre 1 y 30 días después del anterior
+        LocalDate[] fechas = new LocalDate[trayectoria.length];
+        fechas[0] = FECHA_REFERENCIA.minusDays(DIAS_HISTORICO - random.nextInt(DIAS_HISTORICO - 300));
+        for (int j = 1; j < trayectoria.length; j++) {
+          fechas[j] = fechas[j - 1].plusDays(1 + random.nextInt(30));
+        }
+        for (int j = 0; j < trayectoria.length; j++) {
+          estados.add(new Object[] { nextId("estado_memoria"), id, trayectoria[j],
+              Timestamp.valueOf(fechas[j].atTime(9 + j, 0)) });
+        }
+
+        memorias.add(memoria(id, comite, peticion, trayectoria, fechas));
+        evaluaciones(id, comite, trayectoria, fechas, evaluaciones);
+        respuestas(id, comite, respuestasMemoria + (i < respuestasResto ? 1 : 0), respuestas);
+
+        if (memorias.size() == batchSize || i == numMemorias - 1) {
+          transactionTemplate.execute(status -> {
+            insert("memoria", INSERT_MEMORIA, memorias);
+            insert("estado_memoria", INSERT_ESTADO_MEMORIA, estados);
+            insert("evaluacion", INSERT_EVALUACION, evaluaciones);
+            insert("respuesta", INSERT_RESPUESTA, respuestas);
+            return null;
+          });
+          memorias.clear();
+          estados.clear();
+          evaluaciones.clear();
+          respuestas.clear();
+          log.info("Memorias generadas: {}/{}", i + 1, numMemorias);
+        }
+      }
+    }
+
+    /**
+     * Fila de una memoria. La mayoría son nuevas; las modificaciones copian la
+     * última memoria nueva del comité y las ratificaciones comparten numeración
+     * con las nuevas.
+     *
+     * @param id          identificador de la memoria.
+     * @param comite      identificador del {@link Comite}.
+     * @param peticion    índice de la petición de evaluación.
+     * @param trayectoria estados de la memoria.
+     * @param fechas      fechas de los estados.
+     * @return la fila.
+     */
+    private Object[] memoria(long id, Long comite, int peticion, long[] trayectoria, LocalDate[] fechas) {
+      int anio = fechas[0].getYear();
+      int tipo = random.nextInt(100);
+      long tipoMemoria = tipo < 85 ? TIPO_MEMORIA_NUEVA : tipo < 95 ? TIPO_MEMORIA_MODIFICACION
+          : TIPO_MEMORIA_RATIFICACION;
+      Object[] original = ultimaMemoriaComite.get(comite);
+      if (tipoMemoria == TIPO_MEMORIA_MODIFICACION && original == null) {
+        tipoMemoria = TIPO_MEMORIA_NUEVA;
+      }
+
+      String numReferencia;
+      Long memoriaOriginal = null;
+      if (tipoMemoria == TIPO_MEMORIA_MODIFICACION) {
+        memoriaOriginal = (Long) original[0];
+        int modificacion = modificaciones.merge(memoriaOriginal, 1, Integer::sum);
+        numReferencia = original[1] + "MR" + modificacion;
+      } else {
+        int numero = numerosReferencia.merge(comite + "/" + anio, 1, Integer::sum);
+        numReferencia = String.format("%s/%d/%03d%s", formularioComite.get(comite), anio, numero,
+            tipoMemoria == TIPO_MEMORIA_RATIFICACION ? "R" : "");
+        if (tipoMemoria == TIPO_MEMORIA_NUEVA) {
+          ultimaMemoriaComite.put(comite, new Object[] { id, numReferencia });
+        }
+      }
+
+      Date fechaEnvioSecretaria = null;
+      for (int j = 0; j < trayectoria.length; j++) {
+        if (trayectoria[j] == ESTADO_EN_SECRETARIA) {
+          fechaEnvioSecretaria = Date.valueOf(fechas[j]);
+        }
+      }
+
+      return new Object[] { id, numReferencia, primeraPeticion + peticion, comite, "Memoria " + id,
+          persona(personaPeticion[peticion]), tipoMemoria, trayectoria[trayectoria.length - 1],
+          fechaEnvioSecretaria, memoriaOriginal };
+    }
+
+    /**
+     * Filas de las evaluaciones de una memoria: una por cada fase de evaluación
+     * (memoria, seguimiento anual o final) por la que ha pasado, con dictamen si
+     * la fase ha terminado.
+     *
+     * @param memoria     identificador de la {@link Memoria}.
+     * @param comite      identificador del {@link Comite}.
+     * @param trayectoria estados de la memoria.
+     * @param fechas      fechas de los estados.
+     * @param filas       filas a las que se añaden las evaluaciones.
+     */
+    private void evaluaciones(long memoria, Long comite, long[] trayectoria, LocalDate[] fechas,
+        List<Object[]> filas) {
+      boolean faseMemoria = false;
+      for (long[] evaluacion : EVALUACIONES) {
+        int enEvaluacion = indexOf(trayectoria, evaluacion[0]);
+        int conDictamen = indexOf(trayectoria, evaluacion[2]);
+        boolean memoriaEvaluada = evaluacion[1] == TIPO_EVALUACION_MEMORIA;
+        if (enEvaluacion < 0 || (memoriaEvaluada
+            && (faseMemoria || (conDictamen < 0 && enEvaluacion != trayectoria.length - 1)))) {
+          // No ha pasado por la fase, la memoria tiene otro dictamen o ya se ha
+          // creado la evaluación de la memoria
+          continue;
+        }
+
+        List<Long> convocatorias = memoriaEvaluada ? convocatoriasOrdinarias.get(comite)
+            : convocatoriasSeguimiento.get(comite);
+        List<Long> evaluadores = evaluadoresComite.get(comite);
+        int evaluador1 = random.nextInt(evaluadores.size());
+        int evaluador2 = (evaluador1 + 1 + random.nextInt(evaluadores.size() - 1)) % evaluadores.size();
+        filas.add(new Object[] { nextId("evaluacion"), memoria, convocatorias.get(random.nextInt(convocatorias.size())),
+            evaluacion[1], conDictamen < 0 ? null : evaluacion[3], evaluadores.get(evaluador1),
+            evaluadores.get(evaluador2), conDictamen < 0 ? null : Date.valueOf(fechas[conDictamen]) });
+        faseMemoria |= memoriaEvaluada;
+      }
+    }
+
+    /**
+     * Filas de las respuestas de una memoria a apartados distintos del
+     * formulario de su comité.
+     *
+     * @param memoria identificador de la {@link Memoria}.
+     * @param comite  identificador del {@link Comite}.
+     * @param total   número de respuestas.
+     * @param filas   filas a las que se añaden las respuestas.
+     */
+    private void respuestas(long memoria, Long comite, long total, List<Object[]> filas) {
+      List<Long> apartados = apartadosFormulario.get(idFormularioComite.get(comite));
+      if (apartados == null || total == 0) {
+        return;
+      }
+      int inicio = random.nextInt(apartados.size());
+      for (int j = 0; j < Math.min(total, apartados.size()); j++) {
+        long id = nextId("respuesta");
+        filas.add(new Object[] { id, memoria, apartados.get((inicio + j) % apartados.size()),
+            "{\"valor\":\"Respuesta " + id + "\",\"opcion\":\"" + (random.nextBoolean() ? "si" : "no") + "\"}" });
+      }
+    }
+
+    /**
+     * Reinicia las secuencias de las tablas en el siguiente identificador libre.
+     */
+    void reiniciarSecuencias() {
+      siguientesIds.forEach(
+          (tabla, id) -> jdbcTemplate.execute(sql("ALTER SEQUENCE {h-schema}" + tabla + "_seq RESTART WITH " + id)));
+    }
+
+    /**
+     * Trayectoria de estados de una memoria según los porcentajes de
+     * TRAYECTORIAS.
+     *
+     * @return los estados.
+     */
+    private long[] trayectoria() {
+      int valor = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+      int i = 0;
+      while (pesosAcumulados[i] <= valor) {
+        i++;
+      }
+      return trayectorias.get(i);
+    }
+
+    private String persona() {
+      return persona(random.nextInt(numPersonas));
+    }
+
+    private String persona(int indice) {
+      return String.format("%s%05d", PREFIJO_PERSONA, indice + 1);
+    }
+
+    private long nextId(String tabla) {
+      return siguientesIds.merge(tabla, 1L, Long::sum) - 1;
+    }
+
+    private void insert(String tabla, String sql, List<Object[]> filas) {
+      if (!filas.isEmpty()) {
+        jdbcTemplate.batchUpdate(sql(sql), filas);
+        contadores.merge(tabla, (long) filas.size(), Long::sum);
+      }
+    }
+  }
+
+  private static int indexOf(long[] valores, long valor) {
+    for (int i = 0; i < valores.length; i++) {
+      if (valores[i] == valor) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
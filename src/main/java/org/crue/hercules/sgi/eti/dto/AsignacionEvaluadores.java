@@ -0,0 +1,33 @@
+package org.crue.hercules.sgi.eti.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Memoria;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Propuesta de asignación de evaluadores a las memorias asignables a una
+ * convocatoria de reunión.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsignacionEvaluadores implements Serializable {
+
+  /**
+   * Serial version
+   */
+  private static final long serialVersionUID = 1L;
+
+  /** Evaluaciones propuestas (sin persistir) con sus dos evaluadores. */
+  private List<Evaluacion> evaluaciones;
+
+  /** Memorias para las que no hay dos evaluadores disponibles. */
+  private List<Memoria> memoriasSinAsignar;
+
+}
@@ -0,0 +1,35 @@
+package org.crue.hercules.sgi.eti.dto;
+
+import java.io.Serializable;
+
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Memoria;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la creación de una de las {@link Evaluacion} de una asignación
+ * de memorias a una convocatoria de reunión.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluacionBatchResult implements Serializable {
+
+  /**
+   * Serial version
+   */
+  private static final long serialVersionUID = 1L;
+
+  /** Identificador de la {@link Memoria}. */
+  private Long idMemoria;
+
+  /** Evaluación creada, nula si no se ha podido crear. */
+  private Evaluacion evaluacion;
+
+  /** Motivo por el que no se ha podido crear la evaluación. */
+  private String error;
+
+}
@@ -0,0 +1,101 @@
+package org.crue.hercules.sgi.eti.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Bloque;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.crue.hercules.sgi.eti.util.RawJson;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Árbol completo de un {@link Formulario}: sus {@link Bloque} y, dentro de
+ * cada uno, sus {@link Apartado} con los apartados hijos anidados. Bloques y
+ * apartados van ordenados por su orden.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormularioArbol implements Serializable {
+
+  /**
+   * Serial version
+   */
+  private static final long serialVersionUID = 1L;
+
+  /** Id. */
+  private Long id;
+
+  /** Nombre. */
+  private String nombre;
+
+  /** Descripción. */
+  private String descripcion;
+
+  /** Bloques del formulario. */
+  private List<BloqueArbol> bloques = new ArrayList<>();
+
+  /**
+   * {@link Bloque} del árbol de un formulario.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class BloqueArbol implements Serializable {
+
+    /**
+     * Serial version
+     */
+    private static final long serialVersionUID = 1L;
+
+    /** Id. */
+    private Long id;
+
+    /** Nombre. */
+    private String nombre;
+
+    /** Orden. */
+    private Integer orden;
+
+    /** Apartados del bloque sin apartado padre. */
+    private List<ApartadoArbol> apartados = new ArrayList<>();
+  }
+
+  /**
+   * {@link Apartado} del árbol de un formulario.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ApartadoArbol implements Serializable {
+
+    /**
+     * Serial version
+     */
+    private static final long serialVersionUID = 1L;
+
+    /** Id. */
+    private Long id;
+
+    /** Nombre. */
+    private String nombre;
+
+    /** Orden. */
+    private Integer orden;
+
+    /** Esquema. */
+    @JsonSerialize(using = RawJson.Serializer.class)
+    private String esquema;
+
+    /** Apartados hijos. */
+    private List<ApartadoArbol> hijos = new ArrayList<>();
+  }
+
+}
@@ -0,0 +1,29 @@
+package org.crue.hercules.sgi.eti.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link FormularioArbol} serializado a JSON y comprimido con GZIP, tal y como
+ * se guarda en la caché y se envía a los clientes que aceptan GZIP.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormularioArbolSerializado implements Serializable {
+
+  /**
+   * Serial version
+   */
+  private static final long serialVersionUID = 1L;
+
+  /** JSON del árbol comprimido con GZIP. */
+  private byte[] contenido;
+
+  /** ETag (entre comillas) calculado sobre el JSON sin comprimir. */
+  private String etag;
+
+}
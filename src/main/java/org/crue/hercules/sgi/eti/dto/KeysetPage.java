@@ -0,0 +1,39 @@
+package org.crue.hercules.sgi.eti.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página obtenida mediante paginación por cursor (keyset).
+ *
+ * A diferencia de {@link org.springframework.data.domain.Page} no conoce el
+ * número total de elementos: contiene los elementos de la página y el cursor
+ * opaco con el que se solicita la página siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> implements Serializable {
+
+  /** Cabecera con la que se solicita una página en modo cursor. */
+  public static final String CURSOR_HEADER = "X-Page-Cursor";
+
+  /** Cabecera de respuesta con el cursor de la página siguiente. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Page-Cursor";
+
+  /**
+   * Serial version
+   */
+  private static final long serialVersionUID = 1L;
+
+  /** Elementos de la página */
+  private List<T> content;
+
+  /** Cursor de la página siguiente (null si es la última página) */
+  private String nextCursor;
+
+}
@@ -59,4 +59,31 @@ public class MemoriaPeticionEvaluacion implements Serializable {
     this.activo = activo;
   }
 
+  public MemoriaPeticionEvaluacion(Long id, String numReferencia, String titulo, Comite comite,
+      TipoEstadoMemoria estadoActual, boolean requiereRetrospectiva, Retrospectiva retrospectiva,
+      boolean isResponsable, boolean activo) {
+
+    this.id = id;
+    this.numReferencia = numReferencia;
+    this.titulo = titulo;
+    this.comite = comite;
+    this.estadoActual = estadoActual;
+    this.requiereRetrospectiva = requiereRetrospectiva;
+    this.retrospectiva = retrospectiva;
+    this.isResponsable = isResponsable;
+    this.activo = activo;
+  }
+
+  public MemoriaPeticionEvaluacion(Long id, String numReferencia, String titulo, Comite comite,
+      TipoEstadoMemoria estadoActual, boolean isResponsable, boolean activo) {
+
+    this.id = id;
+    this.numReferencia = numReferencia;
+    this.titulo = titulo;
+    this.comite = comite;
+    this.estadoActual = estadoActual;
+    this.isResponsable = isResponsable;
+    this.activo = activo;
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package org.crue.hercules.sgi.eti.metrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MethodMetricsAspect
+ *
+ * Mide con Micrometer la duración de los métodos públicos de los servicios
+ * (*ServiceImpl) y de los custom repositories (Custom*RepositoryImpl) y cuenta
+ * los que terminan con excepción.
+ *
+ * Las métricas se etiquetan con la clase, el método, el endpoint de la petición
+ * en curso, el comité y el tamaño de página de los argumentos. Se publican en
+ * los endpoints metrics y prometheus del actuator y se pueden activar o
+ * desactivar en caliente con el endpoint {@link MethodMetricsEndpoint}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class MethodMetricsAspect {
+
+  /** Timer de los métodos de los servicios. */
+  public static final String SERVICE_METRIC = "sgi.eti.service";
+  /** Timer de los métodos de los custom repositories. */
+  public static final String REPOSITORY_METRIC = "sgi.eti.repository";
+  /** Sufijo de los contadores de errores. */
+  public static final String ERRORS_SUFFIX = ".errors";
+
+  public static final String TAG_CLASS = "class";
+  public static final String TAG_METHOD = "method";
+  public static final String TAG_ENDPOINT = "endpoint";
+  public static final String TAG_COMITE = "comite";
+  public static final String TAG_PAGE_SIZE = "page.size";
+  public static final String TAG_EXCEPTION = "exception";
+
+  /** Valor de las etiquetas que no aplican. */
+  public static final String NONE = "none";
+  /** Valor de la etiqueta del tamaño de página de las consultas sin paginar. */
+  public static final String UNPAGED = "unpaged";
+
+  /**
+   * Límites superiores con los que se agrupan los tamaños de página, para no
+   * crear una serie por cada tamaño que pida el cliente.
+   */
+  private static final int[] PAGE_SIZE_BUCKETS = { 10, 20, 50, 100, 500 };
+  private static final String PAGE_SIZE_OVER_BUCKETS = "+Inf";
+
+  private static final String ID_COMITE_PARAMETER = "idComite";
+
+  private final MeterRegistry meterRegistry;
+  private final AtomicBoolean enabled;
+
+  public MethodMetricsAspect(MeterRegistry meterRegistry,
+      @Value("${sgi.eti.metrics.enabled:true}") boolean enabled) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = new AtomicBoolean(enabled);
+  }
+
+  /**
+   * Indica si se están registrando las métricas.
+   *
+   * @return true si se registran.
+   */
+  public boolean isEnabled() {
+    return enabled.get();
+  }
+
+  /**
+   * Activa o desactiva el registro de las métricas.
+   *
+   * @param enabled true para registrarlas.
+   */
+  public void setEnabled(boolean enabled) {
+    log.debug("setEnabled(boolean enabled) - start");
+    this.enabled.set(enabled);
+    log.debug("setEnabled(boolean enabled) - end");
+  }
+
+  @Around("execution(public * org.crue.hercules.sgi.eti.service.impl.*ServiceImpl.*(..))")
+  public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(SERVICE_METRIC, joinPoint);
+  }
+
+  @Around("execution(public * org.crue.hercules.sgi.eti.repository.custom.Custom*RepositoryImpl.*(..))")
+  public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(REPOSITORY_METRIC, joinPoint);
+  }
+
+  /**
+   * Ejecuta el método registrando su duración y, si lanza una excepción, el
+   * error.
+   *
+   * @param metric    nombre de la métrica.
+   * @param joinPoint el método.
+   * @return el resultado del método.
+   * @throws Throwable la excepción lanzada por el método.
+   */
+  private Object time(String metric, ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!enabled.get()) {
+      return joinPoint.proceed();
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = NONE;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      Tags tags = getTags(joinPoint);
+      sample.stop(Timer.builder(metric).tags(tags).tag(TAG_EXCEPTION, exception).register(meterRegistry));
+      if (!NONE.equals(exception)) {
+        meterRegistry.counter(metric + ERRORS_SUFFIX, tags.and(TAG_EXCEPTION, exception)).increment();
+      }
+    }
+  }
+
+  /**
+   * Etiquetas de la ejecución del método.
+   *
+   * @param joinPoint el método.
+   * @return las etiquetas.
+   */
+  private Tags getTags(ProceedingJoinPoint joinPoint) {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    String comite = NONE;
+    String pageSize = NONE;
+    String[] parameterNames = signature.getParameterNames();
+    Object[] args = joinPoint.getArgs();
+    for (int i = 0; i < args.length; i++) {
+      Object arg = args[i];
+      if (arg instanceof Pageable) {
+        pageSize = getPageSize((Pageable) arg);
+      } else if (arg instanceof Comite && ((Comite) arg).getId() != null) {
+        comite = ((Comite) arg).getId().toString();
+      } else if (arg instanceof Long && parameterNames != null
+          && ID_COMITE_PARAMETER.equals(parameterNames[i])) {
+        comite = arg.toString();
+      }
+    }
+
+    return Tags.of(TAG_CLASS, ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(), TAG_METHOD,
+        signature.getName(), TAG_ENDPOINT, getEndpoint(), TAG_COMITE, comite, TAG_PAGE_SIZE, pageSize);
+  }
+
+  /**
+   * Endpoint de la petición en curso (método HTTP y patrón de la URL).
+   *
+   * @return el endpoint o {@value #NONE} si no se está atendiendo una petición.
+   */
+  private static String getEndpoint() {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (!(requestAttributes instanceof ServletRequestAttributes)) {
+      return NONE;
+    }
+    HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? NONE : request.getMethod() + " " + pattern;
+  }
+
+  /**
+   * Tamaño de página agrupado por su límite superior.
+   *
+   * @param pageable la paginación.
+   * @return el límite superior del tamaño de página.
+   */
+  private static String getPageSize(Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return UNPAGED;
+    }
+    for (int bucket : PAGE_SIZE_BUCKETS) {
+      if (pageable.getPageSize() <= bucket) {
+        return String.valueOf(bucket);
+      }
+    }
+    return PAGE_SIZE_OVER_BUCKETS;
+  }
+
+}
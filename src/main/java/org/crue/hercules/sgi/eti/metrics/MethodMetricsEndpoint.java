@@ -0,0 +1,67 @@
+package org.crue.hercules.sgi.eti.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MethodMetricsEndpoint
+ *
+ * Endpoint del actuator ({@value #ID}) para consultar y cambiar en caliente si
+ * {@link MethodMetricsAspect} registra las métricas de los servicios y custom
+ * repositories.
+ *
+ * Como el resto del actuator, solo se publica en el puerto de gestión
+ * (management.server.port) y además exige la autoridad ETI-MON-E, porque
+ * permite cambiar el comportamiento de la aplicación.
+ */
+@Component
+@Endpoint(id = MethodMetricsEndpoint.ID)
+@Slf4j
+public class MethodMetricsEndpoint {
+
+  /** Identificador del endpoint. */
+  public static final String ID = "methodmetrics";
+
+  private static final String ENABLED = "enabled";
+
+  private final MethodMetricsAspect methodMetricsAspect;
+
+  public MethodMetricsEndpoint(MethodMetricsAspect methodMetricsAspect) {
+    this.methodMetricsAspect = methodMetricsAspect;
+  }
+
+  /**
+   * Indica si se están registrando las métricas.
+   *
+   * @return el estado.
+   */
+  @ReadOperation
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-MON-E')")
+  public Map<String, Boolean> status() {
+    return Collections.singletonMap(ENABLED, methodMetricsAspect.isEnabled());
+  }
+
+  /**
+   * Activa o desactiva el registro de las métricas.
+   *
+   * @param enabled true para registrarlas.
+   * @return el nuevo estado.
+   */
+  @WriteOperation
+  @PreAuthorize("hasAnyAuthorityForAnyUO('ETI-MON-E')")
+  public Map<String, Boolean> setEnabled(boolean enabled) {
+    log.debug("setEnabled(boolean enabled) - start");
+    methodMetricsAspect.setEnabled(enabled);
+    log.debug("setEnabled(boolean enabled) - end");
+    return status();
+  }
+
+}
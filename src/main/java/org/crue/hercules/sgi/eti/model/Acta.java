@@ -35,7 +35,7 @@ public class Acta extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "acta_seq")
-  @SequenceGenerator(name = "acta_seq", sequenceName = "acta_seq", allocationSize = 1)
+  @SequenceGenerator(name = "acta_seq", sequenceName = "acta_seq", allocationSize = 50)
   private Long id;
 
   @OneToOne
@@ -1,8 +1,5 @@
 package org.crue.hercules.sgi.eti.model;
 
-import java.io.IOException;
-import java.io.StringWriter;
-
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.ForeignKey;
@@ -14,12 +11,10 @@ import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonRawValue;
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import org.crue.hercules.sgi.eti.util.RawJson;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -45,7 +40,7 @@ public class Apartado extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "apartado_seq")
-  @SequenceGenerator(name = "apartado_seq", sequenceName = "apartado_seq", allocationSize = 1)
+  @SequenceGenerator(name = "apartado_seq", sequenceName = "apartado_seq", allocationSize = 50)
   private Long id;
 
   /** Bloque. */
@@ -72,28 +67,13 @@ public class Apartado extends BaseEntity {
   @Setter(AccessLevel.NONE)
   private String esquema;
 
-  @JsonRawValue
+  @JsonSerialize(using = RawJson.Serializer.class)
   public String getEsquema() {
     return esquema;
   }
 
+  @JsonDeserialize(using = RawJson.Deserializer.class)
   public void setEsquema(final String esquema) {
     this.esquema = esquema;
   }
-
-  @JsonProperty(value = "esquema")
-  public void setEsquemaRaw(JsonNode jsonNode) throws IOException {
-    // this leads to non-standard json:
-    // setJson(jsonNode.toString());
-
-    if (jsonNode.isNull()) {
-      setEsquema(null);
-    } else {
-      StringWriter stringWriter = new StringWriter();
-      ObjectMapper objectMapper = new ObjectMapper();
-      JsonGenerator generator = new JsonFactory(objectMapper).createGenerator(stringWriter);
-      generator.writeTree(jsonNode);
-      setEsquema(stringWriter.toString());
-    }
-  }
 }
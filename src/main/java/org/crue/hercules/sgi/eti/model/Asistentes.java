@@ -38,7 +38,7 @@ public class Asistentes extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asistentes_seq")
-  @SequenceGenerator(name = "asistentes_seq", sequenceName = "asistentes_seq", allocationSize = 1)
+  @SequenceGenerator(name = "asistentes_seq", sequenceName = "asistentes_seq", allocationSize = 50)
   private Long id;
 
   /** Evaluador */
@@ -38,7 +38,7 @@ public class Bloque extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bloque_seq")
-  @SequenceGenerator(name = "bloque_seq", sequenceName = "bloque_seq", allocationSize = 1)
+  @SequenceGenerator(name = "bloque_seq", sequenceName = "bloque_seq", allocationSize = 50)
   private Long id;
 
   /** Formulario */
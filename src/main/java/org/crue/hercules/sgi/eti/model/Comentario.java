@@ -34,7 +34,7 @@ public class Comentario extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comentario_seq")
-  @SequenceGenerator(name = "comentario_seq", sequenceName = "comentario_seq", allocationSize = 1)
+  @SequenceGenerator(name = "comentario_seq", sequenceName = "comentario_seq", allocationSize = 50)
   private Long id;
 
   /** Formulario Memoria */
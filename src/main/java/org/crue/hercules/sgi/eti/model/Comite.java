@@ -12,6 +12,9 @@ import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -19,6 +22,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "comite")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -33,7 +37,7 @@ public class Comite extends BaseEntity {
   @Id
   @Column(name = "id", length = 28, nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comite_seq")
-  @SequenceGenerator(name = "comite_seq", sequenceName = "comite_seq", allocationSize = 1)
+  @SequenceGenerator(name = "comite_seq", sequenceName = "comite_seq", allocationSize = 50)
   private Long id;
 
   /** Comité */
@@ -35,7 +35,7 @@ public class Configuracion extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "configuracion_seq")
-  @SequenceGenerator(name = "configuracion_seq", sequenceName = "configuracion_seq", allocationSize = 1)
+  @SequenceGenerator(name = "configuracion_seq", sequenceName = "configuracion_seq", allocationSize = 50)
   private Long id;
 
   /** mesesArchivadaInactivo. */
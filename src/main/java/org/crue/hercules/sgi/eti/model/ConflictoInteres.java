@@ -37,7 +37,7 @@ public class ConflictoInteres extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conflicto_interes_seq")
-  @SequenceGenerator(name = "conflicto_interes_seq", sequenceName = "conflicto_interes_seq", allocationSize = 1)
+  @SequenceGenerator(name = "conflicto_interes_seq", sequenceName = "conflicto_interes_seq", allocationSize = 50)
   private Long id;
 
   /** Evaluador */
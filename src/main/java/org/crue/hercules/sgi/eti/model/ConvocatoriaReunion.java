@@ -37,7 +37,7 @@ public class ConvocatoriaReunion extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "convocatoria_reunion_seq")
-  @SequenceGenerator(name = "convocatoria_reunion_seq", sequenceName = "convocatoria_reunion_seq", allocationSize = 1)
+  @SequenceGenerator(name = "convocatoria_reunion_seq", sequenceName = "convocatoria_reunion_seq", allocationSize = 50)
   private Long id;
 
   /** Comite. */
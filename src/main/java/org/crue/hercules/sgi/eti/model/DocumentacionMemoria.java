@@ -38,7 +38,8 @@ public class DocumentacionMemoria extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documentacion_memoria_seq")
-  @SequenceGenerator(name = "documentacion_memoria_seq", sequenceName = "documentacion_memoria_seq", allocationSize = 1)
+  @SequenceGenerator(name = "documentacion_memoria_seq", sequenceName = "documentacion_memoria_seq",
+      allocationSize = 50)
   private Long id;
 
   /** Memoria */
@@ -37,7 +37,7 @@ public class EquipoTrabajo extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipo_trabajo_seq")
-  @SequenceGenerator(name = "equipo_trabajo_seq", sequenceName = "equipo_trabajo_seq", allocationSize = 1)
+  @SequenceGenerator(name = "equipo_trabajo_seq", sequenceName = "equipo_trabajo_seq", allocationSize = 50)
   private Long id;
 
   /** Referencia usuario */
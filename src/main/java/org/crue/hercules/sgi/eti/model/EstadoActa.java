@@ -35,7 +35,7 @@ public class EstadoActa extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estado_acta_seq")
-  @SequenceGenerator(name = "estado_acta_seq", sequenceName = "estado_acta_seq", allocationSize = 1)
+  @SequenceGenerator(name = "estado_acta_seq", sequenceName = "estado_acta_seq", allocationSize = 50)
   private Long id;
 
   /** Acta */
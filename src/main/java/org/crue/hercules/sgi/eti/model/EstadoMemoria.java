@@ -35,17 +35,17 @@ public class EstadoMemoria extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estado_memoria_seq")
-  @SequenceGenerator(name = "estado_memoria_seq", sequenceName = "estado_memoria_seq", allocationSize = 1)
+  @SequenceGenerator(name = "estado_memoria_seq", sequenceName = "estado_memoria_seq", allocationSize = 50)
   private Long id;
 
   /** Memoria */
-  @ManyToOne
+  @ManyToOne(optional = false)
   @JoinColumn(name = "memoria_id", nullable = false, foreignKey = @ForeignKey(name = "FK_ESTADOMEMORIA_MEMORIA"))
   @NotNull
   private Memoria memoria;
 
   /** Tipo estado memoria */
-  @ManyToOne
+  @ManyToOne(optional = false)
   @JoinColumn(name = "tipo_estado_memoria_id", nullable = false, foreignKey = @ForeignKey(name = "FK_ESTADOMEMORIA_MEMORIA"))
   @NotNull
   private TipoEstadoMemoria tipoEstadoMemoria;
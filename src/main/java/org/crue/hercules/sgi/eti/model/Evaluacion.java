@@ -10,6 +10,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -26,6 +29,16 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "evaluacion")
+// @formatter:off
+@NamedEntityGraph(name = Evaluacion.GRAPH_MEMORIA,
+    attributeNodes = @NamedAttributeNode(value = "memoria", subgraph = "memoria"),
+    subgraphs = @NamedSubgraph(name = "memoria", attributeNodes = {
+        @NamedAttributeNode("peticionEvaluacion"),
+        @NamedAttributeNode("comite"),
+        @NamedAttributeNode("tipoMemoria"),
+        @NamedAttributeNode("estadoActual"),
+        @NamedAttributeNode("retrospectiva") }))
+// @formatter:on
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -37,11 +50,17 @@ public class Evaluacion extends BaseEntity {
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * Entity graph de los listados de evaluaciones: la memoria con su petición de
+   * evaluación, comité, tipo, estado actual y retrospectiva.
+   */
+  public static final String GRAPH_MEMORIA = "Evaluacion.memoria";
+
   /** Id */
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evaluacion_seq")
-  @SequenceGenerator(name = "evaluacion_seq", sequenceName = "evaluacion_seq", allocationSize = 1)
+  @SequenceGenerator(name = "evaluacion_seq", sequenceName = "evaluacion_seq", allocationSize = 50)
   private Long id;
 
   /** Memoria */
@@ -40,7 +40,7 @@ public class Evaluador extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evaluador_seq")
-  @SequenceGenerator(name = "evaluador_seq", sequenceName = "evaluador_seq", allocationSize = 1)
+  @SequenceGenerator(name = "evaluador_seq", sequenceName = "evaluador_seq", allocationSize = 50)
   private Long id;
 
   /** Cargo Comité */
@@ -38,7 +38,7 @@ public class Informe extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "informe_seq")
-  @SequenceGenerator(name = "informe_seq", sequenceName = "informe_seq", allocationSize = 1)
+  @SequenceGenerator(name = "informe_seq", sequenceName = "informe_seq", allocationSize = 50)
   private Long id;
 
   /** Formulario Memoria */
@@ -4,12 +4,17 @@ import java.time.LocalDate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.ForeignKey;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -22,10 +27,47 @@ import lombok.NoArgsConstructor;
 
 /**
  * Memoria
+ * 
+ * Las asociaciones que se serializan con la memoria (petición de evaluación,
+ * comité, tipo, estado actual y retrospectiva) se cargan siempre, porque la
+ * memoria llega al cliente anidada en muchas otras entidades. Los entity graph
+ * de la entidad las cargan en la misma consulta que la memoria en lugar de con
+ * una consulta por asociación. La memoria original se carga de forma perezosa y
+ * solo la carga el detalle, por lo que una memoria no arrastra la cadena de
+ * versiones.
  */
 
 @Entity
 @Table(name = "memoria")
+// @formatter:off
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Memoria.GRAPH_LISTADO, attributeNodes = {
+        @NamedAttributeNode("peticionEvaluacion"),
+        @NamedAttributeNode("comite"),
+        @NamedAttributeNode("tipoMemoria"),
+        @NamedAttributeNode("estadoActual"),
+        @NamedAttributeNode("retrospectiva") }),
+    @NamedEntityGraph(name = Memoria.GRAPH_DETALLE, attributeNodes = {
+        @NamedAttributeNode("peticionEvaluacion"),
+        @NamedAttributeNode("comite"),
+        @NamedAttributeNode("tipoMemoria"),
+        @NamedAttributeNode("estadoActual"),
+        @NamedAttributeNode("retrospectiva"),
+        @NamedAttributeNode(value = "memoriaOriginal", subgraph = "memoriaOriginal") },
+        subgraphs = @NamedSubgraph(name = "memoriaOriginal", attributeNodes = {
+            @NamedAttributeNode("peticionEvaluacion"),
+            @NamedAttributeNode("comite"),
+            @NamedAttributeNode("tipoMemoria"),
+            @NamedAttributeNode("estadoActual"),
+            @NamedAttributeNode("retrospectiva") })),
+    @NamedEntityGraph(name = Memoria.GRAPH_CAMBIO_ESTADO, attributeNodes = {
+        @NamedAttributeNode("peticionEvaluacion"),
+        @NamedAttributeNode("comite"),
+        @NamedAttributeNode("tipoMemoria"),
+        @NamedAttributeNode("estadoActual"),
+        @NamedAttributeNode("retrospectiva") })
+})
+// @formatter:on
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -37,11 +79,29 @@ public class Memoria extends BaseEntity {
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * Entity graph de los listados de memorias: petición de evaluación, comité,
+   * tipo, estado actual y retrospectiva.
+   */
+  public static final String GRAPH_LISTADO = "Memoria.listado";
+
+  /**
+   * Entity graph del detalle de una memoria: las asociaciones del listado y la
+   * memoria original con las mismas asociaciones (sin su memoria original).
+   */
+  public static final String GRAPH_DETALLE = "Memoria.detalle";
+
+  /**
+   * Entity graph de los cambios de estado: las asociaciones del listado, sin la
+   * memoria original.
+   */
+  public static final String GRAPH_CAMBIO_ESTADO = "Memoria.cambioEstado";
+
   /** Id */
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "memoria_seq")
-  @SequenceGenerator(name = "memoria_seq", sequenceName = "memoria_seq", allocationSize = 1)
+  @SequenceGenerator(name = "memoria_seq", sequenceName = "memoria_seq", allocationSize = 50)
   @NotNull(groups = { Update.class })
   private Long id;
 
@@ -111,7 +171,7 @@ public class Memoria extends BaseEntity {
   private Boolean activo;
 
   /** Memoria original */
-  @OneToOne
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "memoria_original_id", nullable = true, foreignKey = @ForeignKey(name = "FK_MEMORIA_MEMORIAORIGINAL"))
   private Memoria memoriaOriginal;
 
@@ -39,7 +39,7 @@ public class PeticionEvaluacion extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "peticion_evaluacion_seq")
-  @SequenceGenerator(name = "peticion_evaluacion_seq", sequenceName = "peticion_evaluacion_seq", allocationSize = 1)
+  @SequenceGenerator(name = "peticion_evaluacion_seq", sequenceName = "peticion_evaluacion_seq", allocationSize = 50)
   private Long id;
 
   /** Referencia solicitud convocatoria */
@@ -1,7 +1,6 @@
 package org.crue.hercules.sgi.eti.model;
 
-import java.io.IOException;
-import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -14,12 +13,12 @@ import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonRawValue;
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import org.crue.hercules.sgi.eti.util.RawJson;
+import org.springframework.util.DigestUtils;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -50,7 +49,7 @@ public class Respuesta extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "respuesta_seq")
-  @SequenceGenerator(name = "respuesta_seq", sequenceName = "respuesta_seq", allocationSize = 1)
+  @SequenceGenerator(name = "respuesta_seq", sequenceName = "respuesta_seq", allocationSize = 50)
   private Long id;
 
   /** Formulario Memoria */
@@ -69,28 +68,31 @@ public class Respuesta extends BaseEntity {
   @Setter(AccessLevel.NONE)
   private String valor;
 
-  @JsonRawValue
+  /** Hash del valor, para detectar si ha cambiado sin leerlo */
+  @Column(name = "valor_hash", length = 32, nullable = true)
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  private String valorHash;
+
+  @JsonSerialize(using = RawJson.Serializer.class)
   public String getValor() {
     return valor;
   }
 
+  @JsonDeserialize(using = RawJson.Deserializer.class)
   public void setValor(final String valor) {
     this.valor = valor;
+    this.valorHash = calculateValorHash(valor);
   }
 
-  @JsonProperty(value = "valor")
-  public void setEsquemaRaw(JsonNode jsonNode) throws IOException {
-    // this leads to non-standard json:
-    // setJson(jsonNode.toString());
-
-    if (jsonNode.isNull()) {
-      setValor(null);
-    } else {
-      StringWriter stringWriter = new StringWriter();
-      ObjectMapper objectMapper = new ObjectMapper();
-      JsonGenerator generator = new JsonFactory(objectMapper).createGenerator(stringWriter);
-      generator.writeTree(jsonNode);
-      setValor(stringWriter.toString());
-    }
+  /**
+   * Calcula el hash (MD5 en hexadecimal) de un valor de {@link Respuesta}. Solo
+   * se usa para saber si el valor ha cambiado.
+   * 
+   * @param valor el valor.
+   * @return el hash o null si el valor es null.
+   */
+  public static String calculateValorHash(String valor) {
+    return valor == null ? null : DigestUtils.md5DigestAsHex(valor.getBytes(StandardCharsets.UTF_8));
   }
-}
\ No newline at end of file
+}
@@ -33,7 +33,7 @@ public class Retrospectiva extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "retrospectiva_seq")
-  @SequenceGenerator(name = "retrospectiva_seq", sequenceName = "retrospectiva_seq", allocationSize = 1)
+  @SequenceGenerator(name = "retrospectiva_seq", sequenceName = "retrospectiva_seq", allocationSize = 50)
   private Long id;
 
   /** Estado Retrospectiva. */
@@ -33,7 +33,7 @@ public class Tarea extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarea_seq")
-  @SequenceGenerator(name = "tarea_seq", sequenceName = "tarea_seq", allocationSize = 1)
+  @SequenceGenerator(name = "tarea_seq", sequenceName = "tarea_seq", allocationSize = 50)
   private Long id;
 
   /** Equipo trabajo */
@@ -33,7 +33,7 @@ public class TipoMemoriaComite extends BaseEntity {
   @Id
   @Column(name = "id", nullable = false)
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tipo_memoria_comite_seq")
-  @SequenceGenerator(name = "tipo_memoria_comite_seq", sequenceName = "tipo_memoria_comite_seq", allocationSize = 1)
+  @SequenceGenerator(name = "tipo_memoria_comite_seq", sequenceName = "tipo_memoria_comite_seq", allocationSize = 50)
   private Long id;
 
   /** Comite. */
@@ -1,8 +1,15 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.CargoComite;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,4 +19,17 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CargoComiteRepository extends JpaRepository<CargoComite, Long>, JpaSpecificationExecutor<CargoComite> {
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link CargoComite} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link CargoComite} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<CargoComite> findAll(@Nullable Specification<CargoComite> spec, Pageable pageable);
+
+}
@@ -3,6 +3,7 @@ package org.crue.hercules.sgi.eti.repository;
 import org.crue.hercules.sgi.eti.model.Comentario;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.TipoComentario;
+import org.crue.hercules.sgi.eti.repository.custom.CustomComentarioRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,7 +15,8 @@ import org.springframework.stereotype.Repository;
  */
 
 @Repository
-public interface ComentarioRepository extends JpaRepository<Comentario, Long>, JpaSpecificationExecutor<Comentario> {
+public interface ComentarioRepository
+    extends JpaRepository<Comentario, Long>, JpaSpecificationExecutor<Comentario>, CustomComentarioRepository {
   /**
    * Obtener todas las entidades paginadas {@link Comentario} para un determinado
    * {@link Evaluacion} y {@link TipoComentario}.
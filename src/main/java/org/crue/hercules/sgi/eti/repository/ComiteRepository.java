@@ -2,9 +2,16 @@ package org.crue.hercules.sgi.eti.repository;
 
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.Comite;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -20,6 +27,20 @@ public interface ComiteRepository extends JpaRepository<Comite, Long>, JpaSpecif
    * @param idComite Identificadro {@link Comite}
    * @return {@link Comite}
    */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   Optional<Comite> findByIdAndActivoTrue(Long idComite);
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link Comite} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link Comite} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<Comite> findAll(@Nullable Specification<Comite> spec, Pageable pageable);
+
+}
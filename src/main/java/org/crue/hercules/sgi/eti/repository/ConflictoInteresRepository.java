@@ -2,6 +2,7 @@ package org.crue.hercules.sgi.eti.repository;
 
 import org.crue.hercules.sgi.eti.model.ConflictoInteres;
 import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.repository.custom.CustomConflictoInteresRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,7 +15,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ConflictoInteresRepository
-    extends JpaRepository<ConflictoInteres, Long>, JpaSpecificationExecutor<ConflictoInteres> {
+    extends JpaRepository<ConflictoInteres, Long>, JpaSpecificationExecutor<ConflictoInteres>,
+    CustomConflictoInteresRepository {
 
   /**
    * Obtiene todas las entidades paginadas {@link ConflictoInteres} para un
@@ -26,4 +28,14 @@ public interface ConflictoInteresRepository
    */
   Page<ConflictoInteres> findAllByEvaluadorId(Long id, Pageable pageable);
 
-}
\ No newline at end of file
+  /**
+   * Indica si existe algún {@link ConflictoInteres} del {@link Evaluador} con la
+   * persona indicada.
+   *
+   * @param idEvaluador         Id de {@link Evaluador}.
+   * @param personaConflictoRef Referencia de la persona en conflicto.
+   * @return true si existe el conflicto de intereses.
+   */
+  boolean existsByEvaluadorIdAndPersonaConflictoRef(Long idEvaluador, String personaConflictoRef);
+
+}
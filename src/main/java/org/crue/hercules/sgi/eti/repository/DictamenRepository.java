@@ -2,10 +2,17 @@ package org.crue.hercules.sgi.eti.repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.Dictamen;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -20,6 +27,7 @@ public interface DictamenRepository extends JpaRepository<Dictamen, Long>, JpaSp
    * @param ids los ids de la entidad {@link Dictamen}.
    * @return el listado {@link Dictamen} de los ids correspondientes.
    */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   List<Dictamen> findByIdIn(List<Long> ids);
 
   /**
@@ -28,5 +36,20 @@ public interface DictamenRepository extends JpaRepository<Dictamen, Long>, JpaSp
    * @param tipoEvaluacionId los ids de la entidad {@link TipoEvaluacion}.
    * @return el listado {@link Dictamen} de dichos tipos de evaluacion.
    */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   List<Dictamen> findByTipoEvaluacionId(Long tipoEvaluacionId);
-}
\ No newline at end of file
+
+  /**
+   * Obtiene las entidades {@link Dictamen} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link Dictamen} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<Dictamen> findAll(@Nullable Specification<Dictamen> spec, Pageable pageable);
+
+}
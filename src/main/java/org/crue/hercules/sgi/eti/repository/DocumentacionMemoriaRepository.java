@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.TipoDocumento;
+import org.crue.hercules.sgi.eti.repository.custom.CustomDocumentacionMemoriaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,7 +19,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DocumentacionMemoriaRepository
-    extends JpaRepository<DocumentacionMemoria, Long>, JpaSpecificationExecutor<DocumentacionMemoria> {
+    extends JpaRepository<DocumentacionMemoria, Long>, JpaSpecificationExecutor<DocumentacionMemoria>,
+    CustomDocumentacionMemoriaRepository {
 
   /**
    * Obtener todas las entidades paginadas {@link DocumentacionMemoria} para una
@@ -1,8 +1,9 @@
 package org.crue.hercules.sgi.eti.repository;
 
-import java.util.List;
+import java.util.Optional;
 
 import org.crue.hercules.sgi.eti.model.EstadoMemoria;
+import org.crue.hercules.sgi.eti.repository.custom.CustomEstadoMemoriaRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -13,12 +14,32 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EstadoMemoriaRepository
-    extends JpaRepository<EstadoMemoria, Long>, JpaSpecificationExecutor<EstadoMemoria> {
+    extends JpaRepository<EstadoMemoria, Long>, JpaSpecificationExecutor<EstadoMemoria>, CustomEstadoMemoriaRepository {
 
   // EstadoMemoria findByMemoriaIdAndIdNotInByOrderByFechaEstadoDescLimitedTo(Long
   // idMemoria, Long idEstadoMemoria,
   // int limit);
 
-  List<EstadoMemoria> findAllByMemoriaIdOrderByFechaEstadoDesc(Long idMemoria);
+  /**
+   * Recupera el último {@link EstadoMemoria} de la memoria con el tipo de estado
+   * indicado.
+   * 
+   * @param idMemoria           Identificador de la memoria.
+   * @param idTipoEstadoMemoria Identificador del tipo de estado.
+   * @return el último {@link EstadoMemoria} con ese tipo de estado.
+   */
+  Optional<EstadoMemoria> findFirstByMemoriaIdAndTipoEstadoMemoriaIdOrderByFechaEstadoDesc(Long idMemoria,
+      Long idTipoEstadoMemoria);
+
+  /**
+   * Recupera el último {@link EstadoMemoria} de la memoria con un tipo de estado
+   * distinto al indicado.
+   * 
+   * @param idMemoria           Identificador de la memoria.
+   * @param idTipoEstadoMemoria Identificador del tipo de estado.
+   * @return el último {@link EstadoMemoria} con otro tipo de estado.
+   */
+  Optional<EstadoMemoria> findFirstByMemoriaIdAndTipoEstadoMemoriaIdNotOrderByFechaEstadoDesc(Long idMemoria,
+      Long idTipoEstadoMemoria);
 
 }
\ No newline at end of file
@@ -9,6 +9,9 @@ import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.repository.custom.CustomEvaluacionRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -20,6 +23,29 @@ import org.springframework.stereotype.Repository;
 public interface EvaluacionRepository
     extends JpaRepository<Evaluacion, Long>, JpaSpecificationExecutor<Evaluacion>, CustomEvaluacionRepository {
 
+  /**
+   * Recupera la evaluación con el id recibido por parámetro junto con los datos
+   * de su memoria ({@link Evaluacion#GRAPH_MEMORIA}).
+   * 
+   * @param id Id {@link Evaluacion}
+   * @return evaluación
+   */
+  @Override
+  @EntityGraph(value = Evaluacion.GRAPH_MEMORIA, type = EntityGraphType.LOAD)
+  Optional<Evaluacion> findById(Long id);
+
+  /**
+   * Devuelve una lista paginada de evaluaciones que cumplen la especificación
+   * junto con los datos de su memoria ({@link Evaluacion#GRAPH_MEMORIA}).
+   * 
+   * @param spec     especificación de búsqueda
+   * @param pageable datos de la paginación
+   * @return lista paginada de evaluaciones
+   */
+  @Override
+  @EntityGraph(value = Evaluacion.GRAPH_MEMORIA, type = EntityGraphType.LOAD)
+  Page<Evaluacion> findAll(Specification<Evaluacion> spec, Pageable pageable);
+
   /**
    * Obtener todas las entidades paginadas {@link Evaluacion} activas para una
    * determinada {@link ConvocatoriaReunion} que no sean de revisión mínima.
@@ -28,6 +54,7 @@ public interface EvaluacionRepository
    * @param pageable la información de la paginación.
    * @return la lista de entidades {@link Evaluacion} paginadas.
    */
+  @EntityGraph(value = Evaluacion.GRAPH_MEMORIA, type = EntityGraphType.LOAD)
   Page<Evaluacion> findAllByActivoTrueAndConvocatoriaReunionIdAndEsRevMinimaFalse(Long id, Pageable pageable);
 
   /**
@@ -1,14 +1,36 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.Formulario;
+import org.crue.hercules.sgi.eti.repository.custom.CustomFormularioRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository para {@link Formulario}.
  */
 @Repository
-public interface FormularioRepository extends JpaRepository<Formulario, Long>, JpaSpecificationExecutor<Formulario> {
+public interface FormularioRepository
+    extends JpaRepository<Formulario, Long>, JpaSpecificationExecutor<Formulario>, CustomFormularioRepository {
+
+  /**
+   * Obtiene las entidades {@link Formulario} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link Formulario} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<Formulario> findAll(@Nullable Specification<Formulario> spec, Pageable pageable);
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.crue.hercules.sgi.eti.model.Comite;
@@ -8,6 +10,9 @@ import org.crue.hercules.sgi.eti.model.TipoMemoria;
 import org.crue.hercules.sgi.eti.repository.custom.CustomMemoriaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -19,14 +24,58 @@ import org.springframework.stereotype.Repository;
 public interface MemoriaRepository
     extends JpaRepository<Memoria, Long>, JpaSpecificationExecutor<Memoria>, CustomMemoriaRepository {
 
+  /**
+   * Recupera la memoria con el id recibido por parámetro con los datos de su
+   * detalle ({@link Memoria#GRAPH_DETALLE}).
+   * 
+   * @param id Id {@link Memoria}
+   * @return memoria
+   */
+  @Override
+  @EntityGraph(value = Memoria.GRAPH_DETALLE, type = EntityGraphType.LOAD)
+  Optional<Memoria> findById(Long id);
+
+  /**
+   * Recupera la memoria con el id recibido por parámetro con los datos que
+   * necesitan los cambios de estado ({@link Memoria#GRAPH_CAMBIO_ESTADO}).
+   * 
+   * @param id Id {@link Memoria}
+   * @return memoria
+   */
+  @EntityGraph(value = Memoria.GRAPH_CAMBIO_ESTADO, type = EntityGraphType.LOAD)
+  Optional<Memoria> findCambioEstadoById(Long id);
+
+  /**
+   * Recupera las memorias con los ids recibidos por parámetro con los datos que
+   * necesitan los cambios de estado ({@link Memoria#GRAPH_CAMBIO_ESTADO}).
+   * 
+   * @param ids Ids {@link Memoria}
+   * @return memorias
+   */
+  @EntityGraph(value = Memoria.GRAPH_CAMBIO_ESTADO, type = EntityGraphType.LOAD)
+  List<Memoria> findCambioEstadoByIdIn(Collection<Long> ids);
+
   /**
    * Recupera la memoria activa con el id recibido por parámetro.
    * 
    * @param idMemoria Id {@link Memoria}
    * @return memoria
    */
+  @EntityGraph(value = Memoria.GRAPH_LISTADO, type = EntityGraphType.LOAD)
   Optional<Memoria> findByIdAndActivoTrue(Long idMemoria);
 
+  /**
+   * Devuelve una lista paginada de memorias que cumplen la especificación con
+   * los datos de los listados ({@link Memoria#GRAPH_LISTADO}).
+   * 
+   * @param spec     especificación de búsqueda
+   * @param pageable datos de la paginación
+   * @return lista paginada de memorias
+   */
+  @Override
+  @EntityGraph(value = Memoria.GRAPH_LISTADO, type = EntityGraphType.LOAD)
+  Page<Memoria> findAll(Specification<Memoria> spec, Pageable pageable);
+
   /**
    * Recupera la útlima memoria cuyo tipo no corresponda con el recibido por
    * parámetro, su comité sea el recibido y su número de referencia contenga el
@@ -58,6 +107,7 @@ public interface MemoriaRepository
    * @param paging   Datos de la paginación.
    * @return lista paginada de memorias
    */
+  @EntityGraph(value = Memoria.GRAPH_LISTADO, type = EntityGraphType.LOAD)
   Page<Memoria> findByComiteIdAndActivoTrueAndComiteActivoTrue(Long idComite, Pageable paging);
 
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.model.Apartado;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.repository.custom.CustomRespuestaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,7 +17,8 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository para {@link Respuesta}.
  */
 @Repository
-public interface RespuestaRepository extends JpaRepository<Respuesta, Long>, JpaSpecificationExecutor<Respuesta> {
+public interface RespuestaRepository
+    extends JpaRepository<Respuesta, Long>, JpaSpecificationExecutor<Respuesta>, CustomRespuestaRepository {
 
   /**
    * Obtiene la Respuesta asociada a un Memoria y Apartado
@@ -31,4 +37,14 @@ public interface RespuestaRepository extends JpaRepository<Respuesta, Long>, Jpa
    * @return listado paginado de respuestas.
    */
   Page<Respuesta> findByMemoriaIdAndMemoriaActivoTrue(Long idMemoria, Pageable pageable);
-}
\ No newline at end of file
+
+  /**
+   * Obtiene las respuestas de una memoria para los apartados indicados, ordenadas
+   * por id.
+   * 
+   * @param idMemoria   Identificador {@link Memoria}.
+   * @param idsApartado Identificadores {@link Apartado}.
+   * @return respuestas de la memoria.
+   */
+  List<Respuesta> findByMemoriaIdAndApartadoIdInOrderByIdAsc(Long idMemoria, Collection<Long> idsApartado);
+}
@@ -1,6 +1,7 @@
 package org.crue.hercules.sgi.eti.repository;
 
 import org.crue.hercules.sgi.eti.model.Retrospectiva;
+import org.crue.hercules.sgi.eti.repository.custom.CustomRetrospectivaRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface RetrospectivaRepository
-    extends JpaRepository<Retrospectiva, Long>, JpaSpecificationExecutor<Retrospectiva> {
+    extends JpaRepository<Retrospectiva, Long>, JpaSpecificationExecutor<Retrospectiva>,
+    CustomRetrospectivaRepository {
 
 }
\ No newline at end of file
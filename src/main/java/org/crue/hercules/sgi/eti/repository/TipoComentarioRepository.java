@@ -1,8 +1,15 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.TipoComentario;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,4 +20,17 @@ import org.springframework.stereotype.Repository;
 public interface TipoComentarioRepository
     extends JpaRepository<TipoComentario, Long>, JpaSpecificationExecutor<TipoComentario> {
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link TipoComentario} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link TipoComentario} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<TipoComentario> findAll(@Nullable Specification<TipoComentario> spec, Pageable pageable);
+
+}
@@ -2,9 +2,16 @@ package org.crue.hercules.sgi.eti.repository;
 
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.TipoDocumento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -21,6 +28,20 @@ public interface TipoDocumentoRepository
    * @param id id {link {@link TipoDocumento}
    * @return {@link TipoDocumento}
    */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   Optional<TipoDocumento> findByIdAndActivoTrue(Long id);
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link TipoDocumento} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link TipoDocumento} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<TipoDocumento> findAll(@Nullable Specification<TipoDocumento> spec, Pageable pageable);
+
+}
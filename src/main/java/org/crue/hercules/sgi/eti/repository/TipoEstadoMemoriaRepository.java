@@ -1,8 +1,15 @@
 package org.crue.hercules.sgi.eti.repository;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,4 +20,18 @@ import org.springframework.stereotype.Repository;
 public interface TipoEstadoMemoriaRepository
     extends JpaRepository<TipoEstadoMemoria, Long>, JpaSpecificationExecutor<TipoEstadoMemoria> {
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link TipoEstadoMemoria} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link TipoEstadoMemoria} paginadas y
+   *         filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<TipoEstadoMemoria> findAll(@Nullable Specification<TipoEstadoMemoria> spec, Pageable pageable);
+
+}
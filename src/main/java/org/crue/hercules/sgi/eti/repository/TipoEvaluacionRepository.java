@@ -2,9 +2,16 @@ package org.crue.hercules.sgi.eti.repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -22,6 +29,20 @@ public interface TipoEvaluacionRepository
    * 
    * @return la lista de entidades {@link TipoEvaluacion}.
    */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   List<TipoEvaluacion> findByActivoTrueAndIdIn(List<Long> ids);
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las entidades {@link TipoEvaluacion} paginadas y filtradas.
+   * 
+   * La consulta se almacena en la caché de consultas de Hibernate.
+   *
+   * @param spec     condiciones de búsqueda.
+   * @param pageable la información de la paginación.
+   * @return la lista de entidades {@link TipoEvaluacion} paginadas y filtradas.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  @Override
+  Page<TipoEvaluacion> findAll(@Nullable Specification<TipoEvaluacion> spec, Pageable pageable);
+
+}
@@ -1,6 +1,7 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
 import org.crue.hercules.sgi.eti.dto.ActaWithNumEvaluaciones;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
@@ -20,4 +21,16 @@ public interface CustomActaRepository {
    */
   Page<ActaWithNumEvaluaciones> findAllActaWithNumEvaluaciones(String query, Pageable pageable);
 
+  /**
+   * Devuelve una página filtrada de {@link ActaWithNumEvaluaciones} mediante
+   * paginación por cursor.
+   *
+   * @param query    la información del filtro.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de {@link ActaWithNumEvaluaciones}.
+   */
+  KeysetPage<ActaWithNumEvaluaciones> findAllActaWithNumEvaluacionesKeyset(String query, Pageable pageable,
+      String cursor);
+
 }
\ No newline at end of file
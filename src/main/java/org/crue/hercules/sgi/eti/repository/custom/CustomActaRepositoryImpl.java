@@ -2,18 +2,19 @@ package org.crue.hercules.sgi.eti.repository.custom;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
 import org.crue.hercules.sgi.eti.dto.ActaWithNumEvaluaciones;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.crue.hercules.sgi.eti.model.Acta_;
 import org.crue.hercules.sgi.eti.model.Comite_;
@@ -21,12 +22,13 @@ import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion_;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Evaluacion_;
 import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion_;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +44,11 @@ public class CustomActaRepositoryImpl implements CustomActaRepository {
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Devuelve una lista paginada y filtrada {@link ActaWithNumEvaluaciones}.
    * 
@@ -54,35 +61,103 @@ public class CustomActaRepositoryImpl implements CustomActaRepository {
     // restando 1 al valor introducido
     log.debug("findAllActaWithNumEvaluaciones(String query, Pageable paging) - start");
 
+    // Los campos de ActaWithNumEvaluaciones que no son atributos de Acta. Los
+    // recuentos de evaluaciones no se pueden ordenar
+    Page<ActaWithNumEvaluaciones> returnValue = PagedCriteriaQuery.of(entityManager, Acta.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .sortProperty("comite",
+            (root, cb) -> root.get(Acta_.convocatoriaReunion).get(ConvocatoriaReunion_.comite).get(Comite_.comite))
+        .sortProperty("fechaEvaluacion",
+            (root, cb) -> root.get(Acta_.convocatoriaReunion).get(ConvocatoriaReunion_.fechaEvaluacion))
+        .sortProperty("numeroActa", (root, cb) -> root.get(Acta_.numero))
+        .sortProperty("convocatoria", (root, cb) -> root.get(Acta_.convocatoriaReunion)
+            .get(ConvocatoriaReunion_.tipoConvocatoriaReunion).get(TipoConvocatoriaReunion_.nombre))
+        .sortProperty("estadoActa", (root, cb) -> root.get(Acta_.estadoActual))
+        .findAll(ActaWithNumEvaluaciones.class, (root, cq, cb) -> getActaPredicates(root, cb, cq, query),
+            (root, cq, cb) -> selectActaWithNumEvaluaciones(root, cb, cq));
+
+    log.debug("findAllActaWithNumEvaluaciones(String query, Pageable paging) - end");
+
+    return returnValue;
+  }
+
+  /**
+   * Devuelve una página filtrada de {@link ActaWithNumEvaluaciones} mediante
+   * paginación por cursor (sin consulta de recuento).
+   * 
+   * @param query    la información del filtro.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de {@link ActaWithNumEvaluaciones}.
+   */
+  @Override
+  public KeysetPage<ActaWithNumEvaluaciones> findAllActaWithNumEvaluacionesKeyset(String query, Pageable pageable,
+      String cursor) {
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable pageable, String cursor) - start");
+
+    KeysetPagination<Acta> keyset = KeysetPagination.of(entityManager, Acta.class, pageable, cursor);
+
     // Crete query
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    // CriteriaQuery<Acta> cq = cb.createQuery(Acta.class);
     CriteriaQuery<ActaWithNumEvaluaciones> cq = cb.createQuery(ActaWithNumEvaluaciones.class);
 
     // Define FROM clause
     Root<Acta> root = cq.from(Acta.class);
 
-    // Count query
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Acta> rootCount = countQuery.from(Acta.class);
-    countQuery.select(cb.count(rootCount));
+    List<Predicate> listPredicates = getActaPredicates(root, cb, cq, query);
+    Predicate predicateCursor = keyset.getPredicate(root, cb);
+    if (predicateCursor != null) {
+      listPredicates.add(predicateCursor);
+    }
+
+    cq.where(listPredicates.toArray(new Predicate[] {}));
+
+    // Execute query
+    selectActaWithNumEvaluaciones(root, cb, cq);
+    cq.orderBy(keyset.getOrders(root, cb));
+
+    List<ActaWithNumEvaluaciones> result = keyset.createQuery(cq).getResultList();
+    KeysetPage<ActaWithNumEvaluaciones> returnValue = keyset.toPage(result, ActaWithNumEvaluaciones::getId);
+
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable pageable, String cursor) - end");
+
+    return returnValue;
+  }
 
+  /**
+   * Obtiene los predicados del listado de actas: actas activas que cumplen el
+   * filtro.
+   * 
+   * @param root  Query root
+   * @param cb    Criteria builder
+   * @param cq    Criteria query
+   * @param query la información del filtro.
+   * @return lista de predicados
+   */
+  private List<Predicate> getActaPredicates(Root<Acta> root, CriteriaBuilder cb, CriteriaQuery<?> cq,
+      String query) {
     List<Predicate> listPredicates = new ArrayList<Predicate>();
-    List<Predicate> listPredicatesCount = new ArrayList<Predicate>();
 
     listPredicates.add(cb.and(cb.equal(root.get(Acta_.activo), Boolean.TRUE)));
-    listPredicatesCount.add(cb.and(cb.equal(rootCount.get(Acta_.activo), Boolean.TRUE)));
 
     // Where
     if (query != null) {
-      Specification<Acta> spec = SgiRSQLJPASupport.toSpecification(query);
+      Specification<Acta> spec = RsqlSpecifications.toSpecification(query);
       listPredicates.add(spec.toPredicate(root, cq, cb));
-      listPredicatesCount.add(spec.toPredicate(rootCount, cq, cb));
     }
 
-    cq.where(listPredicates.toArray(new Predicate[] {}));
+    return listPredicates;
+  }
 
-    // Execute query
+  /**
+   * Selecciona los datos de {@link ActaWithNumEvaluaciones}.
+   * 
+   * @param root Query root
+   * @param cb   Criteria builder
+   * @param cq   Criteria query
+   */
+  private void selectActaWithNumEvaluaciones(Root<Acta> root, CriteriaBuilder cb,
+      CriteriaQuery<ActaWithNumEvaluaciones> cq) {
     cq.multiselect(root.get(Acta_.id).alias("id"),
         root.get(Acta_.convocatoriaReunion).get(ConvocatoriaReunion_.comite).get(Comite_.comite).alias("comite"),
         root.get(Acta_.convocatoriaReunion).get(ConvocatoriaReunion_.fechaEvaluacion).alias("fechaEvaluacion"),
@@ -93,26 +168,6 @@ public class CustomActaRepositoryImpl implements CustomActaRepository {
         getNumEvaluaciones(root, cb, cq, Boolean.FALSE).alias("numRevisiones"),
         getNumEvaluacionesNoEvaluadas(root, cb, cq).alias("evaluacionesEvaluadas"),
         root.get(Acta_.estadoActual).alias("estadoActa"));
-
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    // Número de registros totales para la paginación
-    countQuery.where(listPredicatesCount.toArray(new Predicate[] {}));
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    TypedQuery<ActaWithNumEvaluaciones> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<ActaWithNumEvaluaciones> result = typedQuery.getResultList();
-    Page<ActaWithNumEvaluaciones> returnValue = new PageImpl<ActaWithNumEvaluaciones>(result, pageable, count);
-
-    log.debug("findAllActaWithNumEvaluaciones(String query, Pageable paging) - end");
-
-    return returnValue;
   }
 
   /**
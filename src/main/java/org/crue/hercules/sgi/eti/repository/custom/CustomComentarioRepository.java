@@ -0,0 +1,28 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.List;
+import java.util.Map;
+
+import org.crue.hercules.sgi.eti.model.Comentario;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link Comentario}.
+ */
+@Component
+public interface CustomComentarioRepository {
+
+  /**
+   * Obtiene el número de {@link Comentario} de cada una de las
+   * {@link Evaluacion} recibidas mediante una única consulta agrupada.
+   * 
+   * Las {@link Evaluacion} sin comentarios no aparecen en el resultado.
+   * 
+   * @param idsEvaluacion listado de identificadores de {@link Evaluacion}.
+   * @return mapa con el número de comentarios por identificador de
+   *         {@link Evaluacion}.
+   */
+  Map<Long, Long> countByEvaluacionIdIn(List<Long> idsEvaluacion);
+
+}
@@ -0,0 +1,74 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+
+import org.crue.hercules.sgi.eti.model.Comentario;
+import org.crue.hercules.sgi.eti.model.Comentario_;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Evaluacion_;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link Comentario}.
+ */
+@Slf4j
+@Component
+public class CustomComentarioRepositoryImpl implements CustomComentarioRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Obtiene el número de {@link Comentario} de cada una de las
+   * {@link Evaluacion} recibidas mediante una única consulta agrupada.
+   * 
+   * Las {@link Evaluacion} sin comentarios no aparecen en el resultado.
+   * 
+   * @param idsEvaluacion listado de identificadores de {@link Evaluacion}.
+   * @return mapa con el número de comentarios por identificador de
+   *         {@link Evaluacion}.
+   */
+  @Override
+  public Map<Long, Long> countByEvaluacionIdIn(List<Long> idsEvaluacion) {
+    log.debug("countByEvaluacionIdIn(List<Long> idsEvaluacion) - start");
+
+    Map<Long, Long> returnValue = new HashMap<>();
+    if (idsEvaluacion == null || idsEvaluacion.isEmpty()) {
+      log.debug("countByEvaluacionIdIn(List<Long> idsEvaluacion) - end");
+      return returnValue;
+    }
+
+    // Crete query
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+
+    // Define FROM clause
+    Root<Comentario> root = cq.from(Comentario.class);
+    Path<Long> evaluacionId = root.get(Comentario_.evaluacion).get(Evaluacion_.id);
+
+    cq.multiselect(evaluacionId.alias("evaluacionId"), cb.count(root.get(Comentario_.id)).alias("numComentarios"));
+    cq.where(evaluacionId.in(idsEvaluacion));
+    cq.groupBy(evaluacionId);
+
+    List<Tuple> result = entityManager.createQuery(cq).getResultList();
+    result.forEach(tuple -> returnValue.put(tuple.get("evaluacionId", Long.class),
+        tuple.get("numComentarios", Long.class)));
+
+    log.debug("countByEvaluacionIdIn(List<Long> idsEvaluacion) - end");
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,36 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.crue.hercules.sgi.eti.model.ConflictoInteres;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link ConflictoInteres}.
+ */
+@Component
+public interface CustomConflictoInteresRepository {
+
+  /**
+   * Obtiene, para cada persona en conflicto, los identificadores de los
+   * {@link Evaluador} que tienen conflicto de intereses con ella.
+   * 
+   * @return identificadores de los evaluadores por referencia de la persona en
+   *         conflicto.
+   */
+  Map<String, Set<Long>> findAllIdEvaluadorByPersonaConflictoRef();
+
+  /**
+   * Obtiene, para cada una de las personas indicadas, los identificadores de los
+   * {@link Evaluador} que tienen conflicto de intereses con ella.
+   * 
+   * @param personaConflictoRefs referencias de las personas.
+   * @return identificadores de los evaluadores por referencia de la persona en
+   *         conflicto (las personas sin conflictos no aparecen).
+   */
+  Map<String, Set<Long>> findIdEvaluadorByPersonaConflictoRefIn(Collection<String> personaConflictoRefs);
+
+}
@@ -0,0 +1,94 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.crue.hercules.sgi.eti.model.ConflictoInteres;
+import org.crue.hercules.sgi.eti.model.ConflictoInteres_;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.model.Evaluador_;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link ConflictoInteres}.
+ */
+@Slf4j
+@Component
+public class CustomConflictoInteresRepositoryImpl implements CustomConflictoInteresRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Obtiene, para cada persona en conflicto, los identificadores de los
+   * {@link Evaluador} que tienen conflicto de intereses con ella.
+   * 
+   * @return identificadores de los evaluadores por referencia de la persona en
+   *         conflicto.
+   */
+  @Override
+  public Map<String, Set<Long>> findAllIdEvaluadorByPersonaConflictoRef() {
+    log.debug("findAllIdEvaluadorByPersonaConflictoRef() - start");
+    Map<String, Set<Long>> returnValue = findIdEvaluadorByPersonaConflictoRef(null);
+    log.debug("findAllIdEvaluadorByPersonaConflictoRef() - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene, para cada una de las personas indicadas, los identificadores de los
+   * {@link Evaluador} que tienen conflicto de intereses con ella.
+   * 
+   * @param personaConflictoRefs referencias de las personas.
+   * @return identificadores de los evaluadores por referencia de la persona en
+   *         conflicto (las personas sin conflictos no aparecen).
+   */
+  @Override
+  public Map<String, Set<Long>> findIdEvaluadorByPersonaConflictoRefIn(Collection<String> personaConflictoRefs) {
+    log.debug("findIdEvaluadorByPersonaConflictoRefIn(Collection<String> personaConflictoRefs) - start");
+    Map<String, Set<Long>> returnValue = personaConflictoRefs.isEmpty() ? new HashMap<>()
+        : findIdEvaluadorByPersonaConflictoRef(personaConflictoRefs);
+    log.debug("findIdEvaluadorByPersonaConflictoRefIn(Collection<String> personaConflictoRefs) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene los identificadores de los {@link Evaluador} en conflicto agrupados
+   * por persona en conflicto.
+   * 
+   * @param personaConflictoRefs referencias de las personas, o null para todas.
+   * @return identificadores de los evaluadores por referencia de la persona en
+   *         conflicto.
+   */
+  private Map<String, Set<Long>> findIdEvaluadorByPersonaConflictoRef(Collection<String> personaConflictoRefs) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    Root<ConflictoInteres> root = cq.from(ConflictoInteres.class);
+    // Solo las columnas de la tabla, sin cargar los evaluadores
+    cq.multiselect(root.get(ConflictoInteres_.personaConflictoRef).alias("personaConflictoRef"),
+        root.get(ConflictoInteres_.evaluador).get(Evaluador_.id).alias("idEvaluador"));
+    if (personaConflictoRefs != null) {
+      cq.where(root.get(ConflictoInteres_.personaConflictoRef).in(personaConflictoRefs));
+    }
+
+    Map<String, Set<Long>> returnValue = new HashMap<>();
+    for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+      returnValue.computeIfAbsent(tuple.get("personaConflictoRef", String.class), personaRef -> new HashSet<>())
+          .add(tuple.get("idEvaluador", Long.class));
+    }
+    return returnValue;
+  }
+
+}
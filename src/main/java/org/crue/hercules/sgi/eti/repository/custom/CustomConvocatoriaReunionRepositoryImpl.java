@@ -3,6 +3,7 @@ package org.crue.hercules.sgi.eti.repository.custom;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
@@ -14,6 +15,7 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
 import org.crue.hercules.sgi.eti.dto.ConvocatoriaReunionDatosGenerales;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.crue.hercules.sgi.eti.model.Acta_;
@@ -21,8 +23,10 @@ import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion_;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Evaluacion_;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -39,6 +43,11 @@ public class CustomConvocatoriaReunionRepositoryImpl implements CustomConvocator
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Obteniene la entidad {@link ConvocatoriaReunionDatosGenerales} que contiene
    * la convocatoria con el identificador proporcionado, un campo que nos indica
@@ -92,29 +101,17 @@ public class CustomConvocatoriaReunionRepositoryImpl implements CustomConvocator
    */
   @Override
   public Page<ConvocatoriaReunion> findConvocatoriasReunionSinActa(Pageable pageable) {
-    // TODO: Revisar. Se recibe un pageable pero no se usa ni para paginar ni para
-    // el criterio de ordenación.
     log.debug("findConvocatoriasReunionSinActa(Pageable pageable) - start");
 
-    // Create Query
-
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<ConvocatoriaReunion> cq = cb.createQuery(ConvocatoriaReunion.class);
-
-    // Definir FROM clause
-    Root<ConvocatoriaReunion> root = cq.from(ConvocatoriaReunion.class);
-
-    List<Predicate> listPredicates = new ArrayList<Predicate>();
-
-    listPredicates.add(cb.equal(root.get(ConvocatoriaReunion_.activo), Boolean.TRUE));
-    listPredicates.add(root.get(ConvocatoriaReunion_.id).in(getConvocatoriasActa(cb, cq, root)).not());
+    Page<ConvocatoriaReunion> returnValue = PagedCriteriaQuery.of(entityManager, ConvocatoriaReunion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).findAll((root, cq, cb) -> {
+          List<Predicate> listPredicates = new ArrayList<Predicate>();
 
-    // Filtros
-    cq.where(listPredicates.toArray(new Predicate[] {}));
+          listPredicates.add(cb.equal(root.get(ConvocatoriaReunion_.activo), Boolean.TRUE));
+          listPredicates.add(root.get(ConvocatoriaReunion_.id).in(getConvocatoriasActa(cb, cq, root)).not());
 
-    TypedQuery<ConvocatoriaReunion> typedQuery = entityManager.createQuery(cq);
-    List<ConvocatoriaReunion> result = typedQuery.getResultList();
-    Page<ConvocatoriaReunion> returnValue = new PageImpl<ConvocatoriaReunion>(result, pageable, result.size());
+          return listPredicates;
+        });
 
     log.debug("findConvocatoriasReunionSinActa(Pageable pageable) - end");
 
@@ -188,7 +185,7 @@ public class CustomConvocatoriaReunionRepositoryImpl implements CustomConvocator
    * @return Subquery<Long> Listado de Convocatorias de Reunión que no tienen acta
    *         asociada
    */
-  private Subquery<Long> getConvocatoriasActa(CriteriaBuilder cb, CriteriaQuery<ConvocatoriaReunion> cq,
+  private Subquery<Long> getConvocatoriasActa(CriteriaBuilder cb, CriteriaQuery<?> cq,
       Root<ConvocatoriaReunion> root) {
 
     log.debug("getConvocatoriasActa : {} - start");
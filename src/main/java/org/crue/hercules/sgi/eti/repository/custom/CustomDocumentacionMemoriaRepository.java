@@ -0,0 +1,26 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link DocumentacionMemoria}.
+ */
+@Component
+public interface CustomDocumentacionMemoriaRepository {
+
+  /**
+   * Copia la {@link DocumentacionMemoria} de una {@link Memoria} activa en otra
+   * mediante una única sentencia INSERT ... SELECT, sin cargar la documentación
+   * en memoria. Si la memoria de origen no está activa no se copia nada.
+   * 
+   * @param idMemoriaOrigen  Identificador de la {@link Memoria} de la que se
+   *                         copia la documentación.
+   * @param idMemoriaDestino Identificador de la {@link Memoria} en la que se
+   *                         crea la documentación.
+   * @return el número de documentos copiados.
+   */
+  int copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino);
+
+}
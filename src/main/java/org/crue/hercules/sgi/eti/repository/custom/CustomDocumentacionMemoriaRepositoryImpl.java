@@ -0,0 +1,87 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link DocumentacionMemoria}.
+ */
+@Slf4j
+@Component
+public class CustomDocumentacionMemoriaRepositoryImpl implements CustomDocumentacionMemoriaRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Usuario que realiza la operación (columnas de auditoría). */
+  @Autowired
+  private ObjectProvider<AuditorAware<String>> auditorAware;
+
+  /**
+   * Copia la {@link DocumentacionMemoria} de una {@link Memoria} activa en otra
+   * mediante una única sentencia INSERT ... SELECT, sin cargar la documentación
+   * en memoria. Si la memoria de origen no está activa no se copia nada.
+   * 
+   * Los identificadores se reservan antes de la sentencia ({@link SequenceIds})
+   * y las columnas de auditoría se informan con el usuario actual.
+   * 
+   * @param idMemoriaOrigen  Identificador de la {@link Memoria} de la que se
+   *                         copia la documentación.
+   * @param idMemoriaDestino Identificador de la {@link Memoria} en la que se
+   *                         crea la documentación.
+   * @return el número de documentos copiados.
+   */
+  @Override
+  public int copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) {
+    log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - start");
+
+    // La memoria destino tiene que existir en base de datos
+    entityManager.flush();
+
+    // {h-schema} es el esquema por defecto de Hibernate (hibernate.default_schema)
+    String from = "FROM {h-schema}documentacion_memoria d JOIN {h-schema}memoria m ON m.id = d.memoria_id "
+        + "WHERE d.memoria_id = :idMemoriaOrigen AND m.activo = true";
+    int count = ((Number) entityManager.createNativeQuery("SELECT COUNT(*) " + from)
+        .setParameter("idMemoriaOrigen", idMemoriaOrigen).getSingleResult()).intValue();
+    if (count == 0) {
+      log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - end");
+      return 0;
+    }
+
+    String id = SequenceIds.reserve(entityManager, DocumentacionMemoria.class, count, "d.rn");
+    AuditorAware<String> auditor = auditorAware.getIfAvailable();
+    String usuario = auditor != null ? auditor.getCurrentAuditor().orElse(null) : null;
+
+    String sql = "INSERT INTO {h-schema}documentacion_memoria "
+        + "(id, memoria_id, tipo_documento_id, documento_ref, aportado, created_by, creation_date, last_modified_by, "
+        + "last_modified_date) SELECT " + id
+        + ", :idMemoriaDestino, d.tipo_documento_id, d.documento_ref, d.aportado, :usuario, CURRENT_TIMESTAMP, "
+        + ":usuario, CURRENT_TIMESTAMP FROM (SELECT d.tipo_documento_id, d.documento_ref, d.aportado, "
+        + "ROW_NUMBER() OVER (ORDER BY d.id) AS rn " + from + ") d";
+
+    Query query = entityManager.createNativeQuery(sql);
+    // Solo se invalidan las regiones de caché de DocumentacionMemoria
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(DocumentacionMemoria.class);
+    int returnValue = query.setParameter("idMemoriaDestino", idMemoriaDestino)
+        .setParameter("idMemoriaOrigen", idMemoriaOrigen)
+        .setParameter("usuario", new TypedParameterValue(StandardBasicTypes.STRING, usuario)).executeUpdate();
+
+    log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - end");
+    return returnValue;
+  }
+
+}
@@ -1,5 +1,10 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.crue.hercules.sgi.eti.dto.EquipoTrabajoWithIsEliminable;
 import org.crue.hercules.sgi.eti.model.EquipoTrabajo;
 import org.crue.hercules.sgi.eti.model.Memoria;
@@ -31,4 +36,23 @@ public interface CustomEquipoTrabajoRepository {
    */
   Page<EquipoTrabajoWithIsEliminable> findAllByPeticionEvaluacionId(Long idPeticionEvaluacion, Pageable pageable);
 
+  /**
+   * Obtiene las personas del equipo de trabajo de la {@link PeticionEvaluacion}
+   * de la {@link Memoria}.
+   * 
+   * @param idMemoria Id de {@link Memoria}.
+   * @return lista de referencias de las personas del equipo de trabajo.
+   */
+  List<String> findPersonaRefByMemoriaId(Long idMemoria);
+
+  /**
+   * Obtiene las personas del equipo de trabajo de cada una de las
+   * {@link PeticionEvaluacion} indicadas.
+   * 
+   * @param idsPeticionEvaluacion Ids de {@link PeticionEvaluacion}.
+   * @return referencias de las personas del equipo de trabajo por id de
+   *         {@link PeticionEvaluacion}.
+   */
+  Map<Long, Set<String>> findPersonaRefByPeticionEvaluacionIdIn(Collection<Long> idsPeticionEvaluacion);
+
 }
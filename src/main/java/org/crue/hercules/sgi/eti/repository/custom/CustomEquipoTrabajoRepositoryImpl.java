@@ -1,16 +1,24 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
 import org.crue.hercules.sgi.eti.dto.EquipoTrabajoWithIsEliminable;
 import org.crue.hercules.sgi.eti.model.EquipoTrabajo;
 import org.crue.hercules.sgi.eti.model.EquipoTrabajo_;
@@ -21,8 +29,10 @@ import org.crue.hercules.sgi.eti.model.PeticionEvaluacion_;
 import org.crue.hercules.sgi.eti.model.Tarea;
 import org.crue.hercules.sgi.eti.model.Tarea_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -39,6 +49,11 @@ public class CustomEquipoTrabajoRepositoryImpl implements CustomEquipoTrabajoRep
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Obtener todos los {@link EquipoTrabajo} para una determinada
    * {@link PeticionEvaluacion} con la informacion de si es eliminable o no.
@@ -56,34 +71,15 @@ public class CustomEquipoTrabajoRepositoryImpl implements CustomEquipoTrabajoRep
   @Override
   public Page<EquipoTrabajoWithIsEliminable> findAllByPeticionEvaluacionId(Long idPeticionEvaluacion,
       Pageable pageable) {
-    // TODO: Revisar uso pageable, porque aunque se pagina no se está sacando el
-    // totalCount.
     log.debug("findAllByPeticionEvaluacionId : {} - start");
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-
-    CriteriaQuery<EquipoTrabajoWithIsEliminable> cq = cb.createQuery(EquipoTrabajoWithIsEliminable.class);
-
-    // Define FROM clause
-    Root<EquipoTrabajo> root = cq.from(EquipoTrabajo.class);
-
-    cq.multiselect(root.get(EquipoTrabajo_.id), root.get(EquipoTrabajo_.personaRef),
-        root.get(EquipoTrabajo_.peticionEvaluacion), isNotEliminable(root, cb, cq).isNull().alias("eliminable"));
-
-    // Where
-    cq.where(cb.equal(root.get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id), idPeticionEvaluacion));
-
-    TypedQuery<EquipoTrabajoWithIsEliminable> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<EquipoTrabajoWithIsEliminable> result = typedQuery.getResultList();
-
-    Page<EquipoTrabajoWithIsEliminable> returnValue = new PageImpl<EquipoTrabajoWithIsEliminable>(result, pageable,
-        result.size());
+    Page<EquipoTrabajoWithIsEliminable> returnValue = PagedCriteriaQuery
+        .of(entityManager, EquipoTrabajo.class, pageable).countExecutor(countExecutor.getIfAvailable())
+        .findAll(EquipoTrabajoWithIsEliminable.class, (root, cq, cb) -> Collections.singletonList(
+            cb.equal(root.get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id), idPeticionEvaluacion)),
+            (root, cq, cb) -> cq.multiselect(root.get(EquipoTrabajo_.id), root.get(EquipoTrabajo_.personaRef),
+                root.get(EquipoTrabajo_.peticionEvaluacion),
+                isNotEliminable(root, cb, cq).isNull().alias("eliminable")));
 
     log.debug("findAllByPeticionEvaluacionId : {} - end");
     return returnValue;
@@ -116,4 +112,64 @@ public class CustomEquipoTrabajoRepositoryImpl implements CustomEquipoTrabajoRep
     return queryNotEliminable;
   }
 
-}
\ No newline at end of file
+  /**
+   * Obtiene las personas del equipo de trabajo de la {@link PeticionEvaluacion}
+   * de la {@link Memoria}.
+   * 
+   * @param idMemoria Id de {@link Memoria}.
+   * @return lista de referencias de las personas del equipo de trabajo.
+   */
+  @Override
+  public List<String> findPersonaRefByMemoriaId(Long idMemoria) {
+    log.debug("findPersonaRefByMemoriaId(Long idMemoria) - start");
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<String> cq = cb.createQuery(String.class);
+    Root<EquipoTrabajo> root = cq.from(EquipoTrabajo.class);
+
+    Subquery<Long> sqPeticionEvaluacion = cq.subquery(Long.class);
+    Root<Memoria> memoriaRoot = sqPeticionEvaluacion.from(Memoria.class);
+    sqPeticionEvaluacion.select(memoriaRoot.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id))
+        .where(cb.equal(memoriaRoot.get(Memoria_.id), idMemoria));
+
+    cq.select(root.get(EquipoTrabajo_.personaRef)).distinct(true)
+        .where(root.get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id).in(sqPeticionEvaluacion));
+
+    List<String> returnValue = entityManager.createQuery(cq).getResultList();
+
+    log.debug("findPersonaRefByMemoriaId(Long idMemoria) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene las personas del equipo de trabajo de cada una de las
+   * {@link PeticionEvaluacion} indicadas.
+   * 
+   * @param idsPeticionEvaluacion Ids de {@link PeticionEvaluacion}.
+   * @return referencias de las personas del equipo de trabajo por id de
+   *         {@link PeticionEvaluacion}.
+   */
+  @Override
+  public Map<Long, Set<String>> findPersonaRefByPeticionEvaluacionIdIn(Collection<Long> idsPeticionEvaluacion) {
+    log.debug("findPersonaRefByPeticionEvaluacionIdIn(Collection<Long> idsPeticionEvaluacion) - start");
+
+    Map<Long, Set<String>> returnValue = new HashMap<>();
+    if (!idsPeticionEvaluacion.isEmpty()) {
+      CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+      CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+      Root<EquipoTrabajo> root = cq.from(EquipoTrabajo.class);
+      cq.multiselect(root.get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id).alias("idPeticion"),
+          root.get(EquipoTrabajo_.personaRef).alias("personaRef"))
+          .where(root.get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id).in(idsPeticionEvaluacion));
+
+      for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+        returnValue.computeIfAbsent(tuple.get("idPeticion", Long.class), idPeticion -> new HashSet<>())
+            .add(tuple.get("personaRef", String.class));
+      }
+    }
+
+    log.debug("findPersonaRefByPeticionEvaluacionIdIn(Collection<Long> idsPeticionEvaluacion) - end");
+    return returnValue;
+  }
+
+}
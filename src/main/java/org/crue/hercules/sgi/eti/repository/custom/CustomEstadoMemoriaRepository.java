@@ -0,0 +1,28 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.model.EstadoMemoria;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link EstadoMemoria}.
+ */
+@Component
+public interface CustomEstadoMemoriaRepository {
+
+  /**
+   * Crea un {@link EstadoMemoria} para cada una de las {@link Memoria} recibidas
+   * mediante una única sentencia INSERT ... SELECT.
+   * 
+   * @param idsMemoria          Identificadores de las {@link Memoria}.
+   * @param idTipoEstadoMemoria Identificador del {@link TipoEstadoMemoria}.
+   * @param fechaEstado         Fecha del estado.
+   * @return el número de estados creados.
+   */
+  int insertByMemoriaIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria, LocalDateTime fechaEstado);
+
+}
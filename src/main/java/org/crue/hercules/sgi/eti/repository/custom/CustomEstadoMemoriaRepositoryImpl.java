@@ -0,0 +1,85 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.crue.hercules.sgi.eti.model.EstadoMemoria;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link EstadoMemoria}.
+ */
+@Slf4j
+@Component
+public class CustomEstadoMemoriaRepositoryImpl implements CustomEstadoMemoriaRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Usuario que realiza la operación (columnas de auditoría). */
+  @Autowired
+  private ObjectProvider<AuditorAware<String>> auditorAware;
+
+  /**
+   * Crea un {@link EstadoMemoria} para cada una de las {@link Memoria} recibidas
+   * mediante una única sentencia INSERT ... SELECT. Los identificadores se
+   * reservan antes de la sentencia ({@link SequenceIds}).
+   * 
+   * @param idsMemoria          Identificadores de las {@link Memoria}.
+   * @param idTipoEstadoMemoria Identificador del {@link TipoEstadoMemoria}.
+   * @param fechaEstado         Fecha del estado.
+   * @return el número de estados creados.
+   */
+  @Override
+  public int insertByMemoriaIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria, LocalDateTime fechaEstado) {
+    log.debug("insertByMemoriaIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria, LocalDateTime fechaEstado) - start");
+
+    if (idsMemoria == null || idsMemoria.isEmpty()) {
+      log.debug("insertByMemoriaIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria, LocalDateTime fechaEstado) - end");
+      return 0;
+    }
+
+    // Los cambios pendientes se escriben antes del INSERT
+    entityManager.flush();
+
+    // Se reserva un identificador por memoria (las que no existan dejan un hueco)
+    String id = SequenceIds.reserve(entityManager, EstadoMemoria.class, new HashSet<>(idsMemoria).size(), "m.rn");
+    AuditorAware<String> auditor = auditorAware.getIfAvailable();
+    String usuario = auditor != null ? auditor.getCurrentAuditor().orElse(null) : null;
+
+    // {h-schema} es el esquema por defecto de Hibernate (hibernate.default_schema)
+    String sql = "INSERT INTO {h-schema}estado_memoria "
+        + "(id, memoria_id, tipo_estado_memoria_id, fecha_estado, created_by, creation_date, last_modified_by, "
+        + "last_modified_date) SELECT " + id
+        + ", m.id, :idTipoEstadoMemoria, :fechaEstado, :usuario, CURRENT_TIMESTAMP, :usuario, CURRENT_TIMESTAMP "
+        + "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM {h-schema}memoria "
+        + "WHERE id IN (:idsMemoria)) m";
+
+    Query query = entityManager.createNativeQuery(sql);
+    // Solo se invalidan las regiones de caché de EstadoMemoria
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(EstadoMemoria.class);
+    int returnValue = query.setParameter("idTipoEstadoMemoria", idTipoEstadoMemoria)
+        .setParameter("fechaEstado", fechaEstado).setParameter("idsMemoria", idsMemoria)
+        .setParameter("usuario", new TypedParameterValue(StandardBasicTypes.STRING, usuario)).executeUpdate();
+
+    log.debug("insertByMemoriaIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria, LocalDateTime fechaEstado) - end");
+    return returnValue;
+  }
+
+}
@@ -1,10 +1,16 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.model.Memoria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 /**
@@ -71,4 +77,37 @@ public interface CustomEvaluacionRepository {
    */
 
   public Page<Evaluacion> findByEvaluacionesEnSeguimientoFinal(String query, Pageable pageable);
+
+  /**
+   * Obtener una página de entidades {@link Evaluacion} filtradas mediante
+   * paginación por cursor.
+   *
+   * @param specs    filtro de búsqueda.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de entidades {@link Evaluacion}.
+   */
+  KeysetPage<Evaluacion> findAllKeyset(Specification<Evaluacion> specs, Pageable pageable, String cursor);
+
+  /**
+   * Obtiene, para cada {@link Evaluador}, el número de {@link Evaluacion} activas
+   * sin dictamen en las que participa como evaluador 1 o evaluador 2.
+   *
+   * @param idsEvaluador identificadores de los {@link Evaluador}.
+   * @return número de evaluaciones abiertas por identificador de evaluador (los
+   *         evaluadores sin evaluaciones abiertas no aparecen).
+   */
+  Map<Long, Long> countEvaluacionesAbiertasByEvaluador(Collection<Long> idsEvaluador);
+
+
+  /**
+   * Obtiene, para cada {@link Memoria}, la versión de su última {@link Evaluacion}
+   * activa.
+   *
+   * @param idsMemoria identificadores de las {@link Memoria}.
+   * @return versión de la última evaluación por identificador de memoria (las
+   *         memorias sin evaluaciones no aparecen).
+   */
+  Map<Long, Integer> findUltimaVersionByMemoriaIdIn(Collection<Long> idsMemoria);
+
 }
@@ -2,19 +2,27 @@ package org.crue.hercules.sgi.eti.repository.custom;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.SingularAttribute;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Comentario;
 import org.crue.hercules.sgi.eti.model.Comentario_;
 import org.crue.hercules.sgi.eti.model.Comite_;
@@ -29,12 +37,13 @@ import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.model.Retrospectiva_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion_;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +61,11 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Obtener todas las entidades {@link EvaluacionWithNumComentario} paginadas
    * asociadas a una memoria y anteriores a la evaluación recibida.
@@ -64,33 +78,15 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
    */
   public Page<EvaluacionWithNumComentario> findEvaluacionesAnterioresByMemoria(Long idMemoria, Long idEvaluacion,
       Pageable pageable) {
-    // TODO: Revisar uso de pageable, porque se página pero no se tiene en cuenta la
-    // ordenación y se está paginando pero sin hacer la count del query
     log.debug("findEvaluacionesAnterioresByMemoria : {} - start");
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-
-    CriteriaQuery<EvaluacionWithNumComentario> cq = cb.createQuery(EvaluacionWithNumComentario.class);
-
-    // Define FROM clause
-    Root<Evaluacion> root = cq.from(Evaluacion.class);
-
-    cq.multiselect(root.alias("evaluacion"), getNumComentarios(root, cb, cq).alias("numComentarios"));
-
-    cq.where(cb.equal(root.get(Evaluacion_.memoria).get(Memoria_.id), idMemoria),
-        cb.notEqual(root.get(Evaluacion_.id), idEvaluacion), cb.isTrue(root.get(Evaluacion_.activo)));
-
-    TypedQuery<EvaluacionWithNumComentario> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<EvaluacionWithNumComentario> result = typedQuery.getResultList();
-
-    Page<EvaluacionWithNumComentario> returnValue = new PageImpl<EvaluacionWithNumComentario>(result, pageable,
-        result.size());
+    Page<EvaluacionWithNumComentario> returnValue = PagedCriteriaQuery.of(entityManager, Evaluacion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .findAll(EvaluacionWithNumComentario.class, (root, cq, cb) -> Arrays.asList(
+            cb.equal(root.get(Evaluacion_.memoria).get(Memoria_.id), idMemoria),
+            cb.notEqual(root.get(Evaluacion_.id), idEvaluacion), cb.isTrue(root.get(Evaluacion_.activo))),
+            (root, cq, cb) -> cq.multiselect(root.alias("evaluacion"),
+                getNumComentarios(root, cb, cq).alias("numComentarios")));
 
     log.debug("findEvaluacionesAnterioresByMemoria : {} - end");
     return returnValue;
@@ -105,52 +101,22 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
    * @return la lista de entidades {@link Evaluacion} paginadas y/o filtradas.
    */
   public Page<Evaluacion> findByEvaluacionesEnSeguimientoFinal(String query, Pageable pageable) {
-
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Evaluacion> cq = cb.createQuery(Evaluacion.class);
-
-    // Define FROM clause
-    Root<Evaluacion> root = cq.from(Evaluacion.class);
-
-    // Count query
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Evaluacion> rootCount = countQuery.from(Evaluacion.class);
-
-    List<Predicate> listPredicates = getPredicatesEvaluacionesEnSeguimientoFinal(root, cb);
-    List<Predicate> listPredicatesCount = getPredicatesEvaluacionesEnSeguimientoFinal(rootCount, cb);
-
-    // Where
-    if (query != null) {
-      Specification<Evaluacion> spec = SgiRSQLJPASupport.toSpecification(query);
-      listPredicates.add(spec.toPredicate(root, cq, cb));
-      listPredicatesCount.add(spec.toPredicate(rootCount, cq, cb));
-    }
-
-    // Filtros
-    cq.where(listPredicates.toArray(new Predicate[] {}));
-
-    // Ordenación
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    // Número de registros totales para la paginación
-    countQuery.where(listPredicatesCount.toArray(new Predicate[] {}));
-    countQuery.select(cb.count(rootCount));
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    // Paginación
-    TypedQuery<Evaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<Evaluacion> result = typedQuery.getResultList();
-    Page<Evaluacion> returnValue = new PageImpl<Evaluacion>(result, pageable, count);
-
+    log.debug("findByEvaluacionesEnSeguimientoFinal(String query, Pageable pageable) - start");
+
+    Page<Evaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Evaluacion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).entityGraph(Evaluacion.GRAPH_MEMORIA)
+        .findAll((root, cq, cb) -> {
+          List<Predicate> listPredicates = getPredicatesEvaluacionesEnSeguimientoFinal(root, cb);
+          // Where
+          if (query != null) {
+            Specification<Evaluacion> spec = RsqlSpecifications.toSpecification(query);
+            listPredicates.add(spec.toPredicate(root, cq, cb));
+          }
+          return listPredicates;
+        });
+
+    log.debug("findByEvaluacionesEnSeguimientoFinal(String query, Pageable pageable) - end");
     return returnValue;
-
   }
 
   /**
@@ -163,41 +129,10 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
   public Page<Evaluacion> findAllByMemoriaAndRetrospectivaEnEvaluacion(String query, Pageable pageable) {
     log.debug("findAllByMemoriaAndRetrospectivaEnEvaluacion(String query, Pageable pageable) - start");
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Evaluacion> cq = cb.createQuery(Evaluacion.class);
-
-    // Define FROM clause
-    Root<Evaluacion> root = cq.from(Evaluacion.class);
-
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Evaluacion> rootCount = countQuery.from(Evaluacion.class);
-    countQuery.select(cb.count(rootCount));
-
-    Predicate predicateContent = this.getByMemoriaAndRetrospectivaEnEvaluacionPredicate(query, root, cq, cb);
-    Predicate predicateCount = this.getByMemoriaAndRetrospectivaEnEvaluacionPredicate(query, rootCount, countQuery, cb);
-
-    // Filtros
-    cq.where(predicateContent);
-
-    countQuery.where(predicateCount);
-
-    // Ordenación
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    // Paginación
-    TypedQuery<Evaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    // Número de registros totales para la paginación
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    List<Evaluacion> result = typedQuery.getResultList();
-    Page<Evaluacion> returnValue = new PageImpl<Evaluacion>(result, pageable, count);
+    Page<Evaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Evaluacion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).entityGraph(Evaluacion.GRAPH_MEMORIA)
+        .findAll((root, cq, cb) -> Collections
+            .singletonList(getByMemoriaAndRetrospectivaEnEvaluacionPredicate(query, root, cq, cb)));
 
     log.debug("findAllByMemoriaAndRetrospectivaEnEvaluacion(String query, Pageable pageable) - end");
 
@@ -217,7 +152,7 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
 
     // Where
     if (query != null) {
-      Specification<Evaluacion> spec = SgiRSQLJPASupport.toSpecification(query);
+      Specification<Evaluacion> spec = RsqlSpecifications.toSpecification(query);
       predicate = cb.and(predicate, spec.toPredicate(root, cq, cb));
     }
 
@@ -262,48 +197,17 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
   public Page<Evaluacion> findByEvaluador(String personaRef, String query, Pageable pageable) {
     log.debug("findByEvaluador(String personaRef, String query, Pageable pageable) - start");
 
-    // Create query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Evaluacion> cq = cb.createQuery(Evaluacion.class);
-
-    // Count query
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Evaluacion> rootCount = countQuery.from(Evaluacion.class);
-    countQuery.select(cb.count(rootCount));
-
-    // Define FROM clause
-    Root<Evaluacion> rootEvaluacion = cq.from(Evaluacion.class);
-
-    List<Predicate> listPredicates = getPredicatesByEvaluador(rootEvaluacion, cb, cq, personaRef);
-
-    List<Predicate> listPredicatesCount = getPredicatesByEvaluador(rootCount, cb, cq, personaRef);
-
-    // Where
-    if (query != null) {
-      Specification<Evaluacion> spec = SgiRSQLJPASupport.toSpecification(query);
-      listPredicates.add(spec.toPredicate(rootEvaluacion, cq, cb));
-      listPredicatesCount.add(spec.toPredicate(rootCount, cq, cb));
-    }
-
-    // Filtros
-    cq.where(listPredicates.toArray(new Predicate[] {}));
-
-    // Ordenación
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), rootEvaluacion, cb);
-    cq.orderBy(orders);
-
-    // Número de registros totales para la paginación
-    countQuery.where(listPredicatesCount.toArray(new Predicate[] {}));
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    // Paginación
-    TypedQuery<Evaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-    List<Evaluacion> result = typedQuery.getResultList();
-    Page<Evaluacion> returnValue = new PageImpl<Evaluacion>(result, pageable, count);
+    Page<Evaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Evaluacion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).entityGraph(Evaluacion.GRAPH_MEMORIA)
+        .findAll((root, cq, cb) -> {
+          List<Predicate> listPredicates = getPredicatesByEvaluador(root, cb, cq, personaRef);
+          // Where
+          if (query != null) {
+            Specification<Evaluacion> spec = RsqlSpecifications.toSpecification(query);
+            listPredicates.add(spec.toPredicate(root, cq, cb));
+          }
+          return listPredicates;
+        });
 
     log.debug("findByEvaluador(String personaRef, String query, Pageable pageable) - end");
     return returnValue;
@@ -323,41 +227,20 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
   @Override
   public Page<Evaluacion> findEvaluacionesEnSeguimientosByEvaluador(String personaRef, String query,
       Pageable pageable) {
-    // TODO: Revisar uso pageable. Aunque se está paginando, no se está calculando
-    // el count total.
     log.debug("findEvaluacionesEnSeguimientosByEvaluador(String personaRef, String query, Pageable pageable) - start");
 
-    // Create query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Evaluacion> cq = cb.createQuery(Evaluacion.class);
-
-    // Define FROM clause
-    Root<Evaluacion> rootEvaluacion = cq.from(Evaluacion.class);
-
-    // Evaluaciones en seguimiento
-    List<Predicate> listPredicates = getPredicateEvaluacionEnSeguimiento(rootEvaluacion, cb, personaRef);
-
-    // Where
-    if (query != null) {
-      Specification<Evaluacion> spec = SgiRSQLJPASupport.toSpecification(query);
-      listPredicates.add(spec.toPredicate(rootEvaluacion, cq, cb));
-    }
-
-    // Filtros
-    cq.where(listPredicates.toArray(new Predicate[] {}));
-
-    // Ordenación
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), rootEvaluacion, cb);
-    cq.orderBy(orders);
-
-    // Paginación
-    TypedQuery<Evaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-    List<Evaluacion> result = typedQuery.getResultList();
-    Page<Evaluacion> returnValue = new PageImpl<Evaluacion>(result, pageable, result.size());
+    Page<Evaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Evaluacion.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).entityGraph(Evaluacion.GRAPH_MEMORIA)
+        .findAll((root, cq, cb) -> {
+          // Evaluaciones en seguimiento
+          List<Predicate> listPredicates = getPredicateEvaluacionEnSeguimiento(root, cb, personaRef);
+          // Where
+          if (query != null) {
+            Specification<Evaluacion> spec = RsqlSpecifications.toSpecification(query);
+            listPredicates.add(spec.toPredicate(root, cq, cb));
+          }
+          return listPredicates;
+        });
 
     log.debug("findEvaluacionesEnSeguimientosByEvaluador(String personaRef, String query, Pageable pageable) - end");
     return returnValue;
@@ -492,8 +375,8 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
    * @param personaRef Referencia de persona
    * @return listado de predicados
    */
-  private List<Predicate> getPredicatesByEvaluador(Root<Evaluacion> root, CriteriaBuilder cb,
-      CriteriaQuery<Evaluacion> cq, String personaRef) {
+  private List<Predicate> getPredicatesByEvaluador(Root<Evaluacion> root, CriteriaBuilder cb, CriteriaQuery<?> cq,
+      String personaRef) {
 
     List<Predicate> listPredicates = new ArrayList<>();
     Predicate memoriaVersion = cb.equal(root.get(Evaluacion_.version),
@@ -530,4 +413,101 @@ public class CustomEvaluacionRepositoryImpl implements CustomEvaluacionRepositor
 
     return listPredicates;
   }
+
+  /**
+   * Obtener una página de entidades {@link Evaluacion} filtradas mediante
+   * paginación por cursor.
+   *
+   * @param specs    filtro de búsqueda.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de entidades {@link Evaluacion}.
+   */
+  @Override
+  public KeysetPage<Evaluacion> findAllKeyset(Specification<Evaluacion> specs, Pageable pageable, String cursor) {
+    log.debug("findAllKeyset(Specification<Evaluacion> specs, Pageable pageable, String cursor) - start");
+    KeysetPage<Evaluacion> returnValue = KeysetPagination.of(entityManager, Evaluacion.class, pageable, cursor)
+        .entityGraph(Evaluacion.GRAPH_MEMORIA).findAll(specs, Evaluacion::getId);
+    log.debug("findAllKeyset(Specification<Evaluacion> specs, Pageable pageable, String cursor) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene, para cada {@link Evaluador}, el número de {@link Evaluacion} activas
+   * sin dictamen en las que participa como evaluador 1 o evaluador 2.
+   *
+   * @param idsEvaluador identificadores de los {@link Evaluador}.
+   * @return número de evaluaciones abiertas por identificador de evaluador (los
+   *         evaluadores sin evaluaciones abiertas no aparecen).
+   */
+  @Override
+  public Map<Long, Long> countEvaluacionesAbiertasByEvaluador(Collection<Long> idsEvaluador) {
+    log.debug("countEvaluacionesAbiertasByEvaluador(Collection<Long> idsEvaluador) - start");
+
+    Map<Long, Long> returnValue = new HashMap<>();
+    if (!idsEvaluador.isEmpty()) {
+      countEvaluacionesAbiertasByEvaluador(Evaluacion_.evaluador1, idsEvaluador, returnValue);
+      countEvaluacionesAbiertasByEvaluador(Evaluacion_.evaluador2, idsEvaluador, returnValue);
+    }
+
+    log.debug("countEvaluacionesAbiertasByEvaluador(Collection<Long> idsEvaluador) - end");
+    return returnValue;
+  }
+
+  /**
+   * Suma a los contadores el número de {@link Evaluacion} activas sin dictamen
+   * agrupadas por el evaluador indicado (evaluador 1 o evaluador 2).
+   *
+   * @param evaluador    atributo del evaluador por el que se agrupa.
+   * @param idsEvaluador identificadores de los {@link Evaluador}.
+   * @param contadores   número de evaluaciones por identificador de evaluador.
+   */
+  private void countEvaluacionesAbiertasByEvaluador(SingularAttribute<Evaluacion, Evaluador> evaluador,
+      Collection<Long> idsEvaluador, Map<Long, Long> contadores) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    Root<Evaluacion> root = cq.from(Evaluacion.class);
+    Path<Long> idEvaluador = root.get(evaluador).get(Evaluador_.id);
+
+    cq.multiselect(idEvaluador.alias("idEvaluador"), cb.count(root).alias("numEvaluaciones"))
+        .where(idEvaluador.in(idsEvaluador), cb.isTrue(root.get(Evaluacion_.activo)),
+            cb.isNull(root.get(Evaluacion_.dictamen)))
+        .groupBy(idEvaluador);
+
+    for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+      contadores.merge(tuple.get("idEvaluador", Long.class), tuple.get("numEvaluaciones", Long.class), Long::sum);
+    }
+  }
+
+  /**
+   * Obtiene, para cada {@link Memoria}, la versión de su última {@link Evaluacion}
+   * activa.
+   *
+   * @param idsMemoria identificadores de las {@link Memoria}.
+   * @return versión de la última evaluación por identificador de memoria (las
+   *         memorias sin evaluaciones no aparecen).
+   */
+  @Override
+  public Map<Long, Integer> findUltimaVersionByMemoriaIdIn(Collection<Long> idsMemoria) {
+    log.debug("findUltimaVersionByMemoriaIdIn(Collection<Long> idsMemoria) - start");
+
+    Map<Long, Integer> returnValue = new HashMap<>();
+    if (!idsMemoria.isEmpty()) {
+      CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+      CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+      Root<Evaluacion> root = cq.from(Evaluacion.class);
+      Path<Long> idMemoria = root.get(Evaluacion_.memoria).get(Memoria_.id);
+
+      cq.multiselect(idMemoria.alias("idMemoria"), cb.max(root.get(Evaluacion_.version)).alias("version"))
+          .where(idMemoria.in(idsMemoria), cb.isTrue(root.get(Evaluacion_.activo))).groupBy(idMemoria);
+
+      for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+        returnValue.put(tuple.get("idMemoria", Long.class), tuple.get("version", Integer.class));
+      }
+    }
+
+    log.debug("findUltimaVersionByMemoriaIdIn(Collection<Long> idsMemoria) - end");
+    return returnValue;
+  }
+
 }
@@ -1,5 +1,7 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import java.time.LocalDate;
+
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Memoria;
@@ -25,4 +27,34 @@ public interface CustomEvaluadorRepository {
    */
   Page<Evaluador> findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable);
 
+  /**
+   * Indica si existe algún presidente activo del comité cuyo periodo (fecha de
+   * alta y fecha de baja) coincide con el indicado.
+   * 
+   * @param idComite            Identificador del {@link Comite}
+   * @param fechaAlta           fecha de alta del presidente a comprobar.
+   * @param fechaBaja           fecha de baja del presidente a comprobar (null si
+   *                            no tiene).
+   * @param idEvaluadorExcluido Identificador del evaluador que se actualiza (null
+   *                            si se crea).
+   * @return true si existe otro presidente en esas fechas.
+   */
+  boolean existsPresidenteInFechas(Long idComite, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido);
+
+  /**
+   * Indica si la persona ya es evaluador activo del comité en un periodo (fecha
+   * de alta y fecha de baja) que coincide con el indicado.
+   * 
+   * @param idComite            Identificador del {@link Comite}
+   * @param personaRef          Referencia de la persona.
+   * @param fechaAlta           fecha de alta del evaluador a comprobar.
+   * @param fechaBaja           fecha de baja del evaluador a comprobar (null si
+   *                            no tiene).
+   * @param idEvaluadorExcluido Identificador del evaluador que se actualiza (null
+   *                            si se crea).
+   * @return true si la persona ya es evaluador del comité en esas fechas.
+   */
+  boolean existsEvaluadorInFechas(Long idComite, String personaRef, LocalDate fechaAlta, LocalDate fechaBaja,
+      Long idEvaluadorExcluido);
+
 }
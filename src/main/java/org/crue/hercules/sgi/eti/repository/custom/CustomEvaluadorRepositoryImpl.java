@@ -1,18 +1,20 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
+import org.crue.hercules.sgi.eti.model.CargoComite_;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.Comite_;
 import org.crue.hercules.sgi.eti.model.ConflictoInteres;
@@ -24,10 +26,11 @@ import org.crue.hercules.sgi.eti.model.Evaluador_;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Memoria_;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion_;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +46,11 @@ public class CustomEvaluadorRepositoryImpl implements CustomEvaluadorRepository
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Devuelve los evaluadores activos del comité indicado que no entre en
    * conflicto de intereses con ningún miembro del equipo investigador de la
@@ -55,17 +63,31 @@ public class CustomEvaluadorRepositoryImpl implements CustomEvaluadorRepository
    */
   @Override
   public Page<Evaluador> findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) {
-    // TODO: Revisar uso pageable. Aunque se está paginando, no se está haciendo el
-    // total count.
     log.debug("findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) - start");
-    final List<Predicate> predicates = new ArrayList<>();
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Evaluador> cq = cb.createQuery(Evaluador.class);
+    Page<Evaluador> returnValue = PagedCriteriaQuery.of(entityManager, Evaluador.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .findAll((root, cq, cb) -> getEvaluadoresSinConflictoInteresesPredicates(root, cq, cb, idComite, idMemoria));
 
-    // Define FROM clause
-    Root<Evaluador> root = cq.from(Evaluador.class);
+    log.debug("findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) - end");
+
+    return returnValue;
+  }
+
+  /**
+   * Obtiene los predicados de los evaluadores activos del comité que no entran en
+   * conflicto de intereses con el equipo investigador de la memoria.
+   * 
+   * @param root      root
+   * @param cq        criteria query
+   * @param cb        criteria builder
+   * @param idComite  Identificador del {@link Comite}
+   * @param idMemoria Identificador de la {@link Memoria}
+   * @return lista de predicados
+   */
+  private List<Predicate> getEvaluadoresSinConflictoInteresesPredicates(Root<Evaluador> root, CriteriaQuery<?> cq,
+      CriteriaBuilder cb, Long idComite, Long idMemoria) {
+    final List<Predicate> predicates = new ArrayList<>();
 
     // Evaluadores activos
     predicates.add(cb.equal(root.get(Evaluador_.activo), Boolean.TRUE));
@@ -101,26 +123,129 @@ public class CustomEvaluadorRepositoryImpl implements CustomEvaluadorRepository
 
     predicates.add(cb.not(root.get(Evaluador_.id).in(sqEvaluadoresConflictoIntereses)));
 
-    // Join all restrictions
-    cq.where(cb.and(predicates.toArray(new Predicate[] {})));
+    return predicates;
+  }
 
-    // Execute query
+  /**
+   * Indica si existe algún presidente activo del comité cuyo periodo (fecha de
+   * alta y fecha de baja) coincide con el indicado.
+   * 
+   * @param idComite            Identificador del {@link Comite}
+   * @param fechaAlta           fecha de alta del presidente a comprobar.
+   * @param fechaBaja           fecha de baja del presidente a comprobar (null si
+   *                            no tiene).
+   * @param idEvaluadorExcluido Identificador del evaluador que se actualiza (null
+   *                            si se crea).
+   * @return true si existe otro presidente en esas fechas.
+   */
+  @Override
+  public boolean existsPresidenteInFechas(Long idComite, LocalDate fechaAlta, LocalDate fechaBaja,
+      Long idEvaluadorExcluido) {
+    log.debug(
+        "existsPresidenteInFechas(Long idComite, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido) - start");
 
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
+    boolean returnValue = existsInFechas(idComite, fechaAlta, fechaBaja, idEvaluadorExcluido, (root, cb) -> cb
+        .equal(cb.lower(root.get(Evaluador_.cargoComite).get(CargoComite_.nombre)), "presidente"));
 
-    TypedQuery<Evaluador> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
+    log.debug(
+        "existsPresidenteInFechas(Long idComite, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido) - end");
+    return returnValue;
+  }
 
-    List<Evaluador> result = typedQuery.getResultList();
-    Page<Evaluador> returnValue = new PageImpl<Evaluador>(result, pageable, result.size());
+  /**
+   * Indica si la persona ya es evaluador activo del comité en un periodo (fecha
+   * de alta y fecha de baja) que coincide con el indicado.
+   * 
+   * @param idComite            Identificador del {@link Comite}
+   * @param personaRef          Referencia de la persona.
+   * @param fechaAlta           fecha de alta del evaluador a comprobar.
+   * @param fechaBaja           fecha de baja del evaluador a comprobar (null si
+   *                            no tiene).
+   * @param idEvaluadorExcluido Identificador del evaluador que se actualiza (null
+   *                            si se crea).
+   * @return true si la persona ya es evaluador del comité en esas fechas.
+   */
+  @Override
+  public boolean existsEvaluadorInFechas(Long idComite, String personaRef, LocalDate fechaAlta, LocalDate fechaBaja,
+      Long idEvaluadorExcluido) {
+    log.debug(
+        "existsEvaluadorInFechas(Long idComite, String personaRef, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido) - start");
 
-    log.debug("findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) - end");
+    boolean returnValue = existsInFechas(idComite, fechaAlta, fechaBaja, idEvaluadorExcluido,
+        (root, cb) -> cb.equal(root.get(Evaluador_.personaRef), personaRef));
 
+    log.debug(
+        "existsEvaluadorInFechas(Long idComite, String personaRef, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido) - end");
     return returnValue;
   }
 
-}
\ No newline at end of file
+  /**
+   * Comprueba si existe algún evaluador activo del comité que cumpla la
+   * condición indicada y cuyo periodo coincida con el indicado. La consulta
+   * devuelve como mucho una fila, sin cargar ningún {@link Evaluador}.
+   * 
+   * Coinciden los periodos si el evaluador existente no tiene fecha de baja y se
+   * da de alta antes de la fecha de baja indicada, o si tiene fecha de baja y:
+   * <ul>
+   * <li>sin fecha de baja indicada, su fecha de baja es posterior a la fecha de
+   * alta indicada.</li>
+   * <li>con fecha de baja indicada, su periodo contiene al indicado o alguna de
+   * sus fechas está dentro del periodo indicado.</li>
+   * </ul>
+   * 
+   * @param idComite            Identificador del {@link Comite}
+   * @param fechaAlta           fecha de alta a comprobar.
+   * @param fechaBaja           fecha de baja a comprobar (null si no tiene).
+   * @param idEvaluadorExcluido Identificador del evaluador que no se tiene en
+   *                            cuenta (null para ninguno).
+   * @param condicion           condición adicional del evaluador.
+   * @return true si existe algún evaluador en esas fechas.
+   */
+  private boolean existsInFechas(Long idComite, LocalDate fechaAlta, LocalDate fechaBaja, Long idEvaluadorExcluido,
+      EvaluadorPredicate condicion) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+    Root<Evaluador> root = cq.from(Evaluador.class);
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(root.get(Evaluador_.activo), Boolean.TRUE));
+    predicates.add(cb.equal(root.get(Evaluador_.comite).get(Comite_.id), idComite));
+    predicates.add(condicion.toPredicate(root, cb));
+    if (idEvaluadorExcluido != null) {
+      predicates.add(cb.notEqual(root.get(Evaluador_.id), idEvaluadorExcluido));
+    }
+
+    // Evaluador existente sin fecha de baja
+    Predicate sinFechaBaja = cb.isNull(root.get(Evaluador_.fechaBaja));
+    if (fechaBaja != null) {
+      sinFechaBaja = cb.and(sinFechaBaja, cb.lessThan(root.get(Evaluador_.fechaAlta), fechaBaja));
+    }
+
+    // Evaluador existente con fecha de baja
+    Predicate conFechaBaja;
+    if (fechaBaja != null) {
+      conFechaBaja = cb.or(
+          cb.and(cb.lessThan(root.get(Evaluador_.fechaAlta), fechaAlta),
+              cb.greaterThan(root.get(Evaluador_.fechaBaja), fechaBaja)),
+          cb.between(root.get(Evaluador_.fechaAlta), fechaAlta, fechaBaja),
+          cb.between(root.get(Evaluador_.fechaBaja), fechaAlta, fechaBaja));
+    } else {
+      conFechaBaja = cb.greaterThan(root.get(Evaluador_.fechaBaja), fechaAlta);
+    }
+    predicates.add(cb.or(sinFechaBaja, conFechaBaja));
+
+    cq.select(root.get(Evaluador_.id)).where(predicates.toArray(new Predicate[] {}));
+
+    return !entityManager.createQuery(cq).setMaxResults(1).getResultList().isEmpty();
+  }
+
+  /**
+   * Condición adicional sobre el {@link Evaluador} de las comprobaciones de
+   * fechas.
+   */
+  @FunctionalInterface
+  private interface EvaluadorPredicate {
+    Predicate toPredicate(Root<Evaluador> root, CriteriaBuilder cb);
+  }
+
+}
@@ -0,0 +1,24 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.Optional;
+
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link Formulario}.
+ */
+@Component
+public interface CustomFormularioRepository {
+
+  /**
+   * Obtiene el árbol completo (bloques, apartados y apartados hijos) de un
+   * {@link Formulario} con una única consulta.
+   * 
+   * @param id Identificador del {@link Formulario}.
+   * @return el árbol del formulario o vacío si no existe.
+   */
+  Optional<FormularioArbol> findArbolById(Long id);
+
+}
@@ -0,0 +1,105 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbol.ApartadoArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbol.BloqueArbol;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link Formulario}.
+ */
+@Slf4j
+@Component
+public class CustomFormularioRepositoryImpl implements CustomFormularioRepository {
+
+  /**
+   * Formulario con sus bloques y los apartados de cada bloque (una fila por
+   * apartado). Bloque y Apartado no tienen colecciones, por lo que se unen con
+   * joins de entidad para incluir los bloques sin apartados.
+   */
+  private static final String QUERY_ARBOL = "SELECT f.id AS idFormulario, f.nombre AS nombreFormulario, "
+      + "f.descripcion AS descripcionFormulario, b.id AS idBloque, b.nombre AS nombreBloque, "
+      + "b.orden AS ordenBloque, a.id AS idApartado, a.nombre AS nombreApartado, a.orden AS ordenApartado, "
+      + "a.esquema AS esquemaApartado, a.padre.id AS idPadre "
+      + "FROM Formulario f LEFT JOIN Bloque b ON b.formulario = f LEFT JOIN Apartado a ON a.bloque = b "
+      + "WHERE f.id = :id ORDER BY b.orden, b.id, a.orden, a.id";
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Obtiene el árbol completo (bloques, apartados y apartados hijos) de un
+   * {@link Formulario} con una única consulta.
+   * 
+   * @param id Identificador del {@link Formulario}.
+   * @return el árbol del formulario o vacío si no existe.
+   */
+  @Override
+  public Optional<FormularioArbol> findArbolById(Long id) {
+    log.debug("findArbolById(Long id) - start");
+
+    List<Tuple> rows = entityManager.createQuery(QUERY_ARBOL, Tuple.class).setParameter("id", id).getResultList();
+    if (rows.isEmpty()) {
+      log.debug("findArbolById(Long id) - end");
+      return Optional.empty();
+    }
+
+    Tuple first = rows.get(0);
+    FormularioArbol formulario = new FormularioArbol(first.get("idFormulario", Long.class),
+        first.get("nombreFormulario", String.class), first.get("descripcionFormulario", String.class),
+        new ArrayList<>());
+
+    // Las filas vienen ordenadas, por lo que bloques, apartados e hijos se
+    // añaden en su orden
+    Map<Long, BloqueArbol> bloques = new LinkedHashMap<>();
+    Map<Long, ApartadoArbol> apartados = new LinkedHashMap<>();
+    Map<Long, Long> bloqueApartados = new LinkedHashMap<>();
+    Map<Long, Long> padreApartados = new LinkedHashMap<>();
+    for (Tuple row : rows) {
+      Long idBloque = row.get("idBloque", Long.class);
+      if (idBloque == null) {
+        continue;
+      }
+      if (!bloques.containsKey(idBloque)) {
+        BloqueArbol bloque = new BloqueArbol(idBloque, row.get("nombreBloque", String.class),
+            row.get("ordenBloque", Integer.class), new ArrayList<>());
+        bloques.put(idBloque, bloque);
+        formulario.getBloques().add(bloque);
+      }
+      Long idApartado = row.get("idApartado", Long.class);
+      if (idApartado != null) {
+        apartados.put(idApartado, new ApartadoArbol(idApartado, row.get("nombreApartado", String.class),
+            row.get("ordenApartado", Integer.class), row.get("esquemaApartado", String.class), new ArrayList<>()));
+        bloqueApartados.put(idApartado, idBloque);
+        padreApartados.put(idApartado, row.get("idPadre", Long.class));
+      }
+    }
+
+    apartados.forEach((idApartado, apartado) -> {
+      ApartadoArbol padre = apartados.get(padreApartados.get(idApartado));
+      if (padre != null) {
+        padre.getHijos().add(apartado);
+      } else {
+        bloques.get(bloqueApartados.get(idApartado)).getApartados().add(apartado);
+      }
+    });
+
+    log.debug("findArbolById(Long id) - end");
+    return Optional.of(formulario);
+  }
+
+}
@@ -1,9 +1,15 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -36,6 +42,17 @@ public interface CustomMemoriaRepository {
    */
   Page<Memoria> findAllMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Pageable pageable);
 
+  /**
+   * Devuelve los identificadores de las {@link Memoria} indicadas que son
+   * asignables a la convocatoria, con el mismo criterio que
+   * {@link #findAllMemoriasAsignablesConvocatoria(Long, Pageable)}.
+   * 
+   * @param idConvocatoriaReunion Identificador del {@link ConvocatoriaReunion}
+   * @param idsMemoria            Identificadores de las {@link Memoria}
+   * @return identificadores de las memorias asignables a la convocatoria.
+   */
+  List<Long> findIdsMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Collection<Long> idsMemoria);
+
   /**
    * Devuelve las memorias de una petición evaluación con su fecha límite y de
    * evaluación.
@@ -59,4 +76,45 @@ public interface CustomMemoriaRepository {
   Page<MemoriaPeticionEvaluacion> findAllMemoriasEvaluaciones(Specification<Memoria> specs, Pageable pageable,
       String personaRefConsulta);
 
+  /**
+   * Recupera una página de las memorias de una evaluación mediante paginación
+   * por cursor.
+   * 
+   * @param specs              condiciones de búsqueda
+   * @param pageable           tamaño de página y ordenación
+   * @param cursor             cursor de la página anterior (null para la
+   *                           primera página)
+   * @param personaRefConsulta Referencia persona consulta
+   * @return página de {@link MemoriaPeticionEvaluacion}
+   */
+  KeysetPage<MemoriaPeticionEvaluacion> findAllMemoriasEvaluacionesKeyset(Specification<Memoria> specs,
+      Pageable pageable, String cursor, String personaRefConsulta);
+
+  /**
+   * Actualiza el estado actual de las {@link Memoria} recibidas mediante una
+   * única sentencia UPDATE. Antes se escriben los cambios pendientes y después
+   * se vacía el contexto de persistencia, por lo que las entidades cargadas
+   * quedan separadas.
+   * 
+   * @param idsMemoria          Identificadores de las {@link Memoria}.
+   * @param idTipoEstadoMemoria Identificador del {@link TipoEstadoMemoria}.
+   * @return el número de memorias actualizadas.
+   */
+  int updateEstadoActualByIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria);
+
+  /**
+   * Reserva el siguiente número de referencia de memoria del contador
+   * (comité, año, serie). La fila del contador queda bloqueada hasta el fin de
+   * la transacción, por lo que dos creaciones concurrentes obtienen números
+   * consecutivos distintos.
+   * 
+   * @param idComite     Identificador del {@link org.crue.hercules.sgi.eti.model.Comite}.
+   * @param anio         año de la referencia.
+   * @param serie        serie de numeración dentro del comité y año.
+   * @param ultimoNumero último número ya utilizado en la serie. Solo se invoca
+   *                     si el contador todavía no existe, para inicializarlo.
+   * @return el número reservado.
+   */
+  long nextNumeroReferencia(Long idComite, int anio, String serie, LongSupplier ultimoNumero);
+
 }
@@ -4,20 +4,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.Comite_;
@@ -37,11 +44,17 @@ import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
 import org.crue.hercules.sgi.eti.util.Constantes;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -53,10 +66,26 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
 
+  /** Tabla de los contadores de referencia de memoria. */
+  private static final String CONTADOR_REFERENCIA = "memoria_referencia_contador";
+
   /** The entity manager. */
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Usuario que realiza la operación (columnas de auditoría). */
+  @Autowired
+  private ObjectProvider<AuditorAware<String>> auditorAware;
+
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
+  /** Forma de obtener las fechas de la evaluación actual de las memorias. */
+  @Value("${sgi.eti.memoria.fechas-evaluacion-strategy:JOIN}")
+  private FechasEvaluacionStrategy fechasEvaluacionStrategy;
+
   /**
    * Si la convocatoria es de tipo "Seguimiento" devuelve las memorias en estado
    * "En secretaría seguimiento anual" y "En secretaría seguimiento final" con la
@@ -74,14 +103,59 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
    */
   @Override
   public Page<Memoria> findAllMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Pageable pageable) {
-    // TODO: Revisar uso pageable. Se está haciendo consulta páginada pero ne está
-    // obteniendo el count total.
     log.debug("findAllMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Pageable pageable) - start");
-    final List<Predicate> predicates = new ArrayList<>();
 
-    // Crete query
+    Page<Memoria> returnValue = PagedCriteriaQuery.of(entityManager, Memoria.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable()).entityGraph(Memoria.GRAPH_LISTADO)
+        .findAll((root, cq, cb) -> getMemoriasAsignablesConvocatoriaPredicates(root, cq, cb, idConvocatoriaReunion));
+
+    log.debug("findAllMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Pageable pageable) - end");
+
+    return returnValue;
+  }
+
+  /**
+   * Devuelve los identificadores de las {@link Memoria} indicadas que son
+   * asignables a la convocatoria, con los mismos predicados que
+   * {@link #findAllMemoriasAsignablesConvocatoria(Long, Pageable)}.
+   * 
+   * @param idConvocatoriaReunion Identificador del {@link ConvocatoriaReunion}
+   * @param idsMemoria            Identificadores de las {@link Memoria}
+   * @return identificadores de las memorias asignables a la convocatoria.
+   */
+  @Override
+  public List<Long> findIdsMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Collection<Long> idsMemoria) {
+    log.debug(
+        "findIdsMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Collection<Long> idsMemoria) - start");
+
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Memoria> cq = cb.createQuery(Memoria.class);
+    CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+    Root<Memoria> root = cq.from(Memoria.class);
+
+    List<Predicate> predicates = getMemoriasAsignablesConvocatoriaPredicates(root, cq, cb, idConvocatoriaReunion);
+    predicates.add(root.get(Memoria_.id).in(idsMemoria));
+
+    cq.select(root.get(Memoria_.id)).where(predicates.toArray(new Predicate[] {}));
+
+    List<Long> returnValue = entityManager.createQuery(cq).getResultList();
+
+    log.debug("findIdsMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Collection<Long> idsMemoria) - end");
+
+    return returnValue;
+  }
+
+  /**
+   * Obtiene los predicados de las memorias asignables a la convocatoria.
+   * 
+   * @param root                  root
+   * @param cq                    criteria query
+   * @param cb                    criteria builder
+   * @param idConvocatoriaReunion Identificador del {@link ConvocatoriaReunion}
+   * @return lista de predicados
+   */
+  private List<Predicate> getMemoriasAsignablesConvocatoriaPredicates(Root<Memoria> root, CriteriaQuery<?> cq,
+      CriteriaBuilder cb, Long idConvocatoriaReunion) {
+    final List<Predicate> predicates = new ArrayList<>();
 
     // Fecha limite convocatoria
     Subquery<LocalDate> sqFechaLimiteConvocatoria = cq.subquery(LocalDate.class);
@@ -123,8 +197,7 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
             cb.equal(joinConvocatoriaSeguimientoTipo.get(TipoConvocatoriaReunion_.id),
                 Constantes.TIPO_CONVOCATORIA_REUNION_SEGUIMIENTO)));
 
-    // Define FROM clause
-    Root<Memoria> root = cq.from(Memoria.class);
+    // Joins
     Join<Memoria, Comite> joinMemoriaComite = root.join(Memoria_.comite);
     Join<Memoria, TipoEstadoMemoria> joinMemoriaTipoEstado = root.join(Memoria_.estadoActual);
     Join<Memoria, Retrospectiva> joinMemoriaRetrospectiva = root.join(Memoria_.retrospectiva, JoinType.LEFT);
@@ -159,26 +232,7 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
     predicates.add(memoriasActivas);
     predicates.add(cb.or(memoriasConvocatoriaOrdinariaExtraordinaria, memoriasConvocatoriaSeguimiento));
 
-    // Join all restrictions
-    cq.where(cb.and(predicates.toArray(new Predicate[] {})));
-
-    // Execute query
-
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    TypedQuery<Memoria> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<Memoria> result = typedQuery.getResultList();
-    Page<Memoria> returnValue = new PageImpl<Memoria>(result, pageable, result.size());
-
-    log.debug("findAllMemoriasAsignablesConvocatoria(Long idConvocatoriaReunion, Pageable pageable) - end");
-
-    return returnValue;
+    return predicates;
   }
 
   /**
@@ -194,45 +248,46 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
       String personaRefConsulta) {
     log.debug("findMemoriasEvaluacion( Pageable pageable) - start");
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<MemoriaPeticionEvaluacion> cq = cb.createQuery(MemoriaPeticionEvaluacion.class);
-    Root<Memoria> root = cq.from(Memoria.class);
+    Page<MemoriaPeticionEvaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Memoria.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .findAll(MemoriaPeticionEvaluacion.class, (root, cq, cb) -> Arrays.asList(
+            cb.equal(root.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id), idPeticionEvaluacion),
+            cb.isTrue(root.get(Memoria_.activo))),
+            (root, cq, cb) -> selectMemoriaEvaluacion(root, cb, cq, personaRefConsulta));
+    setFechasEvaluacion(returnValue.getContent());
+
+    log.debug("findMemoriasEvaluacion( Pageable pageable) - end");
+    return returnValue;
+  }
+
+  /**
+   * Selecciona los datos de {@link MemoriaPeticionEvaluacion} de las memorias de
+   * una petición evaluación.
+   * 
+   * @param root               root
+   * @param cb                 criteria builder
+   * @param cq                 criteria query
+   * @param personaRefConsulta usuario de la consulta
+   */
+  private void selectMemoriaEvaluacion(Root<Memoria> root, CriteriaBuilder cb,
+      CriteriaQuery<MemoriaPeticionEvaluacion> cq, String personaRefConsulta) {
     root.join(Memoria_.retrospectiva, JoinType.LEFT);
 
-    // Count query
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Memoria> rootCount = countQuery.from(Memoria.class);
+    if (fechasEvaluacionStrategy == FechasEvaluacionStrategy.JOIN) {
+      // Las fechas se obtienen después con setFechasEvaluacion
+      cq.multiselect(root.get(Memoria_.id), root.get(Memoria_.numReferencia), root.get(Memoria_.titulo),
+          root.get(Memoria_.comite), root.get(Memoria_.estadoActual), root.get(Memoria_.requiereRetrospectiva),
+          root.get(Memoria_.retrospectiva),
+          isResponsable(root, cb, cq, personaRefConsulta).isNotNull().alias("isResponsable"),
+          root.get(Memoria_.activo));
+      return;
+    }
 
     cq.multiselect(root.get(Memoria_.id), root.get(Memoria_.numReferencia), root.get(Memoria_.titulo),
         root.get(Memoria_.comite), root.get(Memoria_.estadoActual), root.get(Memoria_.requiereRetrospectiva),
         root.get(Memoria_.retrospectiva), getFechaEvaluacion(root, cb, cq).alias("fechaEvaluacion"),
         getFechaLimite(root, cb, cq).alias("fechaLimite"),
         isResponsable(root, cb, cq, personaRefConsulta).isNotNull().alias("isResponsable"), root.get(Memoria_.activo));
-
-    cq.where(cb.equal(root.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id), idPeticionEvaluacion),
-        cb.isTrue(root.get(Memoria_.activo)));
-
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    // Número de registros totales para la paginación
-    countQuery
-        .where(cb.equal(rootCount.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id), idPeticionEvaluacion));
-    countQuery.select(cb.count(rootCount));
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    TypedQuery<MemoriaPeticionEvaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<MemoriaPeticionEvaluacion> result = typedQuery.getResultList();
-    Page<MemoriaPeticionEvaluacion> returnValue = new PageImpl<MemoriaPeticionEvaluacion>(result, pageable, count);
-
-    log.debug("findMemoriasEvaluacion( Pageable pageable) - end");
-    return returnValue;
   }
 
   /**
@@ -287,6 +342,54 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
     return queryFechaLimite;
   }
 
+  /**
+   * Completa la fecha de evaluación y la fecha límite de las memorias con la
+   * convocatoria de su evaluación actual (misma versión que la memoria y
+   * activa) cuando se usa {@link FechasEvaluacionStrategy#JOIN}. Se resuelven
+   * todas las memorias de la página con una única consulta; las memorias sin
+   * evaluación actual se quedan sin fechas.
+   * 
+   * @param memorias memorias de la página
+   */
+  private void setFechasEvaluacion(List<MemoriaPeticionEvaluacion> memorias) {
+    if (fechasEvaluacionStrategy != FechasEvaluacionStrategy.JOIN || memorias.isEmpty()) {
+      return;
+    }
+
+    log.debug("setFechasEvaluacion(List<MemoriaPeticionEvaluacion> memorias) - start");
+
+    List<Long> idsMemoria = new ArrayList<>();
+    memorias.forEach(memoria -> idsMemoria.add(memoria.getId()));
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    Root<Evaluacion> root = cq.from(Evaluacion.class);
+    Join<Evaluacion, Memoria> joinMemoria = root.join(Evaluacion_.memoria);
+    Join<Evaluacion, ConvocatoriaReunion> joinConvocatoriaReunion = root.join(Evaluacion_.convocatoriaReunion);
+
+    cq.multiselect(root.get(Evaluacion_.memoria).get(Memoria_.id).alias("idMemoria"),
+        joinConvocatoriaReunion.get(ConvocatoriaReunion_.fechaEvaluacion).alias("fechaEvaluacion"),
+        joinConvocatoriaReunion.get(ConvocatoriaReunion_.fechaLimite).alias("fechaLimite"))
+        .where(root.get(Evaluacion_.memoria).get(Memoria_.id).in(idsMemoria),
+            cb.equal(root.get(Evaluacion_.version), joinMemoria.get(Memoria_.version)),
+            cb.isTrue(root.get(Evaluacion_.activo)), cb.isTrue(joinMemoria.get(Memoria_.activo)));
+
+    Map<Long, Tuple> fechas = new HashMap<>();
+    for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+      fechas.putIfAbsent(tuple.get("idMemoria", Long.class), tuple);
+    }
+
+    for (MemoriaPeticionEvaluacion memoria : memorias) {
+      Tuple tuple = fechas.get(memoria.getId());
+      if (tuple != null) {
+        memoria.setFechaEvaluacion(tuple.get("fechaEvaluacion", LocalDateTime.class));
+        memoria.setFechaLimite(tuple.get("fechaLimite", LocalDate.class));
+      }
+    }
+
+    log.debug("setFechasEvaluacion(List<MemoriaPeticionEvaluacion> memorias) - end");
+  }
+
   /**
    * Devuelve todas las memorias con la fecha límite y de evaluación.
    * 
@@ -300,41 +403,112 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
       String personaRefConsulta) {
     log.debug("findAllMemoriasEvaluaciones( Pageable pageable) - start");
 
+    Page<MemoriaPeticionEvaluacion> returnValue = PagedCriteriaQuery.of(entityManager, Memoria.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .findAll(MemoriaPeticionEvaluacion.class,
+            (root, cq, cb) -> getMemoriasEvaluacionesPredicates(root, cb, cq, specs, personaRefConsulta),
+            (root, cq, cb) -> selectMemoriaPeticionEvaluacion(root, cb, cq, personaRefConsulta));
+    setFechasEvaluacion(returnValue.getContent());
+
+    log.debug("findAllMemoriasEvaluaciones( Pageable pageable) - end");
+    return returnValue;
+  }
+
+  /**
+   * Devuelve una página de memorias con la fecha límite y de evaluación
+   * mediante paginación por cursor (sin consulta de recuento).
+   * 
+   * @param specs              datos de búsqueda.
+   * @param pageable           tamaño de página y ordenación
+   * @param cursor             cursor de la página anterior (null para la
+   *                           primera página)
+   * @param personaRefConsulta responsable
+   * @return página de memorias de {@link PeticionEvaluacion}
+   */
+  @Override
+  public KeysetPage<MemoriaPeticionEvaluacion> findAllMemoriasEvaluacionesKeyset(Specification<Memoria> specs,
+      Pageable pageable, String cursor, String personaRefConsulta) {
+    log.debug(
+        "findAllMemoriasEvaluacionesKeyset(Specification<Memoria> specs, Pageable pageable, String cursor, String personaRefConsulta) - start");
+
+    KeysetPagination<Memoria> keyset = KeysetPagination.of(entityManager, Memoria.class, pageable, cursor);
+
     // Crete query
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
     CriteriaQuery<MemoriaPeticionEvaluacion> cq = cb.createQuery(MemoriaPeticionEvaluacion.class);
     Root<Memoria> root = cq.from(Memoria.class);
 
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<Memoria> rootCount = countQuery.from(Memoria.class);
-    countQuery.select(cb.count(rootCount));
+    List<Predicate> predicates = getMemoriasEvaluacionesPredicates(root, cb, cq, specs, personaRefConsulta);
+    Predicate predicateCursor = keyset.getPredicate(root, cb);
+    if (predicateCursor != null) {
+      predicates.add(predicateCursor);
+    }
+
+    selectMemoriaPeticionEvaluacion(root, cb, cq, personaRefConsulta);
+
+    cq.where(predicates.toArray(new Predicate[] {}));
+    cq.orderBy(keyset.getOrders(root, cb));
+
+    List<MemoriaPeticionEvaluacion> result = keyset.createQuery(cq).getResultList();
+    setFechasEvaluacion(result);
+    KeysetPage<MemoriaPeticionEvaluacion> returnValue = keyset.toPage(result, MemoriaPeticionEvaluacion::getId);
+
+    log.debug(
+        "findAllMemoriasEvaluacionesKeyset(Specification<Memoria> specs, Pageable pageable, String cursor, String personaRefConsulta) - end");
+    return returnValue;
+  }
 
+  /**
+   * Obtiene los predicados del listado de memorias con la fecha límite y de
+   * evaluación.
+   * 
+   * @param root               root
+   * @param cb                 criteria builder
+   * @param cq                 criteria query
+   * @param specs              datos de búsqueda.
+   * @param personaRefConsulta responsable
+   * @return lista de predicados
+   */
+  private List<Predicate> getMemoriasEvaluacionesPredicates(Root<Memoria> root, CriteriaBuilder cb,
+      CriteriaQuery<?> cq, Specification<Memoria> specs, String personaRefConsulta) {
     List<Predicate> predicates = new ArrayList<Predicate>();
-    List<Predicate> predicatesCount = new ArrayList<Predicate>();
 
     if (personaRefConsulta != null) {
       Predicate predicateMemoria = cb.in(root.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id))
           .value(getIdsPeticionEvaluacionMemoria(root, cb, cq, specs, personaRefConsulta));
-      Predicate predicateMemoriaCount = cb.in(rootCount.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id))
-          .value(getIdsPeticionEvaluacionMemoria(rootCount, cb, cq, specs, personaRefConsulta));
 
       Predicate predicatePersonaRefPeticion = cb
           .equal(root.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.personaRef), personaRefConsulta);
-      Predicate predicatePersonaRefPeticionCount = cb
-          .equal(rootCount.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.personaRef), personaRefConsulta);
       Predicate predicatePersonaRefMemoria = cb.equal(root.get(Memoria_.personaRef), personaRefConsulta);
-      Predicate predicatePersonaRefMemoriaCount = cb.equal(rootCount.get(Memoria_.personaRef), personaRefConsulta);
       predicates.add(cb.or(cb.or(predicatePersonaRefPeticion, predicatePersonaRefMemoria), predicateMemoria));
-      predicatesCount
-          .add(cb.or(cb.or(predicatePersonaRefPeticionCount, predicatePersonaRefMemoriaCount), predicateMemoriaCount));
     }
 
     // Where
     if (specs != null) {
       Predicate predicateSpecs = specs.toPredicate(root, cq, cb);
       predicates.add(predicateSpecs);
-      Predicate predicateSpecsCount = specs.toPredicate(rootCount, cq, cb);
-      predicatesCount.add(predicateSpecsCount);
+    }
+
+    return predicates;
+  }
+
+  /**
+   * Selecciona los datos de {@link MemoriaPeticionEvaluacion}.
+   * 
+   * @param root               root
+   * @param cb                 criteria builder
+   * @param cq                 criteria query
+   * @param personaRefConsulta responsable
+   */
+  private void selectMemoriaPeticionEvaluacion(Root<Memoria> root, CriteriaBuilder cb,
+      CriteriaQuery<MemoriaPeticionEvaluacion> cq, String personaRefConsulta) {
+    if (fechasEvaluacionStrategy == FechasEvaluacionStrategy.JOIN) {
+      // Las fechas se obtienen después con setFechasEvaluacion
+      cq.multiselect(root.get(Memoria_.id), root.get(Memoria_.numReferencia), root.get(Memoria_.titulo),
+          root.get(Memoria_.comite), root.get(Memoria_.estadoActual),
+          isResponsable(root, cb, cq, personaRefConsulta).isNotNull().alias("isResponsable"),
+          root.get(Memoria_.activo)).distinct(true);
+      return;
     }
 
     cq.multiselect(root.get(Memoria_.id), root.get(Memoria_.numReferencia), root.get(Memoria_.titulo),
@@ -342,28 +516,6 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
         getFechaEvaluacion(root, cb, cq).alias("fechaEvaluacion"), getFechaLimite(root, cb, cq).alias("fechaLimite"),
         isResponsable(root, cb, cq, personaRefConsulta).isNotNull().alias("isResponsable"), root.get(Memoria_.activo))
         .distinct(true);
-
-    cq.where(predicates.toArray(new Predicate[] {}));
-
-    countQuery.where(predicatesCount.toArray(new Predicate[] {}));
-
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    // Número de registros totales para la paginación
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-
-    TypedQuery<MemoriaPeticionEvaluacion> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<MemoriaPeticionEvaluacion> result = typedQuery.getResultList();
-    Page<MemoriaPeticionEvaluacion> returnValue = new PageImpl<MemoriaPeticionEvaluacion>(result, pageable, count);
-
-    log.debug("findAllMemoriasEvaluaciones( Pageable pageable) - end");
-    return returnValue;
   }
 
   /**
@@ -376,8 +528,8 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
    * @param personaRef
    * @return
    */
-  private Subquery<Long> getIdsPeticionEvaluacionMemoria(Root<Memoria> root, CriteriaBuilder cb,
-      CriteriaQuery<MemoriaPeticionEvaluacion> cq, Specification<Memoria> specsMem, String personaRef) {
+  private Subquery<Long> getIdsPeticionEvaluacionMemoria(Root<Memoria> root, CriteriaBuilder cb, CriteriaQuery<?> cq,
+      Specification<Memoria> specsMem, String personaRef) {
 
     log.debug(
         "getActaConvocatoria(Root<ConvocatoriaReunion> root, CriteriaBuilder cb, CriteriaQuery<ConvocatoriaReunionDatosGenerales> cq, Long idConvocatoria) - start");
@@ -425,4 +577,105 @@ public class CustomMemoriaRepositoryImpl implements CustomMemoriaRepository {
     return queryResponsable;
   }
 
-}
\ No newline at end of file
+  /**
+   * Actualiza el estado actual de las {@link Memoria} recibidas mediante una
+   * única sentencia UPDATE. Antes se escriben los cambios pendientes y después
+   * se vacía el contexto de persistencia, por lo que las entidades cargadas
+   * quedan separadas.
+   * 
+   * @param idsMemoria          Identificadores de las {@link Memoria}.
+   * @param idTipoEstadoMemoria Identificador del {@link TipoEstadoMemoria}.
+   * @return el número de memorias actualizadas.
+   */
+  @Override
+  public int updateEstadoActualByIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria) {
+    log.debug("updateEstadoActualByIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria) - start");
+
+    if (idsMemoria == null || idsMemoria.isEmpty()) {
+      log.debug("updateEstadoActualByIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria) - end");
+      return 0;
+    }
+
+    // Los cambios pendientes se escriben antes del UPDATE
+    entityManager.flush();
+
+    AuditorAware<String> auditor = auditorAware.getIfAvailable();
+    String usuario = auditor != null ? auditor.getCurrentAuditor().orElse(null) : null;
+
+    // {h-schema} es el esquema por defecto de Hibernate (hibernate.default_schema)
+    String sql = "UPDATE {h-schema}memoria SET estado_actual_id = :idTipoEstadoMemoria, last_modified_by = :usuario, "
+        + "last_modified_date = CURRENT_TIMESTAMP WHERE id IN (:idsMemoria)";
+
+    Query query = entityManager.createNativeQuery(sql);
+    // Solo se invalidan las regiones de caché de Memoria
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Memoria.class);
+    int returnValue = query.setParameter("idTipoEstadoMemoria", idTipoEstadoMemoria)
+        .setParameter("idsMemoria", idsMemoria)
+        .setParameter("usuario", new TypedParameterValue(StandardBasicTypes.STRING, usuario)).executeUpdate();
+    // Las memorias cargadas en el contexto de persistencia tienen el estado
+    // anterior: se descartan para que se vuelvan a leer
+    entityManager.clear();
+
+    log.debug("updateEstadoActualByIdIn(List<Long> idsMemoria, Long idTipoEstadoMemoria) - end");
+    return returnValue;
+  }
+
+  /**
+   * Reserva el siguiente número de referencia de memoria del contador
+   * (comité, año, serie). La fila del contador queda bloqueada hasta el fin de
+   * la transacción, por lo que dos creaciones concurrentes obtienen números
+   * consecutivos distintos.
+   * 
+   * @param idComite     Identificador del {@link Comite}.
+   * @param anio         año de la referencia.
+   * @param serie        serie de numeración dentro del comité y año.
+   * @param ultimoNumero último número ya utilizado en la serie. Solo se invoca
+   *                     si el contador todavía no existe, para inicializarlo.
+   * @return el número reservado.
+   */
+  @Override
+  public long nextNumeroReferencia(Long idComite, int anio, String serie, LongSupplier ultimoNumero) {
+    log.debug("nextNumeroReferencia(Long idComite, int anio, String serie, LongSupplier ultimoNumero) - start");
+
+    if (incrementContadorReferencia(idComite, anio, serie) == 0) {
+      // Primera referencia de la serie: se crea el contador. Si otra transacción
+      // lo crea a la vez, el INSERT espera a que termine y no hace nada.
+      Query insert = entityManager.createNativeQuery(
+          "INSERT INTO {h-schema}memoria_referencia_contador (comite_id, anio, serie, ultimo_numero) "
+              + "VALUES (:idComite, :anio, :serie, :ultimoNumero) ON CONFLICT DO NOTHING");
+      insert.unwrap(NativeQuery.class).addSynchronizedQuerySpace(CONTADOR_REFERENCIA);
+      insert.setParameter("idComite", idComite).setParameter("anio", anio).setParameter("serie", serie)
+          .setParameter("ultimoNumero", ultimoNumero.getAsLong()).executeUpdate();
+
+      incrementContadorReferencia(idComite, anio, serie);
+    }
+
+    Query select = entityManager.createNativeQuery("SELECT ultimo_numero FROM {h-schema}memoria_referencia_contador "
+        + "WHERE comite_id = :idComite AND anio = :anio AND serie = :serie");
+    select.unwrap(NativeQuery.class).addSynchronizedQuerySpace(CONTADOR_REFERENCIA);
+    long returnValue = ((Number) select.setParameter("idComite", idComite).setParameter("anio", anio)
+        .setParameter("serie", serie).getSingleResult()).longValue();
+
+    log.debug("nextNumeroReferencia(Long idComite, int anio, String serie, LongSupplier ultimoNumero) - end");
+    return returnValue;
+  }
+
+  /**
+   * Incrementa el contador (comité, año, serie), bloqueando su fila.
+   * 
+   * @param idComite Identificador del {@link Comite}.
+   * @param anio     año de la referencia.
+   * @param serie    serie de numeración.
+   * @return número de filas actualizadas (0 si el contador no existe).
+   */
+  private int incrementContadorReferencia(Long idComite, int anio, String serie) {
+    Query update = entityManager
+        .createNativeQuery("UPDATE {h-schema}memoria_referencia_contador SET ultimo_numero = ultimo_numero + 1 "
+            + "WHERE comite_id = :idComite AND anio = :anio AND serie = :serie");
+    // La tabla no tiene entidad: no se invalida ninguna región de caché
+    update.unwrap(NativeQuery.class).addSynchronizedQuerySpace(CONTADOR_REFERENCIA);
+    return update.setParameter("idComite", idComite).setParameter("anio", anio).setParameter("serie", serie)
+        .executeUpdate();
+  }
+
+}
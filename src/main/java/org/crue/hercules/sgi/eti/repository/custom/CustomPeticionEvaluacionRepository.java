@@ -1,5 +1,6 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.PeticionEvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
@@ -26,4 +27,19 @@ public interface CustomPeticionEvaluacionRepository {
   Page<PeticionEvaluacionWithIsEliminable> findAllPeticionEvaluacionMemoria(Specification<Memoria> specsMem,
       Pageable pageable, String personaRefConsulta);
 
+  /**
+   * Obtiene una página de las peticiones de evaluación filtradas por memoria en
+   * las que el usuario es creador de las peticiones de evaluación o responsable
+   * de memoria, mediante paginación por cursor.
+   * 
+   * @param specsMem           Specification {@link Memoria}
+   * @param pageable           tamaño de página y ordenación
+   * @param cursor             cursor de la página anterior (null para la
+   *                           primera página)
+   * @param personaRefConsulta usuario
+   * @return la página de {@link PeticionEvaluacionWithIsEliminable}
+   */
+  KeysetPage<PeticionEvaluacionWithIsEliminable> findAllPeticionEvaluacionMemoriaKeyset(
+      Specification<Memoria> specsMem, Pageable pageable, String cursor, String personaRefConsulta);
+
 }
@@ -3,17 +3,18 @@ package org.crue.hercules.sgi.eti.repository.custom;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.PeticionEvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Memoria_;
@@ -21,11 +22,12 @@ import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
 import org.crue.hercules.sgi.eti.util.Constantes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
@@ -41,67 +43,95 @@ public class CustomPeticionEvaluacionRepositoryImpl implements CustomPeticionEva
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   @Override
   public Page<PeticionEvaluacionWithIsEliminable> findAllPeticionEvaluacionMemoria(Specification<Memoria> specsMem,
       Pageable pageable, String personaRefConsulta) {
+    log.debug(
+        "findAllPeticionEvaluacionMemoria(Specification<Memoria> specsMem, Pageable pageable, String personaRefConsulta) - start");
+
+    Page<PeticionEvaluacionWithIsEliminable> returnValue = PagedCriteriaQuery
+        .of(entityManager, PeticionEvaluacion.class, pageable).countExecutor(countExecutor.getIfAvailable())
+        .findAll(PeticionEvaluacionWithIsEliminable.class,
+            (root, cq, cb) -> getPeticionEvaluacionMemoriaPredicates(root, cb, cq, specsMem, personaRefConsulta),
+            (root, cq, cb) -> cq.multiselect(root.alias("peticionEvaluacion"),
+                isNotEliminable(root, cb, cq).isNull().alias("eliminable")));
+
+    log.debug(
+        "findAllPeticionEvaluacionMemoria(Specification<Memoria> specsMem, Pageable pageable, String personaRefConsulta) - end");
+    return returnValue;
+  }
+
+  @Override
+  public KeysetPage<PeticionEvaluacionWithIsEliminable> findAllPeticionEvaluacionMemoriaKeyset(
+      Specification<Memoria> specsMem, Pageable pageable, String cursor, String personaRefConsulta) {
+    log.debug(
+        "findAllPeticionEvaluacionMemoriaKeyset(Specification<Memoria> specsMem, Pageable pageable, String cursor, String personaRefConsulta) - start");
+
+    KeysetPagination<PeticionEvaluacion> keyset = KeysetPagination.of(entityManager, PeticionEvaluacion.class,
+        pageable, cursor);
+
     // Crete query
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
     CriteriaQuery<PeticionEvaluacionWithIsEliminable> cq = cb.createQuery(PeticionEvaluacionWithIsEliminable.class);
     Root<PeticionEvaluacion> root = cq.from(PeticionEvaluacion.class);
 
-    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-    Root<PeticionEvaluacion> rootCount = countQuery.from(PeticionEvaluacion.class);
-    countQuery.select(cb.count(rootCount));
+    List<Predicate> predicates = getPeticionEvaluacionMemoriaPredicates(root, cb, cq, specsMem, personaRefConsulta);
+    Predicate predicateCursor = keyset.getPredicate(root, cb);
+    if (predicateCursor != null) {
+      predicates.add(predicateCursor);
+    }
+
+    cq.multiselect(root.alias("peticionEvaluacion"), isNotEliminable(root, cb, cq).isNull().alias("eliminable"));
+
+    cq.where(predicates.toArray(new Predicate[] {}));
+    cq.orderBy(keyset.getOrders(root, cb));
+
+    List<PeticionEvaluacionWithIsEliminable> result = keyset.createQuery(cq).getResultList();
+    KeysetPage<PeticionEvaluacionWithIsEliminable> returnValue = keyset.toPage(result,
+        PeticionEvaluacionWithIsEliminable::getId);
+
+    log.debug(
+        "findAllPeticionEvaluacionMemoriaKeyset(Specification<Memoria> specsMem, Pageable pageable, String cursor, String personaRefConsulta) - end");
+    return returnValue;
+  }
 
+  /**
+   * Obtiene los predicados del listado de peticiones de evaluación: peticiones
+   * con memorias que cumplen el filtro o, sin filtro, peticiones activas (del
+   * usuario si se indica).
+   * 
+   * @param root               root
+   * @param cb                 criteria builder
+   * @param cq                 criteria query
+   * @param specsMem           Specification {@link Memoria}
+   * @param personaRefConsulta usuario
+   * @return lista de predicados
+   */
+  private List<Predicate> getPeticionEvaluacionMemoriaPredicates(Root<PeticionEvaluacion> root, CriteriaBuilder cb,
+      CriteriaQuery<?> cq, Specification<Memoria> specsMem, String personaRefConsulta) {
     Predicate predicateMemoria = cb.in(root.get(PeticionEvaluacion_.id))
         .value(getIdsPeticionEvaluacionMemoria(root, cb, cq, specsMem, personaRefConsulta));
-    Predicate predicateMemoriaCount = cb.in(rootCount.get(PeticionEvaluacion_.id))
-        .value(getIdsPeticionEvaluacionMemoria(rootCount, cb, cq, specsMem, personaRefConsulta));
-
-    Predicate predicatePersonaRef = null;
-    Predicate predicatePersonaRefCount = null;
-    if (personaRefConsulta != null) {
-      predicatePersonaRef = cb.equal(root.get(PeticionEvaluacion_.personaRef), personaRefConsulta);
-      predicatePersonaRefCount = cb.equal(rootCount.get(PeticionEvaluacion_.personaRef), personaRefConsulta);
-    }
 
     List<Predicate> predicates = new ArrayList<Predicate>();
-    List<Predicate> predicatesCount = new ArrayList<Predicate>();
     // Where
     if (specsMem != null) {
       predicates.add(predicateMemoria);
-      predicatesCount.add(predicateMemoriaCount);
     } else {
-      if (predicatePersonaRef != null) {
+      if (personaRefConsulta != null) {
+        Predicate predicatePersonaRef = cb.equal(root.get(PeticionEvaluacion_.personaRef), personaRefConsulta);
         predicates
             .add(cb.or(predicateMemoria, cb.and(predicatePersonaRef, cb.isTrue(root.get(PeticionEvaluacion_.activo)))));
-        predicatesCount.add(cb.or(predicateMemoriaCount,
-            cb.and(predicatePersonaRefCount, cb.isTrue(rootCount.get(PeticionEvaluacion_.activo)))));
       } else {
         predicates.add(cb.or(predicateMemoria, cb.isTrue(root.get(PeticionEvaluacion_.activo))));
-        predicatesCount.add(cb.or(predicateMemoriaCount, cb.isTrue(rootCount.get(PeticionEvaluacion_.activo))));
       }
     }
 
-    cq.multiselect(root.alias("peticionEvaluacion"), isNotEliminable(root, cb, cq).isNull().alias("eliminable"));
-
-    cq.where(predicates.toArray(new Predicate[] {}));
-    countQuery.where(predicatesCount.toArray(new Predicate[] {}));
-
-    List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
-    cq.orderBy(orders);
-
-    Long count = entityManager.createQuery(countQuery).getSingleResult();
-    TypedQuery<PeticionEvaluacionWithIsEliminable> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<PeticionEvaluacionWithIsEliminable> result = typedQuery.getResultList();
-    Page<PeticionEvaluacionWithIsEliminable> returnValue = new PageImpl<PeticionEvaluacionWithIsEliminable>(result,
-        pageable, count);
-    return returnValue;
+    return predicates;
   }
 
   /**
@@ -115,10 +145,10 @@ public class CustomPeticionEvaluacionRepositoryImpl implements CustomPeticionEva
    * @return
    */
   private Subquery<Long> getIdsPeticionEvaluacionMemoria(Root<PeticionEvaluacion> root, CriteriaBuilder cb,
-      CriteriaQuery<PeticionEvaluacionWithIsEliminable> cq, Specification<Memoria> specsMem, String personaRef) {
+      CriteriaQuery<?> cq, Specification<Memoria> specsMem, String personaRef) {
 
     log.debug(
-        "getIdsPeticionEvaluacionMemoria(Root<PeticionEvaluacion> root, CriteriaBuilder cb, CriteriaQuery<PeticionEvaluacionWithIsEliminable> cq, Specification<Memoria> specsMem, String personaRef) - start");
+        "getIdsPeticionEvaluacionMemoria(Root<PeticionEvaluacion> root, CriteriaBuilder cb, CriteriaQuery<?> cq, Specification<Memoria> specsMem, String personaRef) - start");
 
     Subquery<Long> queryGetIdPeticionEvaluacion = cq.subquery(Long.class);
     Root<Memoria> subqRoot = queryGetIdPeticionEvaluacion.from(Memoria.class);
@@ -142,7 +172,7 @@ public class CustomPeticionEvaluacionRepositoryImpl implements CustomPeticionEva
     queryGetIdPeticionEvaluacion.select(subqRoot.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.id))
         .where(predicates.toArray(new Predicate[] {}));
     log.debug(
-        "getIdsPeticionEvaluacionMemoria(Root<PeticionEvaluacion> root, CriteriaBuilder cb, CriteriaQuery<PeticionEvaluacionWithIsEliminable> cq, Specification<Memoria> specsMem, String personaRef) - end");
+        "getIdsPeticionEvaluacionMemoria(Root<PeticionEvaluacion> root, CriteriaBuilder cb, CriteriaQuery<?> cq, Specification<Memoria> specsMem, String personaRef) - end");
 
     return queryGetIdPeticionEvaluacion;
   }
@@ -0,0 +1,40 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.Map;
+
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link Respuesta}.
+ */
+@Component
+public interface CustomRespuestaRepository {
+
+  /**
+   * Copia las {@link Respuesta} de una {@link Memoria} activa en otra mediante
+   * una única sentencia INSERT ... SELECT, sin cargar las respuestas en memoria.
+   * Si la memoria de origen no está activa no se copia nada.
+   * 
+   * @param idMemoriaOrigen  Identificador de la {@link Memoria} de la que se
+   *                         copian las respuestas.
+   * @param idMemoriaDestino Identificador de la {@link Memoria} en la que se
+   *                         crean las respuestas.
+   * @return el número de respuestas copiadas.
+   */
+  int copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino);
+
+  /**
+   * Obtiene el hash del valor de las {@link Respuesta} de una {@link Memoria}
+   * sin leer los valores. Si hay varias respuestas de un mismo {@link Apartado}
+   * se devuelve la de menor id.
+   * 
+   * @param idMemoria Identificador de la {@link Memoria}.
+   * @return hash del valor (null si todavía no se ha calculado) por
+   *         identificador de apartado.
+   */
+  Map<Long, String> findValorHashByMemoriaId(Long idMemoria);
+
+}
@@ -0,0 +1,132 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Apartado_;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.Memoria_;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.model.Respuesta_;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link Respuesta}.
+ */
+@Slf4j
+@Component
+public class CustomRespuestaRepositoryImpl implements CustomRespuestaRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Usuario que realiza la operación (columnas de auditoría). */
+  @Autowired
+  private ObjectProvider<AuditorAware<String>> auditorAware;
+
+  /**
+   * Copia las {@link Respuesta} de una {@link Memoria} activa en otra mediante
+   * una única sentencia INSERT ... SELECT, sin cargar las respuestas en memoria.
+   * Si la memoria de origen no está activa no se copia nada.
+   * 
+   * Los identificadores se reservan antes de la sentencia ({@link SequenceIds})
+   * y las columnas de auditoría se informan con el usuario actual.
+   * 
+   * @param idMemoriaOrigen  Identificador de la {@link Memoria} de la que se
+   *                         copian las respuestas.
+   * @param idMemoriaDestino Identificador de la {@link Memoria} en la que se
+   *                         crean las respuestas.
+   * @return el número de respuestas copiadas.
+   */
+  @Override
+  public int copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) {
+    log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - start");
+
+    // La memoria destino tiene que existir en base de datos
+    entityManager.flush();
+
+    // {h-schema} es el esquema por defecto de Hibernate (hibernate.default_schema)
+    String from = "FROM {h-schema}respuesta r JOIN {h-schema}memoria m ON m.id = r.memoria_id "
+        + "WHERE r.memoria_id = :idMemoriaOrigen AND m.activo = true";
+    int count = ((Number) entityManager.createNativeQuery("SELECT COUNT(*) " + from)
+        .setParameter("idMemoriaOrigen", idMemoriaOrigen).getSingleResult()).intValue();
+    if (count == 0) {
+      log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - end");
+      return 0;
+    }
+
+    String id = SequenceIds.reserve(entityManager, Respuesta.class, count, "r.rn");
+    AuditorAware<String> auditor = auditorAware.getIfAvailable();
+    String usuario = auditor != null ? auditor.getCurrentAuditor().orElse(null) : null;
+
+    String sql = "INSERT INTO {h-schema}respuesta "
+        + "(id, memoria_id, apartado_id, valor, valor_hash, created_by, creation_date, last_modified_by, "
+        + "last_modified_date) SELECT " + id
+        + ", :idMemoriaDestino, r.apartado_id, r.valor, r.valor_hash, :usuario, CURRENT_TIMESTAMP, :usuario, "
+        + "CURRENT_TIMESTAMP FROM (SELECT r.apartado_id, r.valor, r.valor_hash, "
+        + "ROW_NUMBER() OVER (ORDER BY r.id) AS rn " + from + ") r";
+
+    Query query = entityManager.createNativeQuery(sql);
+    // Solo se invalidan las regiones de caché de Respuesta
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Respuesta.class);
+    int returnValue = query.setParameter("idMemoriaDestino", idMemoriaDestino)
+        .setParameter("idMemoriaOrigen", idMemoriaOrigen)
+        .setParameter("usuario", new TypedParameterValue(StandardBasicTypes.STRING, usuario)).executeUpdate();
+
+    log.debug("copyByMemoriaId(Long idMemoriaOrigen, Long idMemoriaDestino) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene el hash del valor de las {@link Respuesta} de una {@link Memoria}
+   * sin leer los valores. Si hay varias respuestas de un mismo {@link Apartado}
+   * se devuelve la de menor id.
+   * 
+   * @param idMemoria Identificador de la {@link Memoria}.
+   * @return hash del valor (null si todavía no se ha calculado) por
+   *         identificador de apartado.
+   */
+  @Override
+  public Map<Long, String> findValorHashByMemoriaId(Long idMemoria) {
+    log.debug("findValorHashByMemoriaId(Long idMemoria) - start");
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    Root<Respuesta> root = cq.from(Respuesta.class);
+
+    cq.multiselect(root.get(Respuesta_.apartado).get(Apartado_.id).alias("idApartado"),
+        root.get(Respuesta_.valorHash).alias("valorHash"))
+        .where(cb.equal(root.get(Respuesta_.memoria).get(Memoria_.id), idMemoria))
+        .orderBy(cb.asc(root.get(Respuesta_.id)));
+
+    Map<Long, String> returnValue = new HashMap<>();
+    for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+      Long idApartado = tuple.get("idApartado", Long.class);
+      if (!returnValue.containsKey(idApartado)) {
+        returnValue.put(idApartado, tuple.get("valorHash", String.class));
+      }
+    }
+
+    log.debug("findValorHashByMemoriaId(Long idMemoria) - end");
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,27 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
+import org.crue.hercules.sgi.eti.model.Retrospectiva;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom repository para {@link Retrospectiva}.
+ */
+@Component
+public interface CustomRetrospectivaRepository {
+
+  /**
+   * Actualiza el {@link EstadoRetrospectiva} de las {@link Retrospectiva}
+   * recibidas mediante una única sentencia UPDATE. Antes se escriben los cambios
+   * pendientes y después se vacía el contexto de persistencia, por lo que las
+   * entidades cargadas quedan separadas.
+   * 
+   * @param idsRetrospectiva      Identificadores de las {@link Retrospectiva}.
+   * @param idEstadoRetrospectiva Identificador del {@link EstadoRetrospectiva}.
+   * @return el número de retrospectivas actualizadas.
+   */
+  int updateEstadoRetrospectivaByIdIn(List<Long> idsRetrospectiva, Long idEstadoRetrospectiva);
+
+}
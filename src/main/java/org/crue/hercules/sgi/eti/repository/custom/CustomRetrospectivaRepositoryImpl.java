@@ -0,0 +1,79 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
+import org.crue.hercules.sgi.eti.model.Retrospectiva;
+import org.hibernate.jpa.TypedParameterValue;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom repository para {@link Retrospectiva}.
+ */
+@Slf4j
+@Component
+public class CustomRetrospectivaRepositoryImpl implements CustomRetrospectivaRepository {
+
+  /** The entity manager. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Usuario que realiza la operación (columnas de auditoría). */
+  @Autowired
+  private ObjectProvider<AuditorAware<String>> auditorAware;
+
+  /**
+   * Actualiza el {@link EstadoRetrospectiva} de las {@link Retrospectiva}
+   * recibidas mediante una única sentencia UPDATE. Antes se escriben los cambios
+   * pendientes y después se vacía el contexto de persistencia, por lo que las
+   * entidades cargadas quedan separadas.
+   * 
+   * @param idsRetrospectiva      Identificadores de las {@link Retrospectiva}.
+   * @param idEstadoRetrospectiva Identificador del {@link EstadoRetrospectiva}.
+   * @return el número de retrospectivas actualizadas.
+   */
+  @Override
+  public int updateEstadoRetrospectivaByIdIn(List<Long> idsRetrospectiva, Long idEstadoRetrospectiva) {
+    log.debug("updateEstadoRetrospectivaByIdIn(List<Long> idsRetrospectiva, Long idEstadoRetrospectiva) - start");
+
+    if (idsRetrospectiva == null || idsRetrospectiva.isEmpty()) {
+      log.debug("updateEstadoRetrospectivaByIdIn(List<Long> idsRetrospectiva, Long idEstadoRetrospectiva) - end");
+      return 0;
+    }
+
+    // Los cambios pendientes se escriben antes del UPDATE
+    entityManager.flush();
+
+    AuditorAware<String> auditor = auditorAware.getIfAvailable();
+    String usuario = auditor != null ? auditor.getCurrentAuditor().orElse(null) : null;
+
+    // {h-schema} es el esquema por defecto de Hibernate (hibernate.default_schema)
+    String sql = "UPDATE {h-schema}retrospectiva SET estado_retrospectiva_id = :idEstadoRetrospectiva, "
+        + "last_modified_by = :usuario, last_modified_date = CURRENT_TIMESTAMP WHERE id IN (:idsRetrospectiva)";
+
+    Query query = entityManager.createNativeQuery(sql);
+    // Solo se invalidan las regiones de caché de Retrospectiva
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Retrospectiva.class);
+    int returnValue = query.setParameter("idEstadoRetrospectiva", idEstadoRetrospectiva)
+        .setParameter("idsRetrospectiva", idsRetrospectiva)
+        .setParameter("usuario", new TypedParameterValue(StandardBasicTypes.STRING, usuario)).executeUpdate();
+    // Las retrospectivas cargadas en el contexto de persistencia tienen el estado
+    // anterior: se descartan para que se vuelvan a leer
+    entityManager.clear();
+
+    log.debug("updateEstadoRetrospectivaByIdIn(List<Long> idsRetrospectiva, Long idEstadoRetrospectiva) - end");
+    return returnValue;
+  }
+
+}
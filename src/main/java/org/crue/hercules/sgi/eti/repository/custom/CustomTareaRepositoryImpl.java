@@ -1,11 +1,11 @@
 package org.crue.hercules.sgi.eti.repository.custom;
 
 import java.util.Arrays;
-import java.util.List;
+import java.util.Collections;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
@@ -13,6 +13,7 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.crue.hercules.sgi.eti.config.PagedQueryConfig;
 import org.crue.hercules.sgi.eti.dto.TareaWithIsEliminable;
 import org.crue.hercules.sgi.eti.model.EquipoTrabajo_;
 import org.crue.hercules.sgi.eti.model.FormacionEspecifica;
@@ -26,8 +27,10 @@ import org.crue.hercules.sgi.eti.model.Tarea_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
 import org.crue.hercules.sgi.eti.model.TipoTarea;
 import org.crue.hercules.sgi.eti.model.TipoTarea_;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -44,6 +47,11 @@ public class CustomTareaRepositoryImpl implements CustomTareaRepository {
   @PersistenceContext
   private EntityManager entityManager;
 
+  /** Executor del recuento concurrente de las consultas paginadas. */
+  @Autowired
+  @Qualifier(PagedQueryConfig.COUNT_EXECUTOR)
+  private ObjectProvider<Executor> countExecutor;
+
   /**
    * Devuelve una lista paginada de {@link Tarea} para una determinada
    * {@link PeticionEvaluacion} con la informacion de si es eliminable o no.
@@ -60,18 +68,28 @@ public class CustomTareaRepositoryImpl implements CustomTareaRepository {
    */
   @Override
   public Page<TareaWithIsEliminable> findAllByPeticionEvaluacionId(Long idPeticionEvaluacion, Pageable pageable) {
-    // TODO: Revisar uso de pageable. Se pagina pero no se tienen en cuenta la
-    // ordenación ni se realiza el count total.
     log.debug("findAllByPeticionEvaluacionId : {} - start");
 
-    // Crete query
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-
-    CriteriaQuery<TareaWithIsEliminable> cq = cb.createQuery(TareaWithIsEliminable.class);
+    Page<TareaWithIsEliminable> returnValue = PagedCriteriaQuery.of(entityManager, Tarea.class, pageable)
+        .countExecutor(countExecutor.getIfAvailable())
+        .findAll(TareaWithIsEliminable.class, (root, cq, cb) -> Collections.singletonList(
+            cb.equal(root.get(Tarea_.equipoTrabajo).get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id),
+                idPeticionEvaluacion)),
+            (root, cq, cb) -> selectTareaWithIsEliminable(root, cb, cq));
 
-    // Define FROM clause
-    Root<Tarea> root = cq.from(Tarea.class);
+    log.debug("findAllByPeticionEvaluacionId : {} - end");
+    return returnValue;
+  }
 
+  /**
+   * Selecciona los datos de {@link TareaWithIsEliminable}.
+   * 
+   * @param root root
+   * @param cb   criteria builder
+   * @param cq   criteria query
+   */
+  private void selectTareaWithIsEliminable(Root<Tarea> root, CriteriaBuilder cb,
+      CriteriaQuery<TareaWithIsEliminable> cq) {
     Join<Tarea, TipoTarea> joinTipoTarea = root.join(Tarea_.tipoTarea, JoinType.LEFT);
     Join<Tarea, FormacionEspecifica> joinFormacionEspecifica = root.join(Tarea_.formacionEspecifica, JoinType.LEFT);
 
@@ -81,23 +99,6 @@ public class CustomTareaRepositoryImpl implements CustomTareaRepository {
         joinFormacionEspecifica.get(FormacionEspecifica_.activo), joinTipoTarea.get(TipoTarea_.id),
         joinTipoTarea.get(TipoTarea_.nombre), joinTipoTarea.get(TipoTarea_.activo), root.get(Tarea_.organismo),
         root.get(Tarea_.anio), isNotEliminable(root, cb, cq).isNull().alias("eliminable"));
-
-    // Where
-    cq.where(cb.equal(root.get(Tarea_.equipoTrabajo).get(EquipoTrabajo_.peticionEvaluacion).get(PeticionEvaluacion_.id),
-        idPeticionEvaluacion));
-
-    TypedQuery<TareaWithIsEliminable> typedQuery = entityManager.createQuery(cq);
-    if (pageable != null && pageable.isPaged()) {
-      typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-      typedQuery.setMaxResults(pageable.getPageSize());
-    }
-
-    List<TareaWithIsEliminable> result = typedQuery.getResultList();
-
-    Page<TareaWithIsEliminable> returnValue = new PageImpl<TareaWithIsEliminable>(result, pageable, result.size());
-
-    log.debug("findAllByPeticionEvaluacionId : {} - end");
-    return returnValue;
   }
 
   /**
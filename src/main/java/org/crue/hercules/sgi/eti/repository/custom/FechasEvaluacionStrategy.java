@@ -0,0 +1,22 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+/**
+ * Forma de obtener la fecha de evaluación y la fecha límite de la evaluación
+ * actual (misma versión y activa) de cada memoria en los listados de
+ * {@link org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion}.
+ */
+public enum FechasEvaluacionStrategy {
+
+  /**
+   * Dos subconsultas correlacionadas (fecha de evaluación y fecha límite) por
+   * cada fila de la consulta.
+   */
+  SUBQUERY,
+
+  /**
+   * Una única consulta por página que une las evaluaciones de las memorias de
+   * la página con sus convocatorias por (memoria_id, version, activo).
+   */
+  JOIN;
+
+}
@@ -0,0 +1,458 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManager;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paginación por cursor (keyset) para las consultas de los custom repositories.
+ *
+ * En lugar de saltar las filas de las páginas anteriores (OFFSET), la consulta
+ * continúa a partir de los valores de ordenación de la última fila devuelta,
+ * que viajan en un cursor opaco, y no se ejecuta la consulta de recuento. El
+ * coste de cada página es el mismo sea cual sea su posición.
+ *
+ * Las propiedades de ordenación deben ser atributos básicos obligatorios
+ * (columnas no nulas) y el identificador se añade siempre como último criterio
+ * de ordenación para que el orden sea total.
+ *
+ * @param <T> entidad raíz de la consulta
+ */
+@Slf4j
+public final class KeysetPagination<T> {
+
+  /** Número de elementos por página cuando la petición no lo indica. */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  private static final String ID = "id";
+  private static final String LOAD_GRAPH = "javax.persistence.loadgraph";
+  private static final String CURSOR_SORT = "s";
+  private static final String CURSOR_VALUES = "v";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final EntityManager entityManager;
+  private final Class<T> domainClass;
+  private final List<Sort.Order> orders;
+  private final List<Class<?>> types;
+  private final int pageSize;
+  private final List<Object> cursorValues;
+  private String entityGraph;
+
+  private KeysetPagination(EntityManager entityManager, Class<T> domainClass, Pageable pageable, String cursor) {
+    this.entityManager = entityManager;
+    this.domainClass = domainClass;
+    this.pageSize = pageable != null && pageable.isPaged() ? pageable.getPageSize() : DEFAULT_PAGE_SIZE;
+
+    this.orders = new ArrayList<>();
+    this.types = new ArrayList<>();
+    Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+    for (Sort.Order order : sort) {
+      orders.add(order);
+      types.add(getSortPropertyType(order.getProperty()));
+    }
+    if (orders.stream().noneMatch(order -> ID.equals(order.getProperty()))) {
+      orders.add(Sort.Order.asc(ID));
+      types.add(getSortPropertyType(ID));
+    }
+
+    this.cursorValues = decode(cursor);
+  }
+
+  /**
+   * Crea la paginación por cursor de una consulta.
+   *
+   * @param <T>           entidad raíz de la consulta
+   * @param entityManager the entity manager
+   * @param domainClass   clase de la entidad raíz
+   * @param pageable      tamaño de página y ordenación (el número de página se
+   *                      ignora)
+   * @param cursor        cursor devuelto con la página anterior (null o vacío
+   *                      para la primera página)
+   * @return la paginación por cursor
+   * @throws IllegalArgumentException si alguna propiedad de ordenación no es
+   *                                  válida o el cursor no corresponde a la
+   *                                  ordenación
+   */
+  public static <T> KeysetPagination<T> of(EntityManager entityManager, Class<T> domainClass, Pageable pageable,
+      String cursor) {
+    return new KeysetPagination<>(entityManager, domainClass, pageable, cursor);
+  }
+
+  /**
+   * Indica el entity graph con el que se cargan las entidades devueltas por
+   * {@link #findAll(Specification, Function)}. Se aplica como load graph: las
+   * asociaciones que no forman parte del graph se cargan según su mapeo.
+   *
+   * @param entityGraph nombre del entity graph (null para no usar ninguno)
+   * @return la paginación por cursor
+   */
+  public KeysetPagination<T> entityGraph(String entityGraph) {
+    this.entityGraph = entityGraph;
+    return this;
+  }
+
+  /**
+   * Devuelve una página de entidades filtradas por la {@link Specification}.
+   *
+   * @param specs    filtro de la consulta (puede ser null)
+   * @param idGetter función que obtiene el identificador de la entidad
+   * @return la página de entidades
+   */
+  public KeysetPage<T> findAll(Specification<T> specs, Function<T, Long> idGetter) {
+    log.debug("findAll(Specification<T> specs, Function<T, Long> idGetter) - start");
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> cq = cb.createQuery(domainClass);
+    Root<T> root = cq.from(domainClass);
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (specs != null) {
+      Predicate predicateSpecs = specs.toPredicate(root, cq, cb);
+      if (predicateSpecs != null) {
+        predicates.add(predicateSpecs);
+      }
+    }
+    Predicate predicateCursor = getPredicate(root, cb);
+    if (predicateCursor != null) {
+      predicates.add(predicateCursor);
+    }
+
+    cq.select(root).where(predicates.toArray(new Predicate[] {}));
+    cq.orderBy(getOrders(root, cb));
+
+    TypedQuery<T> query = createQuery(cq);
+    if (entityGraph != null) {
+      query.setHint(LOAD_GRAPH, entityManager.getEntityGraph(entityGraph));
+    }
+    KeysetPage<T> returnValue = toPage(query.getResultList(), idGetter);
+    log.debug("findAll(Specification<T> specs, Function<T, Long> idGetter) - end");
+    return returnValue;
+  }
+
+  /**
+   * Devuelve la ordenación de la consulta, incluido el identificador como último
+   * criterio.
+   *
+   * @param root raíz de la consulta
+   * @param cb   criteria builder
+   * @return la ordenación
+   */
+  public List<Order> getOrders(Root<T> root, CriteriaBuilder cb) {
+    List<Order> returnValue = new ArrayList<>();
+    for (Sort.Order order : orders) {
+      Expression<?> key = getPath(root, order.getProperty());
+      returnValue.add(order.isAscending() ? cb.asc(key) : cb.desc(key));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Devuelve el predicado que selecciona las filas posteriores al cursor o null
+   * si se solicita la primera página.
+   *
+   * Para la ordenación (k1, ..., kn) y el cursor (v1, ..., vn) el predicado es
+   * (k1 &gt; v1) OR (k1 = v1 AND k2 &gt; v2) OR ..., junto con k1 &gt;= v1 para
+   * que la base de datos pueda usar el índice de la primera clave.
+   *
+   * @param root raíz de la consulta
+   * @param cb   criteria builder
+   * @return el predicado o null
+   */
+  public Predicate getPredicate(Root<T> root, CriteriaBuilder cb) {
+    if (cursorValues == null) {
+      return null;
+    }
+
+    List<Predicate> seek = new ArrayList<>();
+    List<Predicate> equals = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      Expression<Comparable<Object>> key = getPath(root, orders.get(i).getProperty());
+      Comparable<Object> value = getCursorValue(i);
+
+      List<Predicate> predicates = new ArrayList<>(equals);
+      predicates.add(orders.get(i).isAscending() ? cb.greaterThan(key, value) : cb.lessThan(key, value));
+      seek.add(cb.and(predicates.toArray(new Predicate[] {})));
+      equals.add(cb.equal(key, value));
+    }
+
+    Expression<Comparable<Object>> firstKey = getPath(root, orders.get(0).getProperty());
+    Comparable<Object> firstValue = getCursorValue(0);
+    Predicate bound = orders.get(0).isAscending() ? cb.greaterThanOrEqualTo(firstKey, firstValue)
+        : cb.lessThanOrEqualTo(firstKey, firstValue);
+
+    return cb.and(bound, cb.or(seek.toArray(new Predicate[] {})));
+  }
+
+  /**
+   * Crea la consulta limitada al tamaño de página más una fila, que indica si
+   * hay página siguiente.
+   *
+   * @param <R> tipo del resultado
+   * @param cq  criteria query con la ordenación y el predicado del cursor
+   * @return la consulta
+   */
+  public <R> TypedQuery<R> createQuery(CriteriaQuery<R> cq) {
+    return entityManager.createQuery(cq).setMaxResults(pageSize + 1);
+  }
+
+  /**
+   * Construye la página a partir del resultado de la consulta creada con
+   * {@link #createQuery(CriteriaQuery)}.
+   *
+   * Los valores de ordenación de la última fila se obtienen por su
+   * identificador, por lo que el resultado puede ser un DTO que no los incluya.
+   *
+   * @param <R>      tipo del resultado
+   * @param result   resultado de la consulta
+   * @param idGetter función que obtiene el identificador de la entidad raíz de
+   *                 un elemento del resultado
+   * @return la página
+   */
+  public <R> KeysetPage<R> toPage(List<R> result, Function<R, Long> idGetter) {
+    if (result.size() <= pageSize) {
+      return new KeysetPage<>(result, null);
+    }
+
+    List<R> content = new ArrayList<>(result.subList(0, pageSize));
+    Long lastId = idGetter.apply(content.get(content.size() - 1));
+    return new KeysetPage<>(content, encode(findSortValues(lastId)));
+  }
+
+  /**
+   * Obtiene los valores de las propiedades de ordenación de la entidad con el id
+   * indicado.
+   *
+   * @param id identificador de la entidad
+   * @return los valores de ordenación
+   */
+  private List<Object> findSortValues(Long id) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    Root<T> root = cq.from(domainClass);
+    List<Selection<?>> keys = new ArrayList<>();
+    for (Sort.Order order : orders) {
+      keys.add(getPath(root, order.getProperty()));
+    }
+    cq.multiselect(keys).where(cb.equal(root.get(ID), id));
+
+    Tuple tuple = entityManager.createQuery(cq).getSingleResult();
+    List<Object> returnValue = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      returnValue.add(tuple.get(i));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Comprueba que la propiedad de ordenación es un atributo básico obligatorio,
+   * navegando por las asociaciones de la propiedad, y devuelve su tipo.
+   *
+   * @param property propiedad de ordenación (p.e. "comite.comite")
+   * @return el tipo de la propiedad
+   */
+  private Class<?> getSortPropertyType(String property) {
+    ManagedType<?> type = entityManager.getMetamodel().managedType(domainClass);
+    String[] parts = property.split("\\.");
+    for (int i = 0; i < parts.length; i++) {
+      Attribute<?, ?> attribute = getAttribute(type, parts[i], property);
+      if (!(attribute instanceof SingularAttribute) || !isMandatory(attribute.getJavaMember())) {
+        throw new IllegalArgumentException(
+            "La propiedad '" + property + "' no puede usarse para ordenar en el modo cursor: debe ser obligatoria");
+      }
+
+      if (i == parts.length - 1) {
+        if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC
+            || !isSupportedType(attribute.getJavaType())) {
+          throw new IllegalArgumentException(
+              "La propiedad '" + property + "' no puede usarse para ordenar en el modo cursor: tipo no soportado");
+        }
+        return attribute.getJavaType();
+      }
+      type = entityManager.getMetamodel().managedType(attribute.getJavaType());
+    }
+    return null;
+  }
+
+  private static Attribute<?, ?> getAttribute(ManagedType<?> type, String name, String property) {
+    try {
+      return type.getAttribute(name);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("La propiedad de ordenación '" + property + "' no existe", e);
+    }
+  }
+
+  /**
+   * Una propiedad es obligatoria si es el identificador o su columna no admite
+   * nulos.
+   *
+   * @param member campo de la entidad
+   * @return true si la propiedad no admite nulos
+   */
+  private static boolean isMandatory(Member member) {
+    if (!(member instanceof AnnotatedElement)) {
+      return false;
+    }
+    AnnotatedElement element = (AnnotatedElement) member;
+    if (element.isAnnotationPresent(Id.class)) {
+      return true;
+    }
+    Column column = element.getAnnotation(Column.class);
+    if (column != null) {
+      return !column.nullable();
+    }
+    JoinColumn joinColumn = element.getAnnotation(JoinColumn.class);
+    return joinColumn != null && !joinColumn.nullable();
+  }
+
+  private static boolean isSupportedType(Class<?> type) {
+    return String.class.equals(type) || Long.class.equals(type) || Integer.class.equals(type)
+        || Boolean.class.equals(type) || BigDecimal.class.equals(type) || LocalDate.class.equals(type)
+        || LocalDateTime.class.equals(type) || Instant.class.equals(type) || type.isEnum();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <Y> Path<Y> getPath(Root<T> root, String property) {
+    Path<?> path = root;
+    for (String part : property.split("\\.")) {
+      path = path.get(part);
+    }
+    return (Path<Y>) path;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Comparable<Object> getCursorValue(int index) {
+    return (Comparable<Object>) cursorValues.get(index);
+  }
+
+  /**
+   * Firma de la ordenación, para rechazar cursores obtenidos con otra
+   * ordenación.
+   *
+   * @return la firma de la ordenación
+   */
+  private String getSortSignature() {
+    return orders.stream().map(order -> order.getProperty() + "," + order.getDirection())
+        .collect(Collectors.joining(";"));
+  }
+
+  /**
+   * Codifica los valores de ordenación de la última fila como un cursor opaco
+   * (JSON en Base64 URL).
+   *
+   * @param values valores de ordenación
+   * @return el cursor
+   */
+  private String encode(List<Object> values) {
+    List<String> encodedValues = values.stream()
+        .map(value -> value instanceof Enum ? ((Enum<?>) value).name() : value.toString())
+        .collect(Collectors.toList());
+
+    Map<String, Object> cursor = new LinkedHashMap<>();
+    cursor.put(CURSOR_SORT, getSortSignature());
+    cursor.put(CURSOR_VALUES, encodedValues);
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(cursor));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Decodifica el cursor recibido.
+   *
+   * @param cursor el cursor (null o vacío para la primera página)
+   * @return los valores de ordenación o null si es la primera página
+   */
+  private List<Object> decode(String cursor) {
+    if (cursor == null || cursor.trim().isEmpty()) {
+      return null;
+    }
+
+    Map<String, Object> decoded;
+    try {
+      decoded = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.trim()),
+          new TypeReference<Map<String, Object>>() {
+          });
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("El cursor de paginación no es válido", e);
+    }
+
+    Object values = decoded.get(CURSOR_VALUES);
+    if (!getSortSignature().equals(decoded.get(CURSOR_SORT)) || !(values instanceof List)
+        || ((List<?>) values).size() != orders.size()) {
+      throw new IllegalArgumentException("El cursor de paginación no corresponde a la ordenación solicitada");
+    }
+
+    List<Object> returnValue = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      returnValue.add(parse(String.valueOf(((List<?>) values).get(i)), types.get(i)));
+    }
+    return returnValue;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Object parse(String value, Class<?> type) {
+    try {
+      if (Long.class.equals(type)) {
+        return Long.valueOf(value);
+      } else if (Integer.class.equals(type)) {
+        return Integer.valueOf(value);
+      } else if (Boolean.class.equals(type)) {
+        return Boolean.valueOf(value);
+      } else if (BigDecimal.class.equals(type)) {
+        return new BigDecimal(value);
+      } else if (LocalDate.class.equals(type)) {
+        return LocalDate.parse(value);
+      } else if (LocalDateTime.class.equals(type)) {
+        return LocalDateTime.parse(value);
+      } else if (Instant.class.equals(type)) {
+        return Instant.parse(value);
+      } else if (type.isEnum()) {
+        return Enum.valueOf((Class<Enum>) type, value);
+      }
+      return value;
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("El cursor de paginación no es válido", e);
+    }
+  }
+
+}
@@ -0,0 +1,318 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consulta Criteria paginada (OFFSET) para los custom repositories.
+ *
+ * Los predicados se definen una sola vez y se aplican tanto a la consulta de
+ * contenido como a la de recuento, por lo que el total de la página siempre
+ * corresponde al filtro del contenido.
+ *
+ * La consulta de recuento no se ejecuta cuando el total se puede deducir de la
+ * propia página (primera página incompleta o última página). Si se indica un
+ * {@link Executor} y no se solicita la primera página, el recuento se lanza en
+ * paralelo con la consulta de contenido sobre un {@link EntityManager} propio
+ * (y por tanto con otra conexión y fuera de la transacción en curso), por lo
+ * que solo debe usarse en consultas de solo lectura.
+ *
+ * Los campos de ordenación se resuelven sobre la entidad raíz. Los campos de
+ * un DTO que no existen en la entidad (o que tienen otro significado) se
+ * indican con {@link #sortProperty(String, SortExpressionBuilder)}; el resto de
+ * campos que no existen en la entidad se rechazan con una
+ * {@link IllegalArgumentException}.
+ *
+ * @param <E> entidad raíz de la consulta
+ */
+@Slf4j
+public final class PagedCriteriaQuery<E> {
+
+  /**
+   * Construye los predicados de la consulta. Se invoca una vez para la consulta
+   * de contenido y otra para la de recuento, cada una con su propio root.
+   *
+   * @param <E> entidad raíz de la consulta
+   */
+  @FunctionalInterface
+  public interface PredicatesBuilder<E> {
+
+    /**
+     * Devuelve los predicados de la consulta (los null se ignoran).
+     *
+     * @param root root de la consulta
+     * @param cq   criteria query (de contenido o de recuento)
+     * @param cb   criteria builder
+     * @return lista de predicados
+     */
+    List<Predicate> build(Root<E> root, CriteriaQuery<?> cq, CriteriaBuilder cb);
+  }
+
+  /**
+   * Define la select de la consulta de contenido.
+   *
+   * @param <E> entidad raíz de la consulta
+   * @param <R> tipo del resultado
+   */
+  @FunctionalInterface
+  public interface SelectionBuilder<E, R> {
+
+    /**
+     * Establece la select (y los joins que solo necesita la select) de la
+     * consulta de contenido.
+     *
+     * @param root root de la consulta
+     * @param cq   criteria query de contenido
+     * @param cb   criteria builder
+     */
+    void select(Root<E> root, CriteriaQuery<R> cq, CriteriaBuilder cb);
+  }
+
+  /**
+   * Expresión por la que se ordena un campo de ordenación.
+   *
+   * @param <E> entidad raíz de la consulta
+   */
+  @FunctionalInterface
+  public interface SortExpressionBuilder<E> {
+
+    /**
+     * Devuelve la expresión por la que se ordena.
+     *
+     * @param root root de la consulta de contenido
+     * @param cb   criteria builder
+     * @return la expresión
+     */
+    Expression<?> build(Root<E> root, CriteriaBuilder cb);
+  }
+
+  private static final String LOAD_GRAPH = "javax.persistence.loadgraph";
+
+  private final EntityManager entityManager;
+  private final Class<E> domainClass;
+  private final Pageable pageable;
+  private Executor countExecutor;
+  private String entityGraph;
+  private final Map<String, SortExpressionBuilder<E>> sortProperties = new HashMap<>();
+
+  private PagedCriteriaQuery(EntityManager entityManager, Class<E> domainClass, Pageable pageable) {
+    this.entityManager = entityManager;
+    this.domainClass = domainClass;
+    this.pageable = pageable != null ? pageable : Pageable.unpaged();
+  }
+
+  /**
+   * Crea la consulta paginada.
+   *
+   * @param <E>           entidad raíz de la consulta
+   * @param entityManager the entity manager
+   * @param domainClass   clase de la entidad raíz
+   * @param pageable      la información de paginación y ordenación
+   * @return la consulta paginada
+   */
+  public static <E> PagedCriteriaQuery<E> of(EntityManager entityManager, Class<E> domainClass, Pageable pageable) {
+    return new PagedCriteriaQuery<>(entityManager, domainClass, pageable);
+  }
+
+  /**
+   * Indica el {@link Executor} con el que se lanza la consulta de recuento en
+   * paralelo con la de contenido.
+   *
+   * @param countExecutor el executor (null para ejecutar el recuento después
+   *                      del contenido)
+   * @return la consulta paginada
+   */
+  public PagedCriteriaQuery<E> countExecutor(Executor countExecutor) {
+    this.countExecutor = countExecutor;
+    return this;
+  }
+
+  /**
+   * Indica el entity graph con el que se cargan las entidades de la consulta de
+   * contenido (no se aplica a la de recuento). Se aplica como load graph: las
+   * asociaciones que no forman parte del graph se cargan según su mapeo.
+   *
+   * @param entityGraph nombre del entity graph (null para no usar ninguno)
+   * @return la consulta paginada
+   */
+  public PagedCriteriaQuery<E> entityGraph(String entityGraph) {
+    this.entityGraph = entityGraph;
+    return this;
+  }
+
+  /**
+   * Indica la expresión por la que se ordena un campo de ordenación que no es
+   * un atributo de la entidad raíz (por ejemplo un campo del DTO del
+   * resultado).
+   *
+   * @param property   nombre del campo de ordenación
+   * @param expression expresión por la que se ordena
+   * @return la consulta paginada
+   */
+  public PagedCriteriaQuery<E> sortProperty(String property, SortExpressionBuilder<E> expression) {
+    sortProperties.put(property, expression);
+    return this;
+  }
+
+  /**
+   * Devuelve la página de entidades que cumplen los predicados.
+   *
+   * @param predicates predicados de la consulta
+   * @return la página de entidades
+   */
+  public Page<E> findAll(PredicatesBuilder<E> predicates) {
+    return findAll(domainClass, predicates, (root, cq, cb) -> cq.select(root));
+  }
+
+  /**
+   * Devuelve la página de resultados que cumplen los predicados.
+   *
+   * Si la select es distinct el recuento se hace sobre las entidades raíz
+   * distintas.
+   *
+   * @param <R>         tipo del resultado
+   * @param resultClass clase del resultado
+   * @param predicates  predicados de la consulta
+   * @param selection   select de la consulta de contenido
+   * @return la página de resultados
+   */
+  public <R> Page<R> findAll(Class<R> resultClass, PredicatesBuilder<E> predicates,
+      SelectionBuilder<E, R> selection) {
+    log.debug(
+        "findAll(Class<R> resultClass, PredicatesBuilder<E> predicates, SelectionBuilder<E, R> selection) - start");
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<R> cq = cb.createQuery(resultClass);
+    Root<E> root = cq.from(domainClass);
+
+    selection.select(root, cq, cb);
+    cq.where(toArray(predicates.build(root, cq, cb)));
+    cq.orderBy(toOrders(root, cb));
+    boolean distinct = cq.isDistinct();
+
+    // Fuera de la primera página casi siempre hace falta el recuento
+    CompletableFuture<Long> concurrentCount = null;
+    if (countExecutor != null && pageable.isPaged() && pageable.getOffset() > 0) {
+      concurrentCount = CompletableFuture.supplyAsync(() -> countInNewEntityManager(predicates, distinct),
+          countExecutor);
+    }
+
+    TypedQuery<R> typedQuery = entityManager.createQuery(cq);
+    if (entityGraph != null) {
+      typedQuery.setHint(LOAD_GRAPH, entityManager.getEntityGraph(entityGraph));
+    }
+    if (pageable.isPaged()) {
+      typedQuery.setFirstResult((int) pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    List<R> content = typedQuery.getResultList();
+
+    final CompletableFuture<Long> count = concurrentCount;
+    Page<R> returnValue = PageableExecutionUtils.getPage(content, pageable,
+        () -> count != null ? join(count) : count(entityManager, predicates, distinct));
+
+    log.debug(
+        "findAll(Class<R> resultClass, PredicatesBuilder<E> predicates, SelectionBuilder<E, R> selection) - end");
+    return returnValue;
+  }
+
+  /**
+   * Convierte la ordenación de la paginación en la de la consulta de contenido.
+   *
+   * @param root root de la consulta de contenido
+   * @param cb   criteria builder
+   * @return la ordenación de la consulta
+   * @throws IllegalArgumentException si algún campo no se puede ordenar
+   */
+  private List<Order> toOrders(Root<E> root, CriteriaBuilder cb) {
+    List<Order> orders = new ArrayList<>();
+    for (Sort.Order order : pageable.getSort()) {
+      SortExpressionBuilder<E> sortProperty = sortProperties.get(order.getProperty());
+      if (sortProperty != null) {
+        Expression<?> expression = sortProperty.build(root, cb);
+        orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+        continue;
+      }
+      try {
+        orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+      } catch (PropertyReferenceException e) {
+        throw new IllegalArgumentException("No se puede ordenar por " + order.getProperty(), e);
+      }
+    }
+    return orders;
+  }
+
+  /**
+   * Ejecuta la consulta de recuento.
+   *
+   * @param em         the entity manager
+   * @param predicates predicados de la consulta
+   * @param distinct   si se cuentan las entidades raíz distintas
+   * @return el número total de resultados
+   */
+  private long count(EntityManager em, PredicatesBuilder<E> predicates, boolean distinct) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+    Root<E> root = countQuery.from(domainClass);
+    countQuery.select(distinct ? cb.countDistinct(root) : cb.count(root));
+    countQuery.where(toArray(predicates.build(root, countQuery, cb)));
+    return em.createQuery(countQuery).getSingleResult();
+  }
+
+  /**
+   * Ejecuta la consulta de recuento sobre un {@link EntityManager} propio, ya
+   * que el de la consulta de contenido no se puede usar desde otro hilo.
+   *
+   * @param predicates predicados de la consulta
+   * @param distinct   si se cuentan las entidades raíz distintas
+   * @return el número total de resultados
+   */
+  private long countInNewEntityManager(PredicatesBuilder<E> predicates, boolean distinct) {
+    EntityManager em = entityManager.getEntityManagerFactory().createEntityManager();
+    try {
+      return count(em, predicates, distinct);
+    } finally {
+      em.close();
+    }
+  }
+
+  private static long join(CompletableFuture<Long> count) {
+    try {
+      return count.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static Predicate[] toArray(List<Predicate> predicates) {
+    return predicates.stream().filter(Objects::nonNull).toArray(Predicate[]::new);
+  }
+
+}
@@ -0,0 +1,67 @@
+package org.crue.hercules.sgi.eti.repository.custom;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Identificadores de las filas creadas con una sentencia INSERT ... SELECT.
+ *
+ * Las secuencias se incrementan en bloques de allocationSize (optimizador
+ * pooled-lo), por lo que llamar a nextval en cada fila de la sentencia
+ * reservaría un bloque completo por fila. Los identificadores se reservan antes
+ * de la sentencia con el generador de la entidad, igual que al persistir con
+ * Hibernate (una llamada a nextval por bloque), y la sentencia asigna a cada
+ * fila el que le corresponde según su número de fila.
+ */
+public final class SequenceIds {
+
+  private SequenceIds() {
+  }
+
+  /**
+   * Reserva los identificadores de las filas y devuelve la expresión SQL que
+   * asigna a cada fila el suyo. Los identificadores de un mismo bloque son
+   * consecutivos, así que la expresión suma al número de fila el desplazamiento
+   * de su bloque.
+   *
+   * @param entityManager entity manager de la transacción en curso.
+   * @param entityClass   entidad de las filas.
+   * @param count         número de filas (de 1 a count), mayor que 0.
+   * @param rowNumber     expresión SQL con el número de fila (1, 2, ...).
+   * @return la expresión SQL del identificador.
+   */
+  public static String reserve(EntityManager entityManager, Class<?> entityClass, int count, String rowNumber) {
+    if (count < 1) {
+      throw new IllegalArgumentException("El número de filas tiene que ser mayor que 0");
+    }
+
+    SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+    IdentifierGenerator generator = session.getFactory().getMetamodel().entityPersister(entityClass)
+        .getIdentifierGenerator();
+
+    StringBuilder cases = new StringBuilder();
+    int segments = 0;
+    String offset = null;
+    long previous = 0;
+    for (int row = 1; row <= count; row++) {
+      long id = ((Number) generator.generate(session, null)).longValue();
+      if (offset == null || id != previous + 1) {
+        if (offset != null) {
+          cases.append(" WHEN ").append(rowNumber).append(" < ").append(row).append(" THEN ").append(rowNumber)
+              .append(" + ").append(offset);
+        }
+        offset = "(" + (id - row) + ")";
+        segments++;
+      }
+      previous = id;
+    }
+
+    if (segments <= 1) {
+      return rowNumber + " + " + offset;
+    }
+    return "CASE" + cases + " ELSE " + rowNumber + " + " + offset + " END";
+  }
+
+}
@@ -0,0 +1,136 @@
+package org.crue.hercules.sgi.eti.repository.function;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.hibernate.QueryException;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+/**
+ * Función {@value #NAME}(json, contenido) de las consultas JPA: indica si el
+ * JSON guardado en una columna de texto contiene el JSON indicado (los mismos
+ * campos con los mismos valores, a cualquier nivel de anidamiento).
+ *
+ * En PostgreSQL se traduce al operador {@code @>} sobre
+ * {@code eti.json_or_null(columna)}, que usa los índices GIN creados sobre esa
+ * expresión. En el resto de bases de datos (H2) se llama a la función
+ * {@code eti.json_contains}, creada en H2 como alias de
+ * {@link #contains(String, String)}. En los dos casos, un valor guardado que
+ * no es un JSON válido no contiene nada (no hace fallar la consulta).
+ */
+public class JsonContainsFunction implements SQLFunction {
+
+  /** Nombre de la función en las consultas JPA. */
+  public static final String NAME = "json_contains";
+
+  /**
+   * Función de PostgreSQL que convierte el texto a jsonb, o a NULL si no es un
+   * JSON válido.
+   */
+  public static final String JSON_OR_NULL = "json_or_null";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Override
+  public boolean hasArguments() {
+    return true;
+  }
+
+  @Override
+  public boolean hasParenthesesIfNoArguments() {
+    return true;
+  }
+
+  @Override
+  public Type getReturnType(Type firstArgumentType, Mapping mapping) throws QueryException {
+    return StandardBasicTypes.BOOLEAN;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public String render(Type firstArgumentType, List arguments, SessionFactoryImplementor factory)
+      throws QueryException {
+    if (arguments.size() != 2) {
+      throw new QueryException(NAME + " necesita dos argumentos");
+    }
+    if (factory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect) {
+      return "(eti." + JSON_OR_NULL + "(" + arguments.get(0) + ") @> cast(" + arguments.get(1) + " as jsonb))";
+    }
+    return "eti." + NAME + "(" + arguments.get(0) + ", " + arguments.get(1) + ")";
+  }
+
+  /**
+   * Implementación de la función para las bases de datos sin tipo JSON (alias
+   * de H2). Sigue las reglas del operador {@code @>} de PostgreSQL: un objeto
+   * contiene a otro si tiene todos sus campos y cada uno contiene al del otro,
+   * un array contiene a otro si contiene a cada uno de sus elementos y el resto
+   * de valores tienen que ser iguales.
+   *
+   * @param json      el JSON guardado.
+   * @param contenido el JSON que se busca.
+   * @return true si el JSON guardado contiene al buscado, false si el guardado
+   *         no es un JSON válido.
+   * @throws IOException si el JSON buscado no es válido.
+   */
+  public static boolean contains(String json, String contenido) throws IOException {
+    if (json == null || contenido == null) {
+      return false;
+    }
+    JsonNode contenidoNode = OBJECT_MAPPER.readTree(contenido);
+    JsonNode jsonNode;
+    try {
+      jsonNode = OBJECT_MAPPER.readTree(json);
+    } catch (JsonProcessingException e) {
+      return false;
+    }
+    return contains(jsonNode, contenidoNode);
+  }
+
+  private static boolean contains(JsonNode nodo, JsonNode contenido) {
+    if (contenido.isObject()) {
+      if (!nodo.isObject()) {
+        return false;
+      }
+      Iterator<Map.Entry<String, JsonNode>> campos = contenido.fields();
+      while (campos.hasNext()) {
+        Map.Entry<String, JsonNode> campo = campos.next();
+        JsonNode valor = nodo.get(campo.getKey());
+        if (valor == null || !contains(valor, campo.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (contenido.isArray()) {
+      if (!nodo.isArray()) {
+        return false;
+      }
+      for (JsonNode elementoContenido : contenido) {
+        boolean encontrado = false;
+        for (JsonNode elemento : nodo) {
+          if (contains(elemento, elementoContenido)) {
+            encontrado = true;
+            break;
+          }
+        }
+        if (!encontrado) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return nodo.equals(contenido);
+  }
+
+}
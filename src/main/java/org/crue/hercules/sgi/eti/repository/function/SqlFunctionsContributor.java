@@ -0,0 +1,19 @@
+package org.crue.hercules.sgi.eti.repository.function;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+
+/**
+ * Registra en Hibernate las funciones propias que se usan en las consultas JPA.
+ *
+ * Se configura con la propiedad
+ * {@code spring.jpa.properties.hibernate.metadata_builder_contributor}.
+ */
+public class SqlFunctionsContributor implements MetadataBuilderContributor {
+
+  @Override
+  public void contribute(MetadataBuilder metadataBuilder) {
+    metadataBuilder.applySqlFunction(JsonContainsFunction.NAME, new JsonContainsFunction());
+  }
+
+}
@@ -0,0 +1,178 @@
+package org.crue.hercules.sgi.eti.repository.rsql;
+
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RsqlFilterValidator
+ *
+ * Rechaza los filtros RSQL patológicos antes de que lleguen al CriteriaBuilder:
+ * los que superan la longitud máxima, la profundidad máxima de paréntesis, el
+ * número máximo de comparaciones o el número máximo de argumentos de una
+ * comparación (listas de =in= y =out=). Los filtros rechazados terminan en un
+ * 400, igual que los argumentos no válidos de los servicios.
+ *
+ * El filtro se recorre una sola vez, sin construir nada, y no se modifica: el
+ * framework recibe el filtro original. No comprueba la sintaxis; los filtros
+ * que no son RSQL válido los rechaza el framework. Los valores entre comillas
+ * se saltan, de modo que los paréntesis, comas y operadores que contienen no
+ * cuentan.
+ *
+ * Publica los filtros rechazados por motivo (sgi.eti.rsql.rejected).
+ */
+@Slf4j
+public class RsqlFilterValidator {
+
+  /** Contador de filtros rechazados. */
+  public static final String REJECTED_METRIC = "sgi.eti.rsql.rejected";
+
+  public static final String TAG_REASON = "reason";
+  public static final String REASON_LENGTH = "length";
+  public static final String REASON_DEPTH = "depth";
+  public static final String REASON_COMPARISONS = "comparisons";
+  public static final String REASON_ARGUMENTS = "arguments";
+
+  private final MeterRegistry meterRegistry;
+  private final int maxLength;
+  private final int maxDepth;
+  private final int maxComparisons;
+  private final int maxArguments;
+
+  /**
+   * Crea el validador.
+   *
+   * @param meterRegistry  registro de las métricas.
+   * @param maxLength      longitud máxima del filtro.
+   * @param maxDepth       profundidad máxima de paréntesis.
+   * @param maxComparisons número máximo de comparaciones.
+   * @param maxArguments   número máximo de argumentos de una comparación.
+   */
+  public RsqlFilterValidator(MeterRegistry meterRegistry, int maxLength, int maxDepth, int maxComparisons,
+      int maxArguments) {
+    this.meterRegistry = meterRegistry;
+    this.maxLength = maxLength;
+    this.maxDepth = maxDepth;
+    this.maxComparisons = maxComparisons;
+    this.maxArguments = maxArguments;
+  }
+
+  /**
+   * Comprueba que el filtro no supera ninguno de los límites.
+   *
+   * @param query filtro RSQL.
+   * @throws IllegalArgumentException si el filtro supera alguno de los límites.
+   */
+  public void validate(String query) {
+    log.debug("validate(String query) - start");
+    if (!StringUtils.hasLength(query)) {
+      log.debug("validate(String query) - end");
+      return;
+    }
+    check(query.length() <= maxLength, REASON_LENGTH, "El filtro supera la longitud máxima de %d caracteres",
+        maxLength);
+
+    int length = query.length();
+    int depth = 0;
+    int comparisons = 0;
+    for (int i = 0; i < length; i++) {
+      char c = query.charAt(i);
+      if (c == '"' || c == '\'') {
+        i = skipQuoted(query, i);
+      } else if (c == '(') {
+        depth++;
+        check(depth <= maxDepth, REASON_DEPTH, "El filtro supera la profundidad máxima de %d niveles de paréntesis",
+            maxDepth);
+      } else if (c == ')') {
+        depth--;
+      } else if (isComparatorStart(c)) {
+        comparisons++;
+        check(comparisons <= maxComparisons, REASON_COMPARISONS,
+            "El filtro supera el número máximo de %d comparaciones", maxComparisons);
+        i = skipArguments(query, skipComparator(query, i) + 1);
+      }
+    }
+    log.debug("validate(String query) - end");
+  }
+
+  private static boolean isComparatorStart(char c) {
+    return c == '=' || c == '!' || c == '<' || c == '>';
+  }
+
+  /**
+   * Salta un comparador (=xx=, ==, !=, &lt;, &lt;=, &gt;, &gt;=).
+   *
+   * @param query filtro RSQL.
+   * @param start posición del primer carácter del comparador.
+   * @return la posición del último carácter del comparador.
+   */
+  private static int skipComparator(String query, int start) {
+    int i = start + 1;
+    if (query.charAt(start) == '=') {
+      while (i < query.length() && Character.isLetter(query.charAt(i))) {
+        i++;
+      }
+    }
+    return i < query.length() && query.charAt(i) == '=' ? i : i - 1;
+  }
+
+  /**
+   * Salta los argumentos de una comparación y comprueba el número de
+   * argumentos si son una lista entre paréntesis.
+   *
+   * @param query filtro RSQL.
+   * @param start posición siguiente al comparador.
+   * @return la posición del paréntesis que cierra la lista, o la anterior a
+   *         start si el argumento no es una lista.
+   */
+  private int skipArguments(String query, int start) {
+    int i = start;
+    while (i < query.length() && Character.isWhitespace(query.charAt(i))) {
+      i++;
+    }
+    if (i >= query.length() || query.charAt(i) != '(') {
+      return start - 1;
+    }
+    int arguments = 1;
+    for (i++; i < query.length(); i++) {
+      char c = query.charAt(i);
+      if (c == '"' || c == '\'') {
+        i = skipQuoted(query, i);
+      } else if (c == ',') {
+        arguments++;
+        check(arguments <= maxArguments, REASON_ARGUMENTS,
+            "El filtro supera el número máximo de %d argumentos por comparación", maxArguments);
+      } else if (c == ')') {
+        return i;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Salta un valor entre comillas, con los caracteres escapados con '\'.
+   *
+   * @param query filtro RSQL.
+   * @param start posición de la comilla de apertura.
+   * @return la posición de la comilla de cierre, o el final del filtro.
+   */
+  private static int skipQuoted(String query, int start) {
+    char quote = query.charAt(start);
+    int i = start + 1;
+    while (i < query.length() && query.charAt(i) != quote) {
+      i += query.charAt(i) == '\\' ? 2 : 1;
+    }
+    return i;
+  }
+
+  private void check(boolean valid, String reason, String message, int limit) {
+    if (!valid) {
+      String error = String.format(message, limit);
+      log.warn("Filtro RSQL rechazado: {}", error);
+      meterRegistry.counter(REJECTED_METRIC, TAG_REASON, reason).increment();
+      throw new IllegalArgumentException(error);
+    }
+  }
+
+}
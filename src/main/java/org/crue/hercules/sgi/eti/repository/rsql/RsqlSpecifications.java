@@ -0,0 +1,53 @@
+package org.crue.hercules.sgi.eti.repository.rsql;
+
+import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
+import org.springframework.data.jpa.domain.Specification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * RsqlSpecifications
+ *
+ * Punto de entrada de los servicios y custom repositories para convertir el
+ * filtro RSQL de los listados en una {@link Specification}. El filtro se
+ * comprueba con el {@link RsqlFilterValidator} de la aplicación (RsqlConfig) y
+ * se pasa sin cambios al framework. Mientras no se ha configurado, por ejemplo
+ * en los tests unitarios, usa un validador con los límites por defecto y sin
+ * métricas publicadas.
+ */
+public final class RsqlSpecifications {
+
+  public static final int DEFAULT_MAX_LENGTH = 4000;
+  public static final int DEFAULT_MAX_DEPTH = 8;
+  public static final int DEFAULT_MAX_COMPARISONS = 50;
+  public static final int DEFAULT_MAX_ARGUMENTS = 500;
+
+  private static volatile RsqlFilterValidator filterValidator = new RsqlFilterValidator(new SimpleMeterRegistry(),
+      DEFAULT_MAX_LENGTH, DEFAULT_MAX_DEPTH, DEFAULT_MAX_COMPARISONS, DEFAULT_MAX_ARGUMENTS);
+
+  private RsqlSpecifications() {
+  }
+
+  /**
+   * Devuelve la {@link Specification} del filtro RSQL.
+   *
+   * @param <T>   tipo de la entidad.
+   * @param query filtro RSQL.
+   * @return la especificación.
+   * @throws IllegalArgumentException si el filtro supera alguno de los límites.
+   */
+  public static <T> Specification<T> toSpecification(String query) {
+    filterValidator.validate(query);
+    return SgiRSQLJPASupport.toSpecification(query);
+  }
+
+  /**
+   * Establece el validador con el que se comprueban los filtros.
+   *
+   * @param filterValidator el validador.
+   */
+  public static void setFilterValidator(RsqlFilterValidator filterValidator) {
+    RsqlSpecifications.filterValidator = filterValidator;
+  }
+
+}
@@ -1,8 +1,7 @@
 package org.crue.hercules.sgi.eti.repository.specification;
 
-import java.time.LocalDate;
+import java.util.Collection;
 
-import org.crue.hercules.sgi.eti.model.CargoComite_;
 import org.crue.hercules.sgi.eti.model.Comite_;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Evaluador_;
@@ -22,41 +21,18 @@ public class EvaluadorSpecifications {
     };
   }
 
-  public static Specification<Evaluador> presidentes() {
+  public static Specification<Evaluador> byComiteId(Long idComite) {
     return (root, query, cb) -> {
-      return cb.equal(cb.lower(root.get(Evaluador_.cargoComite).get(CargoComite_.nombre)), "presidente");
+      return cb.equal(root.get(Evaluador_.comite).get(Comite_.id), idComite);
     };
   }
 
-  public static Specification<Evaluador> byPersonaRef(String personaRef) {
+  public static Specification<Evaluador> byIdNotIn(Collection<Long> ids) {
     return (root, query, cb) -> {
-      return cb.equal(cb.lower(root.get(Evaluador_.personaRef)), personaRef);
-    };
-  }
-
-  public static Specification<Evaluador> inFechas(LocalDate fechaAlta, LocalDate fechaBaja) {
-    return (root, query, cb) -> {
-      if (fechaBaja != null) {
-        return cb.or(
-            cb.and(cb.lessThan(root.get(Evaluador_.fechaAlta), fechaAlta),
-                cb.greaterThan(root.get(Evaluador_.fechaBaja), fechaBaja)),
-            cb.or(cb.between(root.get(Evaluador_.fechaAlta), fechaAlta, fechaBaja),
-                cb.between(root.get(Evaluador_.fechaBaja), fechaAlta, fechaBaja)));
-      } else {
-        return cb.greaterThan(root.get(Evaluador_.fechaBaja), fechaAlta);
+      if (ids == null || ids.isEmpty()) {
+        return cb.conjunction();
       }
-    };
-  }
-
-  public static Specification<Evaluador> byFechaBajaNull() {
-    return (root, query, cb) -> {
-      return cb.isNull(root.get(Evaluador_.fechaBaja));
-    };
-  }
-
-  public static Specification<Evaluador> byComite(String comite) {
-    return (root, query, cb) -> {
-      return cb.equal(root.get(Evaluador_.comite).get(Comite_.comite), comite);
+      return cb.not(root.get(Evaluador_.id).in(ids));
     };
   }
 }
@@ -4,14 +4,20 @@ import java.util.List;
 
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva_;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Memoria_;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion_;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.model.Respuesta_;
 import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.model.Retrospectiva_;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria_;
+import org.crue.hercules.sgi.eti.repository.function.JsonContainsFunction;
 import org.springframework.data.jpa.domain.Specification;
 
 public class MemoriaSpecifications {
@@ -83,4 +89,26 @@ public class MemoriaSpecifications {
       return cb.equal(root.get(Memoria_.peticionEvaluacion).get(PeticionEvaluacion_.activo), Boolean.TRUE);
     };
   }
+
+  /**
+   * Memorias con alguna {@link Respuesta} que contenga cada uno de los JSON
+   * indicados (pueden estar en respuestas distintas).
+   * 
+   * @param contenidos JSON que tienen que contener las respuestas.
+   * @return la especificación.
+   */
+  public static Specification<Memoria> respuestasContienen(List<String> contenidos) {
+    return (root, query, cb) -> {
+      Predicate[] predicates = new Predicate[contenidos.size()];
+      for (int i = 0; i < contenidos.size(); i++) {
+        Subquery<Long> respuestas = query.subquery(Long.class);
+        Root<Respuesta> respuesta = respuestas.from(Respuesta.class);
+        respuestas.select(respuesta.get(Respuesta_.id)).where(cb.equal(respuesta.get(Respuesta_.memoria), root),
+            cb.isTrue(cb.function(JsonContainsFunction.NAME, Boolean.class, respuesta.get(Respuesta_.valor),
+                cb.literal(contenidos.get(i)))));
+        predicates[i] = cb.exists(respuestas);
+      }
+      return cb.and(predicates);
+    };
+  }
 }
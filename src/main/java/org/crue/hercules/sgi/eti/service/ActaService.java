@@ -1,6 +1,7 @@
 package org.crue.hercules.sgi.eti.service;
 
 import org.crue.hercules.sgi.eti.dto.ActaWithNumEvaluaciones;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.exceptions.ActaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.springframework.data.domain.Page;
@@ -36,6 +37,18 @@ public interface ActaService {
    */
   Page<ActaWithNumEvaluaciones> findAllActaWithNumEvaluaciones(String query, Pageable pageable);
 
+  /**
+   * Devuelve una página filtrada de {@link ActaWithNumEvaluaciones} mediante
+   * paginación por cursor (sin recuento del total).
+   *
+   * @param query    la información del filtro.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de {@link ActaWithNumEvaluaciones}.
+   */
+  KeysetPage<ActaWithNumEvaluaciones> findAllActaWithNumEvaluacionesKeyset(String query, Pageable pageable,
+      String cursor);
+
   /**
    * Obtiene {@link Acta} por id.
    *
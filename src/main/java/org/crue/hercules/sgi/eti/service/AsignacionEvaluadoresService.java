@@ -0,0 +1,43 @@
+package org.crue.hercules.sgi.eti.service;
+
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.dto.AsignacionEvaluadores;
+import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
+import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+
+/**
+ * Service Interface para la asignación automática de evaluadores a las memorias
+ * de una {@link ConvocatoriaReunion}.
+ */
+public interface AsignacionEvaluadoresService {
+
+  /**
+   * Propone los dos evaluadores de cada una de las memorias asignables a la
+   * {@link ConvocatoriaReunion}, repartiendo la carga entre los evaluadores
+   * disponibles. No guarda nada.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @return la propuesta de asignación.
+   * @throws ConvocatoriaReunionNotFoundException si no existe la convocatoria.
+   */
+  AsignacionEvaluadores findPropuesta(Long idConvocatoriaReunion);
+
+  /**
+   * Crea las {@link Evaluacion} de la {@link ConvocatoriaReunion} con los
+   * evaluadores indicados (normalmente los de la propuesta), comprobando que las
+   * memorias son asignables y que los evaluadores pueden evaluarlas. Se crean
+   * todas o ninguna.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @param evaluaciones          memoria y evaluadores de cada evaluación.
+   * @return las {@link Evaluacion} creadas.
+   * @throws ConvocatoriaReunionNotFoundException si no existe la convocatoria.
+   * @throws IllegalArgumentException             si alguna memoria no es
+   *                                              asignable o algún evaluador no
+   *                                              puede evaluarla.
+   */
+  List<Evaluacion> asignar(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones);
+
+}
@@ -1,7 +1,11 @@
 package org.crue.hercules.sgi.eti.service;
 
+import java.util.List;
+
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.exceptions.EvaluacionNotFoundException;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
@@ -22,6 +26,19 @@ public interface EvaluacionService {
    */
   Evaluacion create(Evaluacion evaluacion);
 
+  /**
+   * Crea las {@link Evaluacion} de varias {@link Memoria} de una
+   * {@link ConvocatoriaReunion} en una única transacción. Las evaluaciones que
+   * no se pueden crear se devuelven con el motivo del error sin impedir la
+   * creación del resto.
+   *
+   * @param idConvocatoriaReunion identificador de la {@link ConvocatoriaReunion}.
+   * @param evaluaciones          las {@link Evaluacion} a crear, con la memoria
+   *                              y los dos evaluadores.
+   * @return el resultado de cada evaluación, en el mismo orden.
+   */
+  List<EvaluacionBatchResult> createAll(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones);
+
   /**
    * Actualizar {@link Evaluacion}.
    *
@@ -39,6 +56,17 @@ public interface EvaluacionService {
    */
   Page<Evaluacion> findAll(String query, Pageable pageable);
 
+  /**
+   * Obtener una página de entidades {@link Evaluacion} filtradas mediante
+   * paginación por cursor (sin recuento del total).
+   *
+   * @param query    la información del filtro.
+   * @param pageable tamaño de página y ordenación.
+   * @param cursor   cursor de la página anterior (null para la primera página).
+   * @return la página de entidades {@link Evaluacion}.
+   */
+  KeysetPage<Evaluacion> findAllKeyset(String query, Pageable pageable, String cursor);
+
   /**
    * Obtiene la lista de evaluaciones activas de una convocatoria reunion que no
    * estan en revisión mínima.
@@ -1,5 +1,7 @@
 package org.crue.hercules.sgi.eti.service;
 
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
 import org.crue.hercules.sgi.eti.exceptions.FormularioNotFoundException;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.springframework.data.domain.Page;
@@ -42,6 +44,15 @@ public interface FormularioService {
    */
   Formulario findById(Long id);
 
+  /**
+   * Obtiene el {@link FormularioArbol} de un {@link Formulario} serializado a
+   * JSON y comprimido con GZIP.
+   *
+   * @param id el id de la entidad {@link Formulario}.
+   * @return el árbol del formulario serializado.
+   */
+  FormularioArbolSerializado findArbolSerializadoById(Long id);
+
   /**
    * Elimina el {@link Formulario} por id.
    *
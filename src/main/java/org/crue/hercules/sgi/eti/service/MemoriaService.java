@@ -1,5 +1,9 @@
 package org.crue.hercules.sgi.eti.service;
 
+import java.util.List;
+import java.util.Map;
+
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Comite;
@@ -38,6 +42,34 @@ public interface MemoriaService {
    */
   Page<MemoriaPeticionEvaluacion> findAll(String query, Pageable pageable);
 
+  /**
+   * Obtener todas las entidades {@link Memoria} paginadas y/o filtradas que
+   * tengan en sus respuestas los valores indicados.
+   *
+   * @param query      la información del filtro.
+   * @param respuestas valores de las respuestas por ruta del campo dentro de la
+   *                   respuesta (campos separados por puntos).
+   * @param pageable   la información de la paginación.
+   * @return la lista de entidades {@link Memoria} paginadas y/o filtradas.
+   */
+  Page<MemoriaPeticionEvaluacion> findAll(String query, Map<String, String> respuestas, Pageable pageable);
+
+  /**
+   * Obtener una página de entidades {@link Memoria} filtradas mediante
+   * paginación por cursor (sin recuento del total), que tengan en sus
+   * respuestas los valores indicados.
+   *
+   * @param query      la información del filtro.
+   * @param respuestas valores de las respuestas por ruta del campo dentro de la
+   *                   respuesta (vacío para no filtrar por respuestas).
+   * @param pageable   tamaño de página y ordenación.
+   * @param cursor     cursor de la página anterior (null para la primera
+   *                   página).
+   * @return la página de entidades {@link Memoria}.
+   */
+  KeysetPage<MemoriaPeticionEvaluacion> findAllKeyset(String query, Map<String, String> respuestas,
+      Pageable pageable, String cursor);
+
   /**
    * Devuelve una lista paginada de {@link Memoria} asignables para una
    * convocatoria determinada
@@ -130,6 +162,16 @@ public interface MemoriaService {
 
   void updateEstadoMemoria(Memoria memoria, long id);
 
+  /**
+   * Actualiza el estado de todas las {@link Memoria} recibidas al mismo estado
+   * (un único INSERT del histórico de estados y un único UPDATE de las
+   * memorias).
+   * 
+   * @param idsMemoria identificadores de las memorias a actualizar.
+   * @param id         del estado de la memoria nuevo.
+   */
+  void updateEstadoMemorias(List<Long> idsMemoria, long id);
+
   /**
    * Obtener todas las entidades {@link MemoriaPeticionEvaluacion} paginadas y/o
    * filtradas por referencia de la persona
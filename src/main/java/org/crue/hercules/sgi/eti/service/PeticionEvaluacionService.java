@@ -1,5 +1,6 @@
 package org.crue.hercules.sgi.eti.service;
 
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.PeticionEvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.exceptions.PeticionEvaluacionNotFoundException;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
@@ -82,4 +83,19 @@ public interface PeticionEvaluacionService {
   Page<PeticionEvaluacionWithIsEliminable> findAllPeticionesWithPersonaRefCreadorPeticionesEvaluacionOrResponsableMemoria(
       String query, Pageable pageable, String personaRef);
 
+  /**
+   * Obtiene una página filtrada de {@link PeticionEvaluacionWithIsEliminable}
+   * de una persona responsable de memorias o creador de peticiones de evaluacion
+   * mediante paginación por cursor (sin recuento del total).
+   * 
+   * @param query      Criterios de búsqueda
+   * @param pageable   tamaño de página y ordenación
+   * @param cursor     cursor de la página anterior (null para la primera
+   *                   página)
+   * @param personaRef usuario
+   * @return la página de {@link PeticionEvaluacionWithIsEliminable}
+   */
+  KeysetPage<PeticionEvaluacionWithIsEliminable> findAllPeticionesWithPersonaRefCreadorPeticionesEvaluacionOrResponsableMemoriaKeyset(
+      String query, Pageable pageable, String cursor, String personaRef);
+
 }
\ No newline at end of file
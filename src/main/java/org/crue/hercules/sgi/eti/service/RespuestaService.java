@@ -1,6 +1,10 @@
 package org.crue.hercules.sgi.eti.service;
 
+import java.util.List;
+
 import org.crue.hercules.sgi.eti.exceptions.RespuestaNotFoundException;
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Respuesta;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -62,4 +66,16 @@ public interface RespuestaService {
    * @return Respuesta
    */
   Respuesta findByMemoriaIdAndApartadoId(Long id, Long idApartado);
-}
\ No newline at end of file
+
+  /**
+   * Guarda en una única transacción todas las {@link Respuesta} de una
+   * {@link Memoria}, una por {@link Apartado}: crea las de los apartados que no
+   * tienen respuesta y actualiza las que han cambiado. Las que no han cambiado
+   * no se escriben.
+   *
+   * @param idMemoria  el id de la {@link Memoria}.
+   * @param respuestas las {@link Respuesta} con el apartado y el valor.
+   * @return las {@link Respuesta} creadas o modificadas.
+   */
+  List<Respuesta> updateAllByMemoriaId(Long idMemoria, List<Respuesta> respuestas);
+}
@@ -2,16 +2,22 @@ package org.crue.hercules.sgi.eti.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
 
 import org.crue.hercules.sgi.eti.dto.ActaWithNumEvaluaciones;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.exceptions.ActaNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.TareaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.crue.hercules.sgi.eti.model.EstadoActa;
-import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.model.TipoEstadoActa;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.repository.ActaRepository;
 import org.crue.hercules.sgi.eti.repository.EstadoActaRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
@@ -118,6 +124,26 @@ public class ActaServiceImpl implements ActaService {
     return returnValue;
   }
 
+  /**
+   * Devuelve una página filtrada de {@link ActaWithNumEvaluaciones} mediante
+   * paginación por cursor (sin recuento del total).
+   *
+   * @param query  la información del filtro.
+   * @param paging tamaño de página y ordenación.
+   * @param cursor cursor de la página anterior (null para la primera página).
+   * @return la página de {@link ActaWithNumEvaluaciones}.
+   */
+  @Override
+  public KeysetPage<ActaWithNumEvaluaciones> findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging,
+      String cursor) {
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging, String cursor) - start");
+
+    KeysetPage<ActaWithNumEvaluaciones> returnValue = actaRepository.findAllActaWithNumEvaluacionesKeyset(query,
+        paging, cursor);
+    log.debug("findAllActaWithNumEvaluacionesKeyset(String query, Pageable paging, String cursor) - end");
+    return returnValue;
+  }
+
   /**
    * Obtiene una entidad {@link Acta} por id.
    *
@@ -222,55 +248,27 @@ public class ActaServiceImpl implements ActaService {
         .findByActivoTrueAndTipoEvaluacionIdAndEsRevMinimaAndConvocatoriaReunionId(2L, Boolean.FALSE,
             acta.getConvocatoriaReunion().getId());
 
-    listEvaluacionesMemoria.forEach(evaluacion -> {
-
-      switch (evaluacion.getDictamen().getId().intValue()) {
-        case 1: {
-          // Dictamen "Favorable"-
-          // Se actualiza memoria a estado 9: "Fin evaluación"
-          memoriaService.updateEstadoMemoria(evaluacion.getMemoria(), 9L);
-          break;
-        }
-        case 2: {
-          // Dictamen "Favorable pendiente de revisión mínima"-
-          // Se actualiza memoria a estado 6: "Favorable Pendiente de Modificaciones
-          // Mínimas"
-          memoriaService.updateEstadoMemoria(evaluacion.getMemoria(), 6L);
-          break;
-        }
-        case 3: {
-          // Dictamen "Pendiente de correcciones"
-          // Se actualiza memoria a estado 7: "Pendiente de correcciones"
-          memoriaService.updateEstadoMemoria(evaluacion.getMemoria(), 7L);
-          break;
-        }
-        case 4: {
-          // Dictamen "No procede evaluar"
-          // Se actualiza memoria a estado 8: "No procede evaluar"
-          memoriaService.updateEstadoMemoria(evaluacion.getMemoria(), 8L);
-
-          break;
-        }
-      }
-
-    });
+    // Se agrupan las memorias por el estado al que pasan según el dictamen de su
+    // evaluación y se actualiza cada grupo de una sola vez
+    Map<Long, List<Long>> idsMemoriaByTipoEstadoMemoria = listEvaluacionesMemoria.stream()
+        .filter(evaluacion -> getIdTipoEstadoMemoriaByDictamen(evaluacion.getDictamen().getId()) != null)
+        .collect(Collectors.groupingBy(
+            evaluacion -> getIdTipoEstadoMemoriaByDictamen(evaluacion.getDictamen().getId()),
+            Collectors.mapping(evaluacion -> evaluacion.getMemoria().getId(), Collectors.toList())));
+
+    idsMemoriaByTipoEstadoMemoria.forEach(
+        (idTipoEstadoMemoria, idsMemoria) -> memoriaService.updateEstadoMemorias(idsMemoria, idTipoEstadoMemoria));
 
     List<Evaluacion> listEvaluacionesRetrospectiva = evaluacionRepository
         .findByActivoTrueAndTipoEvaluacionIdAndEsRevMinimaAndConvocatoriaReunionId(1L, Boolean.FALSE,
             acta.getConvocatoriaReunion().getId());
 
-    listEvaluacionesRetrospectiva.forEach(evaluacion -> {
+    // Se actualiza el estado de las retrospectivas a 5: "Fin evaluación"
+    List<Long> idsRetrospectiva = listEvaluacionesRetrospectiva.stream()
+        .map(evaluacion -> evaluacion.getMemoria().getRetrospectiva()).filter(Objects::nonNull)
+        .map(Retrospectiva::getId).collect(Collectors.toList());
 
-      // Se actualiza el estado de la retrospectiva a 5: "Fin evaluación"
-
-      EstadoRetrospectiva estadoRetrospectiva = new EstadoRetrospectiva();
-      estadoRetrospectiva.setId(5L);
-
-      evaluacion.getMemoria().getRetrospectiva().setEstadoRetrospectiva(estadoRetrospectiva);
-
-      retrospectivaRepository.save(evaluacion.getMemoria().getRetrospectiva());
-
-    });
+    retrospectivaRepository.updateEstadoRetrospectivaByIdIn(idsRetrospectiva, 5L);
 
     // Se crea el nuevo estado acta 2:"Finalizado"
     TipoEstadoActa tipoEstadoActa = new TipoEstadoActa();
@@ -286,4 +284,36 @@ public class ActaServiceImpl implements ActaService {
     log.debug("finishActa(Long id) - end");
   }
 
+  /**
+   * Obtiene el identificador del {@link TipoEstadoMemoria} al que pasa una
+   * memoria según el dictamen de su evaluación.
+   * 
+   * @param idDictamen identificador del dictamen.
+   * @return identificador del {@link TipoEstadoMemoria} o null si el dictamen
+   *         no implica un cambio de estado.
+   */
+  private Long getIdTipoEstadoMemoriaByDictamen(Long idDictamen) {
+    switch (idDictamen.intValue()) {
+      case 1:
+        // Dictamen "Favorable"-
+        // Se actualiza memoria a estado 9: "Fin evaluación"
+        return 9L;
+      case 2:
+        // Dictamen "Favorable pendiente de revisión mínima"-
+        // Se actualiza memoria a estado 6: "Favorable Pendiente de Modificaciones
+        // Mínimas"
+        return 6L;
+      case 3:
+        // Dictamen "Pendiente de correcciones"
+        // Se actualiza memoria a estado 7: "Pendiente de correcciones"
+        return 7L;
+      case 4:
+        // Dictamen "No procede evaluar"
+        // Se actualiza memoria a estado 8: "No procede evaluar"
+        return 8L;
+      default:
+        return null;
+    }
+  }
+
 }
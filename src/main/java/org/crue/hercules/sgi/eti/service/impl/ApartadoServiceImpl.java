@@ -4,8 +4,8 @@ import org.crue.hercules.sgi.eti.exceptions.ApartadoNotFoundException;
 import org.crue.hercules.sgi.eti.model.Apartado;
 import org.crue.hercules.sgi.eti.model.Bloque;
 import org.crue.hercules.sgi.eti.repository.ApartadoRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.ApartadoService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -41,7 +41,7 @@ public class ApartadoServiceImpl implements ApartadoService {
   public Page<Apartado> findAll(String query, Pageable paging) {
     log.debug("findAll(String query, Pageable paging) - start");
 
-    Specification<Apartado> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Apartado> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Apartado> returnValue = repository.findAll(specs, paging);
 
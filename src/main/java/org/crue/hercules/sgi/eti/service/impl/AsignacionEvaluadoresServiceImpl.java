@@ -0,0 +1,358 @@
+package org.crue.hercules.sgi.eti.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.crue.hercules.sgi.eti.dto.AsignacionEvaluadores;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
+import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
+import org.crue.hercules.sgi.eti.model.ConflictoInteres;
+import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
+import org.crue.hercules.sgi.eti.model.EquipoTrabajo;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.repository.ConflictoInteresRepository;
+import org.crue.hercules.sgi.eti.repository.ConvocatoriaReunionRepository;
+import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.specification.EvaluadorSpecifications;
+import org.crue.hercules.sgi.eti.service.AsignacionEvaluadoresService;
+import org.crue.hercules.sgi.eti.service.EvaluacionService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Implementation para la asignación automática de evaluadores a las
+ * memorias de una {@link ConvocatoriaReunion}.
+ *
+ * Pueden evaluar una memoria los evaluadores activos del comité de la
+ * convocatoria, con un cargo activo y dados de alta en la fecha de evaluación,
+ * que no forman parte del equipo de trabajo de la petición de evaluación de la
+ * memoria ni tienen conflicto de intereses con alguna de sus personas. El
+ * presidente modera la reunión, así que solo se le asigna una memoria si no hay
+ * otros dos evaluadores disponibles.
+ *
+ * Las memorias se asignan empezando por las que tienen menos evaluadores
+ * disponibles, eligiendo cada vez los dos evaluadores con menos evaluaciones
+ * abiertas (activas y sin dictamen), contando las ya asignadas en la propuesta.
+ * Todos los datos se cargan con una consulta por tipo, por lo que el coste de
+ * la asignación es lineal en memorias por evaluadores.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class AsignacionEvaluadoresServiceImpl implements AsignacionEvaluadoresService {
+
+  /** Nombre del cargo del presidente del comité. */
+  private static final String PRESIDENTE = "presidente";
+
+  private final ConvocatoriaReunionRepository convocatoriaReunionRepository;
+  private final MemoriaRepository memoriaRepository;
+  private final EvaluadorRepository evaluadorRepository;
+  private final EvaluacionRepository evaluacionRepository;
+  private final EquipoTrabajoRepository equipoTrabajoRepository;
+  private final ConflictoInteresRepository conflictoInteresRepository;
+  private final ConflictoInteresIndex conflictoInteresIndex;
+  private final EvaluacionService evaluacionService;
+
+  public AsignacionEvaluadoresServiceImpl(ConvocatoriaReunionRepository convocatoriaReunionRepository,
+      MemoriaRepository memoriaRepository, EvaluadorRepository evaluadorRepository,
+      EvaluacionRepository evaluacionRepository, EquipoTrabajoRepository equipoTrabajoRepository,
+      ConflictoInteresRepository conflictoInteresRepository, ConflictoInteresIndex conflictoInteresIndex,
+      EvaluacionService evaluacionService) {
+    this.convocatoriaReunionRepository = convocatoriaReunionRepository;
+    this.memoriaRepository = memoriaRepository;
+    this.evaluadorRepository = evaluadorRepository;
+    this.evaluacionRepository = evaluacionRepository;
+    this.equipoTrabajoRepository = equipoTrabajoRepository;
+    this.conflictoInteresRepository = conflictoInteresRepository;
+    this.conflictoInteresIndex = conflictoInteresIndex;
+    this.evaluacionService = evaluacionService;
+  }
+
+  /**
+   * Propone los dos evaluadores de cada una de las memorias asignables a la
+   * {@link ConvocatoriaReunion}, repartiendo la carga entre los evaluadores
+   * disponibles. No guarda nada.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @return la propuesta de asignación.
+   */
+  @Override
+  public AsignacionEvaluadores findPropuesta(Long idConvocatoriaReunion) {
+    log.debug("findPropuesta(Long idConvocatoriaReunion) - start");
+    ConvocatoriaReunion convocatoriaReunion = findConvocatoriaReunion(idConvocatoriaReunion);
+    List<Memoria> memorias = findMemoriasAsignables(idConvocatoriaReunion);
+    Candidatos candidatos = findCandidatos(convocatoriaReunion, memorias);
+
+    // Primero las memorias con menos evaluadores disponibles
+    Map<Long, List<Evaluador>> elegibles = new HashMap<>();
+    memorias.forEach(memoria -> elegibles.put(memoria.getId(), candidatos.getElegibles(memoria)));
+    List<Memoria> memoriasOrdenadas = new ArrayList<>(memorias);
+    memoriasOrdenadas.sort(Comparator.comparingInt((Memoria memoria) -> elegibles.get(memoria.getId()).size())
+        .thenComparing(Memoria::getId));
+
+    Map<Long, Evaluacion> evaluaciones = new HashMap<>();
+    List<Memoria> memoriasSinAsignar = new ArrayList<>();
+    for (Memoria memoria : memoriasOrdenadas) {
+      List<Evaluador> evaluadores = elegibles.get(memoria.getId());
+      Evaluador evaluador1 = candidatos.getMenosCargado(evaluadores, null);
+      Evaluador evaluador2 = candidatos.getMenosCargado(evaluadores, evaluador1);
+      if (evaluador2 == null) {
+        memoriasSinAsignar.add(memoria);
+        continue;
+      }
+      candidatos.addCarga(evaluador1);
+      candidatos.addCarga(evaluador2);
+
+      Evaluacion evaluacion = new Evaluacion();
+      evaluacion.setMemoria(memoria);
+      evaluacion.setConvocatoriaReunion(convocatoriaReunion);
+      evaluacion.setEvaluador1(evaluador1);
+      evaluacion.setEvaluador2(evaluador2);
+      evaluaciones.put(memoria.getId(), evaluacion);
+    }
+
+    // En el orden del listado de memorias asignables
+    AsignacionEvaluadores returnValue = new AsignacionEvaluadores(memorias.stream()
+        .map(memoria -> evaluaciones.get(memoria.getId())).filter(evaluacion -> evaluacion != null)
+        .collect(Collectors.toList()), memoriasSinAsignar);
+    log.debug("findPropuesta(Long idConvocatoriaReunion) - end");
+    return returnValue;
+  }
+
+  /**
+   * Crea las {@link Evaluacion} de la {@link ConvocatoriaReunion} con los
+   * evaluadores indicados, comprobando que las memorias son asignables y que los
+   * evaluadores pueden evaluarlas. Se crean todas o ninguna.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @param evaluaciones          memoria y evaluadores de cada evaluación.
+   * @return las {@link Evaluacion} creadas.
+   */
+  @Override
+  @Transactional
+  public List<Evaluacion> asignar(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) {
+    log.debug("asignar(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) - start");
+    Assert.notEmpty(evaluaciones, "No se ha indicado ninguna evaluación");
+    ConvocatoriaReunion convocatoriaReunion = findConvocatoriaReunion(idConvocatoriaReunion);
+    Map<Long, Memoria> memorias = findMemoriasAsignables(idConvocatoriaReunion).stream()
+        .collect(Collectors.toMap(Memoria::getId, Function.identity()));
+    Candidatos candidatos = findCandidatos(convocatoriaReunion, memorias.values());
+
+    List<Evaluacion> nuevasEvaluaciones = new ArrayList<>();
+    Set<Long> idsMemoria = new HashSet<>();
+    for (Evaluacion evaluacion : evaluaciones) {
+      Assert.isTrue(evaluacion.getMemoria() != null && evaluacion.getMemoria().getId() != null,
+          "Memoria id no puede ser null para asignar evaluadores");
+      Assert.isTrue(evaluacion.getEvaluador1() != null && evaluacion.getEvaluador2() != null,
+          "Cada evaluación necesita dos evaluadores");
+      Long idMemoria = evaluacion.getMemoria().getId();
+      Memoria memoria = memorias.get(idMemoria);
+      Assert.notNull(memoria, "La memoria " + idMemoria + " no es asignable a la convocatoria");
+      Assert.isTrue(idsMemoria.add(idMemoria), "La memoria " + memoria.getNumReferencia() + " está repetida");
+
+      Map<Long, Evaluador> elegibles = candidatos.getElegibles(memoria).stream()
+          .collect(Collectors.toMap(Evaluador::getId, Function.identity()));
+      Evaluador evaluador1 = elegibles.get(evaluacion.getEvaluador1().getId());
+      Evaluador evaluador2 = elegibles.get(evaluacion.getEvaluador2().getId());
+      Assert.isTrue(evaluador1 != null && evaluador2 != null && !evaluador1.getId().equals(evaluador2.getId()),
+          "Los evaluadores indicados no pueden evaluar la memoria " + memoria.getNumReferencia());
+
+      Evaluacion nuevaEvaluacion = new Evaluacion();
+      nuevaEvaluacion.setMemoria(memoria);
+      nuevaEvaluacion.setConvocatoriaReunion(convocatoriaReunion);
+      nuevaEvaluacion.setEvaluador1(evaluador1);
+      nuevaEvaluacion.setEvaluador2(evaluador2);
+      nuevasEvaluaciones.add(nuevaEvaluacion);
+    }
+
+    List<Evaluacion> returnValue = new ArrayList<>();
+    for (EvaluacionBatchResult resultado : evaluacionService.createAll(idConvocatoriaReunion, nuevasEvaluaciones)) {
+      // Se crean todas o ninguna
+      Assert.isNull(resultado.getError(), resultado.getError());
+      returnValue.add(resultado.getEvaluacion());
+    }
+    log.debug("asignar(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtiene la {@link ConvocatoriaReunion}.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @return la {@link ConvocatoriaReunion}.
+   */
+  private ConvocatoriaReunion findConvocatoriaReunion(Long idConvocatoriaReunion) {
+    Assert.notNull(idConvocatoriaReunion, "ConvocatoriaReunion id no puede ser null para asignar evaluadores");
+    return convocatoriaReunionRepository.findById(idConvocatoriaReunion)
+        .orElseThrow(() -> new ConvocatoriaReunionNotFoundException(idConvocatoriaReunion));
+  }
+
+  /**
+   * Obtiene todas las memorias asignables a la {@link ConvocatoriaReunion}.
+   *
+   * @param idConvocatoriaReunion id de la {@link ConvocatoriaReunion}.
+   * @return las memorias asignables.
+   */
+  private List<Memoria> findMemoriasAsignables(Long idConvocatoriaReunion) {
+    return memoriaRepository.findAllMemoriasAsignablesConvocatoria(idConvocatoriaReunion, Pageable.unpaged())
+        .getContent();
+  }
+
+  /**
+   * Carga los evaluadores que pueden evaluar en la {@link ConvocatoriaReunion},
+   * sus evaluaciones abiertas, los equipos de trabajo de las memorias y los
+   * conflictos de intereses de sus personas.
+   *
+   * @param convocatoriaReunion la {@link ConvocatoriaReunion}.
+   * @param memorias            las memorias a asignar.
+   * @return los candidatos.
+   */
+  private Candidatos findCandidatos(ConvocatoriaReunion convocatoriaReunion, Iterable<Memoria> memorias) {
+    LocalDate fechaEvaluacion = convocatoriaReunion.getFechaEvaluacion().toLocalDate();
+    List<Evaluador> evaluadores = evaluadorRepository
+        .findAll(EvaluadorSpecifications.activos()
+            .and(EvaluadorSpecifications.byComiteId(convocatoriaReunion.getComite().getId())))
+        .stream()
+        .filter(evaluador -> Boolean.TRUE.equals(evaluador.getCargoComite().getActivo())
+            && !evaluador.getFechaAlta().isAfter(fechaEvaluacion)
+            && (evaluador.getFechaBaja() == null || !evaluador.getFechaBaja().isBefore(fechaEvaluacion)))
+        .collect(Collectors.toList());
+
+    Set<Long> idsPeticionEvaluacion = new HashSet<>();
+    memorias.forEach(memoria -> idsPeticionEvaluacion.add(memoria.getPeticionEvaluacion().getId()));
+    Map<Long, Set<String>> equipos = equipoTrabajoRepository
+        .findPersonaRefByPeticionEvaluacionIdIn(idsPeticionEvaluacion);
+
+    Set<String> personaRefs = new HashSet<>();
+    equipos.values().forEach(personaRefs::addAll);
+    memorias.forEach(memoria -> personaRefs.add(memoria.getPersonaRef()));
+
+    Map<Long, Long> carga = evaluacionRepository.countEvaluacionesAbiertasByEvaluador(
+        evaluadores.stream().map(Evaluador::getId).collect(Collectors.toList()));
+
+    return new Candidatos(evaluadores, carga, equipos, findConflictosIntereses(personaRefs));
+  }
+
+  /**
+   * Obtiene los evaluadores en {@link ConflictoInteres} con cada una de las
+   * personas, del índice en memoria si está activo.
+   *
+   * @param personaRefs referencias de las personas.
+   * @return identificadores de los evaluadores por persona en conflicto.
+   */
+  private Map<String, Set<Long>> findConflictosIntereses(Set<String> personaRefs) {
+    if (!conflictoInteresIndex.isEnabled()) {
+      return conflictoInteresRepository.findIdEvaluadorByPersonaConflictoRefIn(personaRefs);
+    }
+    Map<String, Set<Long>> returnValue = new HashMap<>();
+    for (String personaRef : personaRefs) {
+      Set<Long> idsEvaluador = conflictoInteresIndex.findEvaluadores(Collections.singleton(personaRef));
+      if (!idsEvaluador.isEmpty()) {
+        returnValue.put(personaRef, idsEvaluador);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Evaluadores que pueden evaluar en la convocatoria, con su carga y las
+   * personas con las que no pueden evaluar.
+   */
+  private static class Candidatos {
+
+    /** Evaluadores, con el presidente al final. */
+    private final List<Evaluador> evaluadores;
+    /** Evaluaciones abiertas por id de evaluador. */
+    private final Map<Long, Long> carga;
+    /** Personas del equipo de trabajo por id de petición de evaluación. */
+    private final Map<Long, Set<String>> equipos;
+    /** Evaluadores en conflicto por persona. */
+    private final Map<String, Set<Long>> conflictos;
+
+    Candidatos(List<Evaluador> evaluadores, Map<Long, Long> carga, Map<Long, Set<String>> equipos,
+        Map<String, Set<Long>> conflictos) {
+      this.evaluadores = new ArrayList<>(evaluadores);
+      this.evaluadores.sort(
+          Comparator.comparing((Evaluador evaluador) -> isPresidente(evaluador)).thenComparing(Evaluador::getId));
+      this.carga = new HashMap<>(carga);
+      this.equipos = equipos;
+      this.conflictos = conflictos;
+    }
+
+    /**
+     * Evaluadores que no forman parte del {@link EquipoTrabajo} de la memoria ni
+     * tienen conflicto de intereses con alguna de sus personas.
+     *
+     * @param memoria la memoria.
+     * @return los evaluadores que pueden evaluar la memoria.
+     */
+    List<Evaluador> getElegibles(Memoria memoria) {
+      Set<String> personaRefs = new HashSet<>(
+          equipos.getOrDefault(memoria.getPeticionEvaluacion().getId(), Collections.emptySet()));
+      personaRefs.add(memoria.getPersonaRef());
+      Set<Long> enConflicto = new HashSet<>();
+      for (String personaRef : personaRefs) {
+        enConflicto.addAll(conflictos.getOrDefault(personaRef, Collections.emptySet()));
+      }
+      return evaluadores.stream().filter(
+          evaluador -> !personaRefs.contains(evaluador.getPersonaRef()) && !enConflicto.contains(evaluador.getId()))
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluador con menos carga, dejando al presidente para cuando no hay otro.
+     *
+     * @param elegibles evaluadores elegibles (con el presidente al final).
+     * @param excluido  evaluador ya elegido para la memoria.
+     * @return el evaluador, o null si no hay ninguno.
+     */
+    Evaluador getMenosCargado(List<Evaluador> elegibles, Evaluador excluido) {
+      Evaluador returnValue = null;
+      for (Evaluador evaluador : elegibles) {
+        if (evaluador == excluido) {
+          continue;
+        }
+        if (returnValue == null) {
+          returnValue = evaluador;
+        } else if (isPresidente(evaluador) != isPresidente(returnValue)) {
+          break;
+        } else if (getCarga(evaluador) < getCarga(returnValue)) {
+          returnValue = evaluador;
+        }
+      }
+      return returnValue;
+    }
+
+    void addCarga(Evaluador evaluador) {
+      carga.merge(evaluador.getId(), 1L, Long::sum);
+    }
+
+    private long getCarga(Evaluador evaluador) {
+      return carga.getOrDefault(evaluador.getId(), 0L);
+    }
+
+    private static boolean isPresidente(Evaluador evaluador) {
+      return PRESIDENTE.equalsIgnoreCase(evaluador.getCargoComite().getNombre());
+    }
+
+  }
+
+}
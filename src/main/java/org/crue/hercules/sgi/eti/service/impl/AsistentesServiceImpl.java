@@ -4,8 +4,8 @@ import org.crue.hercules.sgi.eti.exceptions.AsistentesNotFoundException;
 import org.crue.hercules.sgi.eti.model.Asistentes;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.repository.AsistentesRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.AsistentesService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -51,7 +51,7 @@ public class AsistentesServiceImpl implements AsistentesService {
    */
   public Page<Asistentes> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Asistentes> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Asistentes> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Asistentes> returnValue = asistentesRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
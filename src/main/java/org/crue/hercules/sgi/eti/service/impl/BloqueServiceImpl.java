@@ -4,8 +4,8 @@ import org.crue.hercules.sgi.eti.exceptions.BloqueNotFoundException;
 import org.crue.hercules.sgi.eti.model.Bloque;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.repository.BloqueRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.BloqueService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -44,7 +44,7 @@ public class BloqueServiceImpl implements BloqueService {
    */
   public Page<Bloque> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Bloque> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Bloque> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Bloque> returnValue = bloqueRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.CargoComiteNotFoundException;
 import org.crue.hercules.sgi.eti.model.CargoComite;
 import org.crue.hercules.sgi.eti.repository.CargoComiteRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.CargoComiteSpecifications;
 import org.crue.hercules.sgi.eti.service.CargoComiteService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class CargoComiteServiceImpl implements CargoComiteService {
   public Page<CargoComite> findAll(String query, Pageable paging) {
     log.debug("findAllCargoComite(String query,Pageable paging) - start");
     Specification<CargoComite> specs = CargoComiteSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<CargoComite> returnValue = cargoComiteRepository.findAll(specs, paging);
 
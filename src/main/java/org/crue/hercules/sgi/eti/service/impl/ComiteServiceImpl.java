@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.ComiteNotFoundException;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.repository.ComiteRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.ComiteSpecifications;
 import org.crue.hercules.sgi.eti.service.ComiteService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class ComiteServiceImpl implements ComiteService {
    */
   public Page<Comite> findAll(String query, Pageable paging) {
     log.debug("findAllComite(String query,Pageable paging) - start");
-    Specification<Comite> specs = ComiteSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<Comite> specs = ComiteSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<Comite> returnValue = comiteRepository.findAll(specs, paging);
     log.debug("findAllComite(String query,Pageable paging) - end");
@@ -0,0 +1,253 @@
+package org.crue.hercules.sgi.eti.service.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MultiMap;
+
+import org.crue.hercules.sgi.eti.model.ConflictoInteres;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.repository.ConflictoInteresRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria de los conflictos de intereses: para cada persona en
+ * conflicto, los identificadores de los {@link Evaluador} que tienen conflicto
+ * de intereses con ella.
+ *
+ * Se guarda en un MultiMap de Hazelcast, por lo que en un cluster lo comparten
+ * todos los nodos. Se carga de base de datos la primera vez que se usa y se
+ * mantiene con las altas, modificaciones y bajas de {@link ConflictoInteres}
+ * realizadas por {@link ConflictoInteresServiceImpl}, una vez confirmada la
+ * transacción.
+ *
+ * Cada carga se hace en un MultiMap nuevo, con el número de versión en el
+ * nombre, y se publica al terminar escribiendo esa versión en un IMap. Las
+ * consultas leen siempre la versión publicada, por lo que nunca ven un índice a
+ * medio cargar; si no hay ninguna publicada esperan a la carga. La carga y las
+ * modificaciones se hacen con el bloqueo de la clave de la versión, que es común
+ * a todo el cluster, por lo que solo carga un nodo y una carga no pisa una
+ * modificación confirmada mientras tanto.
+ *
+ * Los cambios en la tabla que no pasan por {@link ConflictoInteresServiceImpl}
+ * (scripts SQL, migraciones u otras aplicaciones) no se notifican al índice: la
+ * versión publicada caduca a los sgi.eti.conflicto-interes.index.ttl segundos y
+ * la siguiente consulta lo vuelve a cargar, o se puede forzar la recarga con
+ * {@link #invalidate()}.
+ */
+@Component
+@Slf4j
+public class ConflictoInteresIndex {
+
+  /** Prefijo del nombre de los MultiMap de Hazelcast, seguido de la versión. */
+  public static final String MAP_NAME = "conflicto-interes-evaluadores";
+  /** Nombre del IMap de Hazelcast con las versiones del índice. */
+  public static final String STATE_MAP_NAME = "conflicto-interes-evaluadores-estado";
+  /** Clave de la versión publicada, que caduca a los ttl segundos. */
+  private static final String VERSION = "version";
+  /** Clave de la última versión creada, publicada o no. */
+  private static final String LAST_VERSION = "last-version";
+
+  private final HazelcastInstance hazelcastInstance;
+  private final ConflictoInteresRepository conflictoInteresRepository;
+  private final boolean enabled;
+  private final long ttl;
+
+  public ConflictoInteresIndex(HazelcastInstance hazelcastInstance,
+      ConflictoInteresRepository conflictoInteresRepository,
+      @Value("${sgi.eti.conflicto-interes.index.enabled:false}") boolean enabled,
+      @Value("${sgi.eti.conflicto-interes.index.ttl:300}") long ttl) {
+    this.hazelcastInstance = hazelcastInstance;
+    this.conflictoInteresRepository = conflictoInteresRepository;
+    this.enabled = enabled;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Indica si se usa el índice. Si no se usa, los evaluadores con conflicto de
+   * intereses se obtienen de base de datos en cada consulta.
+   *
+   * @return true si el índice está activo.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Obtiene los identificadores de los {@link Evaluador} con conflicto de
+   * intereses con alguna de las personas indicadas.
+   *
+   * @param personaRefs referencias de las personas.
+   * @return identificadores de los evaluadores con conflicto de intereses.
+   */
+  public Set<Long> findEvaluadores(Collection<String> personaRefs) {
+    log.debug("findEvaluadores(Collection<String> personaRefs) - start");
+    MultiMap<String, Long> evaluadores = getEvaluadores();
+    Set<Long> returnValue = new HashSet<>();
+    for (String personaRef : personaRefs) {
+      returnValue.addAll(evaluadores.get(personaRef));
+    }
+    log.debug("findEvaluadores(Collection<String> personaRefs) - end");
+    return returnValue;
+  }
+
+  /**
+   * Añade al índice el {@link ConflictoInteres} cuando se confirme la
+   * transacción actual.
+   *
+   * @param conflictoInteres el {@link ConflictoInteres} creado.
+   */
+  public void add(ConflictoInteres conflictoInteres) {
+    if (!enabled) {
+      return;
+    }
+    String personaRef = conflictoInteres.getPersonaConflictoRef();
+    Long idEvaluador = conflictoInteres.getEvaluador().getId();
+    afterCommit(() -> whenLoaded(evaluadores -> evaluadores.put(personaRef, idEvaluador)));
+  }
+
+  /**
+   * Quita del índice el {@link ConflictoInteres} cuando se confirme la
+   * transacción actual, salvo que el evaluador tenga otro conflicto de intereses
+   * con la misma persona.
+   *
+   * @param conflictoInteres el {@link ConflictoInteres} eliminado.
+   */
+  public void remove(ConflictoInteres conflictoInteres) {
+    if (!enabled) {
+      return;
+    }
+    String personaRef = conflictoInteres.getPersonaConflictoRef();
+    Long idEvaluador = conflictoInteres.getEvaluador().getId();
+    afterCommit(() -> whenLoaded(evaluadores -> {
+      if (!conflictoInteresRepository.existsByEvaluadorIdAndPersonaConflictoRef(idEvaluador, personaRef)) {
+        evaluadores.remove(personaRef, idEvaluador);
+      }
+    }));
+  }
+
+  /**
+   * Marca el índice para que se vuelva a cargar de base de datos en la siguiente
+   * consulta cuando se confirme la transacción actual. Se usa cuando la tabla
+   * cambia sin pasar por {@link ConflictoInteresServiceImpl}.
+   */
+  public void invalidate() {
+    if (!enabled) {
+      return;
+    }
+    afterCommit(() -> getEstado().remove(VERSION));
+  }
+
+  /**
+   * Devuelve el MultiMap de la versión publicada del índice. Si no hay ninguna
+   * publicada o ha caducado, lo carga de base de datos con el bloqueo de la
+   * versión, por lo que solo lo carga un nodo del cluster y el resto espera a
+   * que se publique.
+   *
+   * @return el MultiMap del índice.
+   */
+  private MultiMap<String, Long> getEvaluadores() {
+    IMap<String, Long> estado = getEstado();
+    Long version = estado.get(VERSION);
+    if (version == null) {
+      estado.lock(VERSION);
+      try {
+        version = estado.get(VERSION);
+        if (version == null) {
+          version = load(estado);
+        }
+      } finally {
+        estado.unlock(VERSION);
+      }
+    }
+    return getEvaluadores(version);
+  }
+
+  /**
+   * Carga el índice de base de datos en un MultiMap de una versión nueva y la
+   * publica. Se llama con el bloqueo de la versión.
+   *
+   * Se borra el MultiMap de la versión anterior a la previa y no el de la
+   * previa, que puede estar leyendo una consulta que obtuvo esa versión justo
+   * antes de que caducara.
+   *
+   * @param estado IMap con las versiones del índice.
+   * @return la versión publicada.
+   */
+  private long load(IMap<String, Long> estado) {
+    log.info("Cargando el índice de conflictos de intereses");
+    Long lastVersion = estado.get(LAST_VERSION);
+    long version = lastVersion == null ? 1L : lastVersion + 1;
+    estado.put(LAST_VERSION, version);
+
+    MultiMap<String, Long> evaluadores = getEvaluadores(version);
+    Map<String, Set<Long>> conflictos = conflictoInteresRepository.findAllIdEvaluadorByPersonaConflictoRef();
+    conflictos.forEach(
+        (personaRef, idsEvaluador) -> idsEvaluador.forEach(idEvaluador -> evaluadores.put(personaRef, idEvaluador)));
+    estado.put(VERSION, version, ttl, TimeUnit.SECONDS);
+
+    if (version > 2) {
+      getEvaluadores(version - 2).destroy();
+    }
+    return version;
+  }
+
+  /**
+   * Aplica la modificación a la versión publicada del índice con el bloqueo de
+   * la versión, solo si hay una publicada. Si no la hay, la siguiente carga ya
+   * lee el cambio confirmado.
+   *
+   * @param modification modificación del MultiMap del índice.
+   */
+  private void whenLoaded(Consumer<MultiMap<String, Long>> modification) {
+    IMap<String, Long> estado = getEstado();
+    estado.lock(VERSION);
+    try {
+      Long version = estado.get(VERSION);
+      if (version != null) {
+        modification.accept(getEvaluadores(version));
+      }
+    } finally {
+      estado.unlock(VERSION);
+    }
+  }
+
+  private MultiMap<String, Long> getEvaluadores(long version) {
+    return hazelcastInstance.getMultiMap(MAP_NAME + "." + version);
+  }
+
+  private IMap<String, Long> getEstado() {
+    return hazelcastInstance.getMap(STATE_MAP_NAME);
+  }
+
+  /**
+   * Ejecuta la acción cuando se confirme la transacción actual, o
+   * inmediatamente si no hay transacción.
+   *
+   * @param action acción
+   */
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+}
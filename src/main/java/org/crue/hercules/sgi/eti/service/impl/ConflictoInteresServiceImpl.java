@@ -7,8 +7,8 @@ import org.crue.hercules.sgi.eti.model.ConflictoInteres;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.repository.ConflictoInteresRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.ConflictoInteresService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -27,11 +27,13 @@ import lombok.extern.slf4j.Slf4j;
 public class ConflictoInteresServiceImpl implements ConflictoInteresService {
   private final ConflictoInteresRepository conflictoInteresRepository;
   private final EvaluadorRepository evaluadorRepository;
+  private final ConflictoInteresIndex conflictoInteresIndex;
 
   public ConflictoInteresServiceImpl(ConflictoInteresRepository conflictoInteresRepository,
-      EvaluadorRepository evaluadorRepository) {
+      EvaluadorRepository evaluadorRepository, ConflictoInteresIndex conflictoInteresIndex) {
     this.conflictoInteresRepository = conflictoInteresRepository;
     this.evaluadorRepository = evaluadorRepository;
+    this.conflictoInteresIndex = conflictoInteresIndex;
   }
 
   /**
@@ -50,7 +52,9 @@ public class ConflictoInteresServiceImpl implements ConflictoInteresService {
       throw new ConflictoInteresNotFoundException(conflictoInteres.getId());
     }
     conflictoInteres.setEvaluador(evaluador.get());
-    return conflictoInteresRepository.save(conflictoInteres);
+    ConflictoInteres returnValue = conflictoInteresRepository.save(conflictoInteres);
+    conflictoInteresIndex.add(returnValue);
+    return returnValue;
   }
 
   /**
@@ -63,7 +67,7 @@ public class ConflictoInteresServiceImpl implements ConflictoInteresService {
    */
   public Page<ConflictoInteres> findAll(String query, Pageable paging) {
     log.debug("findAllConflictoInteres(String query,Pageable paging) - start");
-    Specification<ConflictoInteres> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<ConflictoInteres> specs = RsqlSpecifications.toSpecification(query);
 
     Page<ConflictoInteres> returnValue = conflictoInteresRepository.findAll(specs, paging);
 
@@ -98,10 +102,10 @@ public class ConflictoInteresServiceImpl implements ConflictoInteresService {
   public void delete(Long id) throws ConflictoInteresNotFoundException {
     log.debug("Petición a delete ConflictoInteres : {}  - start", id);
     Assert.notNull(id, "El id de ConflictoInteres no puede ser null.");
-    if (!conflictoInteresRepository.existsById(id)) {
-      throw new ConflictoInteresNotFoundException(id);
-    }
+    ConflictoInteres conflictoInteres = conflictoInteresRepository.findById(id)
+        .orElseThrow(() -> new ConflictoInteresNotFoundException(id));
     conflictoInteresRepository.deleteById(id);
+    conflictoInteresIndex.remove(conflictoInteres);
     log.debug("Petición a delete ConflictoInteres : {}  - end", id);
   }
 
@@ -112,6 +116,7 @@ public class ConflictoInteresServiceImpl implements ConflictoInteresService {
   public void deleteAll() {
     log.debug("Petición a deleteAll de ConflictoInteres: {} - start");
     conflictoInteresRepository.deleteAll();
+    conflictoInteresIndex.invalidate();
     log.debug("Petición a deleteAll de ConflictoInteres: {} - end");
 
   }
@@ -137,10 +142,13 @@ public class ConflictoInteresServiceImpl implements ConflictoInteresService {
         "ConflictoInteres id no puede ser null para actualizar un conflicto de interés");
 
     return conflictoInteresRepository.findById(conflictoInteresActualizar.getId()).map(conflictoInteres -> {
+      // Se quita del índice con los datos anteriores a la modificación
+      conflictoInteresIndex.remove(conflictoInteres);
       conflictoInteres.setEvaluador(conflictoInteresActualizar.getEvaluador());
       conflictoInteres.setPersonaConflictoRef(conflictoInteresActualizar.getPersonaConflictoRef());
 
       ConflictoInteres returnValue = conflictoInteresRepository.save(conflictoInteres);
+      conflictoInteresIndex.add(returnValue);
       log.debug("update(ConflictoInteres conflictoInteresActualizar) - end");
       return returnValue;
     }).orElseThrow(() -> new ConflictoInteresNotFoundException(conflictoInteresActualizar.getId()));
@@ -6,9 +6,9 @@ import org.crue.hercules.sgi.eti.dto.ConvocatoriaReunionDatosGenerales;
 import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.repository.ConvocatoriaReunionRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.ConvocatoriaReunionSpecifications;
 import org.crue.hercules.sgi.eti.service.ConvocatoriaReunionService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -148,7 +148,7 @@ public class ConvocatoriaReunionServiceImpl implements ConvocatoriaReunionServic
     log.debug("findAll(String query, Pageable paging) - start");
 
     Specification<ConvocatoriaReunion> specs = ConvocatoriaReunionSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<ConvocatoriaReunion> returnValue = repository.findAll(specs, paging);
 
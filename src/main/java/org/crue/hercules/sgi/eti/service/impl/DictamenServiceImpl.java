@@ -7,9 +7,9 @@ import java.util.List;
 import org.crue.hercules.sgi.eti.exceptions.DictamenNotFoundException;
 import org.crue.hercules.sgi.eti.model.Dictamen;
 import org.crue.hercules.sgi.eti.repository.DictamenRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.DictamenSpecifications;
 import org.crue.hercules.sgi.eti.service.DictamenService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -55,7 +55,7 @@ public class DictamenServiceImpl implements DictamenService {
    */
   public Page<Dictamen> findAll(String query, Pageable paging) {
     log.debug("findAllDictamen(String query, Pageable paging) - start");
-    Specification<Dictamen> specs = DictamenSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<Dictamen> specs = DictamenSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<Dictamen> returnValue = dictamenRepository.findAll(specs, paging);
     log.debug("findAllDictamen(String query, Pageable paging) - end");
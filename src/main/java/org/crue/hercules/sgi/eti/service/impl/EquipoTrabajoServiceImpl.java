@@ -7,8 +7,8 @@ import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.Tarea;
 import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.EquipoTrabajoService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -54,7 +54,7 @@ public class EquipoTrabajoServiceImpl implements EquipoTrabajoService {
    */
   public Page<EquipoTrabajo> findAll(String query, Pageable paging) {
     log.debug("findAllEquipoTrabajo(String query,Pageable paging) - start");
-    Specification<EquipoTrabajo> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<EquipoTrabajo> specs = RsqlSpecifications.toSpecification(query);
 
     Page<EquipoTrabajo> returnValue = equipoTrabajoRepository.findAll(specs, paging);
     log.debug("findAllEquipoTrabajo(String query,Pageable paging) - end");
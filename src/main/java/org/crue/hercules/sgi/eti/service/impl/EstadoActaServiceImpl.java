@@ -4,8 +4,8 @@ import org.crue.hercules.sgi.eti.exceptions.EstadoActaNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.TareaNotFoundException;
 import org.crue.hercules.sgi.eti.model.EstadoActa;
 import org.crue.hercules.sgi.eti.repository.EstadoActaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.EstadoActaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -51,7 +51,7 @@ public class EstadoActaServiceImpl implements EstadoActaService {
    */
   public Page<EstadoActa> findAll(String query, Pageable paging) {
     log.debug("findAll(String query, Pageable paging) - start");
-    Specification<EstadoActa> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<EstadoActa> specs = RsqlSpecifications.toSpecification(query);
 
     Page<EstadoActa> returnValue = estadoActaRepository.findAll(specs, paging);
     log.debug("findAll(String query, Pageable paging) - end");
@@ -3,8 +3,8 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.EstadoMemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.model.EstadoMemoria;
 import org.crue.hercules.sgi.eti.repository.EstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.EstadoMemoriaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -50,7 +50,7 @@ public class EstadoMemoriaServiceImpl implements EstadoMemoriaService {
    */
   public Page<EstadoMemoria> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<EstadoMemoria> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<EstadoMemoria> specs = RsqlSpecifications.toSpecification(query);
 
     Page<EstadoMemoria> returnValue = estadoMemoriaRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
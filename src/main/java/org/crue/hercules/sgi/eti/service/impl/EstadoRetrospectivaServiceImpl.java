@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.EstadoRetrospectivaNotFoundException;
 import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
 import org.crue.hercules.sgi.eti.repository.EstadoRetrospectivaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.EstadoRetrospectivaSpecifications;
 import org.crue.hercules.sgi.eti.service.EstadoRetrospectivaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -124,7 +124,7 @@ public class EstadoRetrospectivaServiceImpl implements EstadoRetrospectivaServic
   public Page<EstadoRetrospectiva> findAll(String query, Pageable paging) {
     log.debug("findAll(String query, Pageable paging) - start");
     Specification<EstadoRetrospectiva> specs = EstadoRetrospectivaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<EstadoRetrospectiva> returnValue = repository.findAll(specs, paging);
 
@@ -2,33 +2,51 @@ package org.crue.hercules.sgi.eti.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.crue.hercules.sgi.eti.converter.EvaluacionConverter;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.EvaluacionNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Comentario;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.EstadoMemoria;
+import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Retrospectiva;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
 import org.crue.hercules.sgi.eti.repository.ComentarioRepository;
 import org.crue.hercules.sgi.eti.repository.ConvocatoriaReunionRepository;
 import org.crue.hercules.sgi.eti.repository.EstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.EstadoRetrospectivaRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
 import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.crue.hercules.sgi.eti.repository.RetrospectivaRepository;
+import org.crue.hercules.sgi.eti.repository.TipoEstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.TipoEvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.EvaluacionSpecifications;
 import org.crue.hercules.sgi.eti.service.EvaluacionService;
 import org.crue.hercules.sgi.eti.service.MemoriaService;
 import org.crue.hercules.sgi.eti.util.Constantes;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -71,6 +89,18 @@ public class EvaluacionServiceImpl implements EvaluacionService {
   /** Evaluacion converter */
   private final EvaluacionConverter evaluacionConverter;
 
+  /** Evaluador repository */
+  private final EvaluadorRepository evaluadorRepository;
+
+  /** Tipo evaluación repository */
+  private final TipoEvaluacionRepository tipoEvaluacionRepository;
+
+  /** Tipo estado memoria repository */
+  private final TipoEstadoMemoriaRepository tipoEstadoMemoriaRepository;
+
+  /** Estado retrospectiva repository */
+  private final EstadoRetrospectivaRepository estadoRetrospectivaRepository;
+
   /**
    * Instancia un nuevo {@link EvaluacionServiceImpl}
    * 
@@ -83,12 +113,20 @@ public class EvaluacionServiceImpl implements EvaluacionService {
    * @param convocatoriaReunionRepository repository para
    *                                      {@link ConvocatoriaReunion}
    * @param evaluacionConverter           converter para {@link Evaluacion}
+   * @param evaluadorRepository           repository para {@link Evaluador}
+   * @param tipoEvaluacionRepository      repository para {@link TipoEvaluacion}
+   * @param tipoEstadoMemoriaRepository   repository para
+   *                                      {@link TipoEstadoMemoria}
+   * @param estadoRetrospectivaRepository repository para
+   *                                      {@link EstadoRetrospectiva}
    */
   public EvaluacionServiceImpl(EvaluacionRepository evaluacionRepository,
       EstadoMemoriaRepository estadoMemoriaRepository, RetrospectivaRepository retrospectivaRepository,
       MemoriaService memoriaService, ComentarioRepository comentarioRepository,
       ConvocatoriaReunionRepository convocatoriaReunionRepository, MemoriaRepository memoriaRepository,
-      EvaluacionConverter evaluacionConverter) {
+      EvaluacionConverter evaluacionConverter, EvaluadorRepository evaluadorRepository,
+      TipoEvaluacionRepository tipoEvaluacionRepository, TipoEstadoMemoriaRepository tipoEstadoMemoriaRepository,
+      EstadoRetrospectivaRepository estadoRetrospectivaRepository) {
 
     this.evaluacionRepository = evaluacionRepository;
     this.estadoMemoriaRepository = estadoMemoriaRepository;
@@ -98,6 +136,10 @@ public class EvaluacionServiceImpl implements EvaluacionService {
     this.comentarioRepository = comentarioRepository;
     this.memoriaRepository = memoriaRepository;
     this.evaluacionConverter = evaluacionConverter;
+    this.evaluadorRepository = evaluadorRepository;
+    this.tipoEvaluacionRepository = tipoEvaluacionRepository;
+    this.tipoEstadoMemoriaRepository = tipoEstadoMemoriaRepository;
+    this.estadoRetrospectivaRepository = estadoRetrospectivaRepository;
   }
 
   /**
@@ -153,41 +195,17 @@ public class EvaluacionServiceImpl implements EvaluacionService {
     evaluacion.setEsRevMinima(false);
     evaluacion.setFechaDictamen(evaluacion.getConvocatoriaReunion().getFechaEvaluacion().toLocalDate());
     evaluacion.setTipoEvaluacion(new TipoEvaluacion());
+    evaluacion.getTipoEvaluacion()
+        .setId(getIdTipoEvaluacion(evaluacion.getConvocatoriaReunion(), evaluacion.getMemoria()));
 
-    // Convocatoria Seguimiento
-    if (evaluacion.getConvocatoriaReunion().getTipoConvocatoriaReunion()
-        .getId() == Constantes.TIPO_CONVOCATORIA_REUNION_SEGUIMIENTO) {
-      // mismo tipo seguimiento que la memoria Anual(3) Final(4)
-      evaluacion.getTipoEvaluacion()
-          .setId((evaluacion.getMemoria().getEstadoActual()
-              .getId() == Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA_SEGUIMIENTO_ANUAL)
-                  ? Constantes.TIPO_EVALUACION_SEGUIMIENTO_ANUAL
-                  : Constantes.TIPO_EVALUACION_SEGUIMIENTO_FINAL);
+    if (evaluacion.getTipoEvaluacion().getId().equals(Constantes.TIPO_EVALUACION_RETROSPECTIVA)) {
+      // se actualiza el estado retrospectiva a 'En evaluación'
+      evaluacion.getMemoria().getRetrospectiva().getEstadoRetrospectiva()
+          .setId(Constantes.ESTADO_RETROSPECTIVA_EN_EVALUACION);
+    } else {
       // se actualiza estado de la memoria a 'En evaluación'
       evaluacion.getMemoria().getEstadoActual()
-          .setId((evaluacion.getMemoria().getEstadoActual()
-              .getId() == Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA_SEGUIMIENTO_ANUAL)
-                  ? Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION_SEGUIMIENTO_ANUAL
-                  : Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION_SEGUIMIENTO_FINAL);
-
-      // Convocatoria Ordinaria o Extraordinaria
-    } else {
-      // memoria 'en secretaría' y retrospectiva 'en secretaría'
-      if (evaluacion.getMemoria().getEstadoActual().getId() > Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA
-          && evaluacion.getMemoria().getRequiereRetrospectiva() && evaluacion.getMemoria().getRetrospectiva()
-              .getEstadoRetrospectiva().getId() == Constantes.ESTADO_RETROSPECTIVA_EN_SECRETARIA) {
-        // tipo retrospectiva
-        evaluacion.getTipoEvaluacion().setId(Constantes.TIPO_EVALUACION_RETROSPECTIVA);
-        // se actualiza el estado retrospectiva a 'En evaluación'
-        evaluacion.getMemoria().getRetrospectiva().getEstadoRetrospectiva()
-            .setId(Constantes.ESTADO_RETROSPECTIVA_EN_EVALUACION);
-
-      } else {
-        // tipo 'memoria'
-        evaluacion.getTipoEvaluacion().setId(Constantes.TIPO_EVALUACION_MEMORIA);
-        // se actualiza estado de la memoria a 'En evaluación'
-        evaluacion.getMemoria().getEstadoActual().setId(Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION);
-      }
+          .setId(getIdEstadoMemoriaEnEvaluacion(evaluacion.getTipoEvaluacion().getId()));
     }
 
     if (evaluacion.getTipoEvaluacion().getId().equals(2L)) {
@@ -209,6 +227,196 @@ public class EvaluacionServiceImpl implements EvaluacionService {
     return evaluacion;
   }
 
+  /**
+   * Crea las {@link Evaluacion} de varias {@link Memoria} de una
+   * {@link ConvocatoriaReunion} en una única transacción.
+   * 
+   * La convocatoria se comprueba una sola vez y las memorias, las memorias
+   * asignables a la convocatoria, los evaluadores y las versiones de las últimas
+   * evaluaciones se cargan con una consulta para todo el lote. Las evaluaciones,
+   * el histórico de estados de las memorias y los cambios de las memorias se
+   * escriben al final de la transacción en sentencias agrupadas. Las evaluaciones que no se pueden crear se devuelven
+   * con el motivo del error sin impedir la creación del resto.
+   *
+   * @param idConvocatoriaReunion identificador de la {@link ConvocatoriaReunion}.
+   * @param evaluaciones          las {@link Evaluacion} a crear, con la memoria
+   *                              y los dos evaluadores.
+   * @return el resultado de cada evaluación, en el mismo orden.
+   */
+  @Transactional
+  @Override
+  public List<EvaluacionBatchResult> createAll(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) {
+    log.debug("createAll(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) - start");
+    Assert.notNull(idConvocatoriaReunion, "La convocatoria de reunión no puede ser nula");
+    Assert.notEmpty(evaluaciones, "Debe indicarse al menos una evaluación");
+
+    ConvocatoriaReunion convocatoriaReunion = convocatoriaReunionRepository.findById(idConvocatoriaReunion)
+        .orElseThrow(() -> new ConvocatoriaReunionNotFoundException(idConvocatoriaReunion));
+
+    Set<Long> idsMemoria = evaluaciones.stream().map(Evaluacion::getMemoria).filter(Objects::nonNull)
+        .map(Memoria::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+    Set<Long> idsEvaluador = evaluaciones.stream()
+        .flatMap(evaluacion -> Stream.of(evaluacion.getEvaluador1(), evaluacion.getEvaluador2()))
+        .filter(Objects::nonNull).map(Evaluador::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+    Map<Long, Memoria> memorias = idsMemoria.isEmpty() ? Collections.emptyMap()
+        : memoriaRepository.findCambioEstadoByIdIn(idsMemoria).stream()
+            .collect(Collectors.toMap(Memoria::getId, Function.identity()));
+    Map<Long, Evaluador> evaluadores = evaluadorRepository.findAllById(idsEvaluador).stream()
+        .collect(Collectors.toMap(Evaluador::getId, Function.identity()));
+    Set<Long> idsMemoriaAsignables = idsMemoria.isEmpty() ? Collections.emptySet()
+        : new HashSet<>(memoriaRepository.findIdsMemoriasAsignablesConvocatoria(idConvocatoriaReunion, idsMemoria));
+    Map<Long, Integer> ultimasVersiones = evaluacionRepository.findUltimaVersionByMemoriaIdIn(idsMemoria);
+
+    LocalDateTime fechaEstado = LocalDateTime.now();
+    Set<Long> idsMemoriaAsignadas = new HashSet<>();
+    List<EvaluacionBatchResult> returnValue = new ArrayList<>();
+    List<Evaluacion> evaluacionesNuevas = new ArrayList<>();
+    List<EstadoMemoria> estadosMemoria = new ArrayList<>();
+
+    for (Evaluacion evaluacion : evaluaciones) {
+      Long idMemoria = evaluacion.getMemoria() == null ? null : evaluacion.getMemoria().getId();
+      Memoria memoria = memorias.get(idMemoria);
+      Evaluador evaluador1 = evaluacion.getEvaluador1() == null ? null
+          : evaluadores.get(evaluacion.getEvaluador1().getId());
+      Evaluador evaluador2 = evaluacion.getEvaluador2() == null ? null
+          : evaluadores.get(evaluacion.getEvaluador2().getId());
+
+      String error = getErrorAsignacion(convocatoriaReunion, evaluacion, memoria,
+          idsMemoriaAsignables.contains(idMemoria), evaluador1, evaluador2);
+      if (error == null && !idsMemoriaAsignadas.add(idMemoria)) {
+        error = "La memoria está repetida";
+      }
+      if (error != null) {
+        returnValue.add(new EvaluacionBatchResult(idMemoria, null, error));
+        continue;
+      }
+
+      Long idTipoEvaluacion = getIdTipoEvaluacion(convocatoriaReunion, memoria);
+      evaluacion.setConvocatoriaReunion(convocatoriaReunion);
+      evaluacion.setMemoria(memoria);
+      evaluacion.setEvaluador1(evaluador1);
+      evaluacion.setEvaluador2(evaluador2);
+      evaluacion.setActivo(true);
+      evaluacion.setEsRevMinima(false);
+      evaluacion.setFechaDictamen(convocatoriaReunion.getFechaEvaluacion().toLocalDate());
+      evaluacion.setTipoEvaluacion(tipoEvaluacionRepository.getOne(idTipoEvaluacion));
+
+      if (idTipoEvaluacion.equals(Constantes.TIPO_EVALUACION_MEMORIA)) {
+        evaluacion.setVersion(memoria.getVersion() + 1);
+        memoria.setVersion(evaluacion.getVersion());
+      } else {
+        evaluacion.setVersion(ultimasVersiones.getOrDefault(idMemoria, 0) + 1);
+      }
+
+      // La memoria y la retrospectiva están gestionadas, sus cambios se escriben
+      // al hacer flush
+      if (idTipoEvaluacion.equals(Constantes.TIPO_EVALUACION_RETROSPECTIVA)) {
+        memoria.getRetrospectiva().setEstadoRetrospectiva(
+            estadoRetrospectivaRepository.getOne(Constantes.ESTADO_RETROSPECTIVA_EN_EVALUACION));
+      } else {
+        memoria.setEstadoActual(tipoEstadoMemoriaRepository.getOne(getIdEstadoMemoriaEnEvaluacion(idTipoEvaluacion)));
+        estadosMemoria.add(new EstadoMemoria(null, memoria, memoria.getEstadoActual(), fechaEstado));
+      }
+
+      evaluacionesNuevas.add(evaluacion);
+      returnValue.add(new EvaluacionBatchResult(idMemoria, evaluacion, null));
+    }
+
+    estadoMemoriaRepository.saveAll(estadosMemoria);
+    evaluacionRepository.saveAll(evaluacionesNuevas);
+
+    log.debug("createAll(Long idConvocatoriaReunion, List<Evaluacion> evaluaciones) - end");
+    return returnValue;
+  }
+
+  /**
+   * Comprueba si se puede crear la {@link Evaluacion} de la {@link Memoria} en
+   * la {@link ConvocatoriaReunion} con los evaluadores indicados.
+   *
+   * @param convocatoriaReunion la {@link ConvocatoriaReunion}.
+   * @param evaluacion          la {@link Evaluacion} a crear.
+   * @param memoria             la {@link Memoria}, nula si no existe.
+   * @param asignable           si la memoria es asignable a la convocatoria.
+   * @param evaluador1          el primer {@link Evaluador}, nulo si no existe.
+   * @param evaluador2          el segundo {@link Evaluador}, nulo si no existe.
+   * @return el motivo por el que no se puede crear la evaluación o null si se
+   *         puede crear.
+   */
+  private String getErrorAsignacion(ConvocatoriaReunion convocatoriaReunion, Evaluacion evaluacion,
+      Memoria memoria, boolean asignable, Evaluador evaluador1, Evaluador evaluador2) {
+    if (evaluacion.getId() != null) {
+      return "Evaluacion id tiene que ser null para crear una nueva evaluacion";
+    }
+    if (evaluacion.getMemoria() == null || evaluacion.getMemoria().getId() == null) {
+      return "La memoria no puede ser nula";
+    }
+    if (memoria == null) {
+      return "La memoria no existe";
+    }
+    if (!asignable) {
+      return "La memoria no se puede asignar a la convocatoria de reunión";
+    }
+    if (evaluador1 == null || evaluador2 == null) {
+      return "Los evaluadores no existen";
+    }
+    if (evaluador1.getId().equals(evaluador2.getId())) {
+      return "Los evaluadores tienen que ser distintos";
+    }
+    Long idComite = convocatoriaReunion.getComite().getId();
+    if (!idComite.equals(evaluador1.getComite().getId()) || !idComite.equals(evaluador2.getComite().getId())) {
+      return "Los evaluadores tienen que ser del comité de la convocatoria de reunión";
+    }
+    return null;
+  }
+
+  /**
+   * Obtiene el tipo de la {@link Evaluacion} de una {@link Memoria} asignada a
+   * una {@link ConvocatoriaReunion}.
+   *
+   * @param convocatoriaReunion la {@link ConvocatoriaReunion}.
+   * @param memoria             la {@link Memoria}.
+   * @return el identificador del {@link TipoEvaluacion}.
+   */
+  private Long getIdTipoEvaluacion(ConvocatoriaReunion convocatoriaReunion, Memoria memoria) {
+    Long idEstadoMemoria = memoria.getEstadoActual().getId();
+
+    // Convocatoria Seguimiento
+    if (Constantes.TIPO_CONVOCATORIA_REUNION_SEGUIMIENTO
+        .equals(convocatoriaReunion.getTipoConvocatoriaReunion().getId())) {
+      // mismo tipo seguimiento que la memoria Anual(3) Final(4)
+      return Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA_SEGUIMIENTO_ANUAL.equals(idEstadoMemoria)
+          ? Constantes.TIPO_EVALUACION_SEGUIMIENTO_ANUAL
+          : Constantes.TIPO_EVALUACION_SEGUIMIENTO_FINAL;
+    }
+
+    // Convocatoria Ordinaria o Extraordinaria: memoria 'en secretaría' y
+    // retrospectiva 'en secretaría'
+    if (idEstadoMemoria > Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA && memoria.getRequiereRetrospectiva()
+        && Constantes.ESTADO_RETROSPECTIVA_EN_SECRETARIA
+            .equals(memoria.getRetrospectiva().getEstadoRetrospectiva().getId())) {
+      return Constantes.TIPO_EVALUACION_RETROSPECTIVA;
+    }
+    return Constantes.TIPO_EVALUACION_MEMORIA;
+  }
+
+  /**
+   * Obtiene el estado 'En evaluación' al que pasa la {@link Memoria} según el
+   * tipo de la {@link Evaluacion}.
+   *
+   * @param idTipoEvaluacion identificador del {@link TipoEvaluacion}.
+   * @return el identificador del {@link TipoEstadoMemoria}.
+   */
+  private Long getIdEstadoMemoriaEnEvaluacion(Long idTipoEvaluacion) {
+    if (Constantes.TIPO_EVALUACION_SEGUIMIENTO_ANUAL.equals(idTipoEvaluacion)) {
+      return Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION_SEGUIMIENTO_ANUAL;
+    }
+    if (Constantes.TIPO_EVALUACION_SEGUIMIENTO_FINAL.equals(idTipoEvaluacion)) {
+      return Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION_SEGUIMIENTO_FINAL;
+    }
+    return Constantes.TIPO_ESTADO_MEMORIA_EN_EVALUACION;
+  }
+
   /**
    * Obtiene todas las entidades {@link Evaluacion} paginadas y filtadas.
    *
@@ -218,13 +426,32 @@ public class EvaluacionServiceImpl implements EvaluacionService {
    */
   public Page<Evaluacion> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Evaluacion> specs = EvaluacionSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<Evaluacion> specs = EvaluacionSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<Evaluacion> returnValue = evaluacionRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
     return returnValue;
   }
 
+  /**
+   * Obtener una página de entidades {@link Evaluacion} filtradas mediante
+   * paginación por cursor (sin recuento del total).
+   *
+   * @param query  la información del filtro.
+   * @param paging tamaño de página y ordenación.
+   * @param cursor cursor de la página anterior (null para la primera página).
+   * @return la página de entidades {@link Evaluacion}.
+   */
+  @Override
+  public KeysetPage<Evaluacion> findAllKeyset(String query, Pageable paging, String cursor) {
+    log.debug("findAllKeyset(String query, Pageable paging, String cursor) - start");
+    Specification<Evaluacion> specs = EvaluacionSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
+
+    KeysetPage<Evaluacion> returnValue = evaluacionRepository.findAllKeyset(specs, paging, cursor);
+    log.debug("findAllKeyset(String query, Pageable paging, String cursor) - end");
+    return returnValue;
+  }
+
   /**
    * Obtiene la lista de evaluaciones activas de una convocatoria reunion que no
    * estan en revisión mínima.
@@ -241,7 +468,7 @@ public class EvaluacionServiceImpl implements EvaluacionService {
         "findAllByConvocatoriaReunionIdAndNoEsRevMinima(Long idConvocatoriaReunion, String query, Pageable pageable) - start");
     Specification<Evaluacion> specs = EvaluacionSpecifications.byConvocatoriaReunionId(idConvocatoriaReunion)
         .and(EvaluacionSpecifications.byEsRevMinima(false)).and(EvaluacionSpecifications.activos())
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<Evaluacion> returnValue = evaluacionRepository.findAll(specs, paging);
 
@@ -1,16 +1,16 @@
 package org.crue.hercules.sgi.eti.service.impl;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.crue.hercules.sgi.eti.exceptions.EvaluadorNotFoundException;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.EvaluadorSpecifications;
 import org.crue.hercules.sgi.eti.service.EvaluadorService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -28,9 +28,14 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class EvaluadorServiceImpl implements EvaluadorService {
   private final EvaluadorRepository evaluadorRepository;
+  private final EquipoTrabajoRepository equipoTrabajoRepository;
+  private final ConflictoInteresIndex conflictoInteresIndex;
 
-  public EvaluadorServiceImpl(EvaluadorRepository evaluadorRepository) {
+  public EvaluadorServiceImpl(EvaluadorRepository evaluadorRepository, EquipoTrabajoRepository equipoTrabajoRepository,
+      ConflictoInteresIndex conflictoInteresIndex) {
     this.evaluadorRepository = evaluadorRepository;
+    this.equipoTrabajoRepository = equipoTrabajoRepository;
+    this.conflictoInteresIndex = conflictoInteresIndex;
   }
 
   /**
@@ -66,35 +71,10 @@ public class EvaluadorServiceImpl implements EvaluadorService {
    * @return true or false si el presidente está en el rango de fechas correcto
    */
   public Boolean isPresidenteInFechasOk(Evaluador evaluador) {
-    Specification<Evaluador> specActivos = EvaluadorSpecifications.activos();
-    Specification<Evaluador> specPresidentes = EvaluadorSpecifications.presidentes();
-    Specification<Evaluador> specInFechas = EvaluadorSpecifications.inFechas(evaluador.getFechaAlta(),
-        evaluador.getFechaBaja());
-    Specification<Evaluador> specComite = EvaluadorSpecifications.byComite(evaluador.getComite().getComite());
-    Specification<Evaluador> specs = Specification.where(specActivos).and(specPresidentes).and(specInFechas)
-        .and(specComite);
-
-    Specification<Evaluador> specFechaBajaNull = EvaluadorSpecifications.byFechaBajaNull();
-    Specification<Evaluador> specsFechaBajaNull = Specification.where(specActivos).and(specPresidentes)
-        .and(specFechaBajaNull).and(specComite);
-
-    List<Evaluador> evaluadoresFechaBajaNull = evaluadorRepository.findAll(specsFechaBajaNull).stream()
-        .filter(eval -> evaluador.getId() != null ? eval.getId() != evaluador.getId() : true)
-        .filter(
-            eval -> evaluador.getFechaBaja() != null ? eval.getFechaAlta().isBefore(evaluador.getFechaBaja()) : true)
-        .collect(Collectors.toList());
-
-    if (evaluadoresFechaBajaNull.size() == 0) {
-      List<Evaluador> returnValue = evaluadorRepository.findAll(specs).stream()
-          .filter(eval -> evaluador.getId() != null ? eval.getId() != evaluador.getId() : true)
-          .collect(Collectors.toList());
-      // Si existen registros en las fechas en las que opera el nuevo presidente, el
-      // rango de fechas es incorrecto
-      return !(returnValue.size() > 0);
-    } else {
-      return false;
-    }
-
+    // Si existen registros en las fechas en las que opera el nuevo presidente, el
+    // rango de fechas es incorrecto
+    return !evaluadorRepository.existsPresidenteInFechas(evaluador.getComite().getId(), evaluador.getFechaAlta(),
+        evaluador.getFechaBaja(), evaluador.getId());
   }
 
   /**
@@ -105,32 +85,8 @@ public class EvaluadorServiceImpl implements EvaluadorService {
    * @return true or false si el evaluador cumple con las condiciones
    */
   public Boolean isEvaluadorInFechasOk(Evaluador evaluador) {
-    Specification<Evaluador> specActivos = EvaluadorSpecifications.activos();
-    Specification<Evaluador> specInFechas = EvaluadorSpecifications.inFechas(evaluador.getFechaAlta(),
-        evaluador.getFechaBaja());
-    Specification<Evaluador> specPersonaRef = EvaluadorSpecifications.byPersonaRef(evaluador.getPersonaRef());
-    Specification<Evaluador> specComite = EvaluadorSpecifications.byComite(evaluador.getComite().getComite());
-    Specification<Evaluador> specs = Specification.where(specActivos).and(specPersonaRef).and(specInFechas)
-        .and(specComite);
-
-    Specification<Evaluador> specFechaBajaNull = EvaluadorSpecifications.byFechaBajaNull();
-    Specification<Evaluador> specsFechaBajaNull = Specification.where(specActivos).and(specPersonaRef)
-        .and(specFechaBajaNull).and(specComite);
-
-    List<Evaluador> evaluadoresFechaBajaNull = evaluadorRepository.findAll(specsFechaBajaNull).stream()
-        .filter(eval -> evaluador.getId() != null ? eval.getId() != evaluador.getId() : true)
-        .filter(
-            eval -> evaluador.getFechaBaja() != null ? eval.getFechaAlta().isBefore(evaluador.getFechaBaja()) : true)
-        .collect(Collectors.toList());
-
-    if (evaluadoresFechaBajaNull.size() == 0) {
-      List<Evaluador> returnValue = evaluadorRepository.findAll(specs).stream()
-          .filter(eval -> evaluador.getId() != null ? eval.getId() != evaluador.getId() : true)
-          .collect(Collectors.toList());
-      return !(returnValue.size() > 0);
-    } else {
-      return false;
-    }
+    return !evaluadorRepository.existsEvaluadorInFechas(evaluador.getComite().getId(), evaluador.getPersonaRef(),
+        evaluador.getFechaAlta(), evaluador.getFechaBaja(), evaluador.getId());
   }
 
   /**
@@ -143,7 +99,7 @@ public class EvaluadorServiceImpl implements EvaluadorService {
   @Override
   public Page<Evaluador> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Evaluador> specs = EvaluadorSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<Evaluador> specs = EvaluadorSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<Evaluador> returnValue = evaluadorRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
@@ -163,8 +119,19 @@ public class EvaluadorServiceImpl implements EvaluadorService {
   @Override
   public Page<Evaluador> findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) {
     log.debug("findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) - start");
-    Page<Evaluador> returnValue = evaluadorRepository.findAllByComiteSinconflictoInteresesMemoria(idComite, idMemoria,
-        pageable);
+    Page<Evaluador> returnValue;
+    if (conflictoInteresIndex.isEnabled()) {
+      // Los evaluadores con conflicto de intereses con el equipo de trabajo se
+      // obtienen del índice en memoria
+      Set<Long> idsEvaluadorConflicto = conflictoInteresIndex
+          .findEvaluadores(equipoTrabajoRepository.findPersonaRefByMemoriaId(idMemoria));
+      Specification<Evaluador> specs = EvaluadorSpecifications.activos()
+          .and(EvaluadorSpecifications.byComiteId(idComite))
+          .and(EvaluadorSpecifications.byIdNotIn(idsEvaluadorConflicto));
+      returnValue = evaluadorRepository.findAll(specs, pageable);
+    } else {
+      returnValue = evaluadorRepository.findAllByComiteSinconflictoInteresesMemoria(idComite, idMemoria, pageable);
+    }
     log.debug("findAllByComiteSinconflictoInteresesMemoria(Long idComite, Long idMemoria, Pageable pageable) - end");
     return returnValue;
   }
@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.FormacionEspecificaNotFoundException;
 import org.crue.hercules.sgi.eti.model.FormacionEspecifica;
 import org.crue.hercules.sgi.eti.repository.FormacionEspecificaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.FormacionEspecificaSpecifications;
 import org.crue.hercules.sgi.eti.service.FormacionEspecificaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -54,7 +54,7 @@ public class FormacionEspecificaServiceImpl implements FormacionEspecificaServic
   public Page<FormacionEspecifica> findAll(String query, Pageable paging) {
     log.debug("findAllFormacionEspecifica(String query,Pageable paging) - start");
     Specification<FormacionEspecifica> specs = FormacionEspecificaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<FormacionEspecifica> returnValue = formacionEspecificaRepository.findAll(specs, paging);
     log.debug("findAllFormacionEspecifica(String query,Pageable paging) - end");
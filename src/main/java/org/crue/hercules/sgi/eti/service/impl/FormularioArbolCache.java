@@ -0,0 +1,95 @@
+package org.crue.hercules.sgi.eti.service.impl;
+
+import java.util.function.Function;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caché de los {@link FormularioArbol} serializados y comprimidos, por
+ * identificador de {@link Formulario}.
+ *
+ * Se guarda en un IMap de Hazelcast, por lo que en un cluster la comparten
+ * todos los nodos. Las entradas caducan según la configuración del mapa en
+ * hazelcast.xml y se invalidan cuando {@link FormularioServiceImpl} modifica o
+ * elimina el formulario, una vez confirmada la transacción.
+ */
+@Component
+@Slf4j
+public class FormularioArbolCache {
+
+  /** Nombre del IMap de Hazelcast. */
+  public static final String MAP_NAME = "formulario-arbol";
+
+  private final HazelcastInstance hazelcastInstance;
+
+  public FormularioArbolCache(HazelcastInstance hazelcastInstance) {
+    this.hazelcastInstance = hazelcastInstance;
+  }
+
+  /**
+   * Obtiene el árbol serializado de un {@link Formulario}, construyéndolo y
+   * guardándolo en la caché si no está.
+   *
+   * @param id     identificador del {@link Formulario}.
+   * @param loader construye el árbol serializado si no está en la caché.
+   * @return el árbol serializado.
+   */
+  public FormularioArbolSerializado get(Long id, Function<Long, FormularioArbolSerializado> loader) {
+    log.debug("get(Long id, Function<Long, FormularioArbolSerializado> loader) - start");
+    IMap<Long, FormularioArbolSerializado> arboles = hazelcastInstance.getMap(MAP_NAME);
+    FormularioArbolSerializado returnValue = arboles.get(id);
+    if (returnValue == null) {
+      returnValue = loader.apply(id);
+      arboles.set(id, returnValue);
+    }
+    log.debug("get(Long id, Function<Long, FormularioArbolSerializado> loader) - end");
+    return returnValue;
+  }
+
+  /**
+   * Quita de la caché el árbol del {@link Formulario} cuando se confirme la
+   * transacción actual.
+   *
+   * @param id identificador del {@link Formulario}.
+   */
+  public void evict(Long id) {
+    afterCommit(() -> hazelcastInstance.getMap(MAP_NAME).delete(id));
+  }
+
+  /**
+   * Vacía la caché cuando se confirme la transacción actual.
+   */
+  public void clear() {
+    afterCommit(() -> hazelcastInstance.getMap(MAP_NAME).clear());
+  }
+
+  /**
+   * Ejecuta la acción cuando se confirme la transacción actual, o
+   * inmediatamente si no hay transacción.
+   *
+   * @param action acción
+   */
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+}
@@ -1,16 +1,26 @@
 package org.crue.hercules.sgi.eti.service.impl;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
 import org.crue.hercules.sgi.eti.exceptions.FormularioNotFoundException;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.repository.FormularioRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.FormularioService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,9 +32,14 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class FormularioServiceImpl implements FormularioService {
   private final FormularioRepository formularioRepository;
+  private final FormularioArbolCache formularioArbolCache;
+  private final ObjectMapper objectMapper;
 
-  public FormularioServiceImpl(FormularioRepository formularioRepository) {
+  public FormularioServiceImpl(FormularioRepository formularioRepository, FormularioArbolCache formularioArbolCache,
+      ObjectMapper objectMapper) {
     this.formularioRepository = formularioRepository;
+    this.formularioArbolCache = formularioArbolCache;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -50,7 +65,7 @@ public class FormularioServiceImpl implements FormularioService {
    */
   public Page<Formulario> findAll(String query, Pageable paging) {
     log.debug("findAllFormulario(String query,Pageable paging) - start");
-    Specification<Formulario> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Formulario> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Formulario> returnValue = formularioRepository.findAll(specs, paging);
     log.debug("findAllFormulario(String query,Pageable paging) - end");
@@ -74,6 +89,27 @@ public class FormularioServiceImpl implements FormularioService {
 
   }
 
+  /**
+   * Obtiene el {@link FormularioArbol} de un {@link Formulario} serializado a
+   * JSON y comprimido con GZIP.
+   * 
+   * El árbol se obtiene de base de datos con una única consulta y se guarda ya
+   * serializado en la caché, por lo que las siguientes peticiones no lo vuelven
+   * a construir ni a serializar.
+   *
+   * @param id el id de la entidad {@link Formulario}.
+   * @return el árbol del formulario serializado.
+   * @throws FormularioNotFoundException Si no existe ningún {@link Formulario}
+   *                                     con ese id.
+   */
+  public FormularioArbolSerializado findArbolSerializadoById(final Long id) throws FormularioNotFoundException {
+    log.debug("findArbolSerializadoById(Long id) - start");
+    FormularioArbolSerializado returnValue = formularioArbolCache.get(id, idFormulario -> serializar(
+        formularioRepository.findArbolById(idFormulario).orElseThrow(() -> new FormularioNotFoundException(id))));
+    log.debug("findArbolSerializadoById(Long id) - end");
+    return returnValue;
+  }
+
   /**
    * Elimina una entidad {@link Formulario} por id.
    *
@@ -87,6 +123,7 @@ public class FormularioServiceImpl implements FormularioService {
       throw new FormularioNotFoundException(id);
     }
     formularioRepository.deleteById(id);
+    formularioArbolCache.evict(id);
     log.debug("Petición a delete Formulario : {}  - end", id);
   }
 
@@ -97,6 +134,7 @@ public class FormularioServiceImpl implements FormularioService {
   public void deleteAll() {
     log.debug("Petición a deleteAll de Formulario: {} - start");
     formularioRepository.deleteAll();
+    formularioArbolCache.clear();
     log.debug("Petición a deleteAll de Formulario: {} - end");
 
   }
@@ -122,9 +160,30 @@ public class FormularioServiceImpl implements FormularioService {
       formulario.setDescripcion(formularioActualizar.getDescripcion());
 
       Formulario returnValue = formularioRepository.save(formulario);
+      formularioArbolCache.evict(formulario.getId());
       log.debug("update(Formulario FormularioActualizar) - end");
       return returnValue;
     }).orElseThrow(() -> new FormularioNotFoundException(formularioActualizar.getId()));
   }
 
+  /**
+   * Serializa el árbol a JSON y lo comprime con GZIP. El ETag es el MD5 del JSON
+   * sin comprimir.
+   * 
+   * @param arbol el árbol del formulario.
+   * @return el árbol serializado.
+   */
+  private FormularioArbolSerializado serializar(FormularioArbol arbol) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(arbol);
+      ByteArrayOutputStream contenido = new ByteArrayOutputStream(json.length / 4);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(contenido)) {
+        gzip.write(json);
+      }
+      return new FormularioArbolSerializado(contenido.toByteArray(), "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
 }
@@ -4,8 +4,8 @@ import org.crue.hercules.sgi.eti.exceptions.InformeNotFoundException;
 import org.crue.hercules.sgi.eti.model.Informe;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.repository.InformeRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.InformeService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -51,7 +51,7 @@ public class InformeServiceImpl implements InformeService {
    */
   public Page<Informe> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Informe> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Informe> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Informe> returnValue = informeRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
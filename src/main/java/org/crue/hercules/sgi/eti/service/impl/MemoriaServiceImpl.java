@@ -2,12 +2,17 @@ package org.crue.hercules.sgi.eti.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.apache.commons.lang3.StringUtils;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.exceptions.ComiteNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.EstadoRetrospectivaNotFoundException;
@@ -16,13 +21,11 @@ import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.PeticionEvaluacionNotFoundException;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
-import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
 import org.crue.hercules.sgi.eti.model.EstadoMemoria;
 import org.crue.hercules.sgi.eti.model.EstadoRetrospectiva;
 import org.crue.hercules.sgi.eti.model.Evaluacion;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
-import org.crue.hercules.sgi.eti.model.Respuesta;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoMemoria;
 import org.crue.hercules.sgi.eti.repository.ComentarioRepository;
@@ -34,11 +37,11 @@ import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
 import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.crue.hercules.sgi.eti.repository.PeticionEvaluacionRepository;
 import org.crue.hercules.sgi.eti.repository.RespuestaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.MemoriaSpecifications;
 import org.crue.hercules.sgi.eti.service.InformeService;
 import org.crue.hercules.sgi.eti.service.MemoriaService;
 import org.crue.hercules.sgi.eti.util.Constantes;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -57,6 +60,15 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class MemoriaServiceImpl implements MemoriaService {
 
+  /**
+   * Serie del contador de referencias compartida por las memorias nuevas y las
+   * ratificaciones.
+   */
+  private static final String SERIE_REFERENCIA_MEMORIA = "MEMORIA";
+
+  /** Mapper para construir los JSON del filtro por respuestas. */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   /** Comentario repository */
   private final ComentarioRepository comentarioRepository;
 
@@ -167,24 +179,9 @@ public class MemoriaServiceImpl implements MemoriaService {
 
     final Memoria memoriaCreada = memoriaRepository.save(nuevaMemoria);
 
-    Page<DocumentacionMemoria> documentacionesMemoriaPage = documentacionMemoriaRepository
-        .findByMemoriaIdAndMemoriaActivoTrue(memoria.getId(), null);
-
-    List<DocumentacionMemoria> documentacionesMemoriaList = documentacionesMemoriaPage.getContent().stream()
-        .map(documentacionMemoria -> {
-          return new DocumentacionMemoria(null, memoriaCreada, documentacionMemoria.getTipoDocumento(),
-              documentacionMemoria.getDocumentoRef(), documentacionMemoria.getAportado());
-        }).collect(Collectors.toList());
-
-    documentacionMemoriaRepository.saveAll(documentacionesMemoriaList);
-
-    Page<Respuesta> respuestasPage = respuestaRepository.findByMemoriaIdAndMemoriaActivoTrue(memoria.getId(), null);
-
-    List<Respuesta> respuestaList = respuestasPage.getContent().stream().map(respuesta -> {
-      return new Respuesta(null, memoriaCreada, respuesta.getApartado(), respuesta.getValor());
-    }).collect(Collectors.toList());
-
-    respuestaRepository.saveAll(respuestaList);
+    // La documentación y las respuestas se copian en base de datos sin cargarlas
+    documentacionMemoriaRepository.copyByMemoriaId(memoria.getId(), memoriaCreada.getId());
+    respuestaRepository.copyByMemoriaId(memoria.getId(), memoriaCreada.getId());
 
     log.debug("Memoria createModificada(Memoria memoria, id) - end");
     return memoriaCreada;
@@ -202,13 +199,71 @@ public class MemoriaServiceImpl implements MemoriaService {
   @Override
   public Page<MemoriaPeticionEvaluacion> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Memoria> specs = MemoriaSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<Memoria> specs = MemoriaSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<MemoriaPeticionEvaluacion> returnValue = memoriaRepository.findAllMemoriasEvaluaciones(specs, paging, null);
     log.debug("findAll(String query,Pageable paging) - end");
     return returnValue;
   }
 
+  /**
+   * Obtiene todas las entidades {@link MemoriaPeticionEvaluacion} paginadas y
+   * filtadas que tengan en sus respuestas los valores indicados.
+   * 
+   * Cada valor se busca como texto en la ruta indicada (por ejemplo
+   * "animales.especie") de alguna de las respuestas de la memoria. La búsqueda
+   * se hace en base de datos y en PostgreSQL usa el índice GIN de las
+   * respuestas.
+   *
+   * @param query      información del filtro.
+   * @param respuestas valores de las respuestas por ruta del campo.
+   * @param paging     la información de paginación.
+   * @return el listado de entidades {@link MemoriaPeticionEvaluacion} paginadas y
+   *         filtradas.
+   */
+  @Override
+  public Page<MemoriaPeticionEvaluacion> findAll(String query, Map<String, String> respuestas, Pageable paging) {
+    log.debug("findAll(String query, Map<String, String> respuestas, Pageable paging) - start");
+    List<String> contenidos = new ArrayList<>();
+    respuestas.forEach((ruta, valor) -> contenidos.add(getContenidoRespuesta(ruta, valor)));
+    Specification<Memoria> specs = MemoriaSpecifications.activos().and(RsqlSpecifications.toSpecification(query))
+        .and(MemoriaSpecifications.respuestasContienen(contenidos));
+
+    Page<MemoriaPeticionEvaluacion> returnValue = memoriaRepository.findAllMemoriasEvaluaciones(specs, paging, null);
+    log.debug("findAll(String query, Map<String, String> respuestas, Pageable paging) - end");
+    return returnValue;
+  }
+
+  /**
+   * Obtener una página de entidades {@link Memoria} filtradas mediante
+   * paginación por cursor (sin recuento del total), que tengan en sus
+   * respuestas los valores indicados.
+   *
+   * @param query      la información del filtro.
+   * @param respuestas valores de las respuestas por ruta del campo (vacío para
+   *                   no filtrar por respuestas).
+   * @param paging     tamaño de página y ordenación.
+   * @param cursor     cursor de la página anterior (null para la primera
+   *                   página).
+   * @return la página de entidades {@link Memoria}.
+   */
+  @Override
+  public KeysetPage<MemoriaPeticionEvaluacion> findAllKeyset(String query, Map<String, String> respuestas,
+      Pageable paging, String cursor) {
+    log.debug("findAllKeyset(String query, Map<String, String> respuestas, Pageable paging, String cursor) - start");
+    Specification<Memoria> specs = MemoriaSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
+    if (!respuestas.isEmpty()) {
+      List<String> contenidos = new ArrayList<>();
+      respuestas.forEach((ruta, valor) -> contenidos.add(getContenidoRespuesta(ruta, valor)));
+      specs = specs.and(MemoriaSpecifications.respuestasContienen(contenidos));
+    }
+
+    KeysetPage<MemoriaPeticionEvaluacion> returnValue = memoriaRepository.findAllMemoriasEvaluacionesKeyset(specs,
+        paging, cursor, null);
+    log.debug("findAllKeyset(String query, Map<String, String> respuestas, Pageable paging, String cursor) - end");
+    return returnValue;
+  }
+
   /**
    * 
    * Devuelve una lista paginada de {@link Memoria} asignables para una
@@ -259,7 +314,7 @@ public class MemoriaServiceImpl implements MemoriaService {
     Specification<Memoria> specs = MemoriaSpecifications.activos()
         .and(MemoriaSpecifications.estadoActualIn(Arrays.asList(Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA)).or(
             MemoriaSpecifications.estadoRetrospectivaIn(Arrays.asList(Constantes.ESTADO_RETROSPECTIVA_EN_SECRETARIA))))
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<Memoria> returnValue = memoriaRepository.findAll(specs, pageable);
 
@@ -290,7 +345,7 @@ public class MemoriaServiceImpl implements MemoriaService {
         .and(MemoriaSpecifications
             .estadoActualIn(Arrays.asList(Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA_SEGUIMIENTO_ANUAL,
                 Constantes.TIPO_ESTADO_MEMORIA_EN_SECRETARIA_SEGUIMIENTO_FINAL)))
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<Memoria> returnValue = memoriaRepository.findAll(specs, pageable);
 
@@ -421,6 +476,33 @@ public class MemoriaServiceImpl implements MemoriaService {
     log.debug("updateEstadoMemoria(Memoria memoria, Long idEstadoMemoria) - end");
   }
 
+  /**
+   * Actualiza el estado de todas las {@link Memoria} recibidas al mismo estado
+   * (un único INSERT del histórico de estados y un único UPDATE de las
+   * memorias).
+   * 
+   * @param idsMemoria          identificadores de las memorias a actualizar.
+   * @param idTipoEstadoMemoria del estado de la memoria nuevo.
+   */
+  @Override
+  @Transactional
+  public void updateEstadoMemorias(List<Long> idsMemoria, long idTipoEstadoMemoria) {
+    log.debug("updateEstadoMemorias(List<Long> idsMemoria, long idTipoEstadoMemoria) - start");
+
+    if (idsMemoria == null || idsMemoria.isEmpty()) {
+      log.debug("updateEstadoMemorias(List<Long> idsMemoria, long idTipoEstadoMemoria) - end");
+      return;
+    }
+
+    // se crea el nuevo estado para todas las memorias
+    estadoMemoriaRepository.insertByMemoriaIdIn(idsMemoria, idTipoEstadoMemoria, LocalDateTime.now());
+
+    // Se actualizan las memorias con el nuevo tipo estado memoria
+    memoriaRepository.updateEstadoActualByIdIn(idsMemoria, idTipoEstadoMemoria);
+
+    log.debug("updateEstadoMemorias(List<Long> idsMemoria, long idTipoEstadoMemoria) - end");
+  }
+
   /**
    * Obtiene todas las entidades {@link Memoria} paginadas y filtadas.
    *
@@ -437,7 +519,7 @@ public class MemoriaServiceImpl implements MemoriaService {
     // TODO: Eliminar cuando el custom repository contemple Predicates a null
     Specification<Memoria> specs = null;
     if (StringUtils.isNotBlank(query)) {
-      specs = SgiRSQLJPASupport.toSpecification(query);
+      specs = RsqlSpecifications.toSpecification(query);
     }
 
     Page<MemoriaPeticionEvaluacion> page = memoriaRepository.findAllMemoriasEvaluaciones(specs, paging, personaRef);
@@ -541,18 +623,16 @@ public class MemoriaServiceImpl implements MemoriaService {
   public Memoria getEstadoAnteriorMemoria(Memoria memoria, Boolean cambiarEstadoRetrospectiva) {
 
     if (memoria.getRetrospectiva() == null || !cambiarEstadoRetrospectiva) {
-      List<EstadoMemoria> estadosMemoria = estadoMemoriaRepository
-          .findAllByMemoriaIdOrderByFechaEstadoDesc(memoria.getId());
-
-      Optional<EstadoMemoria> estadoAnteriorMemoria = estadosMemoria.stream()
-          .filter(estadoMemoria -> estadoMemoria.getTipoEstadoMemoria().getId() != memoria.getEstadoActual().getId())
-          .findFirst();
+      // Solo se recuperan del histórico el último estado distinto al actual y el
+      // último registro del estado actual
+      Long idEstadoActual = memoria.getEstadoActual().getId();
+      Optional<EstadoMemoria> estadoAnteriorMemoria = estadoMemoriaRepository
+          .findFirstByMemoriaIdAndTipoEstadoMemoriaIdNotOrderByFechaEstadoDesc(memoria.getId(), idEstadoActual);
 
       Assert.isTrue(estadoAnteriorMemoria.isPresent(), "No se puede recuperar el estado anterior de la memoria");
 
-      Optional<EstadoMemoria> estadoMemoriaActual = estadosMemoria.stream()
-          .filter(estadoMemoria -> estadoMemoria.getTipoEstadoMemoria().getId() == memoria.getEstadoActual().getId())
-          .findAny();
+      Optional<EstadoMemoria> estadoMemoriaActual = estadoMemoriaRepository
+          .findFirstByMemoriaIdAndTipoEstadoMemoriaIdOrderByFechaEstadoDesc(memoria.getId(), idEstadoActual);
 
       Assert.isTrue(estadoMemoriaActual.isPresent(), "No se puede recuperar el estado actual de la memoria");
 
@@ -585,7 +665,7 @@ public class MemoriaServiceImpl implements MemoriaService {
     log.debug("enviarSecretaria(Long id) - start");
     Assert.notNull(idMemoria, "Memoria id no puede ser null para actualizar la memoria");
 
-    memoriaRepository.findById(idMemoria).map(memoria -> {
+    memoriaRepository.findCambioEstadoById(idMemoria).map(memoria -> {
       Assert.isTrue(
           memoria.getEstadoActual().getId() == 2L || memoria.getEstadoActual().getId() == 6L
               || memoria.getEstadoActual().getId() == 7L || memoria.getEstadoActual().getId() == 8L
@@ -672,7 +752,7 @@ public class MemoriaServiceImpl implements MemoriaService {
     log.debug("enviarSecretariaRetrospectiva(Long id) - start");
     Assert.notNull(idMemoria, "Memoria id no puede ser null para actualizar la memoria");
 
-    memoriaRepository.findById(idMemoria).map(memoria -> {
+    memoriaRepository.findCambioEstadoById(idMemoria).map(memoria -> {
       // Si el estado es 'Completada', Requiere retrospectiva y el comité es CEEA
       Assert.isTrue(
           (memoria.getEstadoActual().getId() == 2L && memoria.getRequiereRetrospectiva()
@@ -754,60 +834,37 @@ public class MemoriaServiceImpl implements MemoriaService {
     switch (idTipoMemoria.intValue()) {
       case 1: {
         // NUEVA
-        // Se recupera la última memoria para el comité seleccionado
-        Memoria ultimaMemoriaComite = memoriaRepository
-            .findFirstByNumReferenciaContainingAndTipoMemoriaIdIsNotAndComiteIdOrderByNumReferenciaDesc(
-                String.valueOf(anioActual), 2L, comite.getId());
-
-        // Se incrementa el número de la memoria para el comité
-        if (ultimaMemoriaComite != null) {
-          Long numeroUltimaMemoria = Long.valueOf(ultimaMemoriaComite.getNumReferencia().split("/")[2].split("R")[0]);
-          numeroUltimaMemoria++;
-          numMemoria = String.format("%03d", numeroUltimaMemoria);
-        }
+        // Se reserva el siguiente número de memoria del comité en el año
+        numMemoria = String.format("%03d", getNumeroMemoria(comite, anioActual));
 
         break;
       }
       case 2: {
         // MODIFICACIÓN
 
-        // Se recupera la última memoria modificada de la memoria de la que se realiza
-        // la copia y del comité de la memoria.
-        Memoria ultimaMemoriaComite = memoriaRepository
-            .findFirstByNumReferenciaContainingAndComiteIdOrderByNumReferenciaDesc(numReferencia, comite.getId());
-
-        StringBuilder sbReferencia = new StringBuilder();
-        sbReferencia.append(ultimaMemoriaComite.getNumReferencia().split("MR")[0].split("/")[2].split("R")[0])
-            .append("MR");
-        if (ultimaMemoriaComite != null && ultimaMemoriaComite.getNumReferencia().contains("MR")) {
-          Long numeroUltimaMemoria = Long.valueOf(ultimaMemoriaComite.getNumReferencia().split("MR")[1]);
-          numeroUltimaMemoria++;
-          sbReferencia.append(numeroUltimaMemoria);
-
-        } else {
-          sbReferencia.append("1");
-        }
+        // Las modificaciones de cada memoria tienen su propia numeración dentro del
+        // comité y año.
+        String numeroMemoriaOriginal = numReferencia.split("MR")[0].split("/")[2].split("R")[0];
+        String serie = numeroMemoriaOriginal + "MR";
+        long numeroModificacion = memoriaRepository.nextNumeroReferencia(comite.getId(), anioActual, serie, () -> {
+          // Se recupera la última memoria modificada de la memoria de la que se realiza
+          // la copia y del comité de la memoria.
+          Memoria ultimaMemoriaComite = memoriaRepository
+              .findFirstByNumReferenciaContainingAndComiteIdOrderByNumReferenciaDesc(numReferencia, comite.getId());
+          if (ultimaMemoriaComite != null && ultimaMemoriaComite.getNumReferencia().contains("MR")) {
+            return Long.valueOf(ultimaMemoriaComite.getNumReferencia().split("MR")[1]);
+          }
+          return 0L;
+        });
 
-        numMemoria = sbReferencia.toString();
+        numMemoria = serie + numeroModificacion;
 
         break;
       }
       case 3: {
         // RATIFICACIÓN
-        // Se recupera la última memoria para el comité seleccionado
-        Memoria ultimaMemoriaComite = memoriaRepository
-            .findFirstByNumReferenciaContainingAndTipoMemoriaIdIsNotAndComiteIdOrderByNumReferenciaDesc(
-                String.valueOf(anioActual), 2L, comite.getId());
-
-        // Se incrementa el número de la memoria para el comité
-        if (ultimaMemoriaComite != null) {
-          Long numeroUltimaMemoria = Long.valueOf(ultimaMemoriaComite.getNumReferencia().split("/")[2].split("R")[0]);
-          numeroUltimaMemoria++;
-
-          StringBuilder sbReferencia = new StringBuilder();
-          sbReferencia.append(String.format("%03d", numeroUltimaMemoria)).append("R");
-          numMemoria = sbReferencia.toString();
-        }
+        // Comparte la numeración con las memorias nuevas
+        numMemoria = String.format("%03dR", getNumeroMemoria(comite, anioActual));
 
         break;
       }
@@ -820,4 +877,51 @@ public class MemoriaServiceImpl implements MemoriaService {
     return sbNumReferencia.toString();
   }
 
+  /**
+   * Reserva el siguiente número de memoria (nueva o ratificación) del comité en
+   * el año indicado.
+   * 
+   * @param comite Comité de la memoria.
+   * @param anio   año de la referencia.
+   * @return el número de la memoria.
+   */
+  private long getNumeroMemoria(Comite comite, int anio) {
+    return memoriaRepository.nextNumeroReferencia(comite.getId(), anio, SERIE_REFERENCIA_MEMORIA, () -> {
+      // El contador del comité y año se inicializa con la última memoria existente
+      Memoria ultimaMemoriaComite = memoriaRepository
+          .findFirstByNumReferenciaContainingAndTipoMemoriaIdIsNotAndComiteIdOrderByNumReferenciaDesc(
+              String.valueOf(anio), 2L, comite.getId());
+      if (ultimaMemoriaComite != null) {
+        return Long.valueOf(ultimaMemoriaComite.getNumReferencia().split("/")[2].split("R")[0]);
+      }
+      return 0L;
+    });
+  }
+
+  /**
+   * Construye el JSON que tiene que contener una respuesta para tener el valor
+   * indicado en la ruta indicada. Por ejemplo, "animales.especie" y "rata" dan
+   * {"animales":{"especie":"rata"}}.
+   * 
+   * @param ruta  campos separados por puntos.
+   * @param valor valor del último campo.
+   * @return el JSON.
+   */
+  private String getContenidoRespuesta(String ruta, String valor) {
+    Assert.isTrue(StringUtils.isNotBlank(ruta), "La ruta de la respuesta no puede estar vacía");
+    Assert.notNull(valor, "El valor de la respuesta no puede ser nulo");
+    String[] campos = ruta.split("\\.", -1);
+    ObjectNode contenido = OBJECT_MAPPER.createObjectNode();
+    ObjectNode nodo = contenido;
+    for (int i = 0; i < campos.length; i++) {
+      Assert.isTrue(StringUtils.isNotBlank(campos[i]), "La ruta de la respuesta tiene un campo vacío: " + ruta);
+      if (i == campos.length - 1) {
+        nodo.put(campos[i], valor);
+      } else {
+        nodo = nodo.putObject(campos[i]);
+      }
+    }
+    return contenido.toString();
+  }
+
 }
@@ -1,14 +1,15 @@
 package org.crue.hercules.sgi.eti.service.impl;
 
 import org.apache.commons.lang3.StringUtils;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.PeticionEvaluacionWithIsEliminable;
 import org.crue.hercules.sgi.eti.exceptions.PeticionEvaluacionNotFoundException;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
 import org.crue.hercules.sgi.eti.repository.PeticionEvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.PeticionEvaluacionSpecifications;
 import org.crue.hercules.sgi.eti.service.PeticionEvaluacionService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -73,7 +74,7 @@ public class PeticionEvaluacionServiceImpl implements PeticionEvaluacionService
   public Page<PeticionEvaluacion> findAll(String query, Pageable paging) {
     log.debug("findAllPeticionEvaluacion(String query,Pageable paging) - start");
     Specification<PeticionEvaluacion> specs = PeticionEvaluacionSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<PeticionEvaluacion> returnValue = peticionEvaluacionRepository.findAll(specs, paging);
     log.debug("findAllPeticionEvaluacion(String query,Pageable paging) - end");
@@ -181,7 +182,7 @@ public class PeticionEvaluacionServiceImpl implements PeticionEvaluacionService
   public Page<PeticionEvaluacion> findAllByPersonaRef(String query, Pageable paging, String personaRef) {
     log.debug("findAllPeticionEvaluacion(String query,Pageable paging) - start");
     Specification<PeticionEvaluacion> specs = PeticionEvaluacionSpecifications.activos()
-        .and(PeticionEvaluacionSpecifications.byPersonaRef(personaRef)).and(SgiRSQLJPASupport.toSpecification(query));
+        .and(PeticionEvaluacionSpecifications.byPersonaRef(personaRef)).and(RsqlSpecifications.toSpecification(query));
 
     Page<PeticionEvaluacion> returnValue = peticionEvaluacionRepository.findAll(specs, paging);
     log.debug("findAllPeticionEvaluacion(String query,Pageable paging) - end");
@@ -205,7 +206,7 @@ public class PeticionEvaluacionServiceImpl implements PeticionEvaluacionService
     // dentro del custom repository
     Specification<Memoria> specs = null;
     if (StringUtils.isNotBlank(query)) {
-      specs = SgiRSQLJPASupport.toSpecification(query);
+      specs = RsqlSpecifications.toSpecification(query);
     }
 
     Page<PeticionEvaluacionWithIsEliminable> returnValue = peticionEvaluacionRepository
@@ -214,4 +215,33 @@ public class PeticionEvaluacionServiceImpl implements PeticionEvaluacionService
     return returnValue;
   }
 
+  /**
+   * Obtiene una página filtrada de {@link PeticionEvaluacionWithIsEliminable}
+   * de una persona responsable de memorias o creador de peticiones de evaluacion
+   * mediante paginación por cursor (sin recuento del total).
+   * 
+   * @param query      Criterios de búsqueda
+   * @param pageable   tamaño de página y ordenación
+   * @param cursor     cursor de la página anterior (null para la primera
+   *                   página)
+   * @param personaRef usuario
+   * @return la página de {@link PeticionEvaluacionWithIsEliminable}
+   */
+  @Override
+  public KeysetPage<PeticionEvaluacionWithIsEliminable> findAllPeticionesWithPersonaRefCreadorPeticionesEvaluacionOrResponsableMemoriaKeyset(
+      String query, Pageable pageable, String cursor, String personaRef) {
+    log.debug(
+        "findAllPeticionEvaluacionMemoriaKeyset(String query, Pageable pageable, String cursor, String personaRef) - start");
+    Specification<Memoria> specs = null;
+    if (StringUtils.isNotBlank(query)) {
+      specs = RsqlSpecifications.toSpecification(query);
+    }
+
+    KeysetPage<PeticionEvaluacionWithIsEliminable> returnValue = peticionEvaluacionRepository
+        .findAllPeticionEvaluacionMemoriaKeyset(specs, pageable, cursor, personaRef);
+    log.debug(
+        "findAllPeticionEvaluacionMemoriaKeyset(String query, Pageable pageable, String cursor, String personaRef) - end");
+    return returnValue;
+  }
+
 }
@@ -1,10 +1,26 @@
 package org.crue.hercules.sgi.eti.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.RespuestaNotFoundException;
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.repository.ApartadoRepository;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.crue.hercules.sgi.eti.repository.RespuestaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.RespuestaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -22,9 +38,14 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class RespuestaServiceImpl implements RespuestaService {
   private final RespuestaRepository respuestaRepository;
+  private final MemoriaRepository memoriaRepository;
+  private final ApartadoRepository apartadoRepository;
 
-  public RespuestaServiceImpl(RespuestaRepository respuestaRepository) {
+  public RespuestaServiceImpl(RespuestaRepository respuestaRepository, MemoriaRepository memoriaRepository,
+      ApartadoRepository apartadoRepository) {
     this.respuestaRepository = respuestaRepository;
+    this.memoriaRepository = memoriaRepository;
+    this.apartadoRepository = apartadoRepository;
   }
 
   /**
@@ -50,7 +71,7 @@ public class RespuestaServiceImpl implements RespuestaService {
    */
   public Page<Respuesta> findAll(String query, Pageable paging) {
     log.debug("findAll(String query,Pageable paging) - start");
-    Specification<Respuesta> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Respuesta> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Respuesta> returnValue = respuestaRepository.findAll(specs, paging);
     log.debug("findAll(String query,Pageable paging) - end");
@@ -132,4 +153,81 @@ public class RespuestaServiceImpl implements RespuestaService {
     return respuestaRepository.findByMemoriaIdAndApartadoId(id, idApartado);
   }
 
+  /**
+   * Guarda en una única transacción todas las {@link Respuesta} de una
+   * {@link Memoria}, una por {@link Apartado}.
+   * 
+   * Se compara el hash del valor recibido con el guardado, sin leer los valores,
+   * y solo se cargan las respuestas que han cambiado. Las actualizaciones y las
+   * altas se escriben al final de la transacción en sentencias agrupadas.
+   *
+   * @param idMemoria  el id de la {@link Memoria}.
+   * @param respuestas las {@link Respuesta} con el apartado y el valor.
+   * @return las {@link Respuesta} creadas o modificadas.
+   * @throws MemoriaNotFoundException Si no existe la {@link Memoria}.
+   * @throws IllegalArgumentException Si falta algún apartado o valor, algún
+   *                                  apartado está repetido o no existe.
+   */
+  @Transactional
+  @Override
+  public List<Respuesta> updateAllByMemoriaId(Long idMemoria, List<Respuesta> respuestas) {
+    log.debug("updateAllByMemoriaId(Long idMemoria, List<Respuesta> respuestas) - start");
+    Assert.notNull(idMemoria, "El id de la memoria no puede ser null para guardar sus respuestas");
+    Memoria memoria = memoriaRepository.findById(idMemoria)
+        .orElseThrow(() -> new MemoriaNotFoundException(idMemoria));
+
+    // Valores recibidos por apartado
+    Map<Long, Respuesta> respuestasApartado = new LinkedHashMap<>();
+    for (Respuesta respuesta : respuestas) {
+      Assert.isTrue(respuesta.getApartado() != null && respuesta.getApartado().getId() != null,
+          "El apartado de la respuesta no puede ser null");
+      Assert.notNull(respuesta.getValor(), "El valor de la respuesta no puede ser null");
+      Assert.isNull(respuestasApartado.put(respuesta.getApartado().getId(), respuesta),
+          "El apartado " + respuesta.getApartado().getId() + " está repetido");
+    }
+
+    // Apartados con respuesta cuyo valor ha cambiado y apartados sin respuesta
+    Map<Long, String> valorHashes = respuestaRepository.findValorHashByMemoriaId(idMemoria);
+    Set<Long> idsApartadoModificados = new LinkedHashSet<>();
+    Set<Long> idsApartadoNuevos = new LinkedHashSet<>();
+    respuestasApartado.forEach((idApartado, respuesta) -> {
+      if (!valorHashes.containsKey(idApartado)) {
+        idsApartadoNuevos.add(idApartado);
+      } else if (!Objects.equals(valorHashes.get(idApartado), respuesta.getValorHash())) {
+        idsApartadoModificados.add(idApartado);
+      }
+    });
+
+    List<Respuesta> returnValue = new ArrayList<>();
+    if (!idsApartadoModificados.isEmpty()) {
+      Set<Long> idsApartadoActualizados = new HashSet<>();
+      for (Respuesta respuesta : respuestaRepository.findByMemoriaIdAndApartadoIdInOrderByIdAsc(idMemoria,
+          idsApartadoModificados)) {
+        // Si hay varias respuestas del apartado se actualiza la de menor id
+        if (idsApartadoActualizados.add(respuesta.getApartado().getId())) {
+          respuesta.setValor(respuestasApartado.get(respuesta.getApartado().getId()).getValor());
+          returnValue.add(respuesta);
+        }
+      }
+    }
+
+    if (!idsApartadoNuevos.isEmpty()) {
+      Map<Long, Apartado> apartados = apartadoRepository.findAllById(idsApartadoNuevos).stream()
+          .collect(Collectors.toMap(Apartado::getId, Function.identity()));
+      List<Respuesta> nuevas = new ArrayList<>();
+      for (Long idApartado : idsApartadoNuevos) {
+        Apartado apartado = apartados.get(idApartado);
+        Assert.notNull(apartado, "El apartado " + idApartado + " no existe");
+        Respuesta nueva = new Respuesta();
+        nueva.setMemoria(memoria);
+        nueva.setApartado(apartado);
+        nueva.setValor(respuestasApartado.get(idApartado).getValor());
+        nuevas.add(nueva);
+      }
+      returnValue.addAll(respuestaRepository.saveAll(nuevas));
+    }
+
+    log.debug("updateAllByMemoriaId(Long idMemoria, List<Respuesta> respuestas) - end");
+    return returnValue;
+  }
 }
@@ -3,8 +3,8 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.RetrospectivaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.repository.RetrospectivaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.RetrospectivaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -118,7 +118,7 @@ public class RetrospectivaServiceImpl implements RetrospectivaService {
   public Page<Retrospectiva> findAll(String query, Pageable paging) {
     log.debug("findAll(String query, Pageable paging) - start");
 
-    Specification<Retrospectiva> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Retrospectiva> specs = RsqlSpecifications.toSpecification(query);
     Page<Retrospectiva> returnValue = repository.findAll(specs, paging);
 
     log.debug("findAll(String query, Pageable paging) - end");
@@ -10,8 +10,8 @@ import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.Tarea;
 import org.crue.hercules.sgi.eti.repository.TareaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.TareaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -59,7 +59,7 @@ public class TareaServiceImpl implements TareaService {
    */
   public Page<Tarea> findAll(String query, Pageable paging) {
     log.debug("findAllTarea(String query, Pageable paging) - start");
-    Specification<Tarea> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<Tarea> specs = RsqlSpecifications.toSpecification(query);
 
     Page<Tarea> returnValue = tareaRepository.findAll(specs, paging);
     log.debug("findAllTarea(String query, Pageable paging) - end");
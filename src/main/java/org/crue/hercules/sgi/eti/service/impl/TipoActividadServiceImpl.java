@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoActividadNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoActividad;
 import org.crue.hercules.sgi.eti.repository.TipoActividadRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoActividadSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoActividadService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class TipoActividadServiceImpl implements TipoActividadService {
   public Page<TipoActividad> findAll(String query, Pageable paging) {
     log.debug("findAllTipoActividad(String query,Pageable paging) - start");
     Specification<TipoActividad> specs = TipoActividadSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoActividad> returnValue = tipoActividadRepository.findAll(specs, paging);
     log.debug("findAllTipoActividad(String query,Pageable paging) - end");
@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoComentarioNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoComentario;
 import org.crue.hercules.sgi.eti.repository.TipoComentarioRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoComentarioSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoComentarioService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class TipoComentarioServiceImpl implements TipoComentarioService {
   public Page<TipoComentario> findAll(String query, Pageable paging) {
     log.debug("findAllTipoComentario(String query,Pageable paging) - start");
     Specification<TipoComentario> specs = TipoComentarioSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoComentario> returnValue = tipoComentarioRepository.findAll(specs, paging);
     log.debug("findAllTipoComentario(String query,Pageable paging) - end");
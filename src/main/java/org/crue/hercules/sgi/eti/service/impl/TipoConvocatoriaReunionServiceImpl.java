@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoConvocatoriaReunionNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.repository.TipoConvocatoriaReunionRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoConvocatoriaReunionSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoConvocatoriaReunionService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -56,7 +56,7 @@ public class TipoConvocatoriaReunionServiceImpl implements TipoConvocatoriaReuni
   public Page<TipoConvocatoriaReunion> findAll(String query, Pageable paging) {
     log.debug("findAllTipoConvocatoriaReunion(String query,Pageable paging) - start");
     Specification<TipoConvocatoriaReunion> specs = TipoConvocatoriaReunionSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoConvocatoriaReunion> returnValue = tipoConvocatoriaReunionRepository.findAll(specs, paging);
     log.debug("findAllTipoConvocatoriaReunion(String query,Pageable paging) - end");
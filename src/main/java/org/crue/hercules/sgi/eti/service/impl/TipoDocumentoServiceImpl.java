@@ -5,9 +5,9 @@ import java.util.Arrays;
 import org.crue.hercules.sgi.eti.exceptions.TipoDocumentoNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoDocumento;
 import org.crue.hercules.sgi.eti.repository.TipoDocumentoRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoDocumentoSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoDocumentoService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -54,7 +54,7 @@ public class TipoDocumentoServiceImpl implements TipoDocumentoService {
   public Page<TipoDocumento> findAll(String query, Pageable paging) {
     log.debug("findAllTipoDocumento(String query,Pageable paging) - start");
     Specification<TipoDocumento> specs = TipoDocumentoSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoDocumento> returnValue = tipoDocumentoRepository.findAll(specs, paging);
     log.debug("findAllTipoDocumento(String query,Pageable paging) - end");
@@ -147,7 +147,7 @@ public class TipoDocumentoServiceImpl implements TipoDocumentoService {
     log.debug("findTipoDocumentacionInicial(String query,Pageable paging) - start");
     Specification<TipoDocumento> specs = TipoDocumentoSpecifications.activos()
         .and(TipoDocumentoSpecifications.byIdNotIn(Arrays.asList(1L, 2L, 3L)))
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoDocumento> returnValue = tipoDocumentoRepository.findAll(specs, paging);
     log.debug("findTipoDocumentacionInicial(String query,Pageable paging) - end");
@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoEstadoActaNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoEstadoActa;
 import org.crue.hercules.sgi.eti.repository.TipoEstadoActaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoEstadoActaSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoEstadoActaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class TipoEstadoActaServiceImpl implements TipoEstadoActaService {
   public Page<TipoEstadoActa> findAll(String query, Pageable paging) {
     log.debug("findAllTipoEstadoActa(String query,Pageable paging) - start");
     Specification<TipoEstadoActa> specs = TipoEstadoActaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoEstadoActa> returnValue = tipoEstadoActaRepository.findAll(specs, paging);
     log.debug("findAllTipoEstadoActa(String query,Pageable paging) - end");
@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoEstadoMemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.repository.TipoEstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoEstadoMemoriaSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoEstadoMemoriaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -54,7 +54,7 @@ public class TipoEstadoMemoriaServiceImpl implements TipoEstadoMemoriaService {
   public Page<TipoEstadoMemoria> findAll(String query, Pageable paging) {
     log.debug("findAllTipoEstadoMemoria(String query,Pageable paging) - start");
     Specification<TipoEstadoMemoria> specs = TipoEstadoMemoriaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoEstadoMemoria> returnValue = tipoEstadoMemoriaRepository.findAll(specs, paging);
     log.debug("findAllTipoEstadoMemoria(String query,Pageable paging) - end");
@@ -9,9 +9,9 @@ import org.crue.hercules.sgi.eti.model.Dictamen;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
 import org.crue.hercules.sgi.eti.repository.DictamenRepository;
 import org.crue.hercules.sgi.eti.repository.TipoEvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoEvaluacionSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoEvaluacionService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -61,7 +61,7 @@ public class TipoEvaluacionServiceImpl implements TipoEvaluacionService {
   public Page<TipoEvaluacion> findAll(String query, Pageable paging) {
     log.debug("findAllTipoEvaluacion(String query,Pageable paging) - start");
     Specification<TipoEvaluacion> specs = TipoEvaluacionSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoEvaluacion> returnValue = tipoEvaluacionRepository.findAll(specs, paging);
     log.debug("findAllTipoEvaluacion(String query,Pageable paging) - end");
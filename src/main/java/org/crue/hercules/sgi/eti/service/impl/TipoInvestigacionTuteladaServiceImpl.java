@@ -2,9 +2,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 
 import org.crue.hercules.sgi.eti.model.TipoInvestigacionTutelada;
 import org.crue.hercules.sgi.eti.repository.TipoInvestigacionTuteladaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoInvestigacionTuteladaSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoInvestigacionTuteladaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -38,7 +38,7 @@ public class TipoInvestigacionTuteladaServiceImpl implements TipoInvestigacionTu
   public Page<TipoInvestigacionTutelada> findAll(String query, Pageable paging) {
     log.debug("findAllTipoInvestigacionTutelada(String query,Pageable paging) - start");
     Specification<TipoInvestigacionTutelada> specs = TipoInvestigacionTuteladaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoInvestigacionTutelada> returnValue = tipoInvestigacionTuteladaRepository.findAll(specs, paging);
     log.debug("findAllTipoInvestigacionTutelada(String query,Pageable paging) - end");
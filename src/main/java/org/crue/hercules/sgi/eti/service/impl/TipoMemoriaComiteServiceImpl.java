@@ -9,8 +9,8 @@ import org.crue.hercules.sgi.eti.model.TipoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoMemoriaComite;
 import org.crue.hercules.sgi.eti.repository.ComiteRepository;
 import org.crue.hercules.sgi.eti.repository.TipoMemoriaComiteRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoMemoriaComiteService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -66,7 +66,7 @@ public class TipoMemoriaComiteServiceImpl implements TipoMemoriaComiteService {
    */
   public Page<TipoMemoriaComite> findAll(String query, Pageable paging) {
     log.debug("findAllTipoMemoriaComite(String query,Pageable paging) - start");
-    Specification<TipoMemoriaComite> specs = SgiRSQLJPASupport.toSpecification(query);
+    Specification<TipoMemoriaComite> specs = RsqlSpecifications.toSpecification(query);
 
     Page<TipoMemoriaComite> returnValue = tipoMemoriaComiteRepository.findAll(specs, paging);
     log.debug("findAllTipoMemoriaComite(String query,Pageable paging) - end");
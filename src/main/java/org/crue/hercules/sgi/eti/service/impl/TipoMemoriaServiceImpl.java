@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoMemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoMemoria;
 import org.crue.hercules.sgi.eti.repository.TipoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoMemoriaSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoMemoriaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class TipoMemoriaServiceImpl implements TipoMemoriaService {
   public Page<TipoMemoria> findAll(String query, Pageable paging) {
     log.debug("findAllTipoMemoria(String query,Pageable paging) - start");
     Specification<TipoMemoria> specs = TipoMemoriaSpecifications.activos()
-        .and(SgiRSQLJPASupport.toSpecification(query));
+        .and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoMemoria> returnValue = tipoMemoriaRepository.findAll(specs, paging);
     log.debug("findAllTipoMemoria(String query,Pageable paging) - end");
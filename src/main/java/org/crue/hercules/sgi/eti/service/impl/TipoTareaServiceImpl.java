@@ -3,9 +3,9 @@ package org.crue.hercules.sgi.eti.service.impl;
 import org.crue.hercules.sgi.eti.exceptions.TipoTareaNotFoundException;
 import org.crue.hercules.sgi.eti.model.TipoTarea;
 import org.crue.hercules.sgi.eti.repository.TipoTareaRepository;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
 import org.crue.hercules.sgi.eti.repository.specification.TipoTareaSpecifications;
 import org.crue.hercules.sgi.eti.service.TipoTareaService;
-import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -52,7 +52,7 @@ public class TipoTareaServiceImpl implements TipoTareaService {
    */
   public Page<TipoTarea> findAll(String query, Pageable paging) {
     log.debug("findAllTipoTarea(String query, Pageable paging) - start");
-    Specification<TipoTarea> specs = TipoTareaSpecifications.activos().and(SgiRSQLJPASupport.toSpecification(query));
+    Specification<TipoTarea> specs = TipoTareaSpecifications.activos().and(RsqlSpecifications.toSpecification(query));
 
     Page<TipoTarea> returnValue = tipoTareaRepository.findAll(specs, paging);
     log.debug("findAllTipoTarea(String query, Pageable paging) - end");
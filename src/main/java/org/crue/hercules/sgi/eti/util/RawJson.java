@@ -0,0 +1,75 @@
+package org.crue.hercules.sgi.eti.util;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Propiedades de tipo String que guardan un JSON (el valor de una respuesta,
+ * el esquema de un apartado...) y que se envían y reciben como JSON, no como
+ * un texto.
+ *
+ * Se anotan con {@code @JsonSerialize(using = RawJson.Serializer.class)} y
+ * {@code @JsonDeserialize(using = RawJson.Deserializer.class)}.
+ */
+public final class RawJson {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private RawJson() {
+  }
+
+  /**
+   * Escribe el JSON guardado tal cual.
+   */
+  public static class Serializer extends StdSerializer<String> {
+
+    /**
+     * Serial version
+     */
+    private static final long serialVersionUID = 1L;
+
+    public Serializer() {
+      super(String.class);
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      gen.writeRawValue(value);
+    }
+  }
+
+  /**
+   * Copia los tokens recibidos a un String sin construir el árbol de nodos. El
+   * buffer de escritura sale del pool de buffers de Jackson del hilo.
+   */
+  public static class Deserializer extends StdDeserializer<String> {
+
+    /**
+     * Serial version
+     */
+    private static final long serialVersionUID = 1L;
+
+    public Deserializer() {
+      super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      SegmentedStringWriter writer = new SegmentedStringWriter(BufferRecyclers.getBufferRecycler());
+      try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+        generator.copyCurrentStructure(p);
+      }
+      return writer.getAndClear();
+    }
+  }
+
+}
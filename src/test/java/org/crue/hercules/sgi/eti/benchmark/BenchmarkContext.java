@@ -0,0 +1,106 @@
+package org.crue.hercules.sgi.eti.benchmark;
+
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.crue.hercules.sgi.eti.EtiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Aplicación de los benchmarks que necesitan la base de datos.
+ *
+ * Arranca la aplicación sin servidor web con el perfil test (H2 en memoria con
+ * el esquema de Liquibase) y la carga con los scripts de
+ * src/test/resources/scripts, igual que los @Sql de los tests de integración.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+  /**
+   * Scripts con los datos de las evaluaciones y sus memorias (los mismos que
+   * EvaluacionIT).
+   */
+  public static final String[] SCRIPTS_EVALUACION = {
+      // @formatter:off
+      "formulario.sql",
+      "bloque.sql",
+      "apartado.sql",
+      "tipo_actividad.sql",
+      "tipo_memoria.sql",
+      "tipo_estado_memoria.sql",
+      "estado_retrospectiva.sql",
+      "tipo_convocatoria_reunion.sql",
+      "tipo_evaluacion.sql",
+      "cargo_comite.sql",
+      "tipo_comentario.sql",
+      "evaluacion.sql"
+      // @formatter:on
+  };
+
+  private final ConfigurableApplicationContext applicationContext;
+
+  private BenchmarkContext(ConfigurableApplicationContext applicationContext) {
+    this.applicationContext = applicationContext;
+  }
+
+  /**
+   * Arranca la aplicación y ejecuta los scripts.
+   *
+   * @param scripts nombres de los scripts de src/test/resources/scripts, en
+   *                orden de dependencias.
+   * @return el contexto.
+   */
+  public static BenchmarkContext start(String... scripts) {
+    ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(EtiApplication.class)
+        .web(WebApplicationType.NONE).profiles("test")
+        // La seguridad se configura aunque no haya servidor web; los benchmarks no
+        // validan tokens
+        .initializers(context -> context.getBeanFactory().registerSingleton("jwtDecoder", (JwtDecoder) token -> {
+          throw new JwtException("Benchmark sin tokens");
+        })).run();
+
+    ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+    Arrays.stream(scripts).forEach(script -> populator.addScript(new ClassPathResource("scripts/" + script)));
+    populator.execute(applicationContext.getBean(DataSource.class));
+
+    return new BenchmarkContext(applicationContext);
+  }
+
+  /**
+   * Bean de la aplicación.
+   *
+   * @param <T>       tipo del bean.
+   * @param beanClass clase del bean.
+   * @return el bean.
+   */
+  public <T> T getBean(Class<T> beanClass) {
+    return applicationContext.getBean(beanClass);
+  }
+
+  /**
+   * Sustituye el marcador {h-schema} de la consulta por el esquema por defecto
+   * de Hibernate (hibernate.default_schema), igual que en las consultas nativas
+   * de los repositorios.
+   *
+   * @param sql consulta con el marcador {h-schema}.
+   * @return la consulta.
+   */
+  public String sql(String sql) {
+    String schema = applicationContext.getBean(Environment.class)
+        .getProperty("spring.jpa.properties.hibernate.default_schema", "");
+    return sql.replace("{h-schema}", schema.isEmpty() ? "" : schema + ".");
+  }
+
+  @Override
+  public void close() {
+    applicationContext.close();
+  }
+
+}
@@ -0,0 +1,116 @@
+package org.crue.hercules.sgi.eti.benchmark;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.crue.hercules.sgi.eti.converter.EvaluacionConverter;
+import org.crue.hercules.sgi.eti.dto.EvaluacionWithIsEliminable;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.custom.CustomEvaluacionRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.AopTestUtils;
+
+/**
+ * Conversión de los listados de {@link Evaluacion} y construcción de la
+ * consulta de las evaluaciones de un evaluador, sobre H2 con los datos de
+ * evaluacion.sql.
+ *
+ * {@link EvaluacionConverter#evaluacionesToEvaluacionesWithIsEliminable(List)}
+ * incluye la consulta del número de comentarios: las convocatorias se pasan a
+ * una fecha futura para que ninguna evaluación se descarte antes.
+ *
+ * getPredicatesByEvaluador es privado en
+ * {@link CustomEvaluacionRepositoryImpl}, por lo que se invoca por reflexión;
+ * solo se mide la construcción de la Criteria, no su ejecución.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluacionBenchmark {
+
+  private static final String PERSONA_REF = "user-001";
+
+  /** Número de evaluaciones del listado (tamaños de página habituales). */
+  @Param({ "10", "50" })
+  private int numEvaluaciones;
+
+  private BenchmarkContext context;
+  private EvaluacionConverter evaluacionConverter;
+  private List<Evaluacion> evaluaciones;
+  private CriteriaBuilder criteriaBuilder;
+  private Object evaluacionRepositoryImpl;
+  private Method getPredicatesByEvaluador;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    context = BenchmarkContext.start(BenchmarkContext.SCRIPTS_EVALUACION);
+    evaluacionConverter = context.getBean(EvaluacionConverter.class);
+
+    List<Evaluacion> evaluacionesBd = context.getBean(EvaluacionRepository.class).findAll();
+    evaluacionesBd.forEach(evaluacion -> evaluacion.getConvocatoriaReunion()
+        .setFechaEvaluacion(LocalDateTime.now().plusYears(1)));
+    evaluaciones = new ArrayList<>();
+    for (int i = 0; i < numEvaluaciones; i++) {
+      evaluaciones.add(evaluacionesBd.get(i % evaluacionesBd.size()));
+    }
+
+    criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+    evaluacionRepositoryImpl = AopTestUtils
+        .getUltimateTargetObject(context.getBean(CustomEvaluacionRepositoryImpl.class));
+    getPredicatesByEvaluador = CustomEvaluacionRepositoryImpl.class.getDeclaredMethod("getPredicatesByEvaluador",
+        Root.class, CriteriaBuilder.class, CriteriaQuery.class, String.class);
+    getPredicatesByEvaluador.setAccessible(true);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<EvaluacionWithIsEliminable> evaluacionesToEvaluacionesWithIsEliminable() {
+    return evaluacionConverter.evaluacionesToEvaluacionesWithIsEliminable(evaluaciones);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public CriteriaQuery<Evaluacion> getPredicatesByEvaluador() throws ReflectiveOperationException {
+    CriteriaQuery<Evaluacion> cq = criteriaBuilder.createQuery(Evaluacion.class);
+    Root<Evaluacion> root = cq.from(Evaluacion.class);
+    List<Predicate> predicates = (List<Predicate>) getPredicatesByEvaluador.invoke(evaluacionRepositoryImpl, root,
+        criteriaBuilder, cq, PERSONA_REF);
+    return cq.where(predicates.toArray(new Predicate[0]));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EvaluacionBenchmark.class.getSimpleName()).build()).run();
+  }
+
+}
@@ -0,0 +1,101 @@
+package org.crue.hercules.sgi.eti.benchmark;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.repository.ComiteRepository;
+import org.crue.hercules.sgi.eti.service.impl.MemoriaServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generación de la referencia de una memoria nueva (1), modificada (2) o de
+ * ratificación (3), sobre H2 con los datos de evaluacion.sql.
+ *
+ * getReferenciaMemoria es privado en {@link MemoriaServiceImpl}, por lo que se
+ * invoca por reflexión. Además de componer la referencia reserva el número en
+ * el contador del comité y año, así que cada invocación se ejecuta en una
+ * transacción que se deshace para que el contador no cambie entre
+ * iteraciones. Los contadores se crean al preparar el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoriaReferenciaBenchmark {
+
+  private static final long ID_COMITE = 1L;
+
+  /** Identificador del tipo de memoria. */
+  @Param({ "1", "2", "3" })
+  private long idTipoMemoria;
+
+  private BenchmarkContext context;
+  private TransactionTemplate transactionTemplate;
+  private Object memoriaService;
+  private Method getReferenciaMemoria;
+  private Comite comite;
+  private String numReferencia;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    context = BenchmarkContext.start(BenchmarkContext.SCRIPTS_EVALUACION);
+    transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    memoriaService = AopTestUtils.getUltimateTargetObject(context.getBean(MemoriaServiceImpl.class));
+    getReferenciaMemoria = MemoriaServiceImpl.class.getDeclaredMethod("getReferenciaMemoria", Long.class,
+        String.class, Comite.class);
+    getReferenciaMemoria.setAccessible(true);
+    comite = context.getBean(ComiteRepository.class).findById(ID_COMITE).get();
+
+    int anio = LocalDate.now().getYear();
+    numReferencia = comite.getFormulario().getNombre() + "/" + anio + "/001";
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    String insert = context.sql("INSERT INTO {h-schema}memoria_referencia_contador "
+        + "(comite_id, anio, serie, ultimo_numero) VALUES (?, ?, ?, ?)");
+    jdbcTemplate.update(insert, ID_COMITE, anio, "MEMORIA", 1L);
+    jdbcTemplate.update(insert, ID_COMITE, anio, "001MR", 0L);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String getReferenciaMemoria() {
+    return transactionTemplate.execute(status -> {
+      status.setRollbackOnly();
+      try {
+        return (String) getReferenciaMemoria.invoke(memoriaService, idTipoMemoria, numReferencia, comite);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MemoriaReferenciaBenchmark.class.getSimpleName()).build()).run();
+  }
+
+}
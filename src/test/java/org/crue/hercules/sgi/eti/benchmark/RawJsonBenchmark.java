@@ -0,0 +1,168 @@
+package org.crue.hercules.sgi.eti.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.util.RawJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Lectura y escritura de un {@link Apartado} con un esquema de unos 33 KB (el
+ * tamaño máximo de la columna) y de la {@link Respuesta} a ese esquema.
+ *
+ * Compara la lectura con {@link RawJson.Deserializer}, que copia los tokens al
+ * String, con la lectura anterior, que construía el árbol de nodos y lo volvía
+ * a escribir con un ObjectMapper nuevo. Las dos leen el Apartado completo y solo
+ * cambia el deserializador del esquema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawJsonBenchmark {
+
+  private static final int ESQUEMA_LENGTH = 32500;
+
+  private ObjectMapper objectMapper;
+  private ObjectMapper treeObjectMapper;
+  private String apartadoJson;
+  private Apartado apartado;
+  private String respuestaJson;
+  private Respuesta respuesta;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    treeObjectMapper = Jackson2ObjectMapperBuilder.json().mixIn(Apartado.class, ApartadoTreeMixIn.class).build();
+    apartadoJson = "{\"id\":1,\"nombre\":\"Apartado1\",\"orden\":1,\"esquema\":" + generarEsquema() + "}";
+    apartado = objectMapper.readValue(apartadoJson, Apartado.class);
+    respuestaJson = "{\"id\":1,\"memoria\":{\"id\":1},\"apartado\":{\"id\":1},\"valor\":" + generarValor() + "}";
+    respuesta = objectMapper.readValue(respuestaJson, Respuesta.class);
+  }
+
+  @Benchmark
+  public Apartado deserializeTree() throws IOException {
+    return treeObjectMapper.readValue(apartadoJson, Apartado.class);
+  }
+
+  @Benchmark
+  public Apartado deserializeStreaming() throws IOException {
+    return objectMapper.readValue(apartadoJson, Apartado.class);
+  }
+
+  @Benchmark
+  public String serialize() throws IOException {
+    return objectMapper.writeValueAsString(apartado);
+  }
+
+  @Benchmark
+  public Respuesta deserializeRespuesta() throws IOException {
+    return objectMapper.readValue(respuestaJson, Respuesta.class);
+  }
+
+  @Benchmark
+  public String serializeRespuesta() throws IOException {
+    return objectMapper.writeValueAsString(respuesta);
+  }
+
+  /**
+   * Esquema de formulario con campos hasta llegar al tamaño indicado.
+   *
+   * @return el esquema.
+   */
+  private static String generarEsquema() {
+    StringBuilder esquema = new StringBuilder("{\"nombre\":\"Esquema\",\"campos\":[");
+    for (int i = 0; esquema.length() < ESQUEMA_LENGTH; i++) {
+      if (i > 0) {
+        esquema.append(',');
+      }
+      esquema.append("{\"key\":\"campo").append(i).append("\",\"type\":\"radio\",\"templateOptions\":{\"label\":\"")
+          .append("Pregunta número ").append(i).append(" del apartado\",\"required\":true,\"options\":[")
+          .append("{\"value\":\"si\",\"label\":\"Sí\"},{\"value\":\"no\",\"label\":\"No\"}]}}");
+    }
+    return esquema.append("]}").toString();
+  }
+
+  /**
+   * Valor de la respuesta a todos los campos del esquema.
+   *
+   * @return el valor.
+   */
+  private static String generarValor() {
+    int numCampos = generarEsquema().split("\"key\"").length - 1;
+    StringBuilder valor = new StringBuilder("{");
+    for (int i = 0; i < numCampos; i++) {
+      if (i > 0) {
+        valor.append(',');
+      }
+      valor.append("\"campo").append(i).append("\":\"").append(i % 2 == 0 ? "si" : "no").append('"');
+    }
+    return valor.append('}').toString();
+  }
+
+  /**
+   * Lectura anterior del esquema: construye el árbol de nodos y lo vuelve a
+   * escribir con un ObjectMapper nuevo.
+   */
+  public static class TreeDeserializer extends StdDeserializer<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public TreeDeserializer() {
+      super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      JsonNode jsonNode = p.readValueAsTree();
+      StringWriter stringWriter = new StringWriter();
+      ObjectMapper objectMapper = new ObjectMapper();
+      JsonGenerator generator = new JsonFactory(objectMapper).createGenerator(stringWriter);
+      generator.writeTree(jsonNode);
+      generator.close();
+      return stringWriter.toString();
+    }
+  }
+
+  /**
+   * Cambia el deserializador del esquema de {@link Apartado} por
+   * {@link TreeDeserializer}.
+   */
+  abstract static class ApartadoTreeMixIn {
+
+    @JsonDeserialize(using = TreeDeserializer.class)
+    public abstract void setEsquema(String esquema);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RawJsonBenchmark.class.getSimpleName()).build()).run();
+  }
+
+}
@@ -0,0 +1,88 @@
+package org.crue.hercules.sgi.eti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.repository.rsql.RsqlSpecifications;
+import org.crue.hercules.sgi.framework.rsql.SgiRSQLJPASupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Conversión de los filtros q= de los listados de {@link Memoria} en
+ * Specification y en el Predicate de la Criteria.
+ *
+ * Los filtros son los que envía el front con más frecuencia: búsqueda por
+ * referencia y comité, por estados y por solicitante. rsqlSpecifications mide
+ * la conversión de los servicios, con la comprobación de límites de
+ * {@link RsqlSpecifications}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsqlBenchmark {
+
+  @Param({ "numReferencia=ke=2020;comite.id==1", "estadoActual.id=in=(2,3,4,5,6);activo==true",
+      "(personaRef==user-001,peticionEvaluacion.personaRef==user-001);titulo=ik=memoria" })
+  private String query;
+
+  private BenchmarkContext context;
+  private CriteriaBuilder criteriaBuilder;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkContext.start();
+    criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Specification<Memoria> toSpecification() {
+    return SgiRSQLJPASupport.toSpecification(query);
+  }
+
+  @Benchmark
+  public Specification<Memoria> rsqlSpecifications() {
+    return RsqlSpecifications.toSpecification(query);
+  }
+
+  @Benchmark
+  public Predicate toPredicate() {
+    CriteriaQuery<Memoria> cq = criteriaBuilder.createQuery(Memoria.class);
+    Root<Memoria> root = cq.from(Memoria.class);
+    Specification<Memoria> spec = SgiRSQLJPASupport.toSpecification(query);
+    return spec.toPredicate(root, cq, criteriaBuilder);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RsqlBenchmark.class.getSimpleName()).build()).run();
+  }
+
+}
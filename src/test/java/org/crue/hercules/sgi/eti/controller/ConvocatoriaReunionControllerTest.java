@@ -11,7 +11,9 @@ import java.util.List;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.AsignacionEvaluadores;
 import org.crue.hercules.sgi.eti.dto.ConvocatoriaReunionDatosGenerales;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
 import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
 import org.crue.hercules.sgi.eti.model.Asistentes;
 import org.crue.hercules.sgi.eti.model.CargoComite;
@@ -30,6 +32,7 @@ import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoEvaluacion;
 import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.crue.hercules.sgi.eti.service.AsignacionEvaluadoresService;
 import org.crue.hercules.sgi.eti.service.AsistentesService;
 import org.crue.hercules.sgi.eti.service.ConvocatoriaReunionService;
 import org.crue.hercules.sgi.eti.service.EvaluacionService;
@@ -68,10 +71,15 @@ public class ConvocatoriaReunionControllerTest extends BaseControllerTest {
   @MockBean
   private ConvocatoriaReunionService convocatoriaReunionService;
 
+  @MockBean
+  private AsignacionEvaluadoresService asignacionEvaluadoresService;
+
   private static final String PATH_PARAMETER_ID = "/{id}";
   private static final String CONVOCATORIA_REUNION_CONTROLLER_BASE_PATH = "/convocatoriareuniones";
   private static final String PATH_PARAMETER_BY_EVALUACIONES = "/evaluaciones";
   private static final String PATH_PARAMETER_WITH_DATOS_GENERALES = "/datos-generales";
+  private static final String PATH_PARAMETER_ASIGNACION_EVALUADORES = "/asignacion-evaluadores";
+  private static final String PATH_PARAMETER_EVALUACIONES_BATCH = "/evaluaciones:batch";
 
   @Test
   @WithMockUser(username = "user", authorities = { "ETI-CNV-C" })
@@ -949,6 +957,111 @@ public class ConvocatoriaReunionControllerTest extends BaseControllerTest {
 
   }
 
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-CNV-C" })
+  public void findAsignacionEvaluadores_ReturnsPropuesta() throws Exception {
+    // given: una propuesta con una memoria asignada y otra sin evaluadores
+    final String url = new StringBuilder(CONVOCATORIA_REUNION_CONTROLLER_BASE_PATH)//
+        .append(PATH_PARAMETER_ID)//
+        .append(PATH_PARAMETER_ASIGNACION_EVALUADORES).toString();
+
+    Evaluacion evaluacion = generarMockEvaluacion(1L, null);
+    evaluacion.setEvaluador1(generarMockEvaluador(1L, "Evaluador1"));
+    evaluacion.setEvaluador2(generarMockEvaluador(2L, "Evaluador2"));
+    Memoria memoriaSinAsignar = generarMockEvaluacion(2L, null).getMemoria();
+    BDDMockito.given(asignacionEvaluadoresService.findPropuesta(1L)).willReturn(
+        new AsignacionEvaluadores(Collections.singletonList(evaluacion), Collections.singletonList(memoriaSinAsignar)));
+
+    // when: se pide la propuesta
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(url, 1L).with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON))
+        .andDo(MockMvcResultHandlers.print())
+        // then: se devuelven las evaluaciones propuestas y las memorias sin asignar
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.jsonPath("evaluaciones", Matchers.hasSize(1)))
+        .andExpect(MockMvcResultMatchers.jsonPath("evaluaciones[0].evaluador1.id").value(1))
+        .andExpect(MockMvcResultMatchers.jsonPath("evaluaciones[0].evaluador2.id").value(2))
+        .andExpect(MockMvcResultMatchers.jsonPath("memoriasSinAsignar", Matchers.hasSize(1)));
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-CNV-E" })
+  public void asignarEvaluadores_ReturnsEvaluacionesCreadas() throws Exception {
+    // given: las evaluaciones a crear
+    final String url = new StringBuilder(CONVOCATORIA_REUNION_CONTROLLER_BASE_PATH)//
+        .append(PATH_PARAMETER_ID)//
+        .append(PATH_PARAMETER_ASIGNACION_EVALUADORES).toString();
+
+    Evaluacion evaluacion = generarMockEvaluacion(1L, null);
+    evaluacion.setEvaluador1(generarMockEvaluador(1L, "Evaluador1"));
+    evaluacion.setEvaluador2(generarMockEvaluador(2L, "Evaluador2"));
+    List<Evaluacion> evaluaciones = Collections.singletonList(evaluacion);
+    BDDMockito.given(asignacionEvaluadoresService.asignar(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.<List<Evaluacion>>any())).willReturn(evaluaciones);
+
+    // when: se asignan los evaluadores
+    mockMvc
+        .perform(MockMvcRequestBuilders.post(url, 1L).with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(evaluaciones)))
+        .andDo(MockMvcResultHandlers.print())
+        // then: se devuelven las evaluaciones creadas
+        .andExpect(MockMvcResultMatchers.status().isCreated())
+        .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1));
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-CNV-E" })
+  public void asignarEvaluadores_WithEvaluadorNoElegible_Returns400() throws Exception {
+    // given: un evaluador que no puede evaluar la memoria
+    final String url = new StringBuilder(CONVOCATORIA_REUNION_CONTROLLER_BASE_PATH)//
+        .append(PATH_PARAMETER_ID)//
+        .append(PATH_PARAMETER_ASIGNACION_EVALUADORES).toString();
+
+    BDDMockito.given(asignacionEvaluadoresService.asignar(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.<List<Evaluacion>>any())).willThrow(new IllegalArgumentException());
+
+    // when: se asignan los evaluadores
+    // then: se produce error
+    mockMvc
+        .perform(MockMvcRequestBuilders.post(url, 1L).with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsString(Collections.singletonList(generarMockEvaluacion(1L, null)))))
+        .andDo(MockMvcResultHandlers.print()).andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-CNV-C" })
+  public void createEvaluaciones_ReturnsResultadoPorEvaluacion() throws Exception {
+    // given: dos evaluaciones, una de ellas con error
+    final String url = new StringBuilder(CONVOCATORIA_REUNION_CONTROLLER_BASE_PATH)//
+        .append(PATH_PARAMETER_ID)//
+        .append(PATH_PARAMETER_EVALUACIONES_BATCH).toString();
+
+    Evaluacion evaluacion = generarMockEvaluacion(1L, null);
+    evaluacion.setEvaluador1(generarMockEvaluador(1L, "Evaluador1"));
+    evaluacion.setEvaluador2(generarMockEvaluador(2L, "Evaluador2"));
+    List<EvaluacionBatchResult> resultados = new ArrayList<>();
+    resultados.add(new EvaluacionBatchResult(evaluacion.getMemoria().getId(), evaluacion, null));
+    resultados.add(new EvaluacionBatchResult(2L, null, "La memoria no existe"));
+    BDDMockito.given(evaluacionService.createAll(ArgumentMatchers.eq(1L), ArgumentMatchers.<List<Evaluacion>>any()))
+        .willReturn(resultados);
+
+    // when: se crean las evaluaciones
+    mockMvc
+        .perform(MockMvcRequestBuilders.post(url, 1L).with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsString(Collections.singletonList(evaluacion))))
+        .andDo(MockMvcResultHandlers.print())
+        // then: se devuelve el resultado de cada evaluación
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[0].evaluacion.id").value(1))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[1].idMemoria").value(2))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("La memoria no existe"));
+  }
+
   /**
    * Genera un objeto {@link ConvocatoriaReunion}
    * 
@@ -1,12 +1,16 @@
 package org.crue.hercules.sgi.eti.controller;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
 import org.crue.hercules.sgi.eti.exceptions.FormularioNotFoundException;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.service.BloqueService;
@@ -22,6 +26,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
@@ -45,6 +50,7 @@ public class FormularioControllerTest extends BaseControllerTest {
   private static final String PATH_PARAMETER_ID = "/{id}";
   private static final String FORMULARIO_CONTROLLER_BASE_PATH = "/formularios";
   private static final String PATH_PARAMETER_BLOQUES = "/bloques";
+  private static final String FORMULARIO_ARBOL_PATH = FORMULARIO_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/arbol";
 
   @Test
   @WithMockUser(username = "user", authorities = { "ETI-FORMULARIO-VER" })
@@ -229,6 +235,92 @@ public class FormularioControllerTest extends BaseControllerTest {
         .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(100))).andReturn();
   }
 
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-C-INV" })
+  public void getArbol_WithAcceptEncodingGzip_ReturnsContenidoComprimido() throws Exception {
+    // given: El árbol serializado del formulario
+    FormularioArbolSerializado arbol = generarMockFormularioArbolSerializado();
+    BDDMockito.given(formularioService.findArbolSerializadoById(1L)).willReturn(arbol);
+
+    // when: Se pide el árbol aceptando gzip
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(FORMULARIO_ARBOL_PATH, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+        .andDo(MockMvcResultHandlers.print())
+        // then: Se devuelve el contenido comprimido tal cual con su etag
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, arbol.getEtag()))
+        .andExpect(MockMvcResultMatchers.content().bytes(arbol.getContenido()));
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-C-INV" })
+  public void getArbol_WithoutAcceptEncoding_ReturnsJson() throws Exception {
+    // given: El árbol serializado del formulario
+    FormularioArbolSerializado arbol = generarMockFormularioArbolSerializado();
+    BDDMockito.given(formularioService.findArbolSerializadoById(1L)).willReturn(arbol);
+
+    // when: Se pide el árbol sin aceptar gzip
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(FORMULARIO_ARBOL_PATH, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()))
+        .andDo(MockMvcResultHandlers.print())
+        // then: Se devuelve el JSON descomprimido
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, arbol.getEtag()))
+        .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(MockMvcResultMatchers.jsonPath("id").value(1))
+        .andExpect(MockMvcResultMatchers.jsonPath("bloques[0].apartados[0].esquema.campos", Matchers.hasSize(0)));
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-C-INV" })
+  public void getArbol_WithIfNoneMatch_Returns304() throws Exception {
+    // given: El árbol serializado del formulario
+    FormularioArbolSerializado arbol = generarMockFormularioArbolSerializado();
+    BDDMockito.given(formularioService.findArbolSerializadoById(1L)).willReturn(arbol);
+
+    // when: Se pide el árbol con el etag que ya tiene el cliente
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(FORMULARIO_ARBOL_PATH, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()).header(HttpHeaders.IF_NONE_MATCH, arbol.getEtag()))
+        .andDo(MockMvcResultHandlers.print())
+        // then: No se devuelve contenido
+        .andExpect(MockMvcResultMatchers.status().isNotModified())
+        .andExpect(MockMvcResultMatchers.content().bytes(new byte[0]));
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-C-INV" })
+  public void getArbol_NotFound_Returns404() throws Exception {
+    BDDMockito.given(formularioService.findArbolSerializadoById(1L)).willThrow(new FormularioNotFoundException(1L));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(FORMULARIO_ARBOL_PATH, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()))
+        .andDo(MockMvcResultHandlers.print()).andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  /**
+   * Función que devuelve el árbol serializado de un formulario con un bloque y
+   * un apartado
+   * 
+   * @return el árbol serializado
+   * @throws Exception si no se puede comprimir
+   */
+  private FormularioArbolSerializado generarMockFormularioArbolSerializado() throws Exception {
+    String json = "{\"id\":1,\"nombre\":\"Formulario1\",\"descripcion\":\"Descripcion1\",\"bloques\":[{\"id\":1,"
+        + "\"nombre\":\"Bloque1\",\"orden\":1,\"apartados\":[{\"id\":1,\"nombre\":\"Apartado1\",\"orden\":1,"
+        + "\"esquema\":{\"campos\":[]},\"hijos\":[]}]}]}";
+    ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(contenido)) {
+      gzip.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    return new FormularioArbolSerializado(contenido.toByteArray(), "\"0123456789abcdef0123456789abcdef\"");
+  }
+
   /**
    * Función que devuelve un objeto Formulario
    * 
@@ -4,7 +4,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -12,6 +14,7 @@ import org.assertj.core.api.Assertions;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
+import org.crue.hercules.sgi.eti.model.Apartado;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.Dictamen;
@@ -22,6 +25,7 @@ import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.model.Informe;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
+import org.crue.hercules.sgi.eti.model.Respuesta;
 import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.model.TipoActividad;
 import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion;
@@ -33,6 +37,7 @@ import org.crue.hercules.sgi.eti.service.DocumentacionMemoriaService;
 import org.crue.hercules.sgi.eti.service.EvaluacionService;
 import org.crue.hercules.sgi.eti.service.InformeService;
 import org.crue.hercules.sgi.eti.service.MemoriaService;
+import org.crue.hercules.sgi.eti.service.RespuestaService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -70,6 +75,9 @@ public class MemoriaControllerTest extends BaseControllerTest {
   @MockBean
   private DocumentacionMemoriaService documentacionMemoriaService;
 
+  @MockBean
+  private RespuestaService respuestaService;
+
   private static final String PATH_PARAMETER_ID = "/{id}";
   private static final String PATH_PARAMETER_ASIGNABLES = "/asignables/{idConvocatoria}";
   private static final String PATH_PARAMETER_ASIGNABLES_ORDEXT = "/tipo-convocatoria-ord-ext";
@@ -80,6 +88,7 @@ public class MemoriaControllerTest extends BaseControllerTest {
   private static final String PATH_PARAMETER_ENVIAR_SECRETARIA = "/enviar-secretaria";
   private static final String PATH_PARAMETER_ENVIAR_SECRETARIA_RETROSPECTIVA = "/enviar-secretaria-retrospectiva";
   private static final String PATH_PARAMETER_PERSONA = "/persona";
+  private static final String PATH_PARAMETER_RESPUESTAS = "/respuestas";
 
   @Test
   @WithMockUser(username = "user", authorities = { "ETI-PEV-V", "ETI-PEV-VR-INV" })
@@ -405,6 +414,30 @@ public class MemoriaControllerTest extends BaseControllerTest {
         .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)));
   }
 
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-VR-INV", "ETI-PEV-V" })
+  public void findAll_WithFiltroRespuestas_ReturnsFilteredMemoriaList() throws Exception {
+    // given: filtro por el contenido de las respuestas
+    Map<String, String> respuestas = new LinkedHashMap<>();
+    respuestas.put("especie", "rata");
+    respuestas.put("riesgo.nivel", "alto");
+    List<MemoriaPeticionEvaluacion> memorias = new ArrayList<>();
+    memorias.add(new MemoriaPeticionEvaluacion());
+
+    BDDMockito.given(memoriaService.findAll(ArgumentMatchers.<String>isNull(), ArgumentMatchers.eq(respuestas),
+        ArgumentMatchers.<Pageable>any())).willReturn(new PageImpl<>(memorias));
+
+    // when: find con filtro de respuestas
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(MEMORIA_CONTROLLER_BASE_PATH)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()).param("respuesta.especie", "rata")
+            .param("respuesta.riesgo.nivel", "alto").accept(MediaType.APPLICATION_JSON))
+        .andDo(MockMvcResultHandlers.print())
+        // then: se filtra por las respuestas sin el prefijo de los parámetros
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)));
+  }
+
   @Test
   @WithMockUser(username = "user", authorities = { "ETI-PEV-VR-INV", "ETI-PEV-V", "ETI-PEV-E" })
   public void findAll_ReturnsNoContent() throws Exception { // given: One hundred Memoria
@@ -1141,6 +1174,51 @@ public class MemoriaControllerTest extends BaseControllerTest {
         .andDo(MockMvcResultHandlers.print()).andExpect(MockMvcResultMatchers.status().isOk());
   }
 
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-ER-INV" })
+  public void replaceRespuestas_ReturnsRespuestasModificadas() throws Exception {
+    // given: la respuesta de un apartado que ha cambiado
+    Apartado apartado = new Apartado();
+    apartado.setId(1L);
+    Respuesta respuesta = new Respuesta();
+    respuesta.setId(1L);
+    respuesta.setApartado(apartado);
+    respuesta.setValor("{\"valor\":\"Valor1\"}");
+    BDDMockito.given(respuestaService.updateAllByMemoriaId(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.<List<Respuesta>>any())).willReturn(Collections.singletonList(respuesta));
+
+    // when: se guardan las respuestas de la memoria
+    mockMvc
+        .perform(MockMvcRequestBuilders
+            .put(MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + PATH_PARAMETER_RESPUESTAS, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()).contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"apartado\":{\"id\":1},\"valor\":{\"valor\":\"Valor1\"}}]"))
+        .andDo(MockMvcResultHandlers.print())
+        // then: se devuelve la respuesta modificada con su valor JSON
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor.valor").value("Valor1"))
+        .andExpect(MockMvcResultMatchers.jsonPath("$[0].valorHash").doesNotExist());
+  }
+
+  @Test
+  @WithMockUser(username = "user", authorities = { "ETI-PEV-ER-INV" })
+  public void replaceRespuestas_SinCambios_Returns204() throws Exception {
+    // given: ninguna respuesta ha cambiado
+    BDDMockito.given(respuestaService.updateAllByMemoriaId(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.<List<Respuesta>>any())).willReturn(Collections.emptyList());
+
+    // when: se guardan las respuestas de la memoria
+    mockMvc
+        .perform(MockMvcRequestBuilders
+            .put(MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + PATH_PARAMETER_RESPUESTAS, 1L)
+            .with(SecurityMockMvcRequestPostProcessors.csrf()).contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"apartado\":{\"id\":1},\"valor\":{\"valor\":\"Valor1\"}}]"))
+        .andDo(MockMvcResultHandlers.print())
+        // then: no se devuelve contenido
+        .andExpect(MockMvcResultMatchers.status().isNoContent());
+  }
+
   @Test
   @WithMockUser(username = "user", authorities = { "ETI-PEV-VR-INV" })
   public void findAllMemoriasEvaluacionByPersonaRef_Unlimited_ReturnsFullMemoriaPeticionEvaluacionList()
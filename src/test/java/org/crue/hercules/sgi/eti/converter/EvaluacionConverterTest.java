@@ -3,7 +3,10 @@ package org.crue.hercules.sgi.eti.converter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.assertj.core.api.Assertions;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithIsEliminable;
@@ -26,7 +29,10 @@ import org.crue.hercules.sgi.eti.repository.ComentarioRepository;
 import org.crue.hercules.sgi.eti.service.BaseServiceTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 
 /**
  * EvaluacionConverterTest
@@ -125,6 +131,64 @@ public class EvaluacionConverterTest extends BaseServiceTest {
 
   }
 
+  @Test
+  public void evaluacionesToEvaluacionesWithIsEliminable_WithComentarios_ReturnEliminableOnlyWithoutComentarios() {
+    LocalDateTime fechaEvaluacion = LocalDateTime.now().plusYears(1);
+    List<Evaluacion> evaluaciones = new ArrayList<>();
+    for (long id = 1; id <= 3; id++) {
+      Evaluacion evaluacion = generarMockEvaluacion(id, "Eva" + id, 1L, 1L);
+      evaluacion.getConvocatoriaReunion().setFechaEvaluacion(fechaEvaluacion);
+      evaluacion.setDictamen(null);
+      evaluaciones.add(evaluacion);
+    }
+    Map<Long, Long> numComentarios = new HashMap<>();
+    numComentarios.put(2L, 3L);
+    BDDMockito.given(comentarioRepository.countByEvaluacionIdIn(Arrays.asList(1L, 2L, 3L))).willReturn(numComentarios);
+
+    List<EvaluacionWithIsEliminable> result = evaluacionConverter
+        .evaluacionesToEvaluacionesWithIsEliminable(evaluaciones);
+
+    Assertions.assertThat(result).extracting(EvaluacionWithIsEliminable::isEliminable).containsExactly(true, false,
+        true);
+  }
+
+  @Test
+  public void evaluacionesToEvaluacionesWithIsEliminable_AnyPageSize_CountsComentariosWithSingleQuery() {
+    LocalDateTime fechaEvaluacion = LocalDateTime.now().plusYears(1);
+
+    for (int pageSize : new int[] { 1, 10, 100 }) {
+      List<Evaluacion> evaluaciones = new ArrayList<>();
+      for (long id = 1; id <= pageSize; id++) {
+        Evaluacion evaluacion = generarMockEvaluacion(id, "Eva" + id, 1L, 1L);
+        evaluacion.getConvocatoriaReunion().setFechaEvaluacion(fechaEvaluacion);
+        evaluacion.setDictamen(null);
+        evaluaciones.add(evaluacion);
+      }
+
+      List<EvaluacionWithIsEliminable> result = evaluacionConverter
+          .evaluacionesToEvaluacionesWithIsEliminable(evaluaciones);
+
+      Assertions.assertThat(result.size()).isEqualTo(pageSize);
+      BDDMockito.then(comentarioRepository).should(Mockito.times(1))
+          .countByEvaluacionIdIn(ArgumentMatchers.<Long>anyList());
+      BDDMockito.then(comentarioRepository).should(Mockito.never()).countByEvaluacionId(ArgumentMatchers.anyLong());
+      Mockito.clearInvocations(comentarioRepository);
+    }
+  }
+
+  @Test
+  public void evaluacionesToEvaluacionesWithIsEliminable_NoEliminables_DoesNotCountComentarios() {
+    ArrayList<Evaluacion> evaluaciones = new ArrayList<>();
+    evaluaciones.add(generarMockEvaluacion(1L, "Eva1", 1L, 1L));
+    evaluaciones.add(generarMockEvaluacion(2L, "Eva2", 1L, 1L));
+
+    List<EvaluacionWithIsEliminable> result = evaluacionConverter
+        .evaluacionesToEvaluacionesWithIsEliminable(evaluaciones);
+
+    Assertions.assertThat(result).extracting(EvaluacionWithIsEliminable::isEliminable).containsOnly(false);
+    BDDMockito.then(comentarioRepository).shouldHaveNoInteractions();
+  }
+
   @Test
   public void evaluacionesToEvaluacionesWithIsEliminable_ReturnArrayList() {
     List<Evaluacion> evaluaciones = null;
@@ -210,9 +210,11 @@ public class ActaIT extends BaseIT {
 
     URI uri = UriComponentsBuilder.fromUriString(ACTA_CONTROLLER_BASE_PATH).queryParam("s", sort).build(false).toUri();
 
-    final ResponseEntity<List<ActaWithNumEvaluaciones>> response = restTemplate.exchange(uri, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<ActaWithNumEvaluaciones>>() {
-        });
+    HttpEntity<Acta> request = buildRequest(headers, null);
+    final ResponseEntity<List<ActaWithNumEvaluaciones>> response = withStatementBudget(2, () -> restTemplate.exchange(
+        uri, HttpMethod.GET, request,
+        new ParameterizedTypeReference<List<ActaWithNumEvaluaciones>>() {
+        }));
 
     // then: Respuesta OK, retorna la información de la página correcta en el header
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -277,6 +279,45 @@ public class ActaIT extends BaseIT {
     }
   }
 
+  @Test
+  public void findAll_WithSortByCampoDto_ReturnsOrderedActaWithNumEvaluacionesList() throws Exception {
+    // when: Ordenación por numeroActa (campo del DTO, en la entidad es numero)
+    String sort = "numeroActa,asc";
+
+    // Authorization
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-ACT-V")));
+
+    URI uri = UriComponentsBuilder.fromUriString(ACTA_CONTROLLER_BASE_PATH).queryParam("s", sort).build(false).toUri();
+
+    final ResponseEntity<List<ActaWithNumEvaluaciones>> response = restTemplate.exchange(uri, HttpMethod.GET,
+        buildRequest(headers, null), new ParameterizedTypeReference<List<ActaWithNumEvaluaciones>>() {
+        });
+
+    // then: Respuesta OK, el acta 8 (número 120) va primero y el resto por id
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(response.getBody()).extracting(ActaWithNumEvaluaciones::getId).containsExactly(8L, 2L, 3L,
+        4L, 5L, 6L, 7L);
+  }
+
+  @Test
+  public void findAll_WithSortByRecuento_ReturnsBadRequest() throws Exception {
+    // when: Ordenación por un recuento del DTO, que no se puede ordenar
+    String sort = "numEvaluaciones,desc";
+
+    // Authorization
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-ACT-V")));
+
+    URI uri = UriComponentsBuilder.fromUriString(ACTA_CONTROLLER_BASE_PATH).queryParam("s", sort).build(false).toUri();
+
+    final ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.GET, buildRequest(headers, null),
+        String.class);
+
+    // then: se rechaza la petición
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
   @Test
   public void findAll_WithPagingSortingAndFiltering_ReturnsActaWithNumEvaluacionesSubList() throws Exception {
     // when: Obtiene page=0 con pagesize=3
@@ -320,9 +361,10 @@ public class ActaIT extends BaseIT {
 
     // when: Finalizar acta con id existente
     long id = 2L;
-    final ResponseEntity<Acta> response = restTemplate.exchange(
-        ACTA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/finalizar", HttpMethod.PUT, buildRequest(headers, null),
-        Acta.class, id);
+    HttpEntity<Acta> request = buildRequest(headers, null);
+    final ResponseEntity<Acta> response = withStatementBudget(6, () -> restTemplate.exchange(
+        ACTA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/finalizar", HttpMethod.PUT, request,
+        Acta.class, id));
 
     // then: 200
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -1,21 +1,80 @@
 package org.crue.hercules.sgi.eti.integration;
 
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
 import org.crue.hercules.sgi.framework.test.context.support.SgiTestProfileResolver;
 import org.crue.hercules.sgi.framework.test.security.Oauth2WireMockInitializer;
 import org.crue.hercules.sgi.framework.test.security.Oauth2WireMockInitializer.TokenBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import lombok.extern.slf4j.Slf4j;
+
 @ContextConfiguration(initializers = { Oauth2WireMockInitializer.class })
 @ActiveProfiles(resolver = SgiTestProfileResolver.class)
+@Slf4j
 public class BaseIT {
 
+  /**
+   * Margen fijo sobre las sentencias esperadas de cada llamada (una carga de
+   * secuencia y una sentencia de más del plan de carga).
+   */
+  protected static final long STATEMENT_HEADROOM = 2;
+
   @Autowired
   protected TestRestTemplate restTemplate;
 
   @Autowired
   protected TokenBuilder tokenBuilder;
 
-}
\ No newline at end of file
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Ejecuta la llamada y comprueba que el servidor no lanza más sentencias SQL
+   * que las esperadas más {@link #STATEMENT_HEADROOM} (presupuesto de
+   * sentencias).
+   *
+   * Cuenta las sentencias preparadas por Hibernate (consultas, inserciones,
+   * actualizaciones y borrados, incluidas las cargas de asociaciones) durante la
+   * llamada, por lo que un N+1 hace fallar el test. Los scripts de @Sql no se
+   * cuentan. El número medido se escribe en el log para poder ajustar las
+   * sentencias esperadas. Si falla, el mensaje incluye las consultas ejecutadas
+   * y las entidades y colecciones cargadas.
+   *
+   * @param <T>                tipo de la respuesta.
+   * @param expectedStatements número de sentencias SQL esperadas con los datos
+   *                           del test.
+   * @param call               la llamada al servidor.
+   * @return la respuesta de la llamada.
+   */
+  protected <T> T withStatementBudget(long expectedStatements, Supplier<T> call) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    T response = call.get();
+
+    long maxStatements = expectedStatements + STATEMENT_HEADROOM;
+    long statements = statistics.getPrepareStatementCount();
+    log.info("withStatementBudget - {} sentencias SQL (esperadas {}, presupuesto {})", statements,
+        expectedStatements, maxStatements);
+    Assertions.assertThat(statements)
+        .as("Sentencias SQL (esperadas %d, presupuesto %d). Consultas: %s. Entidades cargadas: %d (fetch: %d). "
+            + "Colecciones cargadas: %d (fetch: %d)", expectedStatements, maxStatements,
+            Arrays.toString(statistics.getQueries()), statistics.getEntityLoadCount(),
+            statistics.getEntityFetchCount(), statistics.getCollectionLoadCount(),
+            statistics.getCollectionFetchCount())
+        .isLessThanOrEqualTo(maxStatements);
+    return response;
+  }
+
+}
@@ -0,0 +1,155 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.ConflictoInteres;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.service.ConflictoInteresService;
+import org.crue.hercules.sgi.eti.service.EvaluadorService;
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.jdbc.SqlMergeMode.MergeMode;
+
+/**
+ * Evaluadores sin conflicto de intereses con el índice en memoria activo: las
+ * altas y bajas de conflictos de intereses se reflejan en la consulta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "sgi.eti.conflicto-interes.index.enabled=true")
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/formulario.sql",
+  "classpath:scripts/tipo_actividad.sql",
+  "classpath:scripts/tipo_memoria.sql",
+  "classpath:scripts/estado_retrospectiva.sql",
+  "classpath:scripts/tipo_convocatoria_reunion.sql",
+  "classpath:scripts/tipo_evaluacion.sql",
+  "classpath:scripts/formacion_especifica.sql",
+  "classpath:scripts/tipo_tarea.sql",
+  "classpath:scripts/tipo_estado_memoria.sql",
+  "classpath:scripts/evaluador.sql"
+// @formatter:on
+})
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+@SqlMergeMode(MergeMode.MERGE)
+public class ConflictoInteresIndexIT extends BaseIT {
+
+  private static final Long ID_COMITE = 1L;
+  private static final Long ID_MEMORIA = 100L;
+  private static final Long ID_EVALUADOR = 3L;
+  private static final int LECTORES = 4;
+  private static final int LECTURAS = 200;
+
+  @Autowired
+  private EvaluadorService evaluadorService;
+
+  @Autowired
+  private ConflictoInteresService conflictoInteresService;
+
+  @Autowired
+  private ConflictoInteresIndex conflictoInteresIndex;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  public void setUp() {
+    // Los scripts de @Sql cambian la tabla sin pasar por el servicio
+    conflictoInteresIndex.invalidate();
+  }
+
+  @Test
+  public void findAllByComiteSinconflictoInteresesMemoria_WithIndex_ReflectsConflictosInteres() throws Exception {
+    // given: el evaluador 3 no tiene conflicto de intereses con el equipo de
+    // trabajo de la memoria
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(7).contains(ID_EVALUADOR);
+
+    // when: se crea un conflicto de intereses con una persona del equipo
+    Evaluador evaluador = new Evaluador();
+    evaluador.setId(ID_EVALUADOR);
+    ConflictoInteres conflictoInteres = conflictoInteresService
+        .create(new ConflictoInteres(null, evaluador, "user-001"));
+
+    // then: el evaluador deja de estar disponible
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(6).doesNotContain(ID_EVALUADOR);
+
+    // when: se elimina el conflicto de intereses
+    conflictoInteresService.delete(conflictoInteres.getId());
+
+    // then: el evaluador vuelve a estar disponible
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(7).contains(ID_EVALUADOR);
+  }
+
+  @Test
+  public void findAllByComiteSinconflictoInteresesMemoria_WithChangeOutsideService_ReflectsItAfterInvalidate()
+      throws Exception {
+    // given: el índice cargado sin conflictos de intereses del evaluador 3
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(7).contains(ID_EVALUADOR);
+
+    // when: se crea un conflicto de intereses directamente en base de datos
+    jdbcTemplate.update("INSERT INTO eti.conflicto_interes (id, evaluador_id, persona_conflicto_ref) VALUES (?, ?, ?)",
+        1000L, ID_EVALUADOR, "user-001");
+
+    // then: el índice no lo ve hasta que se invalida
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(7).contains(ID_EVALUADOR);
+    conflictoInteresIndex.invalidate();
+    Assertions.assertThat(findIdsEvaluadoresSinConflicto()).hasSize(6).doesNotContain(ID_EVALUADOR);
+  }
+
+  @Test
+  public void findEvaluadores_WhileReloading_NeverReadsPartialIndex() throws Exception {
+    // given: el evaluador 3 tiene conflicto de intereses con user-001
+    Evaluador evaluador = new Evaluador();
+    evaluador.setId(ID_EVALUADOR);
+    conflictoInteresService.create(new ConflictoInteres(null, evaluador, "user-001"));
+    Set<String> personaRefs = Collections.singleton("user-001");
+    Assertions.assertThat(conflictoInteresIndex.findEvaluadores(personaRefs)).containsExactly(ID_EVALUADOR);
+
+    ExecutorService executor = Executors.newFixedThreadPool(LECTORES);
+    try {
+      // when: se consulta el índice desde varios hilos mientras se invalida y se
+      // vuelve a cargar
+      List<Future<Boolean>> lecturas = new ArrayList<>();
+      for (int i = 0; i < LECTORES; i++) {
+        lecturas.add(executor.submit(() -> {
+          for (int j = 0; j < LECTURAS; j++) {
+            if (!conflictoInteresIndex.findEvaluadores(personaRefs).contains(ID_EVALUADOR)) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (int i = 0; i < LECTURAS / 4; i++) {
+        conflictoInteresIndex.invalidate();
+      }
+
+      // then: ninguna consulta ve el índice vacío o a medio cargar
+      for (Future<Boolean> lectura : lecturas) {
+        Assertions.assertThat(lectura.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<Long> findIdsEvaluadoresSinConflicto() {
+    return evaluadorService.findAllByComiteSinconflictoInteresesMemoria(ID_COMITE, ID_MEMORIA, Pageable.unpaged())
+        .getContent().stream().map(Evaluador::getId).collect(Collectors.toList());
+  }
+
+}
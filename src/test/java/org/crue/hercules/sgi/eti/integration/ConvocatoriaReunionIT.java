@@ -290,9 +290,10 @@ public class ConvocatoriaReunionIT extends BaseIT {
         .build(false).toUri();
 
     // when: Se buscan los datos paginados con el filtro y orden indicados
-    final ResponseEntity<List<ConvocatoriaReunion>> result = restTemplate.exchange(uri, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<ConvocatoriaReunion>>() {
-        });
+    HttpEntity<ConvocatoriaReunion> request = buildRequest(headers, null);
+    final ResponseEntity<List<ConvocatoriaReunion>> result = withStatementBudget(6, () -> restTemplate.exchange(
+        uri, HttpMethod.GET, request, new ParameterizedTypeReference<List<ConvocatoriaReunion>>() {
+        }));
 
     // then: Se recuperan los datos correctamente según la paginación solicitada
     Assertions.assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -461,9 +462,10 @@ public class ConvocatoriaReunionIT extends BaseIT {
     Page<Asistentes> pageResult = new PageImpl<>(result.subList(2, 3), pageable, result.size());
 
     // when: Se buscan los datos paginados
-    final ResponseEntity<List<Asistentes>> response = restTemplate.exchange(url, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Asistentes>>() {
-        }, convocatoriaReunionId);
+    HttpEntity<ConvocatoriaReunion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Asistentes>> response = withStatementBudget(3, () -> restTemplate.exchange(
+        url, HttpMethod.GET, request, new ParameterizedTypeReference<List<Asistentes>>() {
+        }, convocatoriaReunionId));
 
     // then: Se recuperan los datos correctamente según la paginación solicitada
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -627,9 +629,10 @@ public class ConvocatoriaReunionIT extends BaseIT {
     Page<Evaluacion> pageResult = new PageImpl<>(result.subList(2, 3), pageable, result.size());
 
     // when: Se buscan los datos paginados
-    final ResponseEntity<List<Evaluacion>> response = restTemplate.exchange(url, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Evaluacion>>() {
-        }, convocatoriaReunionId);
+    HttpEntity<ConvocatoriaReunion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluacion>> response = withStatementBudget(9, () -> restTemplate.exchange(
+        url, HttpMethod.GET, request, new ParameterizedTypeReference<List<Evaluacion>>() {
+        }, convocatoriaReunionId));
 
     // then: Se recuperan los datos correctamente según la paginación solicitada
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,252 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dataset.SyntheticDatasetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prueba de escala: latencia de cada endpoint GET de los controllers sobre el
+ * conjunto de datos de {@link SyntheticDatasetGenerator}.
+ *
+ * Solo se ejecuta con la propiedad de sistema {@code scale-test=true} (perfil
+ * de Maven scale-test). Los volúmenes se cambian con las propiedades
+ * sgi.eti.dataset.*. Los datos se generan al arrancar, junto con los datos
+ * maestros, y se borran al terminar como en el resto de tests de integración
+ * para que no interfieran con los *BenchmarkIT. Las variables de las rutas se sustituyen por
+ * registros generados que tienen evaluaciones en curso. El p50 y el p95 de cada
+ * endpoint se escriben en el log y en target/scale-test/latencias.json.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "scale-test", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "sgi.eti.dataset.enabled=true" })
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+public class EndpointLatencyScaleIT extends BaseIT {
+
+  private static final String CONTROLLER_PACKAGE = "org.crue.hercules.sgi.eti.controller";
+  private static final int CALENTAMIENTO = Integer.getInteger("scale-test.calentamiento", 2);
+  private static final int MUESTRAS = Integer.getInteger("scale-test.muestras", 20);
+  private static final String PAGE_SIZE = "10";
+  private static final File INFORME = new File("target/scale-test/latencias.json");
+
+  /** Endpoints GET que modifican datos. */
+  private static final List<String> EXCLUIDOS = Arrays.asList("/memorias/{id}/recuperar-estado-anterior");
+
+  private static final Pattern PATH_VARIABLE = Pattern.compile("\\{(\\w+)\\}");
+  private static final Pattern AUTHORITY = Pattern.compile("'([A-Z][A-Z0-9-]+)'");
+
+  @Autowired
+  @Qualifier("requestMappingHandlerMapping")
+  private RequestMappingHandlerMapping handlerMapping;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private Environment environment;
+
+  /** Latencia de un endpoint. */
+  @Value
+  static class Latencia {
+    String endpoint;
+    int status;
+    double p50Ms;
+    double p95Ms;
+    double maxMs;
+  }
+
+  @Test
+  public void getEndpoints_WithSyntheticDataset_RecordsLatencies() throws Exception {
+    // given: los endpoints GET de los controllers y los registros con los que
+    // se sustituyen las variables de las rutas
+    Set<String> authorities = new TreeSet<>();
+    Set<String> endpoints = new TreeSet<>();
+    for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+      RequestMappingInfo info = entry.getKey();
+      HandlerMethod handlerMethod = entry.getValue();
+      if (handlerMethod.getBeanType().getName().startsWith(CONTROLLER_PACKAGE)
+          && info.getMethodsCondition().getMethods().contains(RequestMethod.GET)
+          && info.getHeadersCondition().isEmpty()) {
+        info.getPatternsCondition().getPatterns().stream().filter(pattern -> !EXCLUIDOS.contains(pattern))
+            .forEach(endpoints::add);
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+            PreAuthorize.class);
+        if (preAuthorize != null) {
+          Matcher matcher = AUTHORITY.matcher(preAuthorize.value());
+          while (matcher.find()) {
+            authorities.add(matcher.group(1));
+          }
+        }
+      }
+    }
+    Map<String, Object> ids = getIds();
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", String.format("bearer %s",
+        tokenBuilder.buildToken((String) ids.get("personaRef"), authorities.toArray(new String[0]))));
+    headers.set("X-Page", "0");
+    headers.set("X-Page-Size", PAGE_SIZE);
+
+    // when: se llama a cada endpoint midiendo la latencia
+    List<Latencia> latencias = new ArrayList<>();
+    for (String endpoint : endpoints) {
+      latencias.add(measure(endpoint, resolve(endpoint, ids), new HttpEntity<>(headers)));
+    }
+
+    // then: se registran el p50 y el p95 de todos los endpoints
+    latencias.forEach(latencia -> log.info("{} [{}]: p50 = {} ms, p95 = {} ms, max = {} ms", latencia.getEndpoint(),
+        latencia.getStatus(), latencia.getP50Ms(), latencia.getP95Ms(), latencia.getMaxMs()));
+    INFORME.getParentFile().mkdirs();
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(INFORME, latencias);
+    Assertions.assertThat(latencias).hasSize(endpoints.size());
+    Assertions.assertThat(INFORME).exists();
+  }
+
+  /**
+   * Llama al endpoint las veces indicadas, después de calentarlo.
+   *
+   * @param endpoint patrón del endpoint.
+   * @param uri      ruta con las variables sustituidas.
+   * @param request  petición.
+   * @return la latencia.
+   */
+  private Latencia measure(String endpoint, String uri, HttpEntity<Void> request) {
+    ResponseEntity<String> response = null;
+    for (int i = 0; i < CALENTAMIENTO; i++) {
+      response = restTemplate.exchange(uri, HttpMethod.GET, request, String.class);
+    }
+    long[] tiempos = new long[MUESTRAS];
+    for (int i = 0; i < MUESTRAS; i++) {
+      long start = System.nanoTime();
+      response = restTemplate.exchange(uri, HttpMethod.GET, request, String.class);
+      tiempos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(tiempos);
+    return new Latencia(endpoint, response.getStatusCodeValue(), percentile(tiempos, 0.50),
+        percentile(tiempos, 0.95), tiempos[tiempos.length - 1] / 1_000_000.0);
+  }
+
+  /**
+   * Percentil (por rango) de los tiempos ordenados, en milisegundos.
+   *
+   * @param tiempos    tiempos ordenados en nanosegundos.
+   * @param percentile percentil entre 0 y 1.
+   * @return el percentil.
+   */
+  private static double percentile(long[] tiempos, double percentile) {
+    int rango = (int) Math.ceil(percentile * tiempos.length);
+    return tiempos[Math.max(rango - 1, 0)] / 1_000_000.0;
+  }
+
+  /**
+   * Sustituye las variables de la ruta por su nombre o, si es {id}, por el
+   * recurso que la precede.
+   *
+   * @param endpoint patrón del endpoint.
+   * @param ids      identificadores por nombre de variable y por recurso.
+   * @return la ruta.
+   */
+  private static String resolve(String endpoint, Map<String, Object> ids) {
+    Matcher matcher = PATH_VARIABLE.matcher(endpoint);
+    StringBuffer uri = new StringBuffer();
+    while (matcher.find()) {
+      String variable = matcher.group(1);
+      String[] segmentos = endpoint.substring(0, matcher.start()).split("/");
+      String recurso = segmentos.length == 0 ? "" : segmentos[segmentos.length - 1];
+      Object id = ids.containsKey(variable) ? ids.get(variable) : ids.getOrDefault(recurso, 1L);
+      matcher.appendReplacement(uri, String.valueOf(id));
+    }
+    matcher.appendTail(uri);
+    return uri.toString();
+  }
+
+  /**
+   * Identificadores de una evaluación en curso y de sus registros relacionados,
+   * por nombre de variable y por recurso de las rutas.
+   *
+   * @return los identificadores.
+   */
+  private Map<String, Object> getIds() {
+    Map<String, Object> evaluacion = jdbcTemplate.queryForMap(sql("SELECT ev.id, ev.memoria_id, "
+        + "ev.convocatoria_reunion_id, ev.evaluador1_id, e.persona_ref, m.comite_id, m.peticion_evaluacion_id, "
+        + "c.formulario_id FROM {h-schema}evaluacion ev JOIN {h-schema}evaluador e ON ev.evaluador1_id = e.id "
+        + "JOIN {h-schema}memoria m ON ev.memoria_id = m.id JOIN {h-schema}comite c ON m.comite_id = c.id "
+        + "WHERE ev.id = (SELECT MAX(id) FROM {h-schema}evaluacion WHERE dictamen_id IS NULL)"));
+    Object idComite = evaluacion.get("comite_id");
+    Object idMemoria = evaluacion.get("memoria_id");
+    Object idConvocatoria = evaluacion.get("convocatoria_reunion_id");
+    Object idEvaluacion = evaluacion.get("id");
+
+    Map<String, Object> ids = new HashMap<>();
+    ids.put("personaRef", evaluacion.get("persona_ref"));
+    ids.put("idComite", idComite);
+    ids.put("idMemoria", idMemoria);
+    ids.put("idConvocatoria", idConvocatoria);
+    ids.put("idConvocatoriaReunion", idConvocatoria);
+    ids.put("idEvaluacion", idEvaluacion);
+    ids.put("idTipoEvaluacion", 2L);
+    ids.put("esRevisionMinima", false);
+    ids.put("comites", idComite);
+    ids.put("memorias", idMemoria);
+    ids.put("evaluaciones", idEvaluacion);
+    ids.put("convocatoriareunion", idConvocatoria);
+    ids.put("convocatoriareuniones", idConvocatoria);
+    ids.put("evaluadores", evaluacion.get("evaluador1_id"));
+    ids.put("peticionevaluaciones", evaluacion.get("peticion_evaluacion_id"));
+    ids.put("formularios", evaluacion.get("formulario_id"));
+    ids.put("respuestas", jdbcTemplate.queryForObject(
+        sql("SELECT COALESCE(MAX(id), 1) FROM {h-schema}respuesta WHERE memoria_id = ?"), Long.class, idMemoria));
+    ids.put("estadomemorias", jdbcTemplate.queryForObject(
+        sql("SELECT COALESCE(MAX(id), 1) FROM {h-schema}estado_memoria WHERE memoria_id = ?"), Long.class,
+        idMemoria));
+    return ids;
+  }
+
+  /**
+   * Cualifica las tablas de la consulta con el esquema por defecto de Hibernate,
+   * como {@link SyntheticDatasetGenerator}.
+   *
+   * @param sql consulta con el marcador {h-schema}.
+   * @return la consulta.
+   */
+  private String sql(String sql) {
+    String schema = environment.getProperty("spring.jpa.properties.hibernate.default_schema", "");
+    return sql.replace("{h-schema}", schema.isEmpty() ? "" : schema + ".");
+  }
+
+}
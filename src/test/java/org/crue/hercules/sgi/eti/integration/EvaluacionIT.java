@@ -3,10 +3,12 @@ package org.crue.hercules.sgi.eti.integration;
 import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.model.Apartado;
 import org.crue.hercules.sgi.eti.model.Bloque;
 import org.crue.hercules.sgi.eti.model.CargoComite;
@@ -114,6 +116,14 @@ public class EvaluacionIT extends BaseIT {
     Assertions.assertThat(evaluacion.getMemoria().getTitulo()).isEqualTo("Memoria1");
     Assertions.assertThat(evaluacion.getDictamen().getNombre()).isEqualTo("Dictamen1");
     Assertions.assertThat(evaluacion.getTipoEvaluacion().getNombre()).isEqualTo("TipoEvaluacion1");
+
+    // La memoria anidada se serializa con sus asociaciones completas
+    Assertions.assertThat(evaluacion.getMemoria().getPeticionEvaluacion().getTitulo()).isEqualTo("PeticionEvaluacion1");
+    Assertions.assertThat(evaluacion.getMemoria().getComite().getComite()).isEqualTo("CEISH");
+    Assertions.assertThat(evaluacion.getMemoria().getTipoMemoria().getNombre()).isEqualTo("TipoMemoria001");
+    Assertions.assertThat(evaluacion.getMemoria().getEstadoActual().getNombre()).isEqualTo("En elaboración");
+    Assertions.assertThat(evaluacion.getMemoria().getRetrospectiva().getEstadoRetrospectiva().getNombre())
+        .isEqualTo("EstadoRetrospectiva01");
   }
 
   @Test
@@ -197,9 +207,11 @@ public class EvaluacionIT extends BaseIT {
     // Authorization
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-EVC-V")));
 
-    final ResponseEntity<List<Evaluacion>> response = restTemplate.exchange(EVALUACION_CONTROLLER_BASE_PATH,
-        HttpMethod.GET, buildRequest(headers, null), new ParameterizedTypeReference<List<Evaluacion>>() {
-        });
+    HttpEntity<Evaluacion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluacion>> response = withStatementBudget(15, () -> restTemplate.exchange(
+        EVALUACION_CONTROLLER_BASE_PATH, HttpMethod.GET, request,
+        new ParameterizedTypeReference<List<Evaluacion>>() {
+        }));
 
     // then: Respuesta OK, Evaluaciones retorna la información de la página
     // correcta en el header
@@ -310,6 +322,70 @@ public class EvaluacionIT extends BaseIT {
 
   }
 
+  @Test
+  public void findAll_WithCursor_ReturnsAllEvaluacionesInPages() throws Exception {
+    // when: Recorre las evaluaciones ordenadas por id desc en páginas de 4
+    List<Long> ids = new ArrayList<>();
+    List<String> nextCursors = new ArrayList<>();
+    String cursor = "";
+    do {
+      ResponseEntity<List<Evaluacion>> response = findAllWithCursor(cursor, "id,desc", 4);
+      Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      Assertions.assertThat(response.getHeaders().getFirst("X-Total-Count")).isNull();
+      response.getBody().forEach(evaluacion -> ids.add(evaluacion.getId()));
+      cursor = response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER);
+      nextCursors.add(cursor);
+    } while (cursor != null);
+
+    // then: Se obtienen las 10 evaluaciones activas en 3 páginas sin repetir
+    // ninguna
+    Assertions.assertThat(nextCursors).hasSize(3);
+    Assertions.assertThat(ids).containsExactly(11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L);
+  }
+
+  @Test
+  public void findAll_WithCursorAndSortByVersion_ReturnsAllEvaluacionesOrdered() throws Exception {
+    // when: Recorre las evaluaciones ordenadas por versión desc en páginas de 3
+    List<Evaluacion> evaluaciones = new ArrayList<>();
+    String cursor = "";
+    do {
+      ResponseEntity<List<Evaluacion>> response = findAllWithCursor(cursor, "version,desc", 3);
+      Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      evaluaciones.addAll(response.getBody());
+      cursor = response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER);
+    } while (cursor != null);
+
+    // then: Se obtienen todas las evaluaciones una sola vez, ordenadas por
+    // versión desc y, a igual versión, por id asc
+    Assertions.assertThat(evaluaciones).hasSize(10);
+    Assertions.assertThat(evaluaciones).extracting(Evaluacion::getId).doesNotHaveDuplicates();
+    for (int i = 1; i < evaluaciones.size(); i++) {
+      Evaluacion anterior = evaluaciones.get(i - 1);
+      Evaluacion evaluacion = evaluaciones.get(i);
+      Assertions.assertThat(evaluacion.getVersion()).isLessThanOrEqualTo(anterior.getVersion());
+      if (evaluacion.getVersion().equals(anterior.getVersion())) {
+        Assertions.assertThat(evaluacion.getId()).isGreaterThan(anterior.getId());
+      }
+    }
+  }
+
+  private ResponseEntity<List<Evaluacion>> findAllWithCursor(String cursor, String sort, int pageSize)
+      throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    headers.add(KeysetPage.CURSOR_HEADER, cursor);
+    headers.add("X-Page", "0");
+    headers.add("X-Page-Size", String.valueOf(pageSize));
+    // Authorization
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-EVC-V")));
+
+    URI uri = UriComponentsBuilder.fromUriString(EVALUACION_CONTROLLER_BASE_PATH).queryParam("s", sort).build(false)
+        .toUri();
+
+    return restTemplate.exchange(uri, HttpMethod.GET, buildRequest(headers, null),
+        new ParameterizedTypeReference<List<Evaluacion>>() {
+        });
+  }
+
   @Test
   public void findAllByMemoriaAndRetrospectivaEnEvaluacion_WithPaging_ReturnsEvaluacionSubList() throws Exception {
     // when: Obtiene la page=3 con pagesize=10
@@ -444,10 +520,11 @@ public class EvaluacionIT extends BaseIT {
     headers.set("Authorization",
         String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-EVC-V", "ETI-EVC-EVAL")));
 
-    final ResponseEntity<List<Evaluacion>> response = restTemplate.exchange(
-        EVALUACION_CONTROLLER_BASE_PATH + EVALUACION_SEGUIMIENTO_PATH, HttpMethod.GET, buildRequest(headers, null),
+    HttpEntity<Evaluacion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluacion>> response = withStatementBudget(9, () -> restTemplate.exchange(
+        EVALUACION_CONTROLLER_BASE_PATH + EVALUACION_SEGUIMIENTO_PATH, HttpMethod.GET, request,
         new ParameterizedTypeReference<List<Evaluacion>>() {
-        });
+        }));
 
     // then: Respuesta OK, Evaluaciones retorna la información de la página
     // correcta en el header
@@ -472,10 +549,11 @@ public class EvaluacionIT extends BaseIT {
 
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-EVC-EVAL")));
 
-    final ResponseEntity<List<Comentario>> response = restTemplate.exchange(
+    HttpEntity<Evaluacion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Comentario>> response = withStatementBudget(12, () -> restTemplate.exchange(
         EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/comentarios-gestor", HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Comentario>>() {
-        }, 6L);
+        request, new ParameterizedTypeReference<List<Comentario>>() {
+        }, 6L));
 
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
@@ -499,10 +577,11 @@ public class EvaluacionIT extends BaseIT {
 
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user-001", "ETI-EVC-EVALR")));
 
-    final ResponseEntity<List<Comentario>> response = restTemplate.exchange(
+    HttpEntity<Evaluacion> request = buildRequest(headers, null);
+    final ResponseEntity<List<Comentario>> response = withStatementBudget(13, () -> restTemplate.exchange(
         EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/comentarios-evaluador", HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Comentario>>() {
-        }, 3L);
+        request, new ParameterizedTypeReference<List<Comentario>>() {
+        }, 3L));
 
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
@@ -539,9 +618,10 @@ public class EvaluacionIT extends BaseIT {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user-001", "ETI-EVC-EVAL")));
 
-    final ResponseEntity<Comentario> response = restTemplate.exchange(
+    HttpEntity<Comentario> request = buildRequestComentario(headers, comentario);
+    final ResponseEntity<Comentario> response = withStatementBudget(12, () -> restTemplate.exchange(
         EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/comentario-gestor", HttpMethod.POST,
-        buildRequestComentario(headers, comentario), Comentario.class, 7L);
+        request, Comentario.class, 7L));
 
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
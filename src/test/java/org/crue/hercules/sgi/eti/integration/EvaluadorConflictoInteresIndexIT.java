@@ -0,0 +1,29 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.util.Collections;
+
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Test de integracion de Evaluador con el índice en memoria de conflictos de
+ * intereses activo, como en producción.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "sgi.eti.conflicto-interes.index.enabled=true")
+public class EvaluadorConflictoInteresIndexIT extends EvaluadorIT {
+
+  @Autowired
+  private ConflictoInteresIndex conflictoInteresIndex;
+
+  @BeforeEach
+  public void setUp() {
+    // Los scripts de @Sql cambian la tabla sin pasar por el servicio: se recarga
+    // el índice antes de la llamada para no contar la carga en el presupuesto de
+    // sentencias
+    conflictoInteresIndex.invalidate();
+    conflictoInteresIndex.findEvaluadores(Collections.emptySet());
+  }
+
+}
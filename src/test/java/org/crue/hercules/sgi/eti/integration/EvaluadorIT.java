@@ -162,9 +162,10 @@ public class EvaluadorIT extends BaseIT {
 
     URI uri = UriComponentsBuilder.fromUriString(EVALUADOR_CONTROLLER_BASE_PATH).build(false).toUri();
 
-    final ResponseEntity<List<Evaluador>> response = restTemplate.exchange(uri, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Evaluador>>() {
-        });
+    HttpEntity<Evaluador> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluador>> response = withStatementBudget(3, () -> restTemplate.exchange(
+        uri, HttpMethod.GET, request, new ParameterizedTypeReference<List<Evaluador>>() {
+        }));
 
     // then: Respuesta OK, Evaluadores retorna la información de la página
     // correcta en el header
@@ -369,10 +370,11 @@ public class EvaluadorIT extends BaseIT {
     headers.add("X-Page", "1");
     headers.add("X-Page-Size", "2");
 
-    final ResponseEntity<List<Evaluador>> response = restTemplate.exchange(
+    HttpEntity<Evaluador> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluador>> response = withStatementBudget(4, () -> restTemplate.exchange(
         EVALUADOR_CONTROLLER_BASE_PATH + PATH_PARAMETER_SINCONFLICTOINTERES, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Evaluador>>() {
-        }, idComite, idMemoria);
+        request, new ParameterizedTypeReference<List<Evaluador>>() {
+        }, idComite, idMemoria));
 
     // then: Respuesta OK, Evaluadores retorna la información de la página
     // correcta en el header
@@ -381,7 +383,9 @@ public class EvaluadorIT extends BaseIT {
     Assertions.assertThat(evaluadores.size()).isEqualTo(2);
     Assertions.assertThat(response.getHeaders().getFirst("X-Page")).isEqualTo("1");
     Assertions.assertThat(response.getHeaders().getFirst("X-Page-Size")).isEqualTo("2");
-    Assertions.assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("4");
+    // El total son los 7 evaluadores sin conflicto que devuelve la consulta sin
+    // paginar (la implementación anterior devolvía offset + tamaño de la página)
+    Assertions.assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("7");
 
     // Contiene de resumen='Evaluador005'
     Assertions.assertThat(evaluadores.get(0).getResumen()).isEqualTo("Evaluador4");
@@ -4,6 +4,8 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import org.assertj.core.api.Assertions;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.junit.jupiter.api.Test;
@@ -63,6 +65,47 @@ public class FormularioIT extends BaseIT {
     Assertions.assertThat(formulario.getDescripcion()).isEqualTo("Formulario M10");
   }
 
+  @Test
+  @Sql(scripts = { "classpath:scripts/bloque.sql", "classpath:scripts/apartado.sql" })
+  public void getArbol_WithId_ReturnsFormularioConBloquesYApartados() throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-PEV-C-INV")));
+
+    final ResponseEntity<JsonNode> response = restTemplate.exchange(
+        FORMULARIO_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/arbol", HttpMethod.GET, new HttpEntity<>(headers),
+        JsonNode.class, 1L);
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(response.getHeaders().getETag()).isNotNull();
+
+    // Bloques 1 y 7, los apartados 2 y 3 son hijos del 1 y el 5 del 4
+    final JsonNode arbol = response.getBody();
+    Assertions.assertThat(arbol.get("id").asLong()).isEqualTo(1L);
+    Assertions.assertThat(arbol.get("bloques")).hasSize(2);
+    final JsonNode bloque = arbol.get("bloques").get(0);
+    Assertions.assertThat(bloque.get("id").asLong()).isEqualTo(1L);
+    Assertions.assertThat(arbol.get("bloques").get(1).get("id").asLong()).isEqualTo(7L);
+    Assertions.assertThat(arbol.get("bloques").get(1).get("apartados")).isEmpty();
+    Assertions.assertThat(bloque.get("apartados")).hasSize(2);
+    final JsonNode apartado1 = bloque.get("apartados").get(0);
+    Assertions.assertThat(apartado1.get("id").asLong()).isEqualTo(1L);
+    Assertions.assertThat(apartado1.get("esquema").get("nombre").asText()).isEqualTo("EsquemaApartado01");
+    Assertions.assertThat(apartado1.get("hijos")).hasSize(2);
+    Assertions.assertThat(apartado1.get("hijos").get(0).get("id").asLong()).isEqualTo(2L);
+    Assertions.assertThat(apartado1.get("hijos").get(1).get("id").asLong()).isEqualTo(3L);
+    final JsonNode apartado4 = bloque.get("apartados").get(1);
+    Assertions.assertThat(apartado4.get("id").asLong()).isEqualTo(4L);
+    Assertions.assertThat(apartado4.get("hijos")).hasSize(1);
+    Assertions.assertThat(apartado4.get("hijos").get(0).get("id").asLong()).isEqualTo(5L);
+
+    // Con el mismo etag no se vuelve a enviar
+    headers.setIfNoneMatch(response.getHeaders().getETag());
+    final ResponseEntity<JsonNode> notModified = restTemplate.exchange(
+        FORMULARIO_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/arbol", HttpMethod.GET, new HttpEntity<>(headers),
+        JsonNode.class, 1L);
+    Assertions.assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+  }
+
   @Test
   public void findAll_WithPaging_ReturnsFormularioSubList() throws Exception {
     // when: Obtiene la page=3 con pagesize=10
@@ -0,0 +1,256 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.crue.hercules.sgi.eti.repository.DocumentacionMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.RespuestaRepository;
+import org.crue.hercules.sgi.eti.service.MemoriaService;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.jdbc.SqlMergeMode.MergeMode;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mide las sentencias SQL que envía a la base de datos la copia de una memoria
+ * ({@link MemoriaService#createModificada(Memoria, Long)}) y las compara con las
+ * de la copia fila a fila de sus respuestas y documentos.
+ *
+ * La copia fila a fila es la que hacía createModificada antes de copiar con
+ * INSERT ... SELECT: carga las {@link Respuesta} y
+ * {@link DocumentacionMemoria} de la memoria original y guarda una copia de
+ * cada una con saveAll. Se mide sin batch de JDBC y con el batch configurado.
+ * Las sentencias se cuentan con las estadísticas de Hibernate; los tiempos se
+ * escriben en el log.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/formulario.sql",
+  "classpath:scripts/tipo_actividad.sql",
+  "classpath:scripts/tipo_memoria.sql",
+  "classpath:scripts/tipo_estado_memoria.sql",
+  "classpath:scripts/tipo_documento.sql",
+  "classpath:scripts/bloque.sql",
+  "classpath:scripts/apartado.sql"
+// @formatter:on
+})
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+@SqlMergeMode(MergeMode.MERGE)
+public class MemoriaCreateModificadaBenchmarkIT extends BaseIT {
+
+  private static final long ID_COMITE = 1000L;
+  private static final long ID_PETICION_EVALUACION = 1000L;
+  private static final long ID_MEMORIA = 1000L;
+  /** Memorias en las que se copian fila a fila las respuestas y documentos. */
+  private static final long ID_MEMORIA_SIN_BATCH = 1001L;
+  private static final long ID_MEMORIA_CON_BATCH = 1002L;
+  /**
+   * Primer id de las respuestas y documentos de la memoria original, lejos de
+   * los que asignan las secuencias en las copias.
+   */
+  private static final long ID_FILAS = 1_000_000L;
+  private static final int NUM_RESPUESTAS = 500;
+  private static final int NUM_DOCUMENTACIONES = 50;
+
+  @Autowired
+  private MemoriaService memoriaService;
+
+  @Autowired
+  private MemoriaRepository memoriaRepository;
+
+  @Autowired
+  private RespuestaRepository respuestaRepository;
+
+  @Autowired
+  private DocumentacionMemoriaRepository documentacionMemoriaRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Sentencias y tiempo de una copia. */
+  @Value
+  static class Medida {
+    long sentencias;
+    long ms;
+  }
+
+  @Test
+  public void createModificada_CopiesRespuestasAndDocumentacionWithFewerStatementsThanRowByRow() throws Exception {
+    // given: una memoria con cientos de respuestas y documentos
+    insertMemoriaOriginal();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    // when: se copian fila a fila (sin batch y con batch) y se crea la memoria
+    // modificada
+    Medida filaAFilaSinBatch = measure(statistics, () -> copiarFilaAFila(ID_MEMORIA_SIN_BATCH, 1));
+    Medida filaAFilaConBatch = measure(statistics, () -> copiarFilaAFila(ID_MEMORIA_CON_BATCH, null));
+    Memoria[] memoriaCreada = new Memoria[1];
+    Medida enBaseDeDatos = measure(statistics, () -> memoriaCreada[0] = memoriaService
+        .createModificada(generarMockMemoriaModificada(), ID_MEMORIA));
+
+    // then: todas las copias tienen todas las filas y la copia en base de datos
+    // necesita menos sentencias que la copia fila a fila
+    long numFilasCopiadas = NUM_RESPUESTAS + NUM_DOCUMENTACIONES;
+    log.info("createModificada: {} filas copiadas. Fila a fila sin batch = {} sentencias ({} ms), "
+        + "fila a fila con batch = {} sentencias ({} ms), createModificada con INSERT ... SELECT = {} sentencias "
+        + "({} ms)", numFilasCopiadas, filaAFilaSinBatch.getSentencias(), filaAFilaSinBatch.getMs(),
+        filaAFilaConBatch.getSentencias(), filaAFilaConBatch.getMs(), enBaseDeDatos.getSentencias(),
+        enBaseDeDatos.getMs());
+
+    for (long idMemoria : new long[] { ID_MEMORIA_SIN_BATCH, ID_MEMORIA_CON_BATCH, memoriaCreada[0].getId() }) {
+      Assertions.assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM eti.respuesta WHERE memoria_id = ?",
+          Long.class, idMemoria)).isEqualTo(NUM_RESPUESTAS);
+      Assertions.assertThat(jdbcTemplate.queryForObject(
+          "SELECT COUNT(*) FROM eti.documentacion_memoria WHERE memoria_id = ?", Long.class, idMemoria))
+          .isEqualTo(NUM_DOCUMENTACIONES);
+    }
+    Assertions.assertThat(filaAFilaSinBatch.getSentencias()).isGreaterThanOrEqualTo(numFilasCopiadas);
+    Assertions.assertThat(enBaseDeDatos.getSentencias()).isLessThan(filaAFilaSinBatch.getSentencias() / 10)
+        .isLessThan(numFilasCopiadas / 10);
+  }
+
+  /**
+   * Ejecuta la copia contando las sentencias preparadas por Hibernate.
+   *
+   * @param statistics estadísticas de Hibernate.
+   * @param copia      la copia.
+   * @return las sentencias y el tiempo de la copia.
+   */
+  private Medida measure(Statistics statistics, Supplier<?> copia) {
+    statistics.clear();
+    long start = System.nanoTime();
+    copia.get();
+    long ms = (System.nanoTime() - start) / 1_000_000;
+    return new Medida(statistics.getPrepareStatementCount(), ms);
+  }
+
+  /**
+   * Copia fila a fila las respuestas y documentos de la memoria original, como
+   * lo hacía createModificada antes de copiar con INSERT ... SELECT.
+   *
+   * @param idMemoriaDestino memoria en la que se copian.
+   * @param jdbcBatchSize    tamaño del batch de JDBC de la sesión o null para
+   *                         usar el configurado.
+   * @return null
+   */
+  private Void copiarFilaAFila(long idMemoriaDestino, Integer jdbcBatchSize) {
+    return new TransactionTemplate(transactionManager).execute(status -> {
+      if (jdbcBatchSize != null) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+      }
+      Memoria destino = memoriaRepository.findById(idMemoriaDestino).get();
+
+      List<DocumentacionMemoria> documentaciones = documentacionMemoriaRepository
+          .findByMemoriaIdAndMemoriaActivoTrue(ID_MEMORIA, null).getContent().stream()
+          .map(documentacion -> new DocumentacionMemoria(null, destino, documentacion.getTipoDocumento(),
+              documentacion.getDocumentoRef(), documentacion.getAportado()))
+          .collect(Collectors.toList());
+      documentacionMemoriaRepository.saveAll(documentaciones);
+
+      List<Respuesta> respuestas = respuestaRepository.findByMemoriaIdAndMemoriaActivoTrue(ID_MEMORIA, null)
+          .getContent().stream().map(respuesta -> {
+            Respuesta copia = new Respuesta();
+            copia.setMemoria(destino);
+            copia.setApartado(respuesta.getApartado());
+            copia.setValor(respuesta.getValor());
+            return copia;
+          }).collect(Collectors.toList());
+      respuestaRepository.saveAll(respuestas);
+      return null;
+    });
+  }
+
+  /**
+   * Inserta la memoria que se va a copiar con sus respuestas y documentos y las
+   * memorias en las que se copian fila a fila.
+   */
+  private void insertMemoriaOriginal() {
+    jdbcTemplate.update("INSERT INTO eti.comite (id, comite, formulario_id, activo) VALUES (?, 'Comite', 1, true)",
+        ID_COMITE);
+    jdbcTemplate.update(
+        "INSERT INTO eti.peticion_evaluacion (id, titulo, codigo, solicitud_convocatoria_ref, tipo_actividad_id, fuente_financiacion, fecha_inicio, fecha_fin, resumen, valor_social, objetivos, dis_metodologico, externo, tiene_fondos_propios, persona_ref, activo) "
+            + "VALUES (?, 'PeticionEvaluacion', 'Codigo', 'Ref', 1, 'Fuente', '2020-07-09', '2021-07-09', 'Resumen', 'Valor social', 'Objetivos', 'Metodologico', false, false, 'user-001', true)",
+        ID_PETICION_EVALUACION);
+    jdbcTemplate.update(
+        "INSERT INTO eti.memoria (id, num_referencia, peticion_evaluacion_id, comite_id, titulo, persona_ref, tipo_memoria_id, estado_actual_id, requiere_retrospectiva, version, activo) "
+            + "VALUES (?, 'M10/2020/001', ?, ?, 'Memoria', 'user-001', 1, 1, false, 1, true)",
+        ID_MEMORIA, ID_PETICION_EVALUACION, ID_COMITE);
+    for (long idMemoria : new long[] { ID_MEMORIA_SIN_BATCH, ID_MEMORIA_CON_BATCH }) {
+      jdbcTemplate.update(
+          "INSERT INTO eti.memoria (id, num_referencia, peticion_evaluacion_id, comite_id, titulo, persona_ref, tipo_memoria_id, estado_actual_id, requiere_retrospectiva, version, activo) "
+              + "VALUES (?, ?, ?, ?, 'Memoria', 'user-001', 1, 1, false, 1, true)",
+          idMemoria, "M10/2020/" + idMemoria, ID_PETICION_EVALUACION, ID_COMITE);
+    }
+    for (int i = 0; i < NUM_RESPUESTAS; i++) {
+      jdbcTemplate.update("INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (?, ?, 1, ?)",
+          ID_FILAS + i, ID_MEMORIA, "{\"valor\":\"Valor" + i + "\"}");
+    }
+    for (int i = 0; i < NUM_DOCUMENTACIONES; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO eti.documentacion_memoria (id, memoria_id, tipo_documento_id, documento_ref, aportado) VALUES (?, ?, 1, ?, true)",
+          ID_FILAS + i, ID_MEMORIA, "doc-" + i);
+    }
+  }
+
+  /**
+   * Genera la memoria modificada que se crea a partir de la memoria original.
+   *
+   * @return la nueva memoria
+   */
+  private Memoria generarMockMemoriaModificada() {
+    PeticionEvaluacion peticionEvaluacion = new PeticionEvaluacion();
+    peticionEvaluacion.setId(ID_PETICION_EVALUACION);
+
+    Comite comite = new Comite();
+    comite.setId(ID_COMITE);
+
+    TipoMemoria tipoMemoria = new TipoMemoria();
+    tipoMemoria.setId(2L);
+
+    Memoria memoria = new Memoria();
+    memoria.setPeticionEvaluacion(peticionEvaluacion);
+    memoria.setComite(comite);
+    memoria.setTipoMemoria(tipoMemoria);
+    memoria.setTitulo("Memoria modificada");
+    memoria.setPersonaRef("user-001");
+    memoria.setFechaEnvioSecretaria(LocalDate.now());
+    return memoria;
+  }
+
+}
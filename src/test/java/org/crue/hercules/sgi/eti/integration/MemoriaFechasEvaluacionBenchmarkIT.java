@@ -0,0 +1,213 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.custom.CustomMemoriaRepositoryImpl;
+import org.crue.hercules.sgi.eti.repository.custom.FechasEvaluacionStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.jdbc.SqlMergeMode.MergeMode;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compara las dos formas de obtener la fecha de evaluación y la fecha límite
+ * del listado de memorias ({@link FechasEvaluacionStrategy}) sobre un volumen
+ * de memorias similar al de producción.
+ *
+ * Las dos estrategias deben devolver las mismas páginas. Los tiempos se
+ * escriben en el log. El número de memorias se puede cambiar con la propiedad
+ * de sistema {@code benchmark.memorias}.
+ *
+ * Solo se ejecuta con la propiedad de sistema {@code scale-test=true} (perfil
+ * de Maven scale-test).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "scale-test", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/formulario.sql",
+  "classpath:scripts/tipo_actividad.sql",
+  "classpath:scripts/tipo_memoria.sql",
+  "classpath:scripts/tipo_estado_memoria.sql",
+  "classpath:scripts/tipo_convocatoria_reunion.sql",
+  "classpath:scripts/tipo_evaluacion.sql",
+  "classpath:scripts/cargo_comite.sql"
+// @formatter:on
+})
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+@SqlMergeMode(MergeMode.MERGE)
+public class MemoriaFechasEvaluacionBenchmarkIT extends BaseIT {
+
+  private static final long ID_BASE = 1000L;
+  private static final int NUM_MEMORIAS = Integer.getInteger("benchmark.memorias", 50000);
+  private static final int NUM_CONVOCATORIAS = 20;
+  private static final int PAGE_SIZE = 10;
+  private static final int BATCH_SIZE = 1000;
+  private static final int ITERACIONES = 5;
+  private static final LocalDateTime FECHA_EVALUACION = LocalDateTime.of(2020, 1, 1, 10, 0);
+  private static final LocalDate FECHA_LIMITE = LocalDate.of(2019, 12, 15);
+
+  @Autowired
+  private MemoriaRepository memoriaRepository;
+
+  @Autowired
+  private CustomMemoriaRepositoryImpl customMemoriaRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  public void tearDown() {
+    setStrategy(FechasEvaluacionStrategy.JOIN);
+  }
+
+  @Test
+  public void findAllMemoriasEvaluaciones_SubqueryAndJoinReturnSamePages() throws Exception {
+    // given: memorias con evaluaciones de versiones anteriores, de la versión
+    // actual y sin evaluación
+    insertMemorias();
+    List<Pageable> pages = new ArrayList<>();
+    int lastPage = NUM_MEMORIAS / PAGE_SIZE - 1;
+    for (int page : new int[] { 0, lastPage / 2, lastPage }) {
+      pages.add(PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+      pages.add(PageRequest.of(page, PAGE_SIZE, Sort.by("titulo")));
+    }
+
+    // when: se obtienen las mismas páginas con las dos estrategias
+    List<List<MemoriaPeticionEvaluacion>> subquery = new ArrayList<>();
+    List<List<MemoriaPeticionEvaluacion>> join = new ArrayList<>();
+    long tiempoSubquery = measure(FechasEvaluacionStrategy.SUBQUERY, pages, subquery);
+    long tiempoJoin = measure(FechasEvaluacionStrategy.JOIN, pages, join);
+
+    // then: las páginas son iguales
+    log.info("findAllMemoriasEvaluaciones: {} memorias, {} páginas x {} iteraciones, SUBQUERY = {} ms, JOIN = {} ms",
+        NUM_MEMORIAS, pages.size(), ITERACIONES, tiempoSubquery, tiempoJoin);
+    Assertions.assertThat(join).isEqualTo(subquery);
+    Assertions.assertThat(join.get(0)).extracting(MemoriaPeticionEvaluacion::getFechaEvaluacion).isNotEmpty()
+        .containsNull();
+  }
+
+  /**
+   * Obtiene las páginas con la estrategia indicada y devuelve el tiempo total
+   * (sin contar una primera ejecución de calentamiento).
+   *
+   * @param strategy estrategia
+   * @param pages    páginas a obtener
+   * @param result   contenido de las páginas
+   * @return tiempo total en milisegundos
+   */
+  private long measure(FechasEvaluacionStrategy strategy, List<Pageable> pages,
+      List<List<MemoriaPeticionEvaluacion>> result) {
+    setStrategy(strategy);
+    for (Pageable pageable : pages) {
+      Page<MemoriaPeticionEvaluacion> page = memoriaRepository.findAllMemoriasEvaluaciones(null, pageable, null);
+      Assertions.assertThat(page.getTotalElements()).isEqualTo(NUM_MEMORIAS);
+      result.add(page.getContent());
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERACIONES; i++) {
+      for (Pageable pageable : pages) {
+        memoriaRepository.findAllMemoriasEvaluaciones(null, pageable, null);
+      }
+    }
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+
+  private void setStrategy(FechasEvaluacionStrategy strategy) {
+    ReflectionTestUtils.setField(AopTestUtils.getTargetObject(customMemoriaRepository), "fechasEvaluacionStrategy",
+        strategy);
+  }
+
+  /**
+   * Inserta las memorias del benchmark. De cada 5 memorias, 3 tienen evaluación
+   * de la versión actual (la primera de ellas también de una versión
+   * anterior), 1 solo de una versión anterior y 1 no tiene evaluaciones.
+   */
+  private void insertMemorias() {
+    jdbcTemplate.update("INSERT INTO eti.comite (id, comite, formulario_id, activo) VALUES (?, 'Comite', 1, true)",
+        ID_BASE);
+    jdbcTemplate.update(
+        "INSERT INTO eti.peticion_evaluacion (id, titulo, codigo, solicitud_convocatoria_ref, tipo_actividad_id, fuente_financiacion, fecha_inicio, fecha_fin, resumen, valor_social, objetivos, dis_metodologico, externo, tiene_fondos_propios, persona_ref, activo) "
+            + "VALUES (?, 'PeticionEvaluacion', 'Codigo', 'Ref', 1, 'Fuente', '2020-07-09', '2021-07-09', 'Resumen', 'Valor social', 'Objetivos', 'Metodologico', false, false, 'user-001', true)",
+        ID_BASE);
+    for (int i = 0; i < 2; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO eti.evaluador (id, resumen, comite_id, cargo_comite_id, fecha_alta, fecha_baja, persona_ref, activo) "
+              + "VALUES (?, 'Evaluador', ?, 1, '2020-07-01', '2021-07-01', ?, true)",
+          ID_BASE + i, ID_BASE, "user-00" + i);
+    }
+    for (int i = 0; i < NUM_CONVOCATORIAS; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO eti.convocatoria_reunion (id, comite_id, fecha_evaluacion, fecha_limite, lugar, orden_dia, anio, numero_acta, tipo_convocatoria_reunion_id, hora_inicio, minuto_inicio, fecha_envio, activo) "
+              + "VALUES (?, ?, ?, ?, 'Lugar', 'Orden del día', 2020, ?, 1, 10, 0, '2019-12-01', true)",
+          ID_BASE + i, ID_BASE, Timestamp.valueOf(FECHA_EVALUACION.plusDays(i * 7L)),
+          Date.valueOf(FECHA_LIMITE.plusDays(i * 7L)), i + 1);
+    }
+
+    List<Object[]> memorias = new ArrayList<>();
+    List<Object[]> evaluaciones = new ArrayList<>();
+    long idEvaluacion = ID_BASE;
+    for (int i = 0; i < NUM_MEMORIAS; i++) {
+      long idMemoria = ID_BASE + i;
+      long idConvocatoria = ID_BASE + (i % NUM_CONVOCATORIAS);
+      memorias.add(new Object[] { idMemoria, String.format("M10/2020/%05d", i), "Memoria " + (NUM_MEMORIAS - i),
+          "user-" + (i % 100), ID_BASE, ID_BASE });
+      switch (i % 5) {
+        case 0:
+          evaluaciones.add(new Object[] { idEvaluacion++, idMemoria, ID_BASE + ((i + 1) % NUM_CONVOCATORIAS), 1 });
+          evaluaciones.add(new Object[] { idEvaluacion++, idMemoria, idConvocatoria, 2 });
+          break;
+        case 1:
+        case 2:
+          evaluaciones.add(new Object[] { idEvaluacion++, idMemoria, idConvocatoria, 2 });
+          break;
+        case 3:
+          evaluaciones.add(new Object[] { idEvaluacion++, idMemoria, idConvocatoria, 1 });
+          break;
+        default:
+          break;
+      }
+      if (memorias.size() == BATCH_SIZE) {
+        batchInsert(memorias, evaluaciones);
+      }
+    }
+    batchInsert(memorias, evaluaciones);
+  }
+
+  private void batchInsert(List<Object[]> memorias, List<Object[]> evaluaciones) {
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO eti.memoria (id, num_referencia, titulo, persona_ref, peticion_evaluacion_id, comite_id, tipo_memoria_id, estado_actual_id, requiere_retrospectiva, version, activo) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 1, 1, false, 2, true)",
+        memorias);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO eti.evaluacion (id, memoria_id, convocatoria_reunion_id, tipo_evaluacion_id, evaluador1_id, evaluador2_id, version, es_rev_minima, activo) "
+            + "VALUES (?, ?, ?, 1, " + ID_BASE + ", " + (ID_BASE + 1) + ", ?, false, true)",
+        evaluaciones);
+    memorias.clear();
+    evaluaciones.clear();
+  }
+
+}
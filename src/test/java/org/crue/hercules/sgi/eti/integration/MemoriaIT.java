@@ -3,10 +3,12 @@ package org.crue.hercules.sgi.eti.integration;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.KeysetPage;
 import org.crue.hercules.sgi.eti.dto.MemoriaPeticionEvaluacion;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.DocumentacionMemoria;
@@ -20,7 +22,9 @@ import org.crue.hercules.sgi.eti.model.TipoActividad;
 import org.crue.hercules.sgi.eti.model.TipoDocumento;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -63,6 +67,9 @@ public class MemoriaIT extends BaseIT {
   private static final String MEMORIA_CONTROLLER_BASE_PATH = "/memorias";
   private static final String PATH_PARAMETER_EVALUACIONES = "/evaluaciones";
 
+  @Autowired
+  private MemoriaRepository memoriaRepository;
+
   private HttpEntity<Memoria> buildRequest(HttpHeaders headers, Memoria entity) throws Exception {
     headers = (headers != null ? headers : new HttpHeaders());
     headers.setContentType(MediaType.APPLICATION_JSON);
@@ -121,6 +128,9 @@ public class MemoriaIT extends BaseIT {
     Assertions.assertThat(tipoMemoria.getId()).isEqualTo(1L);
     Assertions.assertThat(tipoMemoria.getTitulo()).isEqualTo("Memoria001");
     Assertions.assertThat(tipoMemoria.getNumReferencia()).isEqualTo("ref-001");
+    // La petición de evaluación se serializa completa, no solo su id
+    Assertions.assertThat(tipoMemoria.getPeticionEvaluacion().getTitulo()).isEqualTo("PeticionEvaluacion1");
+    Assertions.assertThat(tipoMemoria.getPeticionEvaluacion().getTipoActividad().getId()).isEqualTo(1L);
   }
 
   @Test
@@ -197,10 +207,12 @@ public class MemoriaIT extends BaseIT {
     headers.add("X-Page", "1");
     headers.add("X-Page-Size", "5");
 
-    final ResponseEntity<List<MemoriaPeticionEvaluacion>> response = restTemplate.exchange(MEMORIA_CONTROLLER_BASE_PATH,
-        HttpMethod.GET, buildRequestMemoriaPeticionEvaluacion(headers, null),
-        new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
-        });
+    HttpEntity<MemoriaPeticionEvaluacion> request = buildRequestMemoriaPeticionEvaluacion(headers, null);
+    final ResponseEntity<List<MemoriaPeticionEvaluacion>> response = withStatementBudget(9,
+        () -> restTemplate.exchange(MEMORIA_CONTROLLER_BASE_PATH, HttpMethod.GET,
+            request,
+            new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
+            }));
 
     // then: Respuesta OK, Memorias retorna la información de la página
     // correcta en el header
@@ -241,6 +253,67 @@ public class MemoriaIT extends BaseIT {
     Assertions.assertThat(tipoMemorias.get(0).getTitulo()).startsWith("Memoria");
   }
 
+  @Test
+  @Sql(scripts = { "classpath:scripts/bloque.sql", "classpath:scripts/apartado.sql" }, statements = {
+  // @formatter:off
+    "INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (1, 1, 1, '{\"especie\":\"rata\",\"riesgo\":{\"nivel\":\"alto\"}}')",
+    "INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (2, 2, 1, '{\"especie\":\"raton\",\"riesgo\":{\"nivel\":\"alto\"}}')",
+    "INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (3, 3, 1, '{\"riesgo\":{\"nivel\":\"bajo\"}}')",
+    "INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (4, 3, 2, '{\"especie\":\"rata\"}')",
+    "INSERT INTO eti.respuesta (id, memoria_id, apartado_id, valor) VALUES (5, 4, 1, 'especie: rata')"
+  // @formatter:on
+  })
+  public void findAll_WithFiltroRespuestas_ReturnsMemoriasConRespuestas() throws Exception {
+    // given: memorias con respuestas sobre la especie y el nivel de riesgo
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization",
+        String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-PEV-VR-INV", "ETI-PEV-V")));
+
+    // when: se buscan las memorias con especie rata
+    URI uriEspecie = UriComponentsBuilder.fromUriString(MEMORIA_CONTROLLER_BASE_PATH)
+        .queryParam("respuesta.especie", "rata").queryParam("s", "id,asc").build(false).toUri();
+    final ResponseEntity<List<MemoriaPeticionEvaluacion>> responseEspecie = restTemplate.exchange(uriEspecie,
+        HttpMethod.GET, buildRequestMemoriaPeticionEvaluacion(headers, null),
+        new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
+        });
+
+    // then: se devuelven las memorias con la especie en alguna de sus respuestas
+    Assertions.assertThat(responseEspecie.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(responseEspecie.getBody()).extracting(MemoriaPeticionEvaluacion::getId).containsExactly(1L,
+        3L);
+
+    // when: se buscan las memorias con especie rata y nivel de riesgo alto
+    URI uriEspecieRiesgo = UriComponentsBuilder.fromUriString(MEMORIA_CONTROLLER_BASE_PATH)
+        .queryParam("respuesta.especie", "rata").queryParam("respuesta.riesgo.nivel", "alto").build(false).toUri();
+    final ResponseEntity<List<MemoriaPeticionEvaluacion>> responseEspecieRiesgo = restTemplate.exchange(
+        uriEspecieRiesgo, HttpMethod.GET, buildRequestMemoriaPeticionEvaluacion(headers, null),
+        new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
+        });
+
+    // then: solo se devuelve la memoria que cumple los dos
+    Assertions.assertThat(responseEspecieRiesgo.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(responseEspecieRiesgo.getBody()).extracting(MemoriaPeticionEvaluacion::getId)
+        .containsExactly(1L);
+    Assertions.assertThat(responseEspecieRiesgo.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+
+    // when: se buscan las memorias con especie rata con paginación por cursor
+    HttpHeaders headersCursor = new HttpHeaders();
+    headersCursor.addAll(headers);
+    headersCursor.add(KeysetPage.CURSOR_HEADER, "");
+    headersCursor.add("X-Page", "0");
+    headersCursor.add("X-Page-Size", "10");
+    final ResponseEntity<List<MemoriaPeticionEvaluacion>> responseCursor = restTemplate.exchange(uriEspecie,
+        HttpMethod.GET, buildRequestMemoriaPeticionEvaluacion(headersCursor, null),
+        new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
+        });
+
+    // then: también se aplica el filtro por respuestas (la respuesta que no es un
+    // JSON válido no coincide ni hace fallar la consulta)
+    Assertions.assertThat(responseCursor.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(responseCursor.getBody()).extracting(MemoriaPeticionEvaluacion::getId).containsExactly(1L,
+        3L);
+  }
+
   @Test
   public void findAll_WithSortQuery_ReturnsOrderedMemoriaList() throws Exception {
     // when: Ordenación por titulo desc
@@ -345,6 +418,20 @@ public class MemoriaIT extends BaseIT {
     Assertions.assertThat(titulos).contains("Memoria010", "Memoria011", "Memoria012", "Memoria013");
   }
 
+  @Test
+  public void findIdsMemoriasAsignablesConvocatoria_ReturnsSameMemoriasAsListado() throws Exception {
+    // given: las memorias 10 a 14 y la convocatoria 1 de tipo ordinaria
+    Long idConvocatoria = 1L;
+
+    // when: se comprueba qué memorias son asignables a la convocatoria
+    List<Long> idsMemoria = memoriaRepository.findIdsMemoriasAsignablesConvocatoria(idConvocatoria,
+        Arrays.asList(10L, 11L, 12L, 13L, 14L));
+
+    // then: son las mismas que las del listado de memorias asignables (la
+    // memoria 14 se envió después de la fecha límite)
+    Assertions.assertThat(idsMemoria).containsExactlyInAnyOrder(10L, 11L, 12L, 13L);
+  }
+
   @Test
   public void findAllMemoriasAsignablesConvocatoriaOrdExt_WithPaging_ReturnsMemoriaSubList() throws Exception {
 
@@ -358,10 +445,11 @@ public class MemoriaIT extends BaseIT {
     headers.add("X-Page", "1");
     headers.add("X-Page-Size", "2");
 
-    final ResponseEntity<List<Memoria>> response = restTemplate.exchange(
-        MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ASIGNABLES, HttpMethod.GET, buildRequest(headers, null),
+    HttpEntity<Memoria> request = buildRequest(headers, null);
+    final ResponseEntity<List<Memoria>> response = withStatementBudget(6, () -> restTemplate.exchange(
+        MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ASIGNABLES, HttpMethod.GET, request,
         new ParameterizedTypeReference<List<Memoria>>() {
-        }, idConvocatoria);
+        }, idConvocatoria));
 
     // then: Respuesta OK, Memorias retorna la información de la página
     // correcta en el header
@@ -371,6 +459,38 @@ public class MemoriaIT extends BaseIT {
     Assertions.assertThat(response.getHeaders().getFirst("X-Page")).isEqualTo("1");
     Assertions.assertThat(response.getHeaders().getFirst("X-Page-Size")).isEqualTo("2");
     Assertions.assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("4");
+    // La petición de evaluación de cada memoria se serializa completa
+    Assertions.assertThat(memorias.stream().map(memoria -> memoria.getPeticionEvaluacion().getTitulo()))
+        .containsOnly("PeticionEvaluacion1");
+
+  }
+
+  @Test
+  public void findAllMemoriasAsignablesConvocatoriaOrdExt_WithPagingFirstPage_ReturnsTotalCount() throws Exception {
+
+    // given: idConvocatoria que es de tipo 1 (ordinaria) o 2 (extraordinaria)
+    Long idConvocatoria = 1L;
+
+    // when: Obtiene la page=0 con pagesize=2 de la memorias asignables para esa
+    // convocatoria
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-CNV-C", "ETI-CNV-E")));
+    headers.add("X-Page", "0");
+    headers.add("X-Page-Size", "2");
+
+    final ResponseEntity<List<Memoria>> response = restTemplate.exchange(
+        MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ASIGNABLES, HttpMethod.GET, buildRequest(headers, null),
+        new ParameterizedTypeReference<List<Memoria>>() {
+        }, idConvocatoria);
+
+    // then: Respuesta OK, el total es el de todas las memorias asignables y no el
+    // de la página
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    final List<Memoria> memorias = response.getBody();
+    Assertions.assertThat(memorias.size()).isEqualTo(2);
+    Assertions.assertThat(response.getHeaders().getFirst("X-Page")).isEqualTo("0");
+    Assertions.assertThat(response.getHeaders().getFirst("X-Page-Size")).isEqualTo("2");
+    Assertions.assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("4");
 
   }
 
@@ -484,9 +604,10 @@ public class MemoriaIT extends BaseIT {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-CNV-C", "ETI-CNV-E")));
 
-    final ResponseEntity<List<Memoria>> response = restTemplate.exchange(uri, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Memoria>>() {
-        });
+    HttpEntity<Memoria> request = buildRequest(headers, null);
+    final ResponseEntity<List<Memoria>> response = withStatementBudget(4, () -> restTemplate.exchange(
+        uri, HttpMethod.GET, request, new ParameterizedTypeReference<List<Memoria>>() {
+        }));
 
     // then: Respuesta OK
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -502,6 +623,8 @@ public class MemoriaIT extends BaseIT {
       titulos.add(memorias.get(i).getTitulo());
     }
     Assertions.assertThat(titulos).contains("Memoria002", "Memoria004", "Memoria006");
+    Assertions.assertThat(memorias.stream().map(memoria -> memoria.getPeticionEvaluacion().getTitulo()))
+        .containsOnly("PeticionEvaluacion1");
 
     // Memoria 8 tiene estado 17(En Secretaría seguimiento final) pero su fecha de
     // envío es menor que
@@ -516,10 +639,11 @@ public class MemoriaIT extends BaseIT {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-PEV-ER-INV")));
 
-    final ResponseEntity<List<DocumentacionMemoria>> response = restTemplate.exchange(
+    HttpEntity<Memoria> request = buildRequest(headers, null);
+    final ResponseEntity<List<DocumentacionMemoria>> response = withStatementBudget(9, () -> restTemplate.exchange(
         MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/documentacion-formulario", HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<DocumentacionMemoria>>() {
-        }, 1L);
+        request, new ParameterizedTypeReference<List<DocumentacionMemoria>>() {
+        }, 1L));
 
     // then: Obtiene la documentación de memoria que no se encuentra en estado 1,2 o
     // 3
@@ -531,6 +655,14 @@ public class MemoriaIT extends BaseIT {
     Assertions.assertThat(documentacionMemoria.get(1).getDocumentoRef()).isEqualTo("doc-005");
     Assertions.assertThat(documentacionMemoria.get(2).getDocumentoRef()).isEqualTo("doc-006");
     Assertions.assertThat(documentacionMemoria.get(3).getDocumentoRef()).isEqualTo("doc-007");
+
+    // La memoria anidada se serializa con sus asociaciones completas
+    Assertions.assertThat(documentacionMemoria.get(0).getMemoria().getPeticionEvaluacion().getTitulo()).isEqualTo("PeticionEvaluacion1");
+    Assertions.assertThat(documentacionMemoria.get(0).getMemoria().getComite().getComite()).isEqualTo("CEEA");
+    Assertions.assertThat(documentacionMemoria.get(0).getMemoria().getTipoMemoria().getNombre()).isEqualTo("TipoMemoria001");
+    Assertions.assertThat(documentacionMemoria.get(0).getMemoria().getEstadoActual().getNombre()).isEqualTo("En elaboración");
+    Assertions.assertThat(documentacionMemoria.get(0).getMemoria().getRetrospectiva().getEstadoRetrospectiva().getNombre())
+        .isEqualTo("EstadoRetrospectiva01");
   }
 
   @Test
@@ -729,10 +861,11 @@ public class MemoriaIT extends BaseIT {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-PEV-ER-INV")));
 
-    final ResponseEntity<List<Evaluacion>> response = restTemplate.exchange(
+    HttpEntity<Memoria> request = buildRequest(headers, null);
+    final ResponseEntity<List<Evaluacion>> response = withStatementBudget(11, () -> restTemplate.exchange(
         MEMORIA_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + PATH_PARAMETER_EVALUACIONES, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<Evaluacion>>() {
-        }, idMemoria);
+        request, new ParameterizedTypeReference<List<Evaluacion>>() {
+        }, idMemoria));
 
     // then: Respuesta OK, Evaluaciones retorna la información de la página
     // correcta en el header
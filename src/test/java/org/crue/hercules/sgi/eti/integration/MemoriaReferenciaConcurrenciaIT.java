@@ -0,0 +1,138 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
+import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.crue.hercules.sgi.eti.service.MemoriaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.jdbc.SqlMergeMode.MergeMode;
+
+/**
+ * Creación concurrente de memorias: cada memoria nueva o ratificación obtiene
+ * un número de referencia distinto y los números son consecutivos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/formulario.sql",
+  "classpath:scripts/tipo_actividad.sql",
+  "classpath:scripts/tipo_memoria.sql",
+  "classpath:scripts/tipo_estado_memoria.sql"
+// @formatter:on
+})
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+@SqlMergeMode(MergeMode.MERGE)
+public class MemoriaReferenciaConcurrenciaIT extends BaseIT {
+
+  private static final long ID_COMITE = 1000L;
+  private static final long ID_PETICION_EVALUACION = 1000L;
+  private static final long ULTIMO_NUMERO_EXISTENTE = 7L;
+  private static final int NUM_MEMORIAS = 1000;
+  private static final int NUM_THREADS = 8;
+
+  @Autowired
+  private MemoriaService memoriaService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void create_ConcurrentMemorias_ReturnsUniqueAndDenseReferencias() throws Exception {
+    // given: un comité con una memoria ya creada en el año actual
+    int anio = LocalDate.now().getYear();
+    String prefijo = "M10/" + anio + "/";
+    insertComite(prefijo + String.format("%03d", ULTIMO_NUMERO_EXISTENTE));
+
+    // when: se crean memorias nuevas y ratificaciones desde varios hilos
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+    List<Future<Memoria>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < NUM_MEMORIAS; i++) {
+        long idTipoMemoria = i % 10 == 0 ? 3L : 1L;
+        String titulo = "Memoria " + i;
+        futures.add(executor.submit(() -> memoriaService.create(generarMockMemoria(idTipoMemoria, titulo))));
+      }
+      List<String> referencias = new ArrayList<>();
+      for (Future<Memoria> future : futures) {
+        referencias.add(future.get(1, TimeUnit.MINUTES).getNumReferencia());
+      }
+
+      // then: las referencias son únicas y consecutivas a partir de la última
+      // existente
+      Assertions.assertThat(referencias).doesNotHaveDuplicates().allMatch(referencia -> referencia.startsWith(prefijo));
+      List<Long> numeros = referencias.stream()
+          .map(referencia -> Long.valueOf(referencia.substring(prefijo.length()).replace("R", ""))).sorted()
+          .collect(Collectors.toList());
+      Assertions.assertThat(numeros).containsExactlyElementsOf(LongStream
+          .rangeClosed(ULTIMO_NUMERO_EXISTENTE + 1, ULTIMO_NUMERO_EXISTENTE + NUM_MEMORIAS).boxed()
+          .collect(Collectors.toList()));
+      Assertions.assertThat(jdbcTemplate.queryForObject(
+          "SELECT COUNT(DISTINCT num_referencia) FROM eti.memoria WHERE comite_id = ?", Long.class, ID_COMITE))
+          .isEqualTo(NUM_MEMORIAS + 1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Inserta el comité, la petición de evaluación y una memoria existente.
+   *
+   * @param numReferencia referencia de la memoria existente
+   */
+  private void insertComite(String numReferencia) {
+    jdbcTemplate.update("INSERT INTO eti.comite (id, comite, formulario_id, activo) VALUES (?, 'Comite', 1, true)",
+        ID_COMITE);
+    jdbcTemplate.update(
+        "INSERT INTO eti.peticion_evaluacion (id, titulo, codigo, solicitud_convocatoria_ref, tipo_actividad_id, fuente_financiacion, fecha_inicio, fecha_fin, resumen, valor_social, objetivos, dis_metodologico, externo, tiene_fondos_propios, persona_ref, activo) "
+            + "VALUES (?, 'PeticionEvaluacion', 'Codigo', 'Ref', 1, 'Fuente', '2020-07-09', '2021-07-09', 'Resumen', 'Valor social', 'Objetivos', 'Metodologico', false, false, 'user-001', true)",
+        ID_PETICION_EVALUACION);
+    jdbcTemplate.update(
+        "INSERT INTO eti.memoria (id, num_referencia, peticion_evaluacion_id, comite_id, titulo, persona_ref, tipo_memoria_id, estado_actual_id, requiere_retrospectiva, version, activo) "
+            + "VALUES (?, ?, ?, ?, 'Memoria', 'user-001', 1, 1, false, 1, true)",
+        ID_COMITE, numReferencia, ID_PETICION_EVALUACION, ID_COMITE);
+  }
+
+  /**
+   * Genera una memoria nueva del comité.
+   *
+   * @param idTipoMemoria tipo de la memoria (nueva o ratificación)
+   * @param titulo        título
+   * @return la nueva memoria
+   */
+  private Memoria generarMockMemoria(Long idTipoMemoria, String titulo) {
+    PeticionEvaluacion peticionEvaluacion = new PeticionEvaluacion();
+    peticionEvaluacion.setId(ID_PETICION_EVALUACION);
+
+    Comite comite = new Comite(ID_COMITE, "Comite", new Formulario(1L, "M10", "Formulario M10"), Boolean.TRUE);
+
+    TipoMemoria tipoMemoria = new TipoMemoria();
+    tipoMemoria.setId(idTipoMemoria);
+
+    Memoria memoria = new Memoria();
+    memoria.setPeticionEvaluacion(peticionEvaluacion);
+    memoria.setComite(comite);
+    memoria.setTipoMemoria(tipoMemoria);
+    memoria.setTitulo(titulo);
+    memoria.setPersonaRef("user-001");
+    return memoria;
+  }
+
+}
@@ -184,9 +184,10 @@ public class PeticionEvaluacionIT extends BaseIT {
     URI uri = UriComponentsBuilder.fromUriString(PETICION_EVALUACION_CONTROLLER_BASE_PATH).queryParam("s", query)
         .build(false).toUri();
 
-    final ResponseEntity<List<PeticionEvaluacion>> response = restTemplate.exchange(uri, HttpMethod.GET,
-        buildRequest(headers, null), new ParameterizedTypeReference<List<PeticionEvaluacion>>() {
-        });
+    HttpEntity<PeticionEvaluacion> request = buildRequest(headers, null);
+    final ResponseEntity<List<PeticionEvaluacion>> response = withStatementBudget(3, () -> restTemplate.exchange(
+        uri, HttpMethod.GET, request, new ParameterizedTypeReference<List<PeticionEvaluacion>>() {
+        }));
 
     // then: Respuesta OK, PeticionEvaluaciones retorna la información de la página
     // correcta en el header
@@ -322,10 +323,11 @@ public class PeticionEvaluacionIT extends BaseIT {
     headers.add("X-Page", "1");
     headers.add("X-Page-Size", "5");
 
-    final ResponseEntity<List<TareaWithIsEliminable>> response = restTemplate.exchange(
+    HttpEntity<EquipoTrabajo> request = buildRequestEquipoTrabajo(headers, null);
+    final ResponseEntity<List<TareaWithIsEliminable>> response = withStatementBudget(3, () -> restTemplate.exchange(
         PETICION_EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/tareas", HttpMethod.GET,
-        buildRequestEquipoTrabajo(headers, null), new ParameterizedTypeReference<List<TareaWithIsEliminable>>() {
-        }, 2L);
+        request, new ParameterizedTypeReference<List<TareaWithIsEliminable>>() {
+        }, 2L));
 
     // then: Respuesta OK, PeticionEvaluaciones retorna la información de la página
     // correcta en el header
@@ -348,11 +350,12 @@ public class PeticionEvaluacionIT extends BaseIT {
     headers.add("X-Page", "1");
     headers.add("X-Page-Size", "5");
 
-    final ResponseEntity<List<MemoriaPeticionEvaluacion>> response = restTemplate.exchange(
-        PETICION_EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/memorias", HttpMethod.GET,
-        buildRequestMemoriaPeticionEvaluacion(headers, null),
-        new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
-        }, 2L);
+    HttpEntity<EquipoTrabajo> request = buildRequestMemoriaPeticionEvaluacion(headers, null);
+    final ResponseEntity<List<MemoriaPeticionEvaluacion>> response = withStatementBudget(4,
+        () -> restTemplate.exchange(PETICION_EVALUACION_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID + "/memorias",
+            HttpMethod.GET, request,
+            new ParameterizedTypeReference<List<MemoriaPeticionEvaluacion>>() {
+            }, 2L));
 
     // then: Respuesta OK, PeticionEvaluaciones retorna la información de la página
     // correcta en el header
@@ -1,6 +1,7 @@
 package org.crue.hercules.sgi.eti.integration;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -70,6 +71,14 @@ public class RespuestaIT extends BaseIT {
 
     Assertions.assertThat(respuesta.getId()).isEqualTo(2L);
     Assertions.assertThat(respuesta.getValor()).isEqualTo("{\"valor\":\"Valor2\"}");
+
+    // La memoria anidada se serializa con sus asociaciones completas
+    Assertions.assertThat(respuesta.getMemoria().getPeticionEvaluacion().getTitulo()).isEqualTo("PeticionEvaluacion1");
+    Assertions.assertThat(respuesta.getMemoria().getComite().getComite()).isEqualTo("Comite1");
+    Assertions.assertThat(respuesta.getMemoria().getTipoMemoria().getNombre()).isEqualTo("TipoMemoria001");
+    Assertions.assertThat(respuesta.getMemoria().getEstadoActual().getNombre()).isEqualTo("En elaboración");
+    Assertions.assertThat(respuesta.getMemoria().getRetrospectiva().getEstadoRetrospectiva().getNombre())
+        .isEqualTo("EstadoRetrospectiva01");
   }
 
   @Test
@@ -105,6 +114,42 @@ public class RespuestaIT extends BaseIT {
 
   }
 
+  @Test
+  public void replaceRespuestasMemoria_WritesOnlyChangedRespuestas() throws Exception {
+    // given: la respuesta existente del apartado 1 y una nueva del apartado 4
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("Authorization", String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-PEV-ER-INV")));
+    Respuesta respuestaApartado1 = new Respuesta();
+    respuestaApartado1.setApartado(getMockApartado(1L, 1L, null));
+    respuestaApartado1.setValor("{\"valor\":\"Valor2\"}");
+    Respuesta respuestaApartado4 = new Respuesta();
+    respuestaApartado4.setApartado(getMockApartado(4L, 1L, null));
+    respuestaApartado4.setValor("{\"valor\":\"Nuevo\"}");
+    HttpEntity<List<Respuesta>> request = new HttpEntity<>(Arrays.asList(respuestaApartado1, respuestaApartado4),
+        headers);
+
+    // when: se guardan las respuestas de la memoria
+    final ResponseEntity<List<Respuesta>> response = restTemplate.exchange("/memorias/{id}/respuestas",
+        HttpMethod.PUT, request, new ParameterizedTypeReference<List<Respuesta>>() {
+        }, 1L);
+
+    // then: se escriben las dos (la existente todavía no tenía hash)
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(response.getBody()).hasSize(2);
+    Assertions.assertThat(response.getBody().get(0).getId()).isEqualTo(2L);
+    Assertions.assertThat(response.getBody().get(1).getApartado().getId()).isEqualTo(4L);
+    Assertions.assertThat(response.getBody().get(1).getValor()).isEqualTo("{\"valor\":\"Nuevo\"}");
+
+    // when: se vuelven a guardar los mismos valores
+    final ResponseEntity<List<Respuesta>> responseSinCambios = restTemplate.exchange("/memorias/{id}/respuestas",
+        HttpMethod.PUT, request, new ParameterizedTypeReference<List<Respuesta>>() {
+        }, 1L);
+
+    // then: no se escribe ninguna
+    Assertions.assertThat(responseSinCambios.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+  }
+
   @Test
   public void replaceRespuesta_ReturnsRespuesta() throws Exception {
 
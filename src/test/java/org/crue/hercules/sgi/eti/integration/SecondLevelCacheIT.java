@@ -0,0 +1,147 @@
+package org.crue.hercules.sgi.eti.integration;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.CargoComite;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.jdbc.SqlMergeMode.MergeMode;
+
+/**
+ * Test de integracion de la caché de segundo nivel (Hazelcast) con la
+ * configuración de la aplicación, que en el resto de tests está desactivada.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+// @formatter:off
+  "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+  "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+  "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+// @formatter:on
+})
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/cargo_comite.sql"
+// @formatter:on
+})
+@Sql(executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD, scripts = "classpath:cleanup.sql")
+@SqlMergeMode(MergeMode.MERGE)
+public class SecondLevelCacheIT extends BaseIT {
+
+  private static final String PATH_PARAMETER_ID = "/{id}";
+  private static final String CARGO_COMITE_CONTROLLER_BASE_PATH = "/cargocomites";
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    // cleanup.sql borra los datos sin pasar por Hibernate
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  private HttpEntity<CargoComite> buildRequest(HttpHeaders headers, CargoComite entity) throws Exception {
+    headers = (headers != null ? headers : new HttpHeaders());
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+    headers.set("Authorization",
+        String.format("bearer %s", tokenBuilder.buildToken("user", "ETI-CARGOCOMITE-EDITAR", "ETI-CARGOCOMITE-VER")));
+
+    HttpEntity<CargoComite> request = new HttpEntity<>(entity, headers);
+    return request;
+  }
+
+  private CargoComite getCargoComite(Long id) throws Exception {
+    final ResponseEntity<CargoComite> response = restTemplate.exchange(
+        CARGO_COMITE_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID, HttpMethod.GET, buildRequest(null, null),
+        CargoComite.class, id);
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return response.getBody();
+  }
+
+  @Test
+  public void getCargoComite_WithCachedCargoComite_ReadsFromCache() throws Exception {
+    // given: el CargoComite se ha leído una vez y está en la caché
+    Assertions.assertThat(entityManagerFactory.getCache().contains(CargoComite.class, 1L)).isFalse();
+    Assertions.assertThat(getCargoComite(1L).getNombre()).isEqualTo("PRESIDENTE");
+    Assertions.assertThat(entityManagerFactory.getCache().contains(CargoComite.class, 1L)).isTrue();
+    Assertions.assertThat(statistics.getSecondLevelCachePutCount()).isPositive();
+
+    long hits = statistics.getSecondLevelCacheHitCount();
+    long statements = statistics.getPrepareStatementCount();
+
+    // when: se vuelve a leer
+    CargoComite cargoComite = getCargoComite(1L);
+
+    // then: se obtiene de la caché sin consultar la base de datos
+    Assertions.assertThat(cargoComite.getNombre()).isEqualTo("PRESIDENTE");
+    Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 1);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+  }
+
+  @Test
+  public void replaceCargoComite_WithCachedCargoComite_ReplacesTheCachedEntry() throws Exception {
+    // given: el CargoComite está en la caché
+    Assertions.assertThat(getCargoComite(1L).getNombre()).isEqualTo("PRESIDENTE");
+    Assertions.assertThat(entityManagerFactory.getCache().contains(CargoComite.class, 1L)).isTrue();
+
+    CargoComite replaceCargoComite = new CargoComite();
+    replaceCargoComite.setNombre("PRESIDENTE2");
+    replaceCargoComite.setActivo(Boolean.TRUE);
+
+    // when: se actualiza
+    final ResponseEntity<CargoComite> response = restTemplate.exchange(
+        CARGO_COMITE_CONTROLLER_BASE_PATH + PATH_PARAMETER_ID, HttpMethod.PUT,
+        buildRequest(null, replaceCargoComite), CargoComite.class, 1L);
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    long hits = statistics.getSecondLevelCacheHitCount();
+
+    // then: la siguiente lectura devuelve los datos actualizados y no la entrada
+    // anterior de la caché
+    Assertions.assertThat(getCargoComite(1L).getNombre()).isEqualTo("PRESIDENTE2");
+    Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void evict_WithCachedCargoComite_ReadsFromDatabase() throws Exception {
+    // given: el CargoComite está en la caché
+    Assertions.assertThat(getCargoComite(1L).getNombre()).isEqualTo("PRESIDENTE");
+    Assertions.assertThat(entityManagerFactory.getCache().contains(CargoComite.class, 1L)).isTrue();
+
+    // when: se expulsa de la caché
+    entityManagerFactory.getCache().evict(CargoComite.class, 1L);
+    long misses = statistics.getSecondLevelCacheMissCount();
+
+    // then: la siguiente lectura va a la base de datos y lo vuelve a cachear
+    Assertions.assertThat(getCargoComite(1L).getNombre()).isEqualTo("PRESIDENTE");
+    Assertions.assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(misses + 1);
+    Assertions.assertThat(entityManagerFactory.getCache().contains(CargoComite.class, 1L)).isTrue();
+  }
+
+}
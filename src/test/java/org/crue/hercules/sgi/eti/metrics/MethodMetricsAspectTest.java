@@ -0,0 +1,113 @@
+package org.crue.hercules.sgi.eti.metrics;
+
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.exceptions.FormularioNotFoundException;
+import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.repository.FormularioRepository;
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
+import org.crue.hercules.sgi.eti.service.impl.EvaluadorServiceImpl;
+import org.crue.hercules.sgi.eti.service.impl.FormularioArbolCache;
+import org.crue.hercules.sgi.eti.service.impl.FormularioServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * MethodMetricsAspectTest
+ */
+public class MethodMetricsAspectTest {
+
+  private MeterRegistry meterRegistry;
+  private MethodMetricsAspect methodMetricsAspect;
+  private FormularioRepository formularioRepository;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    methodMetricsAspect = new MethodMetricsAspect(meterRegistry, true);
+    formularioRepository = Mockito.mock(FormularioRepository.class);
+  }
+
+  @Test
+  public void service_WithComiteAndPageable_RecordsTimerWithTags() {
+    // given: el servicio de evaluadores con el aspecto
+    ConflictoInteresIndex conflictoInteresIndex = Mockito.mock(ConflictoInteresIndex.class);
+    EvaluadorServiceImpl evaluadorService = proxy(new EvaluadorServiceImpl(Mockito.mock(EvaluadorRepository.class),
+        Mockito.mock(EquipoTrabajoRepository.class), conflictoInteresIndex));
+
+    // when: se buscan los evaluadores de un comité con páginas de 15
+    evaluadorService.findAllByComiteSinconflictoInteresesMemoria(2L, 1L, PageRequest.of(0, 15));
+
+    // then: se registra la duración con el comité y el tamaño de página agrupado
+    Timer timer = meterRegistry.find(MethodMetricsAspect.SERVICE_METRIC)
+        .tag(MethodMetricsAspect.TAG_CLASS, "EvaluadorServiceImpl")
+        .tag(MethodMetricsAspect.TAG_METHOD, "findAllByComiteSinconflictoInteresesMemoria")
+        .tag(MethodMetricsAspect.TAG_COMITE, "2").tag(MethodMetricsAspect.TAG_PAGE_SIZE, "20")
+        .tag(MethodMetricsAspect.TAG_ENDPOINT, MethodMetricsAspect.NONE)
+        .tag(MethodMetricsAspect.TAG_EXCEPTION, MethodMetricsAspect.NONE).timer();
+    Assertions.assertThat(timer).isNotNull();
+    Assertions.assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void service_ThrowsException_RecordsError() {
+    // given: el servicio de formularios con el aspecto y un formulario que no
+    // existe
+    FormularioServiceImpl formularioService = proxy(new FormularioServiceImpl(formularioRepository,
+        Mockito.mock(FormularioArbolCache.class), Jackson2ObjectMapperBuilder.json().build()));
+    BDDMockito.given(formularioRepository.findById(1L)).willReturn(Optional.empty());
+
+    // when: se busca el formulario
+    Assertions.assertThatThrownBy(() -> formularioService.findById(1L))
+        .isInstanceOf(FormularioNotFoundException.class);
+
+    // then: se registran la duración y el error con la excepción
+    Assertions.assertThat(meterRegistry.find(MethodMetricsAspect.SERVICE_METRIC)
+        .tag(MethodMetricsAspect.TAG_EXCEPTION, "FormularioNotFoundException").timer().count()).isEqualTo(1);
+    Assertions.assertThat(meterRegistry.find(MethodMetricsAspect.SERVICE_METRIC + MethodMetricsAspect.ERRORS_SUFFIX)
+        .tag(MethodMetricsAspect.TAG_METHOD, "findById")
+        .tag(MethodMetricsAspect.TAG_PAGE_SIZE, MethodMetricsAspect.NONE)
+        .counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void service_Disabled_RecordsNothing() {
+    // given: el aspecto desactivado desde el endpoint
+    FormularioServiceImpl formularioService = proxy(new FormularioServiceImpl(formularioRepository,
+        Mockito.mock(FormularioArbolCache.class), Jackson2ObjectMapperBuilder.json().build()));
+    MethodMetricsEndpoint endpoint = new MethodMetricsEndpoint(methodMetricsAspect);
+    Assertions.assertThat(endpoint.setEnabled(false)).containsEntry("enabled", false);
+
+    // when: se llama al servicio
+    formularioService.findAll(null, PageRequest.of(0, 10));
+
+    // then: no se registra nada
+    Assertions.assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  /**
+   * Proxy del servicio con el aspecto.
+   *
+   * @param <T>    tipo del servicio.
+   * @param target el servicio.
+   * @return el proxy.
+   */
+  private <T> T proxy(T target) {
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(methodMetricsAspect);
+    return proxyFactory.getProxy();
+  }
+
+}
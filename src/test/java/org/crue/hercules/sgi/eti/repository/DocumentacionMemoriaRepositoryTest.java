@@ -80,6 +80,81 @@ public class DocumentacionMemoriaRepositoryTest extends BaseRepositoryTest {
 
   }
 
+  @Test
+  public void copyByMemoriaId_CopiesDocumentacion() throws Exception {
+
+    // given: Una memoria con documentación y una memoria sin documentación.
+
+    Formulario formulario = entityManager.persistFlushFind(generarMockFormulario());
+    Comite comite = entityManager.persistFlushFind(generarMockComite(formulario));
+    TipoActividad tipoActividad = entityManager.persistAndFlush(generarMockTipoActividad());
+    PeticionEvaluacion peticionEvaluacion = entityManager.persistAndFlush(generarMockPeticionEvaluacion(tipoActividad));
+    TipoMemoria tipoMemoria = entityManager.persistAndFlush(generarMockTipoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoria = entityManager.persistAndFlush(generarMockTipoEstadoMemoria());
+    EstadoRetrospectiva estadoRetrospectiva = entityManager.persistAndFlush(generarMockEstadoRetrospectiva());
+    Retrospectiva retrospectiva = entityManager.persistAndFlush(generarMockRetrospectiva(estadoRetrospectiva));
+    Memoria memoriaOrigen = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, retrospectiva));
+    Memoria memoriaDestino = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, retrospectiva));
+    TipoDocumento tipoDocumento = entityManager.persistAndFlush(generarMockTipoDocumento(formulario));
+    entityManager.persistAndFlush(generarMockDocumentacionMemoria(memoriaOrigen, tipoDocumento));
+    entityManager.persistAndFlush(generarMockDocumentacionMemoria(memoriaOrigen, tipoDocumento));
+
+    // when: Se copia la documentación
+    int result = repository.copyByMemoriaId(memoriaOrigen.getId(), memoriaDestino.getId());
+
+    // then: La memoria destino tiene una copia de cada documento
+    Assertions.assertThat(result).isEqualTo(2);
+    Page<DocumentacionMemoria> copia = repository.findByMemoriaId(memoriaDestino.getId(), Pageable.unpaged());
+    Assertions.assertThat(copia.getContent()).hasSize(2);
+    Assertions.assertThat(copia.getContent()).allSatisfy(documentacionMemoria -> {
+      Assertions.assertThat(documentacionMemoria.getDocumentoRef()).isEqualTo("docRef001");
+      Assertions.assertThat(documentacionMemoria.getTipoDocumento().getId()).isEqualTo(tipoDocumento.getId());
+    });
+    Assertions.assertThat(repository.findByMemoriaId(memoriaOrigen.getId(), Pageable.unpaged()).getContent())
+        .hasSize(2);
+    // Los identificadores salen del mismo bloque de la secuencia (un nextval por
+    // fila reservaría un bloque para cada copia)
+    Long idCopia = copia.getContent().stream().map(DocumentacionMemoria::getId).min(Long::compare).get();
+    Assertions.assertThat(copia.getContent()).extracting(DocumentacionMemoria::getId)
+        .containsExactlyInAnyOrder(idCopia, idCopia + 1);
+
+  }
+
+  @Test
+  public void copyByMemoriaId_WithMemoriaOrigenNoActiva_CopiesNothing() throws Exception {
+
+    // given: Una memoria no activa con documentación y una memoria sin
+    // documentación.
+
+    Formulario formulario = entityManager.persistFlushFind(generarMockFormulario());
+    Comite comite = entityManager.persistFlushFind(generarMockComite(formulario));
+    TipoActividad tipoActividad = entityManager.persistAndFlush(generarMockTipoActividad());
+    PeticionEvaluacion peticionEvaluacion = entityManager.persistAndFlush(generarMockPeticionEvaluacion(tipoActividad));
+    TipoMemoria tipoMemoria = entityManager.persistAndFlush(generarMockTipoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoria = entityManager.persistAndFlush(generarMockTipoEstadoMemoria());
+    EstadoRetrospectiva estadoRetrospectiva = entityManager.persistAndFlush(generarMockEstadoRetrospectiva());
+    Retrospectiva retrospectiva = entityManager.persistAndFlush(generarMockRetrospectiva(estadoRetrospectiva));
+    Memoria memoriaNoActiva = generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria,
+        retrospectiva);
+    memoriaNoActiva.setActivo(Boolean.FALSE);
+    Memoria memoriaOrigen = entityManager.persistAndFlush(memoriaNoActiva);
+    Memoria memoriaDestino = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, retrospectiva));
+    TipoDocumento tipoDocumento = entityManager.persistAndFlush(generarMockTipoDocumento(formulario));
+    entityManager.persistAndFlush(generarMockDocumentacionMemoria(memoriaOrigen, tipoDocumento));
+
+    // when: Se copia la documentación
+    int result = repository.copyByMemoriaId(memoriaOrigen.getId(), memoriaDestino.getId());
+
+    // then: No se copia ningún documento
+    Assertions.assertThat(result).isEqualTo(0);
+    Assertions.assertThat(repository.findByMemoriaId(memoriaDestino.getId(), Pageable.unpaged()).getContent())
+        .isEmpty();
+
+  }
+
   /**
    * Función que devuelve un objeto Comite
    * 
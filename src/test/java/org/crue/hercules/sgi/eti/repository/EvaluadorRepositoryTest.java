@@ -0,0 +1,110 @@
+package org.crue.hercules.sgi.eti.repository;
+
+import java.time.LocalDate;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.CargoComite;
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+public class EvaluadorRepositoryTest extends BaseRepositoryTest {
+
+  private static final LocalDate ENERO = LocalDate.of(2020, 1, 1);
+  private static final LocalDate JUNIO = LocalDate.of(2020, 6, 1);
+  private static final LocalDate DICIEMBRE = LocalDate.of(2020, 12, 1);
+
+  @Autowired
+  private EvaluadorRepository repository;
+
+  private Comite comite;
+  private CargoComite presidente;
+  private CargoComite vocal;
+
+  @BeforeEach
+  public void setUp() {
+    Formulario formulario = entityManager.persistFlushFind(new Formulario(1L, "M10", "Descripcion"));
+    comite = entityManager.persistFlushFind(new Comite(null, "Comite1", formulario, Boolean.TRUE));
+    presidente = entityManager.persistFlushFind(new CargoComite(1L, "PRESIDENTE", Boolean.TRUE));
+    vocal = entityManager.persistFlushFind(new CargoComite(2L, "VOCAL", Boolean.TRUE));
+  }
+
+  @Test
+  public void existsPresidenteInFechas_WithOverlappingPresidente_ReturnsTrue() throws Exception {
+    // given: un presidente de enero a junio
+    entityManager.persistFlushFind(generarMockEvaluador(presidente, "user-001", ENERO, JUNIO, Boolean.TRUE));
+
+    // when: se comprueba un periodo que empieza antes de junio
+    boolean exists = repository.existsPresidenteInFechas(comite.getId(), ENERO.plusMonths(3), DICIEMBRE, null);
+
+    // then: los periodos coinciden
+    Assertions.assertThat(exists).isTrue();
+  }
+
+  @Test
+  public void existsPresidenteInFechas_WithPresidenteSinFechaBaja_ReturnsTrue() throws Exception {
+    // given: un presidente desde enero sin fecha de baja
+    entityManager.persistFlushFind(generarMockEvaluador(presidente, "user-001", ENERO, null, Boolean.TRUE));
+
+    // when: se comprueba un periodo posterior
+    boolean exists = repository.existsPresidenteInFechas(comite.getId(), JUNIO, DICIEMBRE, null);
+
+    // then: los periodos coinciden
+    Assertions.assertThat(exists).isTrue();
+  }
+
+  @Test
+  public void existsPresidenteInFechas_WithoutOverlap_ReturnsFalse() throws Exception {
+    // given: un presidente de enero a junio, un vocal y un presidente inactivo en
+    // las mismas fechas que se comprueban
+    entityManager.persistFlushFind(generarMockEvaluador(presidente, "user-001", ENERO, JUNIO, Boolean.TRUE));
+    entityManager.persistFlushFind(generarMockEvaluador(vocal, "user-002", JUNIO, DICIEMBRE, Boolean.TRUE));
+    entityManager.persistFlushFind(generarMockEvaluador(presidente, "user-003", JUNIO, DICIEMBRE, Boolean.FALSE));
+
+    // when: se comprueba un periodo posterior a junio
+    boolean exists = repository.existsPresidenteInFechas(comite.getId(), JUNIO.plusDays(1), DICIEMBRE, null);
+
+    // then: no hay otro presidente activo en esas fechas
+    Assertions.assertThat(exists).isFalse();
+  }
+
+  @Test
+  public void existsEvaluadorInFechas_ExcludesEvaluadorActualizado() throws Exception {
+    // given: el evaluador que se actualiza
+    Evaluador evaluador = entityManager
+        .persistFlushFind(generarMockEvaluador(vocal, "user-001", ENERO, JUNIO, Boolean.TRUE));
+
+    // when: se comprueban sus nuevas fechas
+    boolean existsOtro = repository.existsEvaluadorInFechas(comite.getId(), "user-001", ENERO, DICIEMBRE,
+        evaluador.getId());
+    boolean existsNuevo = repository.existsEvaluadorInFechas(comite.getId(), "user-001", ENERO, DICIEMBRE, null);
+    boolean existsOtraPersona = repository.existsEvaluadorInFechas(comite.getId(), "user-002", ENERO, DICIEMBRE,
+        null);
+
+    // then: solo coincide con un evaluador distinto de la misma persona
+    Assertions.assertThat(existsOtro).isFalse();
+    Assertions.assertThat(existsNuevo).isTrue();
+    Assertions.assertThat(existsOtraPersona).isFalse();
+  }
+
+  /**
+   * Función que devuelve un objeto Evaluador del comité
+   *
+   * @param cargoComite cargo del evaluador
+   * @param personaRef  referencia de la persona
+   * @param fechaAlta   fecha de alta
+   * @param fechaBaja   fecha de baja
+   * @param activo      activo
+   * @return el objeto Evaluador
+   */
+  private Evaluador generarMockEvaluador(CargoComite cargoComite, String personaRef, LocalDate fechaAlta,
+      LocalDate fechaBaja, Boolean activo) {
+    return new Evaluador(null, cargoComite, comite, fechaAlta, fechaBaja, "Resumen", personaRef, activo);
+  }
+
+}
@@ -0,0 +1,182 @@
+package org.crue.hercules.sgi.eti.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Comprueba que las consultas de los repositorios custom usan los índices de
+ * las columnas por las que filtran y no recorren la tabla completa.
+ *
+ * Se ejecuta el EXPLAIN de H2 sobre las sentencias SQL generadas por Hibernate
+ * y se falla si el plan contiene un tableScan de alguna de las tablas
+ * indicadas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.crue.hercules.sgi.eti.repository.SqlStatementCollector")
+@Sql(scripts = {
+// @formatter:off
+  "classpath:scripts/formulario.sql",
+  "classpath:scripts/bloque.sql",
+  "classpath:scripts/apartado.sql",
+  "classpath:scripts/tipo_actividad.sql",
+  "classpath:scripts/tipo_memoria.sql",
+  "classpath:scripts/tipo_estado_memoria.sql",
+  "classpath:scripts/estado_retrospectiva.sql",
+  "classpath:scripts/tipo_convocatoria_reunion.sql",
+  "classpath:scripts/tipo_evaluacion.sql",
+  "classpath:scripts/cargo_comite.sql",
+  "classpath:scripts/tipo_comentario.sql",
+  "classpath:scripts/evaluacion.sql"
+// @formatter:on
+})
+public class IndexUsageRepositoryTest extends BaseRepositoryTest {
+
+  @Autowired
+  private EvaluacionRepository evaluacionRepository;
+
+  @Autowired
+  private MemoriaRepository memoriaRepository;
+
+  @Autowired
+  private EvaluadorRepository evaluadorRepository;
+
+  @Autowired
+  private EstadoMemoriaRepository estadoMemoriaRepository;
+
+  @Autowired
+  private EquipoTrabajoRepository equipoTrabajoRepository;
+
+  @Autowired
+  private ConvocatoriaReunionRepository convocatoriaReunionRepository;
+
+  @BeforeEach
+  public void setUp() {
+    SqlStatementCollector.clear();
+  }
+
+  @Test
+  public void findEvaluacionesAnterioresByMemoria_UsesIndexes() throws Exception {
+    // when: se buscan las evaluaciones anteriores de una memoria
+    evaluacionRepository.findEvaluacionesAnterioresByMemoria(2L, 3L, PageRequest.of(0, 10));
+
+    // then: evaluacion se filtra por memoria_id y comentario por evaluacion_id
+    assertNoTableScan("EVALUACION", "COMENTARIO");
+  }
+
+  @Test
+  public void findMemoriasEvaluacion_UsesIndexes() throws Exception {
+    // when: se buscan las memorias de una petición de evaluación
+    memoriaRepository.findMemoriasEvaluacion(1L, PageRequest.of(0, 10), "user-001");
+
+    // then: memoria se filtra por peticion_evaluacion_id y evaluacion por
+    // memoria_id
+    assertNoTableScan("MEMORIA", "EVALUACION");
+  }
+
+  @Test
+  public void findEstadoAnteriorAndActual_UsesIndexes() throws Exception {
+    // when: se buscan el estado anterior y el estado actual de una memoria
+    estadoMemoriaRepository.findFirstByMemoriaIdAndTipoEstadoMemoriaIdNotOrderByFechaEstadoDesc(1L, 3L);
+    estadoMemoriaRepository.findFirstByMemoriaIdAndTipoEstadoMemoriaIdOrderByFechaEstadoDesc(1L, 3L);
+
+    // then: estado_memoria se filtra por memoria_id y se recorre por fecha_estado
+    assertNoTableScan("ESTADO_MEMORIA");
+  }
+
+  @Test
+  public void findAllByComiteSinconflictoInteresesMemoria_UsesIndexes() throws Exception {
+    // when: se buscan los evaluadores sin conflicto de intereses
+    evaluadorRepository.findAllByComiteSinconflictoInteresesMemoria(1L, 1L, PageRequest.of(0, 10));
+
+    // then: evaluador se filtra por comite_id
+    assertNoTableScan("EVALUADOR");
+  }
+
+  @Test
+  public void existsEvaluadorInFechas_UsesIndexes() throws Exception {
+    // when: se comprueba si la persona ya es evaluador del comité en las fechas
+    evaluadorRepository.existsEvaluadorInFechas(1L, "user-001", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 1),
+        null);
+
+    // then: evaluador se filtra por comite_id y persona_ref
+    assertNoTableScan("EVALUADOR");
+  }
+
+  @Test
+  public void findAllByPeticionEvaluacionId_UsesIndexes() throws Exception {
+    // when: se busca el equipo de trabajo de una petición de evaluación
+    equipoTrabajoRepository.findAllByPeticionEvaluacionId(1L, PageRequest.of(0, 10));
+
+    // then: equipo_trabajo se filtra por peticion_evaluacion_id y tarea por
+    // equipo_trabajo_id
+    assertNoTableScan("EQUIPO_TRABAJO", "TAREA");
+  }
+
+  @Test
+  public void findByIdWithDatosGenerales_UsesIndexes() throws Exception {
+    // when: se buscan los datos generales de una convocatoria de reunión
+    convocatoriaReunionRepository.findByIdWithDatosGenerales(1L);
+
+    // then: evaluacion y acta se filtran por convocatoria_reunion_id
+    assertNoTableScan("EVALUACION", "ACTA");
+  }
+
+  /**
+   * Obtiene el plan de ejecución de las sentencias ejecutadas por Hibernate y
+   * comprueba que ninguna de ellas recorre completa alguna de las tablas
+   * indicadas.
+   *
+   * @param tables nombres de las tablas (esquema eti)
+   */
+  private void assertNoTableScan(String... tables) {
+    List<String> statements = SqlStatementCollector.getStatements();
+    Assertions.assertThat(statements).as("statements").isNotEmpty();
+
+    for (String sql : statements) {
+      String plan = explain(sql);
+      for (String table : tables) {
+        Pattern tableScan = Pattern.compile(Pattern.quote("ETI." + table + ".tableScan"), Pattern.CASE_INSENSITIVE);
+        Assertions.assertThat(tableScan.matcher(plan).find())
+            .as("Full scan of %s in plan:%n%s", table, plan).isFalse();
+      }
+    }
+  }
+
+  /**
+   * Ejecuta EXPLAIN sobre la sentencia. Los parámetros se enlazan a null, el
+   * plan no depende de su valor.
+   *
+   * @param sql sentencia SQL
+   * @return el plan de ejecución de H2
+   */
+  private String explain(String sql) {
+    return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+      try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+        int parameterCount = ps.getParameterMetaData().getParameterCount();
+        for (int i = 1; i <= parameterCount; i++) {
+          ps.setObject(i, null);
+        }
+        List<String> plan = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            plan.add(rs.getString(1));
+          }
+        }
+        return String.join(System.lineSeparator(), plan);
+      }
+    });
+  }
+
+}
@@ -1,6 +1,7 @@
 package org.crue.hercules.sgi.eti.repository;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -14,6 +15,7 @@ import org.crue.hercules.sgi.eti.model.TipoActividad;
 import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
 import org.crue.hercules.sgi.eti.model.TipoInvestigacionTutelada;
 import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -53,6 +55,113 @@ public class MemoriaRepositoryTest extends BaseRepositoryTest {
 
   }
 
+  @Test
+  public void findById_LoadsDetalleWithoutVersionChain() throws Exception {
+
+    // given: una memoria modificada a partir de otra memoria modificada
+    Formulario formulario = entityManager.persistFlushFind(generarMockFormulario());
+    Comite comite = entityManager.persistFlushFind(generarMockComite(formulario));
+    TipoActividad tipoActividad = entityManager.persistAndFlush(generarMockTipoActividad());
+    TipoInvestigacionTutelada tipoInvestigacionTutelada = entityManager
+        .persistAndFlush(generarMockTipoInvestigacionTutelada());
+    PeticionEvaluacion peticionEvaluacion = entityManager
+        .persistAndFlush(generarMockPeticionEvaluacion(tipoActividad, tipoInvestigacionTutelada));
+    TipoMemoria tipoMemoria = entityManager.persistAndFlush(generarMockTipoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoria = entityManager.persistAndFlush(generarMockTipoEstadoMemoria());
+    EstadoRetrospectiva estadoRetrospectiva = entityManager.persistAndFlush(generarMockEstadoRetrospectiva());
+    Retrospectiva retrospectiva = entityManager.persistAndFlush(generarMockRetrospectiva(estadoRetrospectiva));
+    Memoria memoriaOriginal = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, retrospectiva));
+    Memoria memoriaModificada = generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, null);
+    memoriaModificada.setMemoriaOriginal(memoriaOriginal);
+    memoriaModificada = entityManager.persistAndFlush(memoriaModificada);
+    Memoria memoriaModificada2 = generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria,
+        null);
+    memoriaModificada2.setMemoriaOriginal(memoriaModificada);
+    memoriaModificada2 = entityManager.persistAndFlush(memoriaModificada2);
+    entityManager.clear();
+
+    // when: se busca la última versión de la memoria
+    Memoria result = repository.findById(memoriaModificada2.getId()).get();
+
+    // then: se cargan los datos del detalle y la memoria original con sus
+    // asociaciones, pero no la memoria original de la memoria original
+    Assertions.assertThat(Hibernate.isInitialized(result.getPeticionEvaluacion())).as("peticionEvaluacion").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getComite())).as("comite").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getTipoMemoria())).as("tipoMemoria").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getEstadoActual())).as("estadoActual").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getMemoriaOriginal())).as("memoriaOriginal").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getMemoriaOriginal().getComite()))
+        .as("memoriaOriginal.comite").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getMemoriaOriginal().getMemoriaOriginal()))
+        .as("memoriaOriginal.memoriaOriginal").isFalse();
+    Assertions.assertThat(result.getMemoriaOriginal().getMemoriaOriginal().getId())
+        .as("memoriaOriginal.memoriaOriginal.id").isEqualTo(memoriaOriginal.getId());
+  }
+
+  @Test
+  public void findByIdAndActivoTrue_LoadsListadoWithoutMemoriaOriginal() throws Exception {
+
+    // given: una memoria modificada a partir de otra memoria
+    Formulario formulario = entityManager.persistFlushFind(generarMockFormulario());
+    Comite comite = entityManager.persistFlushFind(generarMockComite(formulario));
+    TipoActividad tipoActividad = entityManager.persistAndFlush(generarMockTipoActividad());
+    TipoInvestigacionTutelada tipoInvestigacionTutelada = entityManager
+        .persistAndFlush(generarMockTipoInvestigacionTutelada());
+    PeticionEvaluacion peticionEvaluacion = entityManager
+        .persistAndFlush(generarMockPeticionEvaluacion(tipoActividad, tipoInvestigacionTutelada));
+    TipoMemoria tipoMemoria = entityManager.persistAndFlush(generarMockTipoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoria = entityManager.persistAndFlush(generarMockTipoEstadoMemoria());
+    EstadoRetrospectiva estadoRetrospectiva = entityManager.persistAndFlush(generarMockEstadoRetrospectiva());
+    Retrospectiva retrospectiva = entityManager.persistAndFlush(generarMockRetrospectiva(estadoRetrospectiva));
+    Memoria memoriaOriginal = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, null));
+    Memoria memoria = generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, retrospectiva);
+    memoria.setMemoriaOriginal(memoriaOriginal);
+    memoria = entityManager.persistAndFlush(memoria);
+    entityManager.clear();
+
+    // when: Se buscan los datos
+    Memoria result = repository.findByIdAndActivoTrue(memoria.getId()).get();
+
+    // then: Se cargan los datos que se serializan con la memoria pero no la
+    // memoria original
+    Assertions.assertThat(Hibernate.isInitialized(result.getPeticionEvaluacion())).as("peticionEvaluacion").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getComite())).as("comite").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getTipoMemoria())).as("tipoMemoria").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getEstadoActual())).as("estadoActual").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getRetrospectiva())).as("retrospectiva").isTrue();
+    Assertions.assertThat(Hibernate.isInitialized(result.getMemoriaOriginal())).as("memoriaOriginal").isFalse();
+  }
+
+  @Test
+  public void updateEstadoActualByIdIn_WithManagedMemoria_ReturnsUpdatedEstadoActual() throws Exception {
+
+    // given: una memoria cargada en el contexto de persistencia
+    Formulario formulario = entityManager.persistFlushFind(generarMockFormulario());
+    Comite comite = entityManager.persistFlushFind(generarMockComite(formulario));
+    TipoActividad tipoActividad = entityManager.persistAndFlush(generarMockTipoActividad());
+    TipoInvestigacionTutelada tipoInvestigacionTutelada = entityManager
+        .persistAndFlush(generarMockTipoInvestigacionTutelada());
+    PeticionEvaluacion peticionEvaluacion = entityManager
+        .persistAndFlush(generarMockPeticionEvaluacion(tipoActividad, tipoInvestigacionTutelada));
+    TipoMemoria tipoMemoria = entityManager.persistAndFlush(generarMockTipoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoria = entityManager.persistAndFlush(generarMockTipoEstadoMemoria());
+    TipoEstadoMemoria tipoEstadoMemoriaNuevo = entityManager
+        .persistAndFlush(new TipoEstadoMemoria(2L, "TipoEstadoMemoria2", Boolean.TRUE));
+    Memoria memoria = entityManager
+        .persistAndFlush(generarMockMemoria(peticionEvaluacion, comite, tipoMemoria, tipoEstadoMemoria, null));
+
+    // when: se actualiza su estado con el UPDATE masivo
+    int result = repository.updateEstadoActualByIdIn(Arrays.asList(memoria.getId()), tipoEstadoMemoriaNuevo.getId());
+
+    // then: la siguiente lectura devuelve el estado nuevo y no la entidad
+    // cargada con el estado anterior
+    Assertions.assertThat(result).isEqualTo(1);
+    Assertions.assertThat(repository.findById(memoria.getId()).get().getEstadoActual().getId())
+        .isEqualTo(tipoEstadoMemoriaNuevo.getId());
+  }
+
   @Test
   public void findByComiteIdAndActivoTrueAndComiteActivoTrue_ReturnsData() throws Exception {
 
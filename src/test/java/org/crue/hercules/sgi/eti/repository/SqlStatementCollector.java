@@ -0,0 +1,47 @@
+package org.crue.hercules.sgi.eti.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} que guarda las sentencias SQL generadas por
+ * Hibernate para poder analizarlas en los tests.
+ */
+public class SqlStatementCollector implements StatementInspector {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final List<String> STATEMENTS = new ArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    synchronized (STATEMENTS) {
+      STATEMENTS.add(sql);
+    }
+    return sql;
+  }
+
+  /**
+   * Elimina las sentencias guardadas.
+   */
+  public static void clear() {
+    synchronized (STATEMENTS) {
+      STATEMENTS.clear();
+    }
+  }
+
+  /**
+   * Devuelve las sentencias guardadas desde la última llamada a
+   * {@link #clear()}.
+   * 
+   * @return lista de sentencias SQL
+   */
+  public static List<String> getStatements() {
+    synchronized (STATEMENTS) {
+      return new ArrayList<>(STATEMENTS);
+    }
+  }
+
+}
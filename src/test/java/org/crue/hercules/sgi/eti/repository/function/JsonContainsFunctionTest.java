@@ -0,0 +1,37 @@
+package org.crue.hercules.sgi.eti.repository.function;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JsonContainsFunctionTest
+ */
+public class JsonContainsFunctionTest {
+
+  private static final String VALOR = "{\"especie\":\"rata\",\"riesgo\":{\"nivel\":\"alto\",\"puntos\":3},"
+      + "\"procedimientos\":[\"cirugia\",\"anestesia\"]}";
+
+  @Test
+  public void contains_WithCamposAnidados_ReturnsTrue() throws Exception {
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"especie\":\"rata\"}")).isTrue();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"riesgo\":{\"nivel\":\"alto\"}}")).isTrue();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"riesgo\":{\"puntos\":3}}")).isTrue();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"procedimientos\":[\"anestesia\"]}")).isTrue();
+  }
+
+  @Test
+  public void contains_WithValorDistinto_ReturnsFalse() throws Exception {
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"especie\":\"raton\"}")).isFalse();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"riesgo\":{\"puntos\":\"3\"}}")).isFalse();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"nivel\":\"alto\"}")).isFalse();
+    Assertions.assertThat(JsonContainsFunction.contains(VALOR, "{\"procedimientos\":\"cirugia\"}")).isFalse();
+    Assertions.assertThat(JsonContainsFunction.contains(null, "{\"especie\":\"rata\"}")).isFalse();
+  }
+
+  @Test
+  public void contains_WithValorNoJson_ReturnsFalse() throws Exception {
+    Assertions.assertThat(JsonContainsFunction.contains("texto libre", "{\"especie\":\"rata\"}")).isFalse();
+    Assertions.assertThat(JsonContainsFunction.contains("{\"especie\":", "{\"especie\":\"rata\"}")).isFalse();
+  }
+
+}
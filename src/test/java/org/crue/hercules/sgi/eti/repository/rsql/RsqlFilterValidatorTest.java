@@ -0,0 +1,123 @@
+package org.crue.hercules.sgi.eti.repository.rsql;
+
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * RsqlFilterValidatorTest
+ */
+public class RsqlFilterValidatorTest {
+
+  private MeterRegistry meterRegistry;
+  private RsqlFilterValidator rsqlFilterValidator;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    rsqlFilterValidator = new RsqlFilterValidator(meterRegistry, 200, 2, 4, 3);
+  }
+
+  @Test
+  public void validate_WithFiltersOfTheFrontEnd_DoesNotThrow() {
+    // given: filtros con agrupación, listas, comparadores alternativos y
+    // operadores and/or dentro de los límites
+    String[] queries = { "comite.id==1;fechaEnvioSecretaria=le=2020-08-01",
+        "(personaRef==user-001,peticionEvaluacion.personaRef==user-001);titulo=ik=memoria",
+        "(personaRef==user-001 or peticionEvaluacion.personaRef=='user 001') and estadoActual.id=in=( 2, 3, 4 )",
+        "id<4;id>=1", "activo!=false", null, "" };
+
+    // when: se validan
+    // then: no se rechaza ninguno
+    for (String query : queries) {
+      Assertions.assertThatCode(() -> rsqlFilterValidator.validate(query)).doesNotThrowAnyException();
+    }
+    Assertions.assertThat(meterRegistry.find(RsqlFilterValidator.REJECTED_METRIC).counter()).isNull();
+  }
+
+  @Test
+  public void validate_WithReservedCharactersInQuotedValues_IgnoresThem() {
+    // given: valores entre comillas con paréntesis, comas, operadores y comillas
+    // escapadas que, fuera de las comillas, superarían todos los límites
+    String query = "titulo=ik=\"((((a==1,b==2,c==3,d==4,e==5))))\";resumen=='it\\'s (1,2,3,4) \\\\';"
+        + "estadoActual.id=in=('1,2', \"3)\")";
+
+    // when: se valida
+    // then: no se rechaza
+    Assertions.assertThatCode(() -> rsqlFilterValidator.validate(query)).doesNotThrowAnyException();
+  }
+
+  @Test
+  public void validate_WithDeepNesting_ThrowsIllegalArgumentException() {
+    // given: un filtro con más niveles de paréntesis de los permitidos
+    String query = "(((id==1)))";
+
+    // when: se valida
+    // then: se rechaza
+    Assertions.assertThatThrownBy(() -> rsqlFilterValidator.validate(query))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThat(rejected(RsqlFilterValidator.REASON_DEPTH)).isEqualTo(1);
+  }
+
+  @Test
+  public void validate_WithHugeInList_ThrowsIllegalArgumentException() {
+    // given: una lista con más argumentos de los permitidos
+    String query = IntStream.rangeClosed(1, 4).mapToObj(String::valueOf)
+        .collect(Collectors.joining(",", "activo==true;id=in=(", ")"));
+
+    // when: se valida
+    // then: se rechaza
+    Assertions.assertThatThrownBy(() -> rsqlFilterValidator.validate(query))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThat(rejected(RsqlFilterValidator.REASON_ARGUMENTS)).isEqualTo(1);
+  }
+
+  @Test
+  public void validate_WithTooManyComparisonsJoinedByKeywords_ThrowsIllegalArgumentException() {
+    // given: un filtro con más comparaciones de las permitidas unidas con 'or'
+    String query = IntStream.rangeClosed(1, 5).mapToObj(i -> "nombre=ke=" + i).collect(Collectors.joining(" or "));
+
+    // when: se valida
+    // then: se rechaza
+    Assertions.assertThatThrownBy(() -> rsqlFilterValidator.validate(query))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThat(rejected(RsqlFilterValidator.REASON_COMPARISONS)).isEqualTo(1);
+  }
+
+  @Test
+  public void validate_WithTooLongFilter_ThrowsIllegalArgumentException() {
+    // given: un filtro más largo de lo permitido
+    String query = "nombre=ke=" + String.join("", Collections.nCopies(200, "a"));
+
+    // when: se valida
+    // then: se rechaza
+    Assertions.assertThatThrownBy(() -> rsqlFilterValidator.validate(query))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThat(rejected(RsqlFilterValidator.REASON_LENGTH)).isEqualTo(1);
+  }
+
+  @Test
+  public void validate_WithInvalidSyntax_LeavesItToTheFramework() {
+    // given: filtros que no son RSQL válido pero no superan los límites
+    String[] queries = { "nombre=ke=", "id==", "titulo=='sin cerrar", "id=in=(1,2" };
+
+    // when: se validan
+    // then: no se rechazan, el error lo da el framework
+    for (String query : queries) {
+      Assertions.assertThatCode(() -> rsqlFilterValidator.validate(query)).doesNotThrowAnyException();
+    }
+  }
+
+  private double rejected(String reason) {
+    return meterRegistry.get(RsqlFilterValidator.REJECTED_METRIC).tag(RsqlFilterValidator.TAG_REASON, reason)
+        .counter().count();
+  }
+
+}
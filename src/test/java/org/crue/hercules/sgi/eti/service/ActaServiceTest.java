@@ -2,6 +2,7 @@ package org.crue.hercules.sgi.eti.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +13,11 @@ import org.crue.hercules.sgi.eti.exceptions.ActaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Acta;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
+import org.crue.hercules.sgi.eti.model.Dictamen;
 import org.crue.hercules.sgi.eti.model.EstadoActa;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.Retrospectiva;
 import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion;
 import org.crue.hercules.sgi.eti.model.TipoEstadoActa;
 import org.crue.hercules.sgi.eti.repository.ActaRepository;
@@ -56,9 +61,11 @@ public class ActaServiceTest extends BaseServiceTest {
   @Mock
   private RetrospectivaRepository retrospectivaRepository;
 
-  private ActaService actaService;
+  @Mock
   private MemoriaService memoriaService;
 
+  private ActaService actaService;
+
   @BeforeEach
   public void setUp() throws Exception {
     actaService = new ActaServiceImpl(actaRepository, estadoActaRepository, tipoEstadoActaRepository,
@@ -312,6 +319,95 @@ public class ActaServiceTest extends BaseServiceTest {
 
   }
 
+  @Test
+  public void finishActa_UpdatesEstadosByGroup() {
+
+    Acta acta = generarMockActa(1L, 123);
+
+    BDDMockito.given(actaRepository.findById(ArgumentMatchers.anyLong())).willReturn(Optional.of(acta));
+
+    // given: evaluaciones de memoria con distintos dictámenes y evaluaciones de
+    // retrospectiva
+    List<Evaluacion> evaluacionesMemoria = new ArrayList<>();
+    evaluacionesMemoria.add(generarMockEvaluacion(1L, 1L, 1L));
+    evaluacionesMemoria.add(generarMockEvaluacion(2L, 2L, 1L));
+    evaluacionesMemoria.add(generarMockEvaluacion(3L, 3L, 3L));
+    evaluacionesMemoria.add(generarMockEvaluacion(4L, 4L, 4L));
+    evaluacionesMemoria.add(generarMockEvaluacion(5L, 5L, 2L));
+
+    List<Evaluacion> evaluacionesRetrospectiva = new ArrayList<>();
+    Evaluacion evaluacionRetrospectiva1 = generarMockEvaluacion(6L, 6L, 1L);
+    evaluacionRetrospectiva1.getMemoria().setRetrospectiva(generarMockRetrospectiva(10L));
+    evaluacionesRetrospectiva.add(evaluacionRetrospectiva1);
+    Evaluacion evaluacionRetrospectiva2 = generarMockEvaluacion(7L, 7L, 1L);
+    evaluacionRetrospectiva2.getMemoria().setRetrospectiva(generarMockRetrospectiva(11L));
+    evaluacionesRetrospectiva.add(evaluacionRetrospectiva2);
+
+    BDDMockito
+        .given(evaluacionRepository.findByActivoTrueAndTipoEvaluacionIdAndEsRevMinimaAndConvocatoriaReunionId(2L,
+            Boolean.FALSE, 100L))
+        .willReturn(evaluacionesMemoria);
+    BDDMockito
+        .given(evaluacionRepository.findByActivoTrueAndTipoEvaluacionIdAndEsRevMinimaAndConvocatoriaReunionId(1L,
+            Boolean.FALSE, 100L))
+        .willReturn(evaluacionesRetrospectiva);
+
+    BDDMockito.given(estadoActaRepository.save(ArgumentMatchers.any(EstadoActa.class)))
+        .will((InvocationOnMock invocation) -> invocation.getArgument(0));
+    BDDMockito.given(actaRepository.save(ArgumentMatchers.<Acta>any())).willReturn(acta);
+
+    // when: Finalizamos el acta
+    actaService.finishActa(1L);
+
+    // then: Se actualizan las memorias con una llamada por estado y las
+    // retrospectivas con una sola llamada
+    Mockito.verify(memoriaService, Mockito.times(1)).updateEstadoMemorias(Arrays.asList(1L, 2L), 9L);
+    Mockito.verify(memoriaService, Mockito.times(1)).updateEstadoMemorias(Arrays.asList(5L), 6L);
+    Mockito.verify(memoriaService, Mockito.times(1)).updateEstadoMemorias(Arrays.asList(3L), 7L);
+    Mockito.verify(memoriaService, Mockito.times(1)).updateEstadoMemorias(Arrays.asList(4L), 8L);
+    Mockito.verify(memoriaService, Mockito.never()).updateEstadoMemoria(ArgumentMatchers.any(),
+        ArgumentMatchers.anyLong());
+    Mockito.verify(retrospectivaRepository, Mockito.times(1)).updateEstadoRetrospectivaByIdIn(Arrays.asList(10L, 11L),
+        5L);
+    Mockito.verify(retrospectivaRepository, Mockito.never()).save(ArgumentMatchers.any());
+    Mockito.verify(actaRepository, Mockito.times(1)).save(ArgumentMatchers.<Acta>any());
+
+  }
+
+  /**
+   * Función que devuelve un objeto Evaluacion con su memoria y dictamen
+   * 
+   * @param id         id de la evaluación
+   * @param idMemoria  id de la memoria
+   * @param idDictamen id del dictamen
+   * @return el objeto Evaluacion
+   */
+  private Evaluacion generarMockEvaluacion(Long id, Long idMemoria, Long idDictamen) {
+    Memoria memoria = new Memoria();
+    memoria.setId(idMemoria);
+
+    Dictamen dictamen = new Dictamen();
+    dictamen.setId(idDictamen);
+
+    Evaluacion evaluacion = new Evaluacion();
+    evaluacion.setId(id);
+    evaluacion.setMemoria(memoria);
+    evaluacion.setDictamen(dictamen);
+    return evaluacion;
+  }
+
+  /**
+   * Función que devuelve un objeto Retrospectiva
+   * 
+   * @param id id de la retrospectiva
+   * @return el objeto Retrospectiva
+   */
+  private Retrospectiva generarMockRetrospectiva(Long id) {
+    Retrospectiva retrospectiva = new Retrospectiva();
+    retrospectiva.setId(id);
+    return retrospectiva;
+  }
+
   /**
    * Función que devuelve un objeto Acta
    * 
@@ -0,0 +1,447 @@
+package org.crue.hercules.sgi.eti.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.AsignacionEvaluadores;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
+import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
+import org.crue.hercules.sgi.eti.model.CargoComite;
+import org.crue.hercules.sgi.eti.model.Comite;
+import org.crue.hercules.sgi.eti.model.ConvocatoriaReunion;
+import org.crue.hercules.sgi.eti.model.Evaluacion;
+import org.crue.hercules.sgi.eti.model.Evaluador;
+import org.crue.hercules.sgi.eti.model.Formulario;
+import org.crue.hercules.sgi.eti.model.Memoria;
+import org.crue.hercules.sgi.eti.model.PeticionEvaluacion;
+import org.crue.hercules.sgi.eti.model.TipoConvocatoriaReunion;
+import org.crue.hercules.sgi.eti.model.TipoEstadoMemoria;
+import org.crue.hercules.sgi.eti.model.TipoMemoria;
+import org.crue.hercules.sgi.eti.repository.ConflictoInteresRepository;
+import org.crue.hercules.sgi.eti.repository.ConvocatoriaReunionRepository;
+import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
+import org.crue.hercules.sgi.eti.service.impl.AsignacionEvaluadoresServiceImpl;
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * AsignacionEvaluadoresServiceTest
+ */
+public class AsignacionEvaluadoresServiceTest extends BaseServiceTest {
+
+  private static final Long ID_CONVOCATORIA = 1L;
+
+  @Mock
+  private ConvocatoriaReunionRepository convocatoriaReunionRepository;
+
+  @Mock
+  private MemoriaRepository memoriaRepository;
+
+  @Mock
+  private EvaluadorRepository evaluadorRepository;
+
+  @Mock
+  private EvaluacionRepository evaluacionRepository;
+
+  @Mock
+  private EquipoTrabajoRepository equipoTrabajoRepository;
+
+  @Mock
+  private ConflictoInteresRepository conflictoInteresRepository;
+
+  @Mock
+  private ConflictoInteresIndex conflictoInteresIndex;
+
+  @Mock
+  private EvaluacionService evaluacionService;
+
+  private AsignacionEvaluadoresService asignacionEvaluadoresService;
+
+  private CargoComite vocal = new CargoComite(2L, "VOCAL", Boolean.TRUE);
+  private CargoComite presidente = new CargoComite(1L, "PRESIDENTE", Boolean.TRUE);
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    asignacionEvaluadoresService = new AsignacionEvaluadoresServiceImpl(convocatoriaReunionRepository,
+        memoriaRepository, evaluadorRepository, evaluacionRepository, equipoTrabajoRepository,
+        conflictoInteresRepository, conflictoInteresIndex, evaluacionService);
+  }
+
+  @Test
+  public void findPropuesta_ExcludesEquipoTrabajoAndConflictosIntereses() {
+    // given: el evaluador 1 forma parte del equipo de trabajo y el evaluador 2
+    // tiene conflicto de intereses con una persona del equipo
+    Memoria memoria = generarMockMemoria(1L);
+    mockDatos(Collections.singletonList(memoria),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal),
+            generarMockEvaluador(3L, vocal), generarMockEvaluador(4L, vocal)),
+        Collections.emptyMap(), Collections.singletonMap(1L, new HashSet<>(Arrays.asList("user-001", "user-100"))),
+        Collections.singletonMap("user-100", Collections.singleton(2L)));
+
+    // when: se pide la propuesta
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+
+    // then: se asignan los evaluadores 3 y 4
+    Assertions.assertThat(propuesta.getMemoriasSinAsignar()).isEmpty();
+    Assertions.assertThat(propuesta.getEvaluaciones()).hasSize(1);
+    Evaluacion evaluacion = propuesta.getEvaluaciones().get(0);
+    Assertions.assertThat(evaluacion.getMemoria()).isSameAs(memoria);
+    Assertions.assertThat(evaluacion.getConvocatoriaReunion().getId()).isEqualTo(ID_CONVOCATORIA);
+    Assertions.assertThat(Arrays.asList(evaluacion.getEvaluador1().getId(), evaluacion.getEvaluador2().getId()))
+        .containsExactlyInAnyOrder(3L, 4L);
+  }
+
+  @Test
+  public void findPropuesta_ExcludesEvaluadoresFueraDeFechasOCargoInactivo() {
+    // given: un evaluador dado de baja antes de la reunión, otro dado de alta
+    // después y otro con un cargo inactivo
+    Evaluador baja = generarMockEvaluador(1L, vocal);
+    baja.setFechaBaja(LocalDate.of(2020, 1, 1));
+    Evaluador alta = generarMockEvaluador(2L, vocal);
+    alta.setFechaAlta(LocalDate.of(2030, 1, 1));
+    Evaluador cargoInactivo = generarMockEvaluador(3L, new CargoComite(3L, "SECRETARIO", Boolean.FALSE));
+    mockDatos(Collections.singletonList(generarMockMemoria(1L)),
+        Arrays.asList(baja, alta, cargoInactivo, generarMockEvaluador(4L, vocal), generarMockEvaluador(5L, vocal)),
+        Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    // when: se pide la propuesta
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+
+    // then: solo se asignan los evaluadores disponibles
+    Evaluacion evaluacion = propuesta.getEvaluaciones().get(0);
+    Assertions.assertThat(Arrays.asList(evaluacion.getEvaluador1().getId(), evaluacion.getEvaluador2().getId()))
+        .containsExactlyInAnyOrder(4L, 5L);
+  }
+
+  @Test
+  public void findPropuesta_BalancesEvaluacionesAbiertas() {
+    // given: el evaluador 1 tiene tres evaluaciones abiertas
+    mockDatos(Arrays.asList(generarMockMemoria(1L), generarMockMemoria(2L)),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal),
+            generarMockEvaluador(3L, vocal), generarMockEvaluador(4L, vocal)),
+        Collections.singletonMap(1L, 3L), Collections.emptyMap(), Collections.emptyMap());
+
+    // when: se pide la propuesta
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+
+    // then: las memorias se reparten entre los evaluadores sin carga
+    Assertions.assertThat(propuesta.getEvaluaciones()).hasSize(2);
+    Assertions.assertThat(getCarga(propuesta)).doesNotContainKey(1L).containsEntry(2L, 2)
+        .containsEntry(3L, 1).containsEntry(4L, 1);
+  }
+
+  @Test
+  public void findPropuesta_AssignsPresidenteOnlyWithoutOtherEvaluadores() {
+    // given: el evaluador 3 forma parte del equipo de trabajo de la memoria 1
+    Memoria memoria1 = generarMockMemoria(1L);
+    Memoria memoria2 = generarMockMemoria(2L);
+    mockDatos(Arrays.asList(memoria1, memoria2),
+        Arrays.asList(generarMockEvaluador(1L, presidente), generarMockEvaluador(2L, vocal),
+            generarMockEvaluador(3L, vocal)),
+        Collections.emptyMap(), Collections.singletonMap(1L, Collections.singleton("user-003")),
+        Collections.emptyMap());
+
+    // when: se pide la propuesta
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+
+    // then: el presidente solo evalúa la memoria 1
+    Assertions.assertThat(propuesta.getEvaluaciones()).hasSize(2);
+    Evaluacion evaluacion1 = propuesta.getEvaluaciones().get(0);
+    Evaluacion evaluacion2 = propuesta.getEvaluaciones().get(1);
+    Assertions.assertThat(evaluacion1.getMemoria()).isSameAs(memoria1);
+    Assertions.assertThat(Arrays.asList(evaluacion1.getEvaluador1().getId(), evaluacion1.getEvaluador2().getId()))
+        .containsExactly(2L, 1L);
+    Assertions.assertThat(Arrays.asList(evaluacion2.getEvaluador1().getId(), evaluacion2.getEvaluador2().getId()))
+        .containsExactlyInAnyOrder(2L, 3L);
+  }
+
+  @Test
+  public void findPropuesta_WithoutDosEvaluadores_ReturnsMemoriaSinAsignar() {
+    // given: solo un evaluador en el comité
+    Memoria memoria = generarMockMemoria(1L);
+    mockDatos(Collections.singletonList(memoria), Collections.singletonList(generarMockEvaluador(1L, vocal)),
+        Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    // when: se pide la propuesta
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+
+    // then: la memoria queda sin asignar
+    Assertions.assertThat(propuesta.getEvaluaciones()).isEmpty();
+    Assertions.assertThat(propuesta.getMemoriasSinAsignar()).containsExactly(memoria);
+  }
+
+  @Test
+  public void findPropuesta_WithNoExistingConvocatoria_ThrowsConvocatoriaReunionNotFoundException() {
+    // given: la convocatoria no existe
+    BDDMockito.given(convocatoriaReunionRepository.findById(ID_CONVOCATORIA)).willReturn(Optional.empty());
+
+    // when: se pide la propuesta
+    // then: se lanza una excepción
+    Assertions.assertThatThrownBy(() -> asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA))
+        .isInstanceOf(ConvocatoriaReunionNotFoundException.class);
+  }
+
+  @Test
+  public void findPropuesta_With200MemoriasAnd40Evaluadores_ReturnsBalancedPropuesta() {
+    // given: 200 memorias, cada una con un evaluador distinto en el equipo de
+    // trabajo, y 40 evaluadores
+    List<Memoria> memorias = new ArrayList<>();
+    Map<Long, Set<String>> equipos = new HashMap<>();
+    for (long i = 1; i <= 200; i++) {
+      memorias.add(generarMockMemoria(i));
+      equipos.put(i, Collections.singleton(String.format("user-%03d", i % 40 + 1)));
+    }
+    List<Evaluador> evaluadores = new ArrayList<>();
+    for (long i = 1; i <= 40; i++) {
+      evaluadores.add(generarMockEvaluador(i, vocal));
+    }
+    mockDatos(memorias, evaluadores, Collections.emptyMap(), equipos, Collections.emptyMap());
+
+    // when: se pide la propuesta
+    long inicio = System.nanoTime();
+    AsignacionEvaluadores propuesta = asignacionEvaluadoresService.findPropuesta(ID_CONVOCATORIA);
+    long duracion = System.nanoTime() - inicio;
+
+    // then: se asignan todas las memorias, sin evaluadores del equipo de
+    // trabajo, repartidas por igual y en mucho menos de un segundo
+    Assertions.assertThat(propuesta.getMemoriasSinAsignar()).isEmpty();
+    Assertions.assertThat(propuesta.getEvaluaciones()).hasSize(200).allSatisfy(evaluacion -> {
+      Set<String> equipo = equipos.get(evaluacion.getMemoria().getPeticionEvaluacion().getId());
+      Assertions.assertThat(equipo).doesNotContain(evaluacion.getEvaluador1().getPersonaRef(),
+          evaluacion.getEvaluador2().getPersonaRef());
+      Assertions.assertThat(evaluacion.getEvaluador1().getId()).isNotEqualTo(evaluacion.getEvaluador2().getId());
+    });
+    Map<Long, Integer> carga = getCarga(propuesta);
+    Assertions.assertThat(carga).hasSize(40);
+    Assertions.assertThat(Collections.max(carga.values()) - Collections.min(carga.values())).isLessThanOrEqualTo(1);
+    Assertions.assertThat(duracion).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  public void asignar_CreatesEvaluaciones() {
+    // given: la propuesta para una memoria
+    Memoria memoria = generarMockMemoria(1L);
+    mockDatos(Collections.singletonList(memoria),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal)), Collections.emptyMap(),
+        Collections.emptyMap(), Collections.emptyMap());
+    BDDMockito.given(evaluacionService.createAll(ArgumentMatchers.eq(ID_CONVOCATORIA),
+        ArgumentMatchers.<List<Evaluacion>>any())).willAnswer(invocation -> {
+          List<Evaluacion> nuevas = invocation.getArgument(1);
+          List<EvaluacionBatchResult> resultados = new ArrayList<>();
+          for (Evaluacion nueva : nuevas) {
+            resultados.add(new EvaluacionBatchResult(nueva.getMemoria().getId(), nueva, null));
+          }
+          return resultados;
+        });
+
+    // when: se asignan los evaluadores
+    List<Evaluacion> evaluaciones = asignacionEvaluadoresService.asignar(ID_CONVOCATORIA,
+        Collections.singletonList(generarMockEvaluacion(1L, 2L, 1L)));
+
+    // then: se crean las evaluaciones en un único lote
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Evaluacion>> captor = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(evaluacionService).createAll(ArgumentMatchers.eq(ID_CONVOCATORIA), captor.capture());
+    Assertions.assertThat(captor.getValue()).hasSize(1);
+    Evaluacion evaluacion = captor.getValue().get(0);
+    Assertions.assertThat(evaluaciones).containsExactly(evaluacion);
+    Assertions.assertThat(evaluacion.getConvocatoriaReunion().getId()).isEqualTo(ID_CONVOCATORIA);
+    Assertions.assertThat(evaluacion.getEvaluador1().getId()).isEqualTo(2L);
+    Assertions.assertThat(evaluacion.getEvaluador2().getId()).isEqualTo(1L);
+    Assertions.assertThat(evaluacion.getMemoria()).isSameAs(memoria);
+  }
+
+  @Test
+  public void asignar_WithErrorCreandoEvaluacion_ThrowsIllegalArgumentException() {
+    // given: la creación de la evaluación devuelve un error
+    mockDatos(Collections.singletonList(generarMockMemoria(1L)),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal)), Collections.emptyMap(),
+        Collections.emptyMap(), Collections.emptyMap());
+    BDDMockito
+        .given(evaluacionService.createAll(ArgumentMatchers.eq(ID_CONVOCATORIA),
+            ArgumentMatchers.<List<Evaluacion>>any()))
+        .willReturn(Collections.singletonList(new EvaluacionBatchResult(1L, null, "La memoria no existe")));
+
+    // when: se asignan los evaluadores
+    // then: se lanza una excepción para que no se cree ninguna evaluación
+    Assertions
+        .assertThatThrownBy(() -> asignacionEvaluadoresService.asignar(ID_CONVOCATORIA,
+            Collections.singletonList(generarMockEvaluacion(1L, 2L, 1L))))
+        .isInstanceOf(IllegalArgumentException.class).hasMessage("La memoria no existe");
+  }
+
+  @Test
+  public void asignar_WithEvaluadorNoElegible_ThrowsIllegalArgumentException() {
+    // given: el evaluador 1 forma parte del equipo de trabajo de la memoria
+    mockDatos(Collections.singletonList(generarMockMemoria(1L)),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal)), Collections.emptyMap(),
+        Collections.singletonMap(1L, Collections.singleton("user-001")), Collections.emptyMap());
+
+    // when: se asignan los evaluadores
+    // then: se lanza una excepción y no se crea ninguna evaluación
+    Assertions
+        .assertThatThrownBy(() -> asignacionEvaluadoresService.asignar(ID_CONVOCATORIA,
+            Collections.singletonList(generarMockEvaluacion(1L, 1L, 2L))))
+        .isInstanceOf(IllegalArgumentException.class);
+    Mockito.verify(evaluacionService, Mockito.never()).createAll(ArgumentMatchers.anyLong(),
+        ArgumentMatchers.<List<Evaluacion>>any());
+  }
+
+  @Test
+  public void asignar_WithMemoriaNoAsignable_ThrowsIllegalArgumentException() {
+    // given: la memoria 2 no es asignable a la convocatoria
+    mockDatos(Collections.singletonList(generarMockMemoria(1L)),
+        Arrays.asList(generarMockEvaluador(1L, vocal), generarMockEvaluador(2L, vocal)), Collections.emptyMap(),
+        Collections.emptyMap(), Collections.emptyMap());
+
+    // when: se asignan los evaluadores
+    // then: se lanza una excepción
+    Assertions
+        .assertThatThrownBy(() -> asignacionEvaluadoresService.asignar(ID_CONVOCATORIA,
+            Collections.singletonList(generarMockEvaluacion(2L, 1L, 2L))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Simula los datos de la convocatoria.
+   *
+   * @param memorias    memorias asignables
+   * @param evaluadores evaluadores activos del comité
+   * @param carga       evaluaciones abiertas por evaluador
+   * @param equipos     personas del equipo de trabajo por petición
+   * @param conflictos  evaluadores en conflicto por persona
+   */
+  private void mockDatos(List<Memoria> memorias, List<Evaluador> evaluadores, Map<Long, Long> carga,
+      Map<Long, Set<String>> equipos, Map<String, Set<Long>> conflictos) {
+    BDDMockito.given(convocatoriaReunionRepository.findById(ID_CONVOCATORIA))
+        .willReturn(Optional.of(generarMockConvocatoriaReunion()));
+    BDDMockito.given(memoriaRepository.findAllMemoriasAsignablesConvocatoria(ArgumentMatchers.eq(ID_CONVOCATORIA),
+        ArgumentMatchers.<Pageable>any())).willReturn(new PageImpl<>(memorias));
+    BDDMockito.given(evaluadorRepository.findAll(ArgumentMatchers.<Specification<Evaluador>>any()))
+        .willReturn(evaluadores);
+    BDDMockito.given(equipoTrabajoRepository.findPersonaRefByPeticionEvaluacionIdIn(ArgumentMatchers.anyCollection()))
+        .willReturn(equipos);
+    BDDMockito.given(evaluacionRepository.countEvaluacionesAbiertasByEvaluador(ArgumentMatchers.anyCollection()))
+        .willReturn(carga);
+    BDDMockito.given(conflictoInteresRepository.findIdEvaluadorByPersonaConflictoRefIn(ArgumentMatchers.anyCollection()))
+        .willReturn(conflictos);
+  }
+
+  /**
+   * Número de evaluaciones propuestas por evaluador.
+   *
+   * @param propuesta la propuesta
+   * @return evaluaciones por id de evaluador
+   */
+  private Map<Long, Integer> getCarga(AsignacionEvaluadores propuesta) {
+    Map<Long, Integer> carga = new HashMap<>();
+    for (Evaluacion evaluacion : propuesta.getEvaluaciones()) {
+      carga.merge(evaluacion.getEvaluador1().getId(), 1, Integer::sum);
+      carga.merge(evaluacion.getEvaluador2().getId(), 1, Integer::sum);
+    }
+    return carga;
+  }
+
+  /**
+   * Función que devuelve una convocatoria ordinaria del comité 1.
+   *
+   * @return la convocatoria
+   */
+  private ConvocatoriaReunion generarMockConvocatoriaReunion() {
+    ConvocatoriaReunion convocatoriaReunion = new ConvocatoriaReunion();
+    convocatoriaReunion.setId(ID_CONVOCATORIA);
+    convocatoriaReunion.setComite(new Comite(1L, "Comite1", new Formulario(1L, "M10", "Descripcion"), Boolean.TRUE));
+    convocatoriaReunion.setTipoConvocatoriaReunion(new TipoConvocatoriaReunion(1L, "Ordinaria", Boolean.TRUE));
+    convocatoriaReunion.setFechaEvaluacion(LocalDateTime.of(2025, 6, 1, 10, 0));
+    convocatoriaReunion.setFechaLimite(LocalDate.of(2025, 5, 15));
+    convocatoriaReunion.setActivo(Boolean.TRUE);
+    return convocatoriaReunion;
+  }
+
+  /**
+   * Función que devuelve una memoria en secretaría cuya petición de evaluación
+   * tiene el mismo id.
+   *
+   * @param id id de la memoria
+   * @return la memoria
+   */
+  private Memoria generarMockMemoria(Long id) {
+    PeticionEvaluacion peticionEvaluacion = new PeticionEvaluacion();
+    peticionEvaluacion.setId(id);
+
+    Memoria memoria = new Memoria();
+    memoria.setId(id);
+    memoria.setNumReferencia("M10/2025/" + String.format("%03d", id));
+    memoria.setPeticionEvaluacion(peticionEvaluacion);
+    memoria.setComite(new Comite(1L, "Comite1", new Formulario(1L, "M10", "Descripcion"), Boolean.TRUE));
+    memoria.setTitulo("Memoria" + id);
+    memoria.setPersonaRef("responsable-" + id);
+    memoria.setTipoMemoria(new TipoMemoria(1L, "Nueva", Boolean.TRUE));
+    memoria.setEstadoActual(new TipoEstadoMemoria(3L, "En secretaría", Boolean.TRUE));
+    memoria.setRequiereRetrospectiva(Boolean.FALSE);
+    memoria.setVersion(1);
+    memoria.setActivo(Boolean.TRUE);
+    return memoria;
+  }
+
+  /**
+   * Función que devuelve un evaluador del comité 1 dado de alta en 2020 y sin
+   * fecha de baja.
+   *
+   * @param id          id del evaluador
+   * @param cargoComite cargo del evaluador
+   * @return el evaluador
+   */
+  private Evaluador generarMockEvaluador(Long id, CargoComite cargoComite) {
+    return new Evaluador(id, cargoComite,
+        new Comite(1L, "Comite1", new Formulario(1L, "M10", "Descripcion"), Boolean.TRUE), LocalDate.of(2020, 1, 1),
+        null, "Resumen" + id, String.format("user-%03d", id), Boolean.TRUE);
+  }
+
+  /**
+   * Función que devuelve una evaluación a asignar.
+   *
+   * @param idMemoria    id de la memoria
+   * @param idEvaluador1 id del evaluador 1
+   * @param idEvaluador2 id del evaluador 2
+   * @return la evaluación
+   */
+  private Evaluacion generarMockEvaluacion(Long idMemoria, Long idEvaluador1, Long idEvaluador2) {
+    Memoria memoria = new Memoria();
+    memoria.setId(idMemoria);
+    Evaluador evaluador1 = new Evaluador();
+    evaluador1.setId(idEvaluador1);
+    Evaluador evaluador2 = new Evaluador();
+    evaluador2.setId(idEvaluador2);
+
+    Evaluacion evaluacion = new Evaluacion();
+    evaluacion.setMemoria(memoria);
+    evaluacion.setEvaluador1(evaluador1);
+    evaluacion.setEvaluador2(evaluador2);
+    return evaluacion;
+  }
+
+}
@@ -15,6 +15,7 @@ import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.repository.ConflictoInteresRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
 import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresServiceImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,11 +38,15 @@ public class ConflictoInteresServiceTest extends BaseServiceTest {
   @Mock
   private EvaluadorRepository evaluadorRepository;
 
+  @Mock
+  private ConflictoInteresIndex conflictoInteresIndex;
+
   private ConflictoInteresService conflictoInteresService;
 
   @BeforeEach
   public void setUp() throws Exception {
-    conflictoInteresService = new ConflictoInteresServiceImpl(conflictoInteresRepository, evaluadorRepository);
+    conflictoInteresService = new ConflictoInteresServiceImpl(conflictoInteresRepository, evaluadorRepository,
+        conflictoInteresIndex);
   }
 
   @Test
@@ -117,6 +122,9 @@ public class ConflictoInteresServiceTest extends BaseServiceTest {
     Assertions.assertThat(conflictoInteresCreado).isNotNull();
     Assertions.assertThat(conflictoInteresCreado.getId()).isEqualTo(1L);
     Assertions.assertThat(conflictoInteresCreado.getPersonaConflictoRef()).isEqualTo("user-001");
+    // then: Se añade al índice de conflictos de intereses
+    BDDMockito.then(conflictoInteresIndex).should().add(conflictoInteres);
+
   }
 
   @Test
@@ -196,7 +204,7 @@ public class ConflictoInteresServiceTest extends BaseServiceTest {
   @Test
   public void delete_NonExistingId_ThrowsConflictoInteresNotFoundException() {
     // given: Id no existe
-    BDDMockito.given(conflictoInteresRepository.existsById(ArgumentMatchers.anyLong())).willReturn(Boolean.FALSE);
+    BDDMockito.given(conflictoInteresRepository.findById(ArgumentMatchers.anyLong())).willReturn(Optional.empty());
 
     Assertions.assertThatThrownBy(
         // when: Delete un id no existente
@@ -208,7 +216,8 @@ public class ConflictoInteresServiceTest extends BaseServiceTest {
   @Test
   public void delete_WithExistingId_DeletesConflictoInteres() {
     // given: Id existente
-    BDDMockito.given(conflictoInteresRepository.existsById(ArgumentMatchers.anyLong())).willReturn(Boolean.TRUE);
+    ConflictoInteres conflictoInteres = generarMockConflictoInteres(1L, "user-123");
+    BDDMockito.given(conflictoInteresRepository.findById(1L)).willReturn(Optional.of(conflictoInteres));
     BDDMockito.doNothing().when(conflictoInteresRepository).deleteById(ArgumentMatchers.anyLong());
 
     Assertions.assertThatCode(
@@ -216,6 +225,9 @@ public class ConflictoInteresServiceTest extends BaseServiceTest {
         () -> conflictoInteresService.delete(1L))
         // then: No se lanza ninguna excepción
         .doesNotThrowAnyException();
+
+    // then: Se quita del índice de conflictos de intereses
+    BDDMockito.then(conflictoInteresIndex).should().remove(conflictoInteres);
   }
 
   /**
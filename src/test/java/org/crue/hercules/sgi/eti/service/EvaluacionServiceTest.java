@@ -3,6 +3,7 @@ package org.crue.hercules.sgi.eti.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -10,6 +11,7 @@ import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
 import org.crue.hercules.sgi.eti.converter.EvaluacionConverter;
+import org.crue.hercules.sgi.eti.dto.EvaluacionBatchResult;
 import org.crue.hercules.sgi.eti.dto.EvaluacionWithNumComentario;
 import org.crue.hercules.sgi.eti.exceptions.ConvocatoriaReunionNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.EvaluacionNotFoundException;
@@ -33,9 +35,13 @@ import org.crue.hercules.sgi.eti.model.TipoMemoria;
 import org.crue.hercules.sgi.eti.repository.ComentarioRepository;
 import org.crue.hercules.sgi.eti.repository.ConvocatoriaReunionRepository;
 import org.crue.hercules.sgi.eti.repository.EstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.EstadoRetrospectivaRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluacionRepository;
+import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
 import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.crue.hercules.sgi.eti.repository.RetrospectivaRepository;
+import org.crue.hercules.sgi.eti.repository.TipoEstadoMemoriaRepository;
+import org.crue.hercules.sgi.eti.repository.TipoEvaluacionRepository;
 import org.crue.hercules.sgi.eti.service.impl.EvaluacionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,11 +83,24 @@ public class EvaluacionServiceTest extends BaseServiceTest {
   @Mock
   private EvaluacionConverter evaluacionConverter;
 
+  @Mock
+  private EvaluadorRepository evaluadorRepository;
+
+  @Mock
+  private TipoEvaluacionRepository tipoEvaluacionRepository;
+
+  @Mock
+  private TipoEstadoMemoriaRepository tipoEstadoMemoriaRepository;
+
+  @Mock
+  private EstadoRetrospectivaRepository estadoRetrospectivaRepository;
+
   @BeforeEach
   public void setUp() throws Exception {
     evaluacionService = new EvaluacionServiceImpl(evaluacionRepository, estadoMemoriaRepository,
         retrospectivaRepository, memoriaService, comentarioRepository, convocatoriaReunionRepository, memoriaRepository,
-        evaluacionConverter);
+        evaluacionConverter, evaluadorRepository, tipoEvaluacionRepository, tipoEstadoMemoriaRepository,
+        estadoRetrospectivaRepository);
   }
 
   @Test
@@ -220,6 +239,104 @@ public class EvaluacionServiceTest extends BaseServiceTest {
         .isInstanceOf(MemoriaNotFoundException.class);
   }
 
+  @Test
+  public void createAll_ReturnsResultadoPorEvaluacion() {
+    // given: una evaluación válida, una de una memoria que no existe y otra de la
+    // misma memoria que la primera
+    Evaluacion evaluacionNew = generarMockEvaluacion(null, " New", 3L, 1L);
+    Evaluacion evaluacionMemoriaNoExiste = generarMockEvaluacion(null, " New", 3L, 1L);
+    evaluacionMemoriaNoExiste.setMemoria(new Memoria());
+    evaluacionMemoriaNoExiste.getMemoria().setId(2L);
+    Evaluacion evaluacionMemoriaRepetida = generarMockEvaluacion(null, " New", 3L, 1L);
+    Comite comite = evaluacionNew.getConvocatoriaReunion().getComite();
+    Evaluador evaluador1 = new Evaluador();
+    evaluador1.setId(1L);
+    evaluador1.setComite(comite);
+    Evaluador evaluador2 = new Evaluador();
+    evaluador2.setId(2L);
+    evaluador2.setComite(comite);
+    TipoEvaluacion tipoEvaluacionMemoria = new TipoEvaluacion();
+    tipoEvaluacionMemoria.setId(2L);
+    TipoEstadoMemoria tipoEstadoMemoriaEnEvaluacion = new TipoEstadoMemoria();
+    tipoEstadoMemoriaEnEvaluacion.setId(5L);
+
+    BDDMockito.given(convocatoriaReunionRepository.findById(1L))
+        .willReturn(Optional.of(evaluacionNew.getConvocatoriaReunion()));
+    BDDMockito.given(memoriaRepository.findCambioEstadoByIdIn(ArgumentMatchers.anyCollection()))
+        .willReturn(Arrays.asList(evaluacionNew.getMemoria()));
+    BDDMockito.given(memoriaRepository.findIdsMemoriasAsignablesConvocatoria(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.anyCollection())).willReturn(Arrays.asList(1L));
+    BDDMockito.given(evaluadorRepository.findAllById(ArgumentMatchers.<Long>anyIterable()))
+        .willReturn(Arrays.asList(evaluador1, evaluador2));
+    BDDMockito.given(evaluacionRepository.findUltimaVersionByMemoriaIdIn(ArgumentMatchers.anyCollection()))
+        .willReturn(Collections.emptyMap());
+    BDDMockito.given(tipoEvaluacionRepository.getOne(2L)).willReturn(tipoEvaluacionMemoria);
+    BDDMockito.given(tipoEstadoMemoriaRepository.getOne(5L)).willReturn(tipoEstadoMemoriaEnEvaluacion);
+
+    // when: se crean las evaluaciones
+    List<EvaluacionBatchResult> resultados = evaluacionService.createAll(1L,
+        Arrays.asList(evaluacionNew, evaluacionMemoriaNoExiste, evaluacionMemoriaRepetida));
+
+    // then: solo se crea la primera y la memoria pasa a 'En evaluación'
+    Assertions.assertThat(resultados).hasSize(3);
+    Assertions.assertThat(resultados.get(0).getError()).isNull();
+    Evaluacion evaluacion = resultados.get(0).getEvaluacion();
+    Assertions.assertThat(evaluacion.getTipoEvaluacion().getId()).isEqualTo(2L);
+    Assertions.assertThat(evaluacion.getVersion()).isEqualTo(4);
+    Assertions.assertThat(evaluacion.getActivo()).isTrue();
+    Assertions.assertThat(evaluacion.getEsRevMinima()).isFalse();
+    Assertions.assertThat(evaluacion.getFechaDictamen()).isEqualTo(LocalDate.of(2020, 5, 10));
+    Assertions.assertThat(evaluacion.getEvaluador1()).isSameAs(evaluador1);
+    Assertions.assertThat(evaluacion.getMemoria().getVersion()).isEqualTo(4);
+    Assertions.assertThat(evaluacion.getMemoria().getEstadoActual()).isSameAs(tipoEstadoMemoriaEnEvaluacion);
+    Assertions.assertThat(resultados.get(1).getIdMemoria()).isEqualTo(2L);
+    Assertions.assertThat(resultados.get(1).getEvaluacion()).isNull();
+    Assertions.assertThat(resultados.get(1).getError()).isEqualTo("La memoria no existe");
+    Assertions.assertThat(resultados.get(2).getIdMemoria()).isEqualTo(1L);
+    Assertions.assertThat(resultados.get(2).getError()).isEqualTo("La memoria está repetida");
+
+    BDDMockito.then(estadoMemoriaRepository).should()
+        .saveAll(ArgumentMatchers.<List<EstadoMemoria>>argThat(estados -> estados.size() == 1));
+    BDDMockito.then(evaluacionRepository).should()
+        .saveAll(ArgumentMatchers.<List<Evaluacion>>argThat(evaluaciones -> evaluaciones.size() == 1));
+  }
+
+  @Test
+  public void createAll_MemoriaNoAsignable_ReturnsError() {
+    // given: una evaluación de una memoria 'En elaboración'
+    Evaluacion evaluacionNew = generarMockEvaluacion(null, " New", 1L, 1L);
+
+    BDDMockito.given(convocatoriaReunionRepository.findById(1L))
+        .willReturn(Optional.of(evaluacionNew.getConvocatoriaReunion()));
+    BDDMockito.given(memoriaRepository.findCambioEstadoByIdIn(ArgumentMatchers.anyCollection()))
+        .willReturn(Arrays.asList(evaluacionNew.getMemoria()));
+    BDDMockito.given(memoriaRepository.findIdsMemoriasAsignablesConvocatoria(ArgumentMatchers.eq(1L),
+        ArgumentMatchers.anyCollection())).willReturn(Collections.emptyList());
+
+    // when: se crean las evaluaciones
+    List<EvaluacionBatchResult> resultados = evaluacionService.createAll(1L, Arrays.asList(evaluacionNew));
+
+    // then: no se crea la evaluación y la memoria no cambia de estado
+    Assertions.assertThat(resultados).hasSize(1);
+    Assertions.assertThat(resultados.get(0).getEvaluacion()).isNull();
+    Assertions.assertThat(resultados.get(0).getError())
+        .isEqualTo("La memoria no se puede asignar a la convocatoria de reunión");
+    Assertions.assertThat(evaluacionNew.getMemoria().getEstadoActual().getId()).isEqualTo(1L);
+  }
+
+  @Test
+  public void createAll_ConvocatoriaReunionNoExiste_ThrowsConvocatoriaReunionNotFoundException() {
+    // given: una convocatoria de reunión que no existe
+    Evaluacion evaluacionNew = generarMockEvaluacion(null, " New", 3L, 1L);
+
+    BDDMockito.given(convocatoriaReunionRepository.findById(1L)).willReturn(Optional.empty());
+
+    // when: se crean las evaluaciones
+    // then: lanza una excepción
+    Assertions.assertThatThrownBy(() -> evaluacionService.createAll(1L, Arrays.asList(evaluacionNew)))
+        .isInstanceOf(ConvocatoriaReunionNotFoundException.class);
+  }
+
   @Test
   public void update_ReturnsEvaluacion() {
     // given: Una nueva evaluacion con el servicio actualizado
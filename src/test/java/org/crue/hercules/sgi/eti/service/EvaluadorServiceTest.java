@@ -2,6 +2,8 @@ package org.crue.hercules.sgi.eti.service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +13,9 @@ import org.crue.hercules.sgi.eti.model.CargoComite;
 import org.crue.hercules.sgi.eti.model.Comite;
 import org.crue.hercules.sgi.eti.model.Evaluador;
 import org.crue.hercules.sgi.eti.model.Formulario;
+import org.crue.hercules.sgi.eti.repository.EquipoTrabajoRepository;
 import org.crue.hercules.sgi.eti.repository.EvaluadorRepository;
+import org.crue.hercules.sgi.eti.service.impl.ConflictoInteresIndex;
 import org.crue.hercules.sgi.eti.service.impl.EvaluadorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,11 +38,18 @@ public class EvaluadorServiceTest extends BaseServiceTest {
   @Mock
   private EvaluadorRepository evaluadorRepository;
 
+  @Mock
+  private EquipoTrabajoRepository equipoTrabajoRepository;
+
+  @Mock
+  private ConflictoInteresIndex conflictoInteresIndex;
+
   private EvaluadorService evaluadorService;
 
   @BeforeEach
   public void setUp() throws Exception {
-    evaluadorService = new EvaluadorServiceImpl(evaluadorRepository);
+    evaluadorService = new EvaluadorServiceImpl(evaluadorRepository, equipoTrabajoRepository,
+        conflictoInteresIndex);
   }
 
   @Test
@@ -158,6 +169,39 @@ public class EvaluadorServiceTest extends BaseServiceTest {
     Assertions.assertThat(evaluadorCreado.getCargoComite().getNombre().toLowerCase()).isEqualTo("vocal");
   }
 
+  @Test
+  public void create_PresidenteInFechasOcupadas_ThrowsIllegalArgumentException() {
+    // given: Un nuevo presidente en fechas en las que ya hay otro presidente
+    LocalDate fecha = LocalDate.now().plusYears(1);
+    Evaluador evaluadorNew = generarMockEvaluadorWithCargoComiteAndFechaBaja(null, "EvaluadorNew", 1L, "presidente",
+        fecha);
+
+    BDDMockito.given(evaluadorRepository.existsPresidenteInFechas(1L, evaluadorNew.getFechaAlta(), fecha, null))
+        .willReturn(Boolean.TRUE);
+
+    // when: Creamos el evaluador
+    // then: Lanza una excepcion porque existe otro presidente en esas fechas
+    Assertions.assertThatThrownBy(() -> evaluadorService.create(evaluadorNew))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Existen presidentes entre las fechas seleccionadas");
+  }
+
+  @Test
+  public void update_EvaluadorInFechasOcupadas_ThrowsIllegalArgumentException() {
+    // given: Un evaluador que ya es evaluador del comité en las nuevas fechas
+    LocalDate fecha = LocalDate.now().plusYears(1);
+    Evaluador evaluador = generarMockEvaluadorWithCargoComiteAndFechaBaja(1L, "Evaluador1", 2L, "vocal", fecha);
+
+    BDDMockito.given(evaluadorRepository.existsEvaluadorInFechas(1L, "user-001", evaluador.getFechaAlta(), fecha, 1L))
+        .willReturn(Boolean.TRUE);
+
+    // when: Actualizamos el evaluador
+    // then: Lanza una excepcion porque ya es evaluador del comité en esas fechas
+    Assertions.assertThatThrownBy(() -> evaluadorService.update(evaluador))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Existe otro evaluador en el mismo comité entre las fechas seleccionadas");
+  }
+
   @Test
   public void create_EvaluadorWithId_ThrowsIllegalArgumentException() {
     // given: Un nuevo evaluador que ya tiene id
@@ -424,6 +468,31 @@ public class EvaluadorServiceTest extends BaseServiceTest {
     Assertions.assertThat(page.getTotalElements()).isEqualTo(100);
   }
 
+  @Test
+  public void findAllByComiteSinconflictoInteresesMemoria_WithIndex_ReturnsEvaluadoresSinConflicto() {
+    // given: el índice de conflictos de intereses activo y un evaluador con
+    // conflicto con el equipo de trabajo de la memoria
+    Long idComite = 1L;
+    Long idMemoria = 1L;
+    List<Evaluador> evaluadores = Arrays.asList(generarMockEvaluador(1L, "Evaluador001"));
+    List<String> personaRefs = Arrays.asList("user-001", "user-002");
+
+    BDDMockito.given(conflictoInteresIndex.isEnabled()).willReturn(Boolean.TRUE);
+    BDDMockito.given(equipoTrabajoRepository.findPersonaRefByMemoriaId(idMemoria)).willReturn(personaRefs);
+    BDDMockito.given(conflictoInteresIndex.findEvaluadores(personaRefs)).willReturn(Collections.singleton(2L));
+    BDDMockito.given(evaluadorRepository.findAll(ArgumentMatchers.<Specification<Evaluador>>any(),
+        ArgumentMatchers.<Pageable>any())).willReturn(new PageImpl<>(evaluadores));
+
+    // when: find unlimited
+    Page<Evaluador> page = evaluadorService.findAllByComiteSinconflictoInteresesMemoria(idComite, idMemoria,
+        Pageable.unpaged());
+
+    // then: los evaluadores se obtienen sin las subconsultas de conflictos
+    Assertions.assertThat(page.getContent()).isEqualTo(evaluadores);
+    BDDMockito.then(evaluadorRepository).should(BDDMockito.never()).findAllByComiteSinconflictoInteresesMemoria(
+        ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.<Pageable>any());
+  }
+
   @Test
   public void findAllByComiteSinconflictoInteresesMemoria_WithPaging_ReturnsPage() {
     // given: idComite, idMemoria, One hundred Evaluadores
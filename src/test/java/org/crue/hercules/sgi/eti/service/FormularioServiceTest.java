@@ -1,13 +1,22 @@
 package org.crue.hercules.sgi.eti.service;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.dto.FormularioArbol;
+import org.crue.hercules.sgi.eti.dto.FormularioArbolSerializado;
 import org.crue.hercules.sgi.eti.exceptions.FormularioNotFoundException;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.repository.FormularioRepository;
+import org.crue.hercules.sgi.eti.service.impl.FormularioArbolCache;
 import org.crue.hercules.sgi.eti.service.impl.FormularioServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +30,8 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
 
 /**
  * FormularioServiceTest
@@ -30,11 +41,63 @@ public class FormularioServiceTest extends BaseServiceTest {
   @Mock
   private FormularioRepository formularioRepository;
 
+  @Mock
+  private FormularioArbolCache formularioArbolCache;
+
   private FormularioService formularioService;
 
   @BeforeEach
   public void setUp() throws Exception {
-    formularioService = new FormularioServiceImpl(formularioRepository);
+    formularioService = new FormularioServiceImpl(formularioRepository, formularioArbolCache,
+        Jackson2ObjectMapperBuilder.json().build());
+  }
+
+  @Test
+  public void findArbolSerializadoById_WithId_ReturnsArbolComprimido() throws Exception {
+    // given: Un formulario con un bloque y un apartado con esquema
+    FormularioArbol.ApartadoArbol apartado = new FormularioArbol.ApartadoArbol(1L, "Apartado1", 1,
+        "{\"campos\":[]}", Collections.emptyList());
+    FormularioArbol.BloqueArbol bloque = new FormularioArbol.BloqueArbol(1L, "Bloque1", 1, Arrays.asList(apartado));
+    FormularioArbol arbol = new FormularioArbol(1L, "Formulario1", "Descripcion1", Arrays.asList(bloque));
+    BDDMockito.given(formularioRepository.findArbolById(1L)).willReturn(Optional.of(arbol));
+    BDDMockito.given(formularioArbolCache.get(ArgumentMatchers.eq(1L), ArgumentMatchers.any()))
+        .willAnswer(new Answer<FormularioArbolSerializado>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public FormularioArbolSerializado answer(InvocationOnMock invocation) throws Throwable {
+            return (FormularioArbolSerializado) invocation.getArgument(1, Function.class)
+                .apply(invocation.getArgument(0));
+          }
+        });
+
+    // when: Se obtiene el árbol serializado
+    FormularioArbolSerializado serializado = formularioService.findArbolSerializadoById(1L);
+
+    // then: Se devuelve el JSON comprimido con el esquema sin escapar y su etag
+    String json;
+    try (GZIPInputStream contenido = new GZIPInputStream(new ByteArrayInputStream(serializado.getContenido()))) {
+      json = StreamUtils.copyToString(contenido, StandardCharsets.UTF_8);
+    }
+    Assertions.assertThat(json).contains("\"nombre\":\"Formulario1\"")
+        .contains("\"esquema\":{\"campos\":[]}");
+    Assertions.assertThat(serializado.getEtag()).startsWith("\"").endsWith("\"").hasSize(34);
+  }
+
+  @Test
+  public void findArbolSerializadoById_NotFound_ThrowsFormularioNotFoundException() {
+    BDDMockito.given(formularioRepository.findArbolById(1L)).willReturn(Optional.empty());
+    BDDMockito.given(formularioArbolCache.get(ArgumentMatchers.eq(1L), ArgumentMatchers.any()))
+        .willAnswer(new Answer<FormularioArbolSerializado>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public FormularioArbolSerializado answer(InvocationOnMock invocation) throws Throwable {
+            return (FormularioArbolSerializado) invocation.getArgument(1, Function.class)
+                .apply(invocation.getArgument(0));
+          }
+        });
+
+    Assertions.assertThatThrownBy(() -> formularioService.findArbolSerializadoById(1L))
+        .isInstanceOf(FormularioNotFoundException.class);
   }
 
   @Test
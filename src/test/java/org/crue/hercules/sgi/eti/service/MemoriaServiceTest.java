@@ -3,8 +3,11 @@ package org.crue.hercules.sgi.eti.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -208,6 +211,8 @@ public class MemoriaServiceTest extends BaseServiceTest {
     BDDMockito.given(comiteRepository.findByIdAndActivoTrue(memoriaNew.getComite().getId()))
         .willReturn(Optional.of(memoriaNew.getComite()));
 
+    BDDMockito.given(memoriaRepository.nextNumeroReferencia(ArgumentMatchers.eq(memoriaNew.getComite().getId()),
+        ArgumentMatchers.anyInt(), ArgumentMatchers.eq("MEMORIA"), ArgumentMatchers.any())).willReturn(5L);
     BDDMockito.given(memoriaRepository.save(memoriaNew)).willReturn(memoria);
 
     // when: Creamos la memoria
@@ -218,6 +223,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
     Assertions.assertThat(memoriaCreado.getId()).isEqualTo(1L);
     Assertions.assertThat(memoriaCreado.getTitulo()).isEqualTo("MemoriaNew");
     Assertions.assertThat(memoriaCreado.getNumReferencia()).isEqualTo("numRef-5598");
+    Assertions.assertThat(memoriaNew.getNumReferencia()).endsWith("/005R");
   }
 
   @Test
@@ -343,16 +349,13 @@ public class MemoriaServiceTest extends BaseServiceTest {
     BDDMockito.given(comiteRepository.findByIdAndActivoTrue(memoriaNew.getComite().getId()))
         .willReturn(Optional.of(memoriaNew.getComite()));
 
-    BDDMockito
-        .given(memoriaRepository
-            .findFirstByNumReferenciaContainingAndComiteIdOrderByNumReferenciaDesc(memoriaOld.getNumReferencia(), 2L))
-        .willReturn((memoriaOld));
+    BDDMockito.given(memoriaRepository.nextNumeroReferencia(ArgumentMatchers.eq(2L), ArgumentMatchers.anyInt(),
+        ArgumentMatchers.eq("001MR"), ArgumentMatchers.any())).willReturn(1L);
 
-    BDDMockito.given(documentacionMemoriaRepository.findByMemoriaIdAndMemoriaActivoTrue(memoriaOld.getId(), null))
-        .willReturn(new PageImpl<>(Collections.emptyList()));
+    BDDMockito.given(documentacionMemoriaRepository.copyByMemoriaId(memoriaOld.getId(), memoria.getId()))
+        .willReturn(2);
 
-    BDDMockito.given(respuestaRepository.findByMemoriaIdAndMemoriaActivoTrue(memoriaOld.getId(), null))
-        .willReturn(new PageImpl<>(Collections.emptyList()));
+    BDDMockito.given(respuestaRepository.copyByMemoriaId(memoriaOld.getId(), memoria.getId())).willReturn(10);
 
     BDDMockito.given(memoriaRepository.save(memoriaNew)).willReturn(memoria);
 
@@ -364,6 +367,13 @@ public class MemoriaServiceTest extends BaseServiceTest {
     Assertions.assertThat(memoriaCreado.getId()).isEqualTo(3L);
     Assertions.assertThat(memoriaCreado.getTitulo()).isEqualTo("MemoriaNew");
     Assertions.assertThat(memoriaCreado.getNumReferencia()).isEqualTo("M10/2020/001MR1");
+    Assertions.assertThat(memoriaNew.getNumReferencia()).endsWith("/001MR1");
+
+    // then: La documentación y las respuestas se copian en base de datos
+    BDDMockito.then(documentacionMemoriaRepository).should().copyByMemoriaId(2L, 3L);
+    BDDMockito.then(respuestaRepository).should().copyByMemoriaId(2L, 3L);
+    BDDMockito.then(documentacionMemoriaRepository).shouldHaveNoMoreInteractions();
+    BDDMockito.then(respuestaRepository).shouldHaveNoMoreInteractions();
   }
 
   @Test
@@ -613,6 +623,37 @@ public class MemoriaServiceTest extends BaseServiceTest {
     Assertions.assertThat(page.getTotalElements()).isEqualTo(100);
   }
 
+  @Test
+  public void findAll_WithRespuestas_ReturnsPage() {
+    // given: memorias con las respuestas buscadas
+    List<MemoriaPeticionEvaluacion> memorias = new ArrayList<>();
+    memorias.add(generarMockMemoriaPeticionEvaluacion(1L));
+    Map<String, String> respuestas = new LinkedHashMap<>();
+    respuestas.put("especie", "rata");
+    respuestas.put("riesgo.nivel", "alto");
+
+    BDDMockito.given(memoriaRepository.findAllMemoriasEvaluaciones(ArgumentMatchers.<Specification<Memoria>>any(),
+        ArgumentMatchers.<Pageable>any(), ArgumentMatchers.<String>isNull())).willReturn(new PageImpl<>(memorias));
+
+    // when: find con filtro de respuestas
+    Page<MemoriaPeticionEvaluacion> page = memoriaService.findAll(null, respuestas, Pageable.unpaged());
+
+    // then: se devuelven las memorias
+    Assertions.assertThat(page.getContent()).hasSize(1);
+  }
+
+  @Test
+  public void findAll_WithRutaRespuestaVacia_ThrowsIllegalArgumentException() {
+    // given: un filtro de respuestas con un campo vacío en la ruta
+    Map<String, String> respuestas = new LinkedHashMap<>();
+    respuestas.put("riesgo..nivel", "alto");
+
+    // when: find con filtro de respuestas
+    // then: Lanza una excepcion porque la ruta no es válida
+    Assertions.assertThatThrownBy(() -> memoriaService.findAll(null, respuestas, Pageable.unpaged()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   public void findAll_WithPaging_ReturnsPage() {
     // given: One hundred Memorias
@@ -913,9 +954,6 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
   @Test
   public void getEstadoAnteriorMemoria_returnMemoria() {
-    // Descomentar si el mock no es una memoria de tipo retrospectiva
-    // BDDMockito.given(estadoMemoriaRepository.findAllByMemoriaIdOrderByFechaEstadoDesc(ArgumentMatchers.anyLong()))
-    // .willReturn(generarEstadosMemoria(2L));
     BDDMockito.given(estadoRetrospectivaRepository.findById(ArgumentMatchers.anyLong()))
         .willReturn(Optional.of(generarEstadoRetrospectiva(2L)));
 
@@ -927,6 +965,36 @@ public class MemoriaServiceTest extends BaseServiceTest {
     Assertions.assertThat(returnMemoria.getTitulo()).isEqualTo("TituloMemoria");
   }
 
+  @Test
+  public void getEstadoAnteriorMemoria_WithMemoriaSinRetrospectiva_ReturnsMemoriaWithEstadoAnterior() {
+    // given: una memoria sin retrospectiva en el estado 3 cuyo último estado
+    // distinto al actual es el 2
+    Memoria memoria = generarMockMemoria(1L, "ref-001", "TituloMemoria", 1, 3L);
+    memoria.setRetrospectiva(null);
+
+    EstadoMemoria estadoAnterior = generarEstadosMemoria(4L).get(0);
+    estadoAnterior.setTipoEstadoMemoria(generarMockTipoEstadoMemoria(2L, "Estado2", Boolean.TRUE));
+    EstadoMemoria estadoActual = generarEstadosMemoria(5L).get(0);
+    estadoActual.setTipoEstadoMemoria(generarMockTipoEstadoMemoria(3L, "Estado3", Boolean.TRUE));
+
+    BDDMockito
+        .given(estadoMemoriaRepository.findFirstByMemoriaIdAndTipoEstadoMemoriaIdNotOrderByFechaEstadoDesc(1L, 3L))
+        .willReturn(Optional.of(estadoAnterior));
+    BDDMockito
+        .given(estadoMemoriaRepository.findFirstByMemoriaIdAndTipoEstadoMemoriaIdOrderByFechaEstadoDesc(1L, 3L))
+        .willReturn(Optional.of(estadoActual));
+
+    // when: se recupera el estado anterior
+    Memoria returnMemoria = memoriaService.getEstadoAnteriorMemoria(memoria);
+
+    // then: la memoria pasa al estado anterior y se elimina del histórico el
+    // último registro del estado actual
+    Assertions.assertThat(returnMemoria.getId()).isEqualTo(1L);
+    Assertions.assertThat(returnMemoria.getEstadoActual().getId()).isEqualTo(2L);
+    BDDMockito.then(estadoMemoriaRepository).should().deleteById(5L);
+    BDDMockito.then(estadoRetrospectivaRepository).shouldHaveNoInteractions();
+  }
+
   @Test
   public void updateEstadoAnteriorMemoria_returnsMemoriaNull() {
 
@@ -934,8 +1002,8 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     BDDMockito.given(memoriaRepository.findById(ArgumentMatchers.anyLong())).willReturn(Optional.of(memoria));
 
-    BDDMockito.given(estadoMemoriaRepository.findAllByMemoriaIdOrderByFechaEstadoDesc(ArgumentMatchers.anyLong()))
-        .willReturn(generarEstadosMemoria(2L));
+    BDDMockito.given(estadoMemoriaRepository.findFirstByMemoriaIdAndTipoEstadoMemoriaIdNotOrderByFechaEstadoDesc(
+        ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong())).willReturn(Optional.empty());
     // BDDMockito.given(memoriaRepository.save(ArgumentMatchers.<Memoria>any())).willReturn(memoriaServicioActualizado);
 
     // when: find unlimited asignables para tipo convocatoria seguimiento
@@ -944,6 +1012,35 @@ public class MemoriaServiceTest extends BaseServiceTest {
     Assertions.assertThat(memoriaEstadoActualizado).isNull();
   }
 
+  @Test
+  public void updateEstadoMemorias_UpdatesAllMemoriasAtOnce() {
+    List<Long> idsMemoria = Arrays.asList(1L, 2L, 3L);
+    BDDMockito.given(estadoMemoriaRepository.insertByMemoriaIdIn(ArgumentMatchers.eq(idsMemoria),
+        ArgumentMatchers.eq(9L), ArgumentMatchers.<LocalDateTime>any())).willReturn(3);
+    BDDMockito.given(memoriaRepository.updateEstadoActualByIdIn(idsMemoria, 9L)).willReturn(3);
+
+    // when: se actualiza el estado de varias memorias
+    memoriaService.updateEstadoMemorias(idsMemoria, 9L);
+
+    // then: se inserta el histórico y se actualizan las memorias con una sola
+    // llamada
+    BDDMockito.then(estadoMemoriaRepository).should().insertByMemoriaIdIn(ArgumentMatchers.eq(idsMemoria),
+        ArgumentMatchers.eq(9L), ArgumentMatchers.<LocalDateTime>any());
+    BDDMockito.then(memoriaRepository).should().updateEstadoActualByIdIn(idsMemoria, 9L);
+    BDDMockito.then(estadoMemoriaRepository).shouldHaveNoMoreInteractions();
+    BDDMockito.then(memoriaRepository).shouldHaveNoMoreInteractions();
+  }
+
+  @Test
+  public void updateEstadoMemorias_WithEmptyList_DoesNothing() {
+    // when: se actualiza el estado de una lista vacía de memorias
+    memoriaService.updateEstadoMemorias(Collections.emptyList(), 9L);
+
+    // then: no se accede a base de datos
+    BDDMockito.then(estadoMemoriaRepository).shouldHaveNoInteractions();
+    BDDMockito.then(memoriaRepository).shouldHaveNoInteractions();
+  }
+
   public List<EstadoMemoria> generarEstadosMemoria(Long id) {
     List<EstadoMemoria> estadosMemoria = new ArrayList<EstadoMemoria>();
     EstadoMemoria estadoMemoria = new EstadoMemoria();
@@ -965,7 +1062,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
   public void enviarSecretaria_WithId() {
 
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 6L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Evaluacion evaluacion = generarMockEvaluacion(Long.valueOf(1), String.format("%03d", 1), 6L, 1L, 1);
     BDDMockito.given(evaluacionRepository.findFirstByMemoriaIdAndActivoTrueOrderByVersionDesc(memoria.getId()))
@@ -991,7 +1088,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
   public void enviarSecretaria_WithId_EstadoEnAclaraciónSeguimientoFinal() {
     // given: Una nueva Memoria (21L=En Aclaración Seguimiento Final)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 21L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Evaluacion evaluacion = generarMockEvaluacion(Long.valueOf(1), String.format("%03d", 1), 21L, 1L, 1);
     BDDMockito.given(evaluacionRepository.findFirstByMemoriaIdAndActivoTrueOrderByVersionDesc(memoria.getId()))
@@ -1020,7 +1117,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     // given: Una nueva Memoria (11L=Completada Seguimiento Anual)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 11L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Memoria memoriaActualizada = generarMockMemoria(1L, "numRef-111", "Memoria1", 2, 12L);
 
@@ -1042,7 +1139,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     // given: Una nueva Memoria (16L=Completada Seguimiento Final)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 16L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Memoria memoriaActualizada = generarMockMemoria(1L, "numRef-111", "Memoria1", 2, 17L);
 
@@ -1064,7 +1161,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     // given: Una nueva Memoria (8L=No procede evaluar)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 8L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Memoria memoriaActualizada = generarMockMemoria(1L, "numRef-111", "Memoria1", 2, 3L);
 
@@ -1086,7 +1183,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     // given: Una nueva Memoria (7L=Pendiente de correcciones)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 7L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Memoria memoriaActualizada = generarMockMemoria(1L, "numRef-111", "Memoria1", 2, 3L);
 
@@ -1108,7 +1205,7 @@ public class MemoriaServiceTest extends BaseServiceTest {
 
     // given: Una nueva Memoria (2L=Completada)
     Memoria memoria = generarMockMemoria(1L, "numRef-111", "Memoria1", 1, 2L);
-    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(memoriaRepository.findCambioEstadoById(1L)).willReturn(Optional.of(memoria));
 
     Memoria memoriaActualizada = generarMockMemoria(1L, "numRef-111", "Memoria1", 2, 3L);
 
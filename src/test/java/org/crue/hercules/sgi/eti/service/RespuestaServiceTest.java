@@ -1,16 +1,23 @@
 package org.crue.hercules.sgi.eti.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.exceptions.MemoriaNotFoundException;
 import org.crue.hercules.sgi.eti.exceptions.RespuestaNotFoundException;
 import org.crue.hercules.sgi.eti.model.Apartado;
 import org.crue.hercules.sgi.eti.model.Bloque;
 import org.crue.hercules.sgi.eti.model.Formulario;
 import org.crue.hercules.sgi.eti.model.Memoria;
 import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.crue.hercules.sgi.eti.repository.ApartadoRepository;
+import org.crue.hercules.sgi.eti.repository.MemoriaRepository;
 import org.crue.hercules.sgi.eti.repository.RespuestaRepository;
 import org.crue.hercules.sgi.eti.service.impl.RespuestaServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,11 +41,17 @@ public class RespuestaServiceTest extends BaseServiceTest {
   @Mock
   private RespuestaRepository respuestaRepository;
 
+  @Mock
+  private MemoriaRepository memoriaRepository;
+
+  @Mock
+  private ApartadoRepository apartadoRepository;
+
   private RespuestaService respuestaService;
 
   @BeforeEach
   public void setUp() throws Exception {
-    respuestaService = new RespuestaServiceImpl(respuestaRepository);
+    respuestaService = new RespuestaServiceImpl(respuestaRepository, memoriaRepository, apartadoRepository);
   }
 
   @Test
@@ -248,6 +261,87 @@ public class RespuestaServiceTest extends BaseServiceTest {
         .doesNotThrowAnyException();
   }
 
+  @Test
+  public void updateAllByMemoriaId_WritesOnlyChangedRespuestas() {
+    // given: la respuesta del apartado 1 no cambia, la del apartado 2 cambia y el
+    // apartado 3 no tiene respuesta
+    Memoria memoria = new Memoria();
+    memoria.setId(1L);
+    Respuesta respuestaApartado1 = generarMockRespuestaApartado(null, 1L, "{\"valor\":\"Igual\"}");
+    Respuesta respuestaApartado2 = generarMockRespuestaApartado(null, 2L, "{\"valor\":\"Nuevo\"}");
+    Respuesta respuestaApartado3 = generarMockRespuestaApartado(null, 3L, "{\"valor\":\"Alta\"}");
+    Respuesta guardadaApartado2 = generarMockRespuestaApartado(20L, 2L, "{\"valor\":\"Anterior\"}");
+
+    Map<Long, String> valorHashes = new HashMap<>();
+    valorHashes.put(1L, Respuesta.calculateValorHash("{\"valor\":\"Igual\"}"));
+    valorHashes.put(2L, guardadaApartado2.getValorHash());
+
+    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(memoria));
+    BDDMockito.given(respuestaRepository.findValorHashByMemoriaId(1L)).willReturn(valorHashes);
+    BDDMockito.given(respuestaRepository.findByMemoriaIdAndApartadoIdInOrderByIdAsc(1L, Collections.singleton(2L)))
+        .willReturn(Collections.singletonList(guardadaApartado2));
+    BDDMockito.given(apartadoRepository.findAllById(Collections.singleton(3L)))
+        .willReturn(Collections.singletonList(respuestaApartado3.getApartado()));
+    BDDMockito.given(respuestaRepository.saveAll(ArgumentMatchers.<List<Respuesta>>any()))
+        .willAnswer(invocation -> invocation.getArgument(0));
+
+    // when: se guardan las respuestas de la memoria
+    List<Respuesta> modificadas = respuestaService.updateAllByMemoriaId(1L,
+        Arrays.asList(respuestaApartado1, respuestaApartado2, respuestaApartado3));
+
+    // then: solo se devuelven la respuesta modificada y la nueva
+    Assertions.assertThat(modificadas).hasSize(2);
+    Assertions.assertThat(modificadas.get(0)).isSameAs(guardadaApartado2);
+    Assertions.assertThat(guardadaApartado2.getValor()).isEqualTo("{\"valor\":\"Nuevo\"}");
+    Assertions.assertThat(guardadaApartado2.getValorHash())
+        .isEqualTo(Respuesta.calculateValorHash("{\"valor\":\"Nuevo\"}"));
+    Assertions.assertThat(modificadas.get(1).getId()).isNull();
+    Assertions.assertThat(modificadas.get(1).getMemoria()).isSameAs(memoria);
+    Assertions.assertThat(modificadas.get(1).getApartado().getId()).isEqualTo(3L);
+    Assertions.assertThat(modificadas.get(1).getValor()).isEqualTo("{\"valor\":\"Alta\"}");
+  }
+
+  @Test
+  public void updateAllByMemoriaId_WithApartadoRepetido_ThrowsIllegalArgumentException() {
+    // given: dos respuestas del mismo apartado
+    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.of(new Memoria()));
+
+    // when: se guardan las respuestas de la memoria
+    // then: se lanza una excepción
+    Assertions
+        .assertThatThrownBy(() -> respuestaService.updateAllByMemoriaId(1L,
+            Arrays.asList(generarMockRespuestaApartado(null, 1L, "{}"), generarMockRespuestaApartado(null, 1L, "{}"))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void updateAllByMemoriaId_WithMemoriaNoExiste_ThrowsMemoriaNotFoundException() {
+    // given: la memoria no existe
+    BDDMockito.given(memoriaRepository.findById(1L)).willReturn(Optional.empty());
+
+    // when: se guardan las respuestas de la memoria
+    // then: se lanza una excepción
+    Assertions.assertThatThrownBy(() -> respuestaService.updateAllByMemoriaId(1L,
+        Collections.singletonList(generarMockRespuestaApartado(null, 1L, "{}"))))
+        .isInstanceOf(MemoriaNotFoundException.class);
+  }
+
+  /**
+   * Función que devuelve un objeto Respuesta de un apartado
+   * 
+   * @param id         id de la Respuesta
+   * @param idApartado id del Apartado
+   * @param valor      valor de la respuesta
+   * @return el objeto Respuesta
+   */
+  private Respuesta generarMockRespuestaApartado(Long id, Long idApartado, String valor) {
+    Respuesta respuesta = new Respuesta();
+    respuesta.setId(id);
+    respuesta.setApartado(getMockApartado(idApartado, 1L, null));
+    respuesta.setValor(valor);
+    return respuesta;
+  }
+
   /**
    * Función que devuelve un objeto Respuesta
    * 
@@ -0,0 +1,63 @@
+package org.crue.hercules.sgi.eti.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.assertj.core.api.Assertions;
+import org.crue.hercules.sgi.eti.model.Apartado;
+import org.crue.hercules.sgi.eti.model.Respuesta;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * RawJsonTest
+ */
+public class RawJsonTest {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  @Test
+  public void deserialize_CopiesJsonWithoutWhitespace() throws Exception {
+    // given: un esquema con espacios, objetos y arrays anidados
+    String json = "{\"id\": 1, \"esquema\": {\"nombre\" : \"Esquema\", \"campos\": [1, 2.5, true, null, \"á\\\"\"]}}";
+
+    // when: se deserializa
+    Apartado apartado = objectMapper.readValue(json, Apartado.class);
+
+    // then: el esquema se guarda como el JSON recibido compactado
+    Assertions.assertThat(apartado.getEsquema())
+        .isEqualTo("{\"nombre\":\"Esquema\",\"campos\":[1,2.5,true,null,\"á\\\"\"]}");
+  }
+
+  @Test
+  public void deserialize_WithNullOrText_ReturnsNullOrQuotedText() throws Exception {
+    // given: una respuesta con valor nulo y otra con un texto
+    String jsonNull = "{\"id\": 1, \"valor\": null}";
+    String jsonTexto = "{\"id\": 1, \"valor\": \"texto\"}";
+
+    // when: se deserializan
+    Respuesta respuestaNull = objectMapper.readValue(jsonNull, Respuesta.class);
+    Respuesta respuestaTexto = objectMapper.readValue(jsonTexto, Respuesta.class);
+
+    // then: el valor es nulo o el texto como JSON
+    Assertions.assertThat(respuestaNull.getValor()).isNull();
+    Assertions.assertThat(respuestaNull.getValorHash()).isNull();
+    Assertions.assertThat(respuestaTexto.getValor()).isEqualTo("\"texto\"");
+    Assertions.assertThat(respuestaTexto.getValorHash()).isEqualTo(Respuesta.calculateValorHash("\"texto\""));
+  }
+
+  @Test
+  public void serialize_WritesJsonUnchanged() throws Exception {
+    // given: una respuesta con un valor JSON
+    Respuesta respuesta = new Respuesta();
+    respuesta.setId(1L);
+    respuesta.setValor("{\"valor\":[\"Valor1\",2]}");
+
+    // when: se serializa
+    String json = objectMapper.writeValueAsString(respuesta);
+
+    // then: el valor se escribe como JSON y se vuelve a leer igual
+    Assertions.assertThat(json).contains("\"valor\":{\"valor\":[\"Valor1\",2]}").doesNotContain("valorHash");
+    Assertions.assertThat(objectMapper.readValue(json, Respuesta.class).getValor()).isEqualTo(respuesta.getValor());
+  }
+
+}
@@ -7,6 +7,7 @@ DELETE FROM eti.estado_memoria
 DELETE FROM eti.comentario
 DELETE FROM eti.evaluacion
 DELETE FROM eti.memoria
+DELETE FROM eti.memoria_referencia_contador
 DELETE FROM eti.tipo_memoria_comite
 DELETE FROM eti.asistentes
 DELETE FROM eti.conflicto_interes